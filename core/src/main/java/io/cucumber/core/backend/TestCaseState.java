@@ -2,7 +2,13 @@ package io.cucumber.core.backend;
 
 import org.apiguardian.api.API;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
 
 @API(status = API.Status.STABLE)
@@ -61,6 +67,64 @@ public interface TestCaseState {
      */
     void attach(String data, String mediaType, String name);
 
+    /**
+     * Attach the content of a file to the report(s).
+     * <p>
+     * The content is copied to disk rather than kept in memory, which makes
+     * this suitable for large attachments such as screenshots and videos.
+     * Changing or deleting the file afterwards does not change the report.
+     * <p>
+     * Note that plugins that consume messages, such as the {@code message}
+     * and {@code html} formatters, can only receive the content itself. When
+     * one is used the content is still read and Base64 encoded when attached.
+     * <p>
+     * By default the content is read into memory and attached as
+     * {@link #attach(byte[], String, String)}.
+     *
+     * @param file      what to attach, for example a video.
+     * @param mediaType what is the data?
+     * @param name      attachment name
+     * @see             #attach(byte[], String, String)
+     */
+    @API(status = API.Status.EXPERIMENTAL)
+    default void attach(Path file, String mediaType, String name) {
+        try {
+            attach(Files.readAllBytes(file), mediaType, name);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not attach " + file, e);
+        }
+    }
+
+    /**
+     * Attach the content of a stream to the report(s).
+     * <p>
+     * The stream is read to its end and copied to disk rather than kept in
+     * memory. It is not closed. As with
+     * {@link #attach(Path, String, String)} plugins that consume messages
+     * still receive the content itself.
+     * <p>
+     * By default the stream is read into memory and attached as
+     * {@link #attach(byte[], String, String)}.
+     *
+     * @param data      what to attach, for example a video.
+     * @param mediaType what is the data?
+     * @param name      attachment name
+     * @see             #attach(byte[], String, String)
+     */
+    @API(status = API.Status.EXPERIMENTAL)
+    default void attach(InputStream data, String mediaType, String name) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        try {
+            for (int read = data.read(buffer); read != -1; read = data.read(buffer)) {
+                bytes.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not attach " + (name != null ? name : "stream"), e);
+        }
+        attach(bytes.toByteArray(), mediaType, name);
+    }
+
     /**
      * Outputs some text into the report.
      *
@@ -1,7 +1,22 @@
 package io.cucumber.core.eventbus;
 
+import io.cucumber.plugin.event.Event;
+import io.cucumber.plugin.event.EventHandler;
+
+import java.util.List;
+
 public abstract class AbstractEventBus extends AbstractEventPublisher implements EventBus {
 
+    @Override
+    public boolean hasHandlerFor(Class<?> eventType) {
+        return hasHandlers(eventType) || Event.class.isAssignableFrom(eventType) && hasHandlers(Event.class);
+    }
+
+    private boolean hasHandlers(Class<?> eventType) {
+        List<EventHandler> handlers = this.handlers.get(eventType);
+        return handlers != null && !handlers.isEmpty();
+    }
+
     @Override
     public <T> void sendAll(Iterable<T> queue) {
         super.sendAll(queue);
@@ -11,6 +11,21 @@ public interface EventBus extends EventPublisher {
 
     UUID generateId();
 
+    /**
+     * Whether an event of the given type would be received by any handler,
+     * including handlers of all {@link io.cucumber.plugin.event.Event}s.
+     * <p>
+     * Allows events that are expensive to create, e.g. messages, to be
+     * created only when they are received. Event buses that do not know their
+     * handlers must answer true, so no event is lost.
+     *
+     * @param  eventType the type of event
+     * @return           false if no handler is registered for the event type
+     */
+    default boolean hasHandlerFor(Class<?> eventType) {
+        return true;
+    }
+
     <T> void send(T event);
 
     <T> void sendAll(Iterable<T> queue);
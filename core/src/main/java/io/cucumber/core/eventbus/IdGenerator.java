@@ -0,0 +1,24 @@
+package io.cucumber.core.eventbus;
+
+import org.apiguardian.api.API;
+
+import java.util.UUID;
+
+/**
+ * Generates the ids of test cases, test steps, hooks, step definitions and
+ * the messages that refer to them.
+ * <p>
+ * Implementations are discovered with the {@link java.util.ServiceLoader}
+ * mechanism and selected with {@code cucumber.id-generator}. They must have a
+ * public no-argument constructor and be thread safe.
+ *
+ * @see RandomIdGenerator
+ * @see IncrementingIdGenerator
+ * @see SeededIdGenerator
+ */
+@API(status = API.Status.EXPERIMENTAL)
+public interface IdGenerator {
+
+    UUID generateId();
+
+}
@@ -0,0 +1,47 @@
+package io.cucumber.core.eventbus;
+
+import org.apiguardian.api.API;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates ids from an incrementing counter.
+ * <p>
+ * Each thread takes a block of {@value #BLOCK_SIZE} values from the counter
+ * and generates ids from its block without waiting for other threads. When
+ * run on a single thread the ids are the same in every run, so the output of
+ * runs can be compared.
+ * <p>
+ * Ids are only unique within a run of a single process.
+ */
+@API(status = API.Status.EXPERIMENTAL)
+public final class IncrementingIdGenerator implements IdGenerator {
+
+    static final int BLOCK_SIZE = 1024;
+
+    // Version 8 (custom) and variant 2, so ids are valid UUIDs
+    private static final long MOST_SIGNIFICANT_BITS = 0x8000L;
+    private static final long VARIANT = 0x8000000000000000L;
+
+    private final AtomicLong nextBlock = new AtomicLong();
+    private final ThreadLocal<Block> block = ThreadLocal.withInitial(Block::new);
+
+    @Override
+    public UUID generateId() {
+        Block block = this.block.get();
+        if (block.next == block.end) {
+            block.next = nextBlock.getAndAdd(BLOCK_SIZE);
+            block.end = block.next + BLOCK_SIZE;
+        }
+        return new UUID(MOST_SIGNIFICANT_BITS, VARIANT | block.next++);
+    }
+
+    private static final class Block {
+
+        private long next;
+        private long end;
+
+    }
+
+}
@@ -0,0 +1,13 @@
+package io.cucumber.core.eventbus;
+
+public interface Options {
+
+    /**
+     * The class of the id generator, or null to use the
+     * {@link RandomIdGenerator}.
+     *
+     * @return the class of the id generator
+     */
+    Class<? extends IdGenerator> getIdGeneratorClass();
+
+}
@@ -0,0 +1,21 @@
+package io.cucumber.core.eventbus;
+
+import org.apiguardian.api.API;
+
+import java.util.UUID;
+
+/**
+ * Generates random ids with {@link UUID#randomUUID()}.
+ * <p>
+ * The default. Ids are unique across runs and processes, but threads that
+ * generate ids at the same time wait for each other.
+ */
+@API(status = API.Status.EXPERIMENTAL)
+public final class RandomIdGenerator implements IdGenerator {
+
+    @Override
+    public UUID generateId() {
+        return UUID.randomUUID();
+    }
+
+}
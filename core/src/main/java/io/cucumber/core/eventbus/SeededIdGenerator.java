@@ -0,0 +1,40 @@
+package io.cucumber.core.eventbus;
+
+import org.apiguardian.api.API;
+
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Generates random looking ids from a seeded pseudo random generator.
+ * <p>
+ * When run on a single thread the ids are the same in every run with the
+ * same seed, so the output of runs can be compared. Unlike the ids of the
+ * {@link IncrementingIdGenerator} they are version 4 UUIDs, as generated by
+ * {@link UUID#randomUUID()}.
+ * <p>
+ * Ids are only unique within a run of a single process.
+ */
+@API(status = API.Status.EXPERIMENTAL)
+public final class SeededIdGenerator implements IdGenerator {
+
+    static final long DEFAULT_SEED = 0;
+
+    private final Random random;
+
+    public SeededIdGenerator() {
+        this(DEFAULT_SEED);
+    }
+
+    public SeededIdGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public synchronized UUID generateId() {
+        long mostSignificantBits = random.nextLong() & ~0xF000L | 0x4000L;
+        long leastSignificantBits = random.nextLong() & ~0xC000000000000000L | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+}
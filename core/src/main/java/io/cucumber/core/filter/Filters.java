@@ -13,6 +13,7 @@ import java.util.regex.Pattern;
 public final class Filters implements Predicate<Pickle> {
 
     private Predicate<Pickle> filter = t -> true;
+    private final Sharding sharding;
 
     public Filters(Options options) {
         List<Expression> tagExpressions = options.getTagExpressions();
@@ -27,6 +28,9 @@ public final class Filters implements Predicate<Pickle> {
         if (!lineFilters.isEmpty()) {
             this.filter = this.filter.and(new LinePredicate(lineFilters));
         }
+        this.sharding = options.getShardHistory()
+                .map(history -> new Sharding(options.getShard(), history))
+                .orElseGet(() -> new Sharding(options.getShard()));
     }
 
     @Override
@@ -34,4 +38,21 @@ public final class Filters implements Predicate<Pickle> {
         return this.filter.test(pickle);
     }
 
+    public boolean isSharded() {
+        return sharding.isSharded();
+    }
+
+    /**
+     * Selects the pickles in the shard of this node. Unlike the other filters
+     * the shard of a pickle depends on all other pickles, so it can only be
+     * applied once all pickles have been filtered.
+     *
+     * @param  pickles the filtered pickles
+     * @return         the pickles in this shard, in their original order
+     * @see            Sharding
+     */
+    public List<Pickle> shard(List<Pickle> pickles) {
+        return sharding.select(pickles);
+    }
+
 }
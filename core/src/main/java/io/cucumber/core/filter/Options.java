@@ -3,8 +3,10 @@ package io.cucumber.core.filter;
 import io.cucumber.tagexpressions.Expression;
 
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -18,4 +20,15 @@ public interface Options {
 
     int getLimitCount();
 
+    Shard getShard();
+
+    /**
+     * The history used to balance the shards. It must be the same on every
+     * node.
+     *
+     * @return directory of the history, or empty to divide the pickles by
+     *         hash
+     */
+    Optional<Path> getShardHistory();
+
 }
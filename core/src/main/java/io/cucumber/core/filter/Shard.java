@@ -0,0 +1,89 @@
+package io.cucumber.core.filter;
+
+import java.util.Objects;
+
+/**
+ * One of a number of equally sized parts of the pickles to execute.
+ * <p>
+ * Shards are numbered from 1 to {@code total}.
+ */
+public final class Shard {
+
+    private static final Shard ALL = new Shard(1, 1);
+
+    private final int index;
+    private final int total;
+
+    public Shard(int index, int total) {
+        if (total < 1) {
+            throw new IllegalArgumentException("The total number of shards must be at least 1, was " + total);
+        }
+        if (index < 1 || index > total) {
+            throw new IllegalArgumentException(
+                "The shard index must be between 1 and " + total + " (inclusive), was " + index);
+        }
+        this.index = index;
+        this.total = total;
+    }
+
+    /**
+     * @return the shard containing all pickles
+     */
+    public static Shard all() {
+        return ALL;
+    }
+
+    /**
+     * Parses a shard of the form {@code INDEX/TOTAL}, e.g. {@code 2/12}.
+     *
+     * @param  argument                 the shard to parse
+     * @return                          the shard
+     * @throws IllegalArgumentException when the argument is not a valid
+     *                                  shard
+     */
+    public static Shard parse(String argument) {
+        int separator = argument.indexOf('/');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid shard '" + argument + "'. Must be of the form INDEX/TOTAL");
+        }
+        try {
+            int index = Integer.parseInt(argument.substring(0, separator).trim());
+            int total = Integer.parseInt(argument.substring(separator + 1).trim());
+            return new Shard(index, total);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid shard '" + argument + "'. Must be of the form INDEX/TOTAL",
+                e);
+        }
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Shard shard = (Shard) o;
+        return index == shard.index && total == shard.total;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, total);
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + total;
+    }
+
+}
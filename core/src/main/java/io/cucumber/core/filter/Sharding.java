@@ -0,0 +1,181 @@
+package io.cucumber.core.filter;
+
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.hash.Fnv1a;
+import io.cucumber.core.history.History;
+import io.cucumber.core.history.PickleHistory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Selects the pickles in a {@link Shard}.
+ * <p>
+ * Every node that selects a shard from the same pickles gets the same
+ * partition, regardless of the order of the pickles. By default pickles are
+ * ordered by a stable hash of their uri and line and dealt to each shard in
+ * turn.
+ * <p>
+ * When a {@link History} is given, pickles are assigned longest first to the
+ * shard with the least expected duration so far. The history must be the same
+ * on every node, for example by restoring it from a shared cache. So only an
+ * explicitly configured history is used, never the one each node writes to
+ * {@link History#DEFAULT_PATH}. After a sharded run that one only knows the
+ * durations of the pickles in the shard of its own node.
+ */
+public final class Sharding {
+
+    private final Shard shard;
+    private final Function<Pickle, Optional<Duration>> expectedDuration;
+
+    public Sharding(Shard shard) {
+        this(shard, pickle -> Optional.empty());
+    }
+
+    /**
+     * @param shard   the shard to select
+     * @param history directory of a history that is the same on every node
+     */
+    public Sharding(Shard shard, Path history) {
+        this(shard, new HistoryDurations(history));
+    }
+
+    Sharding(Shard shard, Function<Pickle, Optional<Duration>> expectedDuration) {
+        this.shard = shard;
+        this.expectedDuration = expectedDuration;
+    }
+
+    private static long hash(Pickle pickle) {
+        return Fnv1a.hash(pickle.getUri() + ":" + pickle.getLocation().getLine());
+    }
+
+    public boolean isSharded() {
+        return shard.getTotal() > 1;
+    }
+
+    /**
+     * Selects the pickles in this shard.
+     *
+     * @param  pickles all pickles to be divided over the shards
+     * @return         the pickles in this shard, in their original order
+     */
+    public List<Pickle> select(List<Pickle> pickles) {
+        if (!isSharded()) {
+            return pickles;
+        }
+        List<Candidate> candidates = new ArrayList<>(pickles.size());
+        for (Pickle pickle : pickles) {
+            candidates.add(new Candidate(pickle, expectedDuration.apply(pickle).map(Duration::toNanos).orElse(-1L)));
+        }
+        // Independent of the order in which the pickles were provided
+        candidates.sort(Candidate.CANONICAL_ORDER);
+
+        Set<Pickle> selected = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (candidates.stream().anyMatch(Candidate::hasNanos)) {
+            selectLongestFirst(candidates, selected);
+        } else {
+            selectByHash(candidates, selected);
+        }
+        return pickles.stream().filter(selected::contains).collect(toList());
+    }
+
+    private void selectLongestFirst(List<Candidate> candidates, Set<Pickle> selected) {
+        long knownNanos = 0;
+        long knownSteps = 0;
+        for (Candidate candidate : candidates) {
+            if (candidate.hasNanos()) {
+                knownNanos += candidate.nanos;
+                knownSteps += candidate.steps();
+            }
+        }
+        long nanosPerStep = Math.max(1, knownNanos / Math.max(1, knownSteps));
+        for (Candidate candidate : candidates) {
+            if (!candidate.hasNanos()) {
+                candidate.nanos = candidate.steps() * nanosPerStep;
+            }
+        }
+        List<Candidate> longestFirst = new ArrayList<>(candidates);
+        // Stable sort, candidates with the same duration stay in canonical order
+        longestFirst.sort(Comparator.comparingLong((Candidate candidate) -> candidate.nanos).reversed());
+
+        long[] expectedNanos = new long[shard.getTotal()];
+        for (Candidate candidate : longestFirst) {
+            int shortest = 0;
+            for (int i = 1; i < expectedNanos.length; i++) {
+                if (expectedNanos[i] < expectedNanos[shortest]) {
+                    shortest = i;
+                }
+            }
+            expectedNanos[shortest] += candidate.nanos;
+            if (shortest == shard.getIndex() - 1) {
+                selected.add(candidate.pickle);
+            }
+        }
+    }
+
+    private void selectByHash(List<Candidate> candidates, Set<Pickle> selected) {
+        List<Candidate> byHash = new ArrayList<>(candidates);
+        byHash.sort(Comparator.comparingLong((Candidate candidate) -> candidate.hash));
+        for (int i = 0; i < byHash.size(); i++) {
+            if (i % shard.getTotal() == shard.getIndex() - 1) {
+                selected.add(byHash.get(i).pickle);
+            }
+        }
+    }
+
+    private static final class Candidate {
+
+        static final Comparator<Candidate> CANONICAL_ORDER = Comparator
+                .comparing((Candidate candidate) -> candidate.pickle.getUri().toString())
+                .thenComparingInt(candidate -> candidate.pickle.getLocation().getLine());
+
+        private final Pickle pickle;
+        private final long hash;
+        private long nanos;
+
+        Candidate(Pickle pickle, long nanos) {
+            this.pickle = pickle;
+            this.hash = hash(pickle);
+            this.nanos = nanos;
+        }
+
+        boolean hasNanos() {
+            return nanos >= 0;
+        }
+
+        int steps() {
+            return Math.max(1, pickle.getSteps().size());
+        }
+
+    }
+
+    private static final class HistoryDurations implements Function<Pickle, Optional<Duration>> {
+
+        private final Path directory;
+        private History history;
+
+        HistoryDurations(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public synchronized Optional<Duration> apply(Pickle pickle) {
+            if (history == null) {
+                history = History.read(directory);
+            }
+            return history.find(pickle).map(PickleHistory::getDuration);
+        }
+
+    }
+
+}
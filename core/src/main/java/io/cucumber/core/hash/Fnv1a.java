@@ -0,0 +1,59 @@
+package io.cucumber.core.hash;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 64-bit FNV-1a hash of the UTF-8 bytes of text.
+ * <p>
+ * Not a cryptographic hash. Fast and stable across runs and platforms, so it
+ * can be used to identify content in files and between nodes.
+ */
+public final class Fnv1a {
+
+    /**
+     * The hash of no bytes. Start hashing from here.
+     */
+    public static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+    // Never occurs in UTF-8
+    private static final int SEPARATOR = 0xff;
+
+    private Fnv1a() {
+    }
+
+    /**
+     * @param  text the text to hash
+     * @return      the hash of the text
+     */
+    public static long hash(String text) {
+        return hash(OFFSET_BASIS, text);
+    }
+
+    /**
+     * @param  hash the hash so far
+     * @param  text the text to add to the hash
+     * @return      the hash so far followed by the text
+     */
+    public static long hash(long hash, String text) {
+        for (byte b : text.getBytes(UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Adds a separator to the hash, so that a sequence of texts does not hash
+     * the same as their concatenation.
+     *
+     * @param  hash the hash so far
+     * @return      the hash so far followed by a separator
+     */
+    public static long separate(long hash) {
+        hash ^= SEPARATOR;
+        hash *= PRIME;
+        return hash;
+    }
+
+}
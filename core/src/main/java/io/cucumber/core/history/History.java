@@ -0,0 +1,145 @@
+package io.cucumber.core.history;
+
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.gherkin.Step;
+import io.cucumber.core.hash.Fnv1a;
+import io.cucumber.core.logging.Logger;
+import io.cucumber.core.logging.LoggerFactory;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.TestCase;
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * The durations and statuses of pickles in previous runs.
+ * <p>
+ * Pickles are identified by their uri, line and a hash of their name and step
+ * text. When a pickle is changed its history starts over. Because durations
+ * are kept as moving averages the history does not grow with the number of
+ * runs. Pickles that have not been executed in the last
+ * {@value #MAX_AGE_IN_RUNS} runs are forgotten.
+ * <p>
+ * The history is recorded by the {@link HistoryRecorder} plugin.
+ */
+@API(status = API.Status.EXPERIMENTAL)
+public final class History {
+
+    /**
+     * The directory the history is stored in by default.
+     */
+    public static final Path DEFAULT_PATH = Paths.get("target", "cucumber-history");
+
+    static final String FILE_NAME = "history.bin";
+    static final int MAX_AGE_IN_RUNS = 1000;
+    static final double WEIGHT = 0.2;
+
+    private static final Logger log = LoggerFactory.getLogger(History.class);
+
+    private final Path file;
+    private final long run;
+    private final Map<String, PickleHistory> pickles = new ConcurrentHashMap<>();
+
+    History(Path file, long run, Collection<PickleHistory> pickles) {
+        this.file = file;
+        this.run = run;
+        for (PickleHistory pickle : pickles) {
+            this.pickles.put(key(pickle.getUri(), pickle.getLine()), pickle);
+        }
+    }
+
+    /**
+     * Reads the history from a directory. A missing or unreadable history is
+     * treated as empty.
+     *
+     * @param  directory the directory containing the history
+     * @return           the history
+     */
+    public static History read(Path directory) {
+        Path file = directory.resolve(FILE_NAME);
+        try {
+            return HistoryFile.read(file);
+        } catch (NoSuchFileException e) {
+            log.debug(() -> "No history from a previous run in " + file);
+        } catch (IOException e) {
+            log.warn(e, () -> "Could not read history from " + file);
+        }
+        return new History(file, 1, new ArrayList<>());
+    }
+
+    private static String key(URI uri, int line) {
+        return uri + ":" + line;
+    }
+
+    static long contentHash(String name, Stream<String> stepTexts) {
+        long hash = Fnv1a.hash(name);
+        for (String stepText : (Iterable<String>) stepTexts::iterator) {
+            hash = Fnv1a.hash(hash, "\n");
+            hash = Fnv1a.hash(hash, stepText);
+        }
+        return hash;
+    }
+
+    private static long contentHash(Pickle pickle) {
+        return contentHash(pickle.getName(), pickle.getSteps().stream().map(Step::getText));
+    }
+
+    private static long contentHash(TestCase testCase) {
+        return contentHash(testCase.getName(), testCase.getTestSteps().stream()
+                .filter(PickleStepTestStep.class::isInstance)
+                .map(PickleStepTestStep.class::cast)
+                .map(testStep -> testStep.getStep().getText()));
+    }
+
+    /**
+     * Finds the history of a pickle.
+     *
+     * @param  pickle the pickle
+     * @return        the history of the pickle or empty when the pickle was
+     *                not executed before, or was changed since
+     */
+    public Optional<PickleHistory> find(Pickle pickle) {
+        PickleHistory history = pickles.get(key(pickle.getUri(), pickle.getLocation().getLine()));
+        if (history == null || history.getContentHash() != contentHash(pickle)) {
+            return Optional.empty();
+        }
+        return Optional.of(history);
+    }
+
+    void record(TestCase testCase, Result result, List<Duration> stepDurations) {
+        URI uri = testCase.getUri();
+        int line = testCase.getLocation().getLine();
+        long contentHash = contentHash(testCase);
+        pickles.compute(key(uri, line), (key, previous) -> previous == null
+                ? PickleHistory.first(uri, line, contentHash, run, result, stepDurations)
+                : previous.next(contentHash, run, result, stepDurations));
+    }
+
+    void write() {
+        List<PickleHistory> recent = new ArrayList<>();
+        for (PickleHistory pickle : pickles.values()) {
+            if (run - pickle.getLastRun() < MAX_AGE_IN_RUNS) {
+                recent.add(pickle);
+            }
+        }
+        try {
+            HistoryFile.write(file, run, recent);
+        } catch (IOException e) {
+            log.warn(e, () -> "Could not write history to " + file);
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package io.cucumber.core.history;
+
+import io.cucumber.plugin.event.Status;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Reads and writes the history in a compact binary format.
+ * <p>
+ * The file starts with a header, followed by one fixed layout record per
+ * pickle. The file is replaced as a whole so a concurrent reader never sees
+ * a partially written history.
+ */
+final class HistoryFile {
+
+    private static final int MAGIC = 0x43554348;
+    private static final short VERSION = 1;
+    private static final Status[] STATUSES = Status.values();
+
+    private HistoryFile() {
+
+    }
+
+    static History read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException(file + " is not a history file");
+            }
+            long previousRun = in.readLong();
+            int size = in.readInt();
+            List<PickleHistory> pickles = new ArrayList<>(Math.min(size, 1024));
+            for (int i = 0; i < size; i++) {
+                pickles.add(readPickle(in));
+            }
+            return new History(file, previousRun + 1, pickles);
+        }
+    }
+
+    private static PickleHistory readPickle(DataInputStream in) throws IOException {
+        URI uri = parseUri(in.readUTF());
+        int line = in.readInt();
+        long contentHash = in.readLong();
+        long lastRun = in.readLong();
+        int runs = in.readInt();
+        double nanos = in.readDouble();
+        double failureRate = in.readDouble();
+        int status = in.readUnsignedByte();
+        if (status >= STATUSES.length) {
+            throw new IOException("Unknown status " + status);
+        }
+        double[] stepNanos = new double[in.readUnsignedShort()];
+        for (int i = 0; i < stepNanos.length; i++) {
+            stepNanos[i] = in.readDouble();
+        }
+        return new PickleHistory(uri, line, contentHash, lastRun, runs, nanos, failureRate, STATUSES[status],
+            stepNanos);
+    }
+
+    private static URI parseUri(String uri) throws IOException {
+        try {
+            return new URI(uri);
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
+    static void write(Path file, long run, Collection<PickleHistory> pickles) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "history", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(run);
+            out.writeInt(pickles.size());
+            for (PickleHistory pickle : pickles) {
+                writePickle(out, pickle);
+            }
+        }
+        Files.move(temp, file, REPLACE_EXISTING);
+    }
+
+    private static void writePickle(DataOutputStream out, PickleHistory pickle) throws IOException {
+        double[] stepNanos = pickle.getStepNanos();
+        // Steps beyond what fits in the record are not remembered
+        int steps = Math.min(stepNanos.length, 0xffff);
+        out.writeUTF(pickle.getUri().toString());
+        out.writeInt(pickle.getLine());
+        out.writeLong(pickle.getContentHash());
+        out.writeLong(pickle.getLastRun());
+        out.writeInt(pickle.getRuns());
+        out.writeDouble(pickle.getNanos());
+        out.writeDouble(pickle.getFailureRate());
+        out.writeByte(pickle.getLastStatus().ordinal());
+        out.writeShort(steps);
+        for (int i = 0; i < steps; i++) {
+            out.writeDouble(stepNanos[i]);
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package io.cucumber.core.history;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import org.apiguardian.api.API;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the {@link History} of each executed pickle.
+ * <p>
+ * The history is read when the plugin is created and written when the test
+ * run finishes. Skipped test cases are not recorded.
+ */
+@API(status = API.Status.EXPERIMENTAL)
+public final class HistoryRecorder implements ConcurrentEventListener {
+
+    private final History history;
+    private final Map<UUID, List<Duration>> stepDurations = new ConcurrentHashMap<>();
+
+    public HistoryRecorder() {
+        this(History.DEFAULT_PATH.toFile());
+    }
+
+    public HistoryRecorder(File directory) {
+        this.history = History.read(directory.toPath());
+    }
+
+    /**
+     * @return the history from previous runs, updated with the test cases
+     *         finished so far
+     */
+    public History getHistory() {
+        return history;
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepFinished.class, this::handleTestStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::handleTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> history.write());
+    }
+
+    private void handleTestStepFinished(TestStepFinished event) {
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            stepDurations.computeIfAbsent(event.getTestCase().getId(), id -> new ArrayList<>())
+                    .add(event.getResult().getDuration());
+        }
+    }
+
+    private void handleTestCaseFinished(TestCaseFinished event) {
+        List<Duration> durations = stepDurations.remove(event.getTestCase().getId());
+        Result result = event.getResult();
+        if (result.getStatus().is(Status.SKIPPED)) {
+            return;
+        }
+        history.record(event.getTestCase(), result, durations == null ? Collections.emptyList() : durations);
+    }
+
+}
@@ -0,0 +1,152 @@
+package io.cucumber.core.history;
+
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import org.apiguardian.api.API;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The history of a single pickle.
+ * <p>
+ * Durations and the failure rate are exponentially weighted moving averages
+ * over all previous runs of the pickle. Recent runs weigh more than older
+ * runs.
+ */
+@API(status = API.Status.EXPERIMENTAL)
+public final class PickleHistory {
+
+    private final URI uri;
+    private final int line;
+    private final long contentHash;
+    private final long lastRun;
+    private final int runs;
+    private final double nanos;
+    private final double failureRate;
+    private final Status lastStatus;
+    private final double[] stepNanos;
+
+    PickleHistory(
+            URI uri, int line, long contentHash, long lastRun, int runs, double nanos, double failureRate,
+            Status lastStatus, double[] stepNanos
+    ) {
+        this.uri = uri;
+        this.line = line;
+        this.contentHash = contentHash;
+        this.lastRun = lastRun;
+        this.runs = runs;
+        this.nanos = nanos;
+        this.failureRate = failureRate;
+        this.lastStatus = lastStatus;
+        this.stepNanos = stepNanos;
+    }
+
+    static PickleHistory first(
+            URI uri, int line, long contentHash, long run, Result result, List<Duration> stepDurations
+    ) {
+        double[] stepNanos = new double[stepDurations.size()];
+        for (int i = 0; i < stepNanos.length; i++) {
+            stepNanos[i] = stepDurations.get(i).toNanos();
+        }
+        return new PickleHistory(uri, line, contentHash, run, 1, result.getDuration().toNanos(),
+            isFailure(result) ? 1 : 0, result.getStatus(), stepNanos);
+    }
+
+    private static boolean isFailure(Result result) {
+        return !result.getStatus().isOk();
+    }
+
+    private static double average(double previous, double current) {
+        return previous + History.WEIGHT * (current - previous);
+    }
+
+    PickleHistory next(long contentHash, long run, Result result, List<Duration> stepDurations) {
+        if (this.contentHash != contentHash || stepNanos.length != stepDurations.size()) {
+            return first(uri, line, contentHash, run, result, stepDurations);
+        }
+        double[] nextStepNanos = new double[stepNanos.length];
+        for (int i = 0; i < nextStepNanos.length; i++) {
+            nextStepNanos[i] = average(stepNanos[i], stepDurations.get(i).toNanos());
+        }
+        return new PickleHistory(
+            uri,
+            line,
+            contentHash,
+            run,
+            runs == Integer.MAX_VALUE ? runs : runs + 1,
+            average(nanos, result.getDuration().toNanos()),
+            average(failureRate, isFailure(result) ? 1 : 0),
+            result.getStatus(),
+            nextStepNanos);
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    long getContentHash() {
+        return contentHash;
+    }
+
+    long getLastRun() {
+        return lastRun;
+    }
+
+    /**
+     * @return the number of runs this history is based on
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * @return the expected duration of the pickle
+     */
+    public Duration getDuration() {
+        return Duration.ofNanos(Math.round(nanos));
+    }
+
+    double getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return the expected duration of each step in the pickle, excluding
+     *         hooks
+     */
+    public List<Duration> getStepDurations() {
+        List<Duration> durations = new ArrayList<>(stepNanos.length);
+        for (double stepNano : stepNanos) {
+            durations.add(Duration.ofNanos(Math.round(stepNano)));
+        }
+        return unmodifiableList(durations);
+    }
+
+    double[] getStepNanos() {
+        return stepNanos;
+    }
+
+    /**
+     * @return a number between 0 and 1, with 1 when all recent runs failed
+     */
+    public double getFailureRate() {
+        return failureRate;
+    }
+
+    /**
+     * @return the status of the most recent run
+     */
+    public Status getLastStatus() {
+        return lastStatus;
+    }
+
+}
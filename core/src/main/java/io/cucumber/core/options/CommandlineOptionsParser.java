@@ -42,6 +42,7 @@ public final class CommandlineOptionsParser {
             .getString("cucumber-jvm.version");
     // IMPORTANT! Make sure USAGE.txt is always uptodate if this class changes.
     private static final String USAGE_RESOURCE = "/io/cucumber/core/options/USAGE.txt";
+    private static final String VIRTUAL_THREADS_PREFIX = "virtual:";
 
     private final PrintWriter out;
     private Byte exitCode = null;
@@ -78,13 +79,27 @@ public final class CommandlineOptionsParser {
                 exitCode = printI18n(nextArg);
                 return parsedOptions;
             } else if (arg.equals("--threads")) {
-                int threads = Integer.parseInt(removeArgFor(arg, args));
+                String threadsArg = removeArgFor(arg, args);
+                boolean virtualThreads = threadsArg.startsWith(VIRTUAL_THREADS_PREFIX);
+                int threads = Integer.parseInt(
+                    virtualThreads ? threadsArg.substring(VIRTUAL_THREADS_PREFIX.length()) : threadsArg);
                 if (threads < 1) {
                     out.println("--threads must be > 0");
                     exitCode = 1;
                     return parsedOptions;
                 }
                 parsedOptions.setThreads(threads);
+                if (virtualThreads) {
+                    parsedOptions.setVirtualThreads(true);
+                }
+            } else if (arg.equals("--processes")) {
+                int processes = Integer.parseInt(removeArgFor(arg, args));
+                if (processes < 1) {
+                    out.println("--processes must be > 0");
+                    exitCode = 1;
+                    return parsedOptions;
+                }
+                parsedOptions.setProcesses(processes);
             } else if (arg.equals("--glue") || arg.equals("-g")) {
                 String gluePath = removeArgFor(arg, args);
                 URI parse = GluePath.parse(gluePath);
@@ -26,6 +26,18 @@ public final class Constants {
      */
     public static final String EXECUTION_DRY_RUN_PROPERTY_NAME = "cucumber.execution.dry-run";
 
+    /**
+     * Property name used to enable fail fast execution: {@value}
+     * <p>
+     * When using fail fast execution Cucumber will skip the remaining
+     * scenarios after the first failed scenario. Equivalent to setting
+     * {@value #EXECUTION_MAX_FAILURES_PROPERTY_NAME} to {@code 1}, which takes
+     * precedence when both are set.
+     * <p>
+     * By default, fail fast execution is disabled.
+     */
+    public static final String EXECUTION_FAIL_FAST_PROPERTY_NAME = "cucumber.execution.fail-fast";
+
     /**
      * Property name used to limit the number of executed scenarios : {@value}
      * <p>
@@ -35,6 +47,18 @@ public final class Constants {
      */
     public static final String EXECUTION_LIMIT_PROPERTY_NAME = "cucumber.execution.limit";
 
+    /**
+     * Property name used to set the maximum number of failed scenarios:
+     * {@value}
+     * <p>
+     * Once the maximum number of scenarios has failed, scenarios that have
+     * not been started yet are skipped. Scenarios that are already running
+     * will finish.
+     * <p>
+     * By default, the number of failures is unlimited.
+     */
+    public static final String EXECUTION_MAX_FAILURES_PROPERTY_NAME = "cucumber.execution.max-failures";
+
     /**
      * Property name used to set execution order: {@value}
      * <p>
@@ -45,6 +69,96 @@ public final class Constants {
      */
     public static final String EXECUTION_ORDER_PROPERTY_NAME = "cucumber.execution.order";
 
+    /**
+     * Property name used to set the parallel execution granularity: {@value}
+     * <p>
+     * Valid values are {@code pickle}, {@code rule} or {@code feature}. With
+     * {@code rule} or {@code feature} the scenarios of a rule or feature are
+     * executed in order on the same thread, while rules and features are still
+     * executed in parallel. Scenarios outside of a rule are executed on their
+     * own.
+     * <p>
+     * By default, {@code pickle} is used. Only applies to the CLI.
+     */
+    public static final String EXECUTION_PARALLEL_GRANULARITY_PROPERTY_NAME = "cucumber.execution.parallel.granularity";
+
+    /**
+     * Property name used to enable the result cache: {@value}
+     * <p>
+     * When enabled, scenarios that passed in a previous run are not executed
+     * again as long as the scenario, the classes of the step definitions and
+     * hooks it uses and the declared inputs are unchanged. Their results are
+     * reported as they were recorded. The cache is kept in
+     * {@code target/cucumber-result-cache}.
+     * <p>
+     * By default, the result cache is disabled. Only applies to the CLI.
+     *
+     * @see #EXECUTION_RESULT_CACHE_INPUTS_PROPERTY_NAME
+     */
+    public static final String EXECUTION_RESULT_CACHE_ENABLED_PROPERTY_NAME = "cucumber.execution.result-cache.enabled";
+
+    /**
+     * Property name used to declare the inputs of the result cache: {@value}
+     * <p>
+     * A comma separated list of files and directories, e.g.
+     * {@code src/test/resources/data, config.yml}. When any of these change,
+     * all cached results are discarded. Use this for test data and
+     * configuration that is not part of the scenarios or step definitions.
+     */
+    public static final String EXECUTION_RESULT_CACHE_INPUTS_PROPERTY_NAME = "cucumber.execution.result-cache.inputs";
+
+    /**
+     * Property name used to set the scheduler: {@value}
+     * <p>
+     * Valid values are {@code fifo} or {@code longest-first}. When using
+     * {@code longest-first} the durations of each scenario are recorded in
+     * the history in {@code target/cucumber-history} and used to start the
+     * longest running scenarios first in the next run.
+     * <p>
+     * By default, {@code fifo} is used. Only applies to the CLI.
+     */
+    public static final String EXECUTION_SCHEDULER_PROPERTY_NAME = "cucumber.execution.scheduler";
+
+    /**
+     * Property name used to execute a shard of the scenarios: {@value}
+     * <p>
+     * Of the form {@code INDEX/TOTAL}, e.g. {@code 2/12}. Divides the
+     * scenarios into {@code TOTAL} shards and executes only the shard with
+     * index {@code INDEX}, counting from 1. Each node that uses the same
+     * features and filters gets the same shards. The scenarios are divided
+     * evenly by a stable hash of their uri and line, unless a shared history
+     * is configured.
+     * <p>
+     * By default, all scenarios are executed.
+     */
+    public static final String EXECUTION_SHARD_PROPERTY_NAME = "cucumber.execution.shard";
+
+    /**
+     * Property name used to balance the shards by a history: {@value}
+     * <p>
+     * The directory of a history written by the {@code history} plugin, e.g.
+     * restored from a cache that is shared by all nodes. The shards are
+     * balanced by the expected duration of each scenario. The history must be
+     * the same on every node, otherwise the nodes divide the scenarios
+     * differently and scenarios are skipped or executed twice.
+     * <p>
+     * By default, no history is used.
+     *
+     * @see #EXECUTION_SHARD_PROPERTY_NAME
+     */
+    public static final String EXECUTION_SHARD_HISTORY_PROPERTY_NAME = "cucumber.execution.shard.history";
+
+    /**
+     * Property name used to set the size of the step match cache: {@value}
+     * <p>
+     * The step match cache remembers which step definition matched a step
+     * text. The cache is shared between all threads. A size of {@code 0}
+     * disables the cache.
+     * <p>
+     * By default up to 10000 step texts are cached.
+     */
+    public static final String EXECUTION_STEP_MATCH_CACHE_SIZE_PROPERTY_NAME = "cucumber.execution.step-match-cache.size";
+
     /**
      * Property name used to disable strict execution: {@value}
      * <p>
@@ -128,6 +242,22 @@ public final class Constants {
      */
     public static final String OBJECT_FACTORY_PROPERTY_NAME = "cucumber.object-factory";
 
+    /**
+     * Property name to select the id generator: {@value}
+     * <p>
+     * Valid values are {@code random}, {@code incrementing}, {@code seeded}
+     * or the fully qualified class name of an
+     * {@link io.cucumber.core.eventbus.IdGenerator} registered with SPI.
+     * <p>
+     * The {@code incrementing} and {@code seeded} generators generate the
+     * same ids in every run on a single thread, so the output of runs can be
+     * compared. The {@code incrementing} generator does not make threads wait
+     * for each other.
+     * <p>
+     * By default, random ids are generated.
+     */
+    public static final String ID_GENERATOR_PROPERTY_NAME = "cucumber.id-generator";
+
     /**
      * Property name to enable plugins: {@value}
      * <p>
@@ -152,6 +282,44 @@ public final class Constants {
      */
     public static final String PLUGIN_PROPERTY_NAME = "cucumber.plugin";
 
+    /**
+     * Property name used to set what happens to events for an asynchronous
+     * plugin that can not keep up: {@value}
+     * <p>
+     * Valid values are {@code block} or {@code drop}. When set to
+     * {@code block} publishing an event waits until the plugin has room for
+     * it. When set to {@code drop} the event is dropped and a warning is
+     * logged.
+     * <p>
+     * By default, publishing blocks.
+     *
+     * @see io.cucumber.plugin.AsyncPlugin
+     */
+    public static final String PLUGIN_ASYNC_OVERFLOW_POLICY_PROPERTY_NAME = "cucumber.plugin.async.overflow-policy";
+
+    /**
+     * Property name used to set the memory budget in megabytes for plugins
+     * that receive events in canonical order: {@value}
+     * <p>
+     * Events are kept until the test run finished. When the estimated size of
+     * the events of finished scenarios exceeds the budget they are written to
+     * a temporary file and read back when published.
+     * <p>
+     * By default, the budget is 64 megabytes.
+     */
+    public static final String PLUGIN_CANONICAL_ORDER_MEMORY_BUDGET_PROPERTY_NAME = "cucumber.plugin.canonical-order.memory-budget";
+
+    /**
+     * Property name used to enable pretty printing of the json formatter
+     * output: {@value}
+     * <p>
+     * Disabling it writes each feature on a single line, which makes the
+     * report considerably smaller.
+     * <p>
+     * By default, pretty printing is enabled.
+     */
+    public static final String PLUGIN_JSON_PRETTY_PRINT_PROPERTY_NAME = "cucumber.plugin.json.pretty-print";
+
     /**
      * Setting this to true will enable publishing.
      */
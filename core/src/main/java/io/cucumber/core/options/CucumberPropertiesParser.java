@@ -3,6 +3,7 @@ package io.cucumber.core.options;
 import io.cucumber.core.exception.CucumberException;
 import io.cucumber.core.feature.FeatureWithLines;
 import io.cucumber.core.feature.GluePath;
+import io.cucumber.core.filter.Shard;
 import io.cucumber.tagexpressions.TagExpressionParser;
 
 import java.nio.file.Path;
@@ -17,14 +18,27 @@ import java.util.stream.Stream;
 
 import static io.cucumber.core.options.Constants.ANSI_COLORS_DISABLED_PROPERTY_NAME;
 import static io.cucumber.core.options.Constants.EXECUTION_DRY_RUN_PROPERTY_NAME;
+import static io.cucumber.core.options.Constants.EXECUTION_FAIL_FAST_PROPERTY_NAME;
 import static io.cucumber.core.options.Constants.EXECUTION_LIMIT_PROPERTY_NAME;
+import static io.cucumber.core.options.Constants.EXECUTION_MAX_FAILURES_PROPERTY_NAME;
 import static io.cucumber.core.options.Constants.EXECUTION_ORDER_PROPERTY_NAME;
+import static io.cucumber.core.options.Constants.EXECUTION_PARALLEL_GRANULARITY_PROPERTY_NAME;
+import static io.cucumber.core.options.Constants.EXECUTION_RESULT_CACHE_ENABLED_PROPERTY_NAME;
+import static io.cucumber.core.options.Constants.EXECUTION_RESULT_CACHE_INPUTS_PROPERTY_NAME;
+import static io.cucumber.core.options.Constants.EXECUTION_SCHEDULER_PROPERTY_NAME;
+import static io.cucumber.core.options.Constants.EXECUTION_SHARD_HISTORY_PROPERTY_NAME;
+import static io.cucumber.core.options.Constants.EXECUTION_SHARD_PROPERTY_NAME;
+import static io.cucumber.core.options.Constants.EXECUTION_STEP_MATCH_CACHE_SIZE_PROPERTY_NAME;
 import static io.cucumber.core.options.Constants.EXECUTION_STRICT_PROPERTY_NAME;
 import static io.cucumber.core.options.Constants.FEATURES_PROPERTY_NAME;
 import static io.cucumber.core.options.Constants.FILTER_NAME_PROPERTY_NAME;
 import static io.cucumber.core.options.Constants.FILTER_TAGS_PROPERTY_NAME;
 import static io.cucumber.core.options.Constants.GLUE_PROPERTY_NAME;
+import static io.cucumber.core.options.Constants.ID_GENERATOR_PROPERTY_NAME;
 import static io.cucumber.core.options.Constants.OBJECT_FACTORY_PROPERTY_NAME;
+import static io.cucumber.core.options.Constants.PLUGIN_ASYNC_OVERFLOW_POLICY_PROPERTY_NAME;
+import static io.cucumber.core.options.Constants.PLUGIN_CANONICAL_ORDER_MEMORY_BUDGET_PROPERTY_NAME;
+import static io.cucumber.core.options.Constants.PLUGIN_JSON_PRETTY_PRINT_PROPERTY_NAME;
 import static io.cucumber.core.options.Constants.PLUGIN_PROPERTY_NAME;
 import static io.cucumber.core.options.Constants.PLUGIN_PUBLISH_ENABLED_PROPERTY_NAME;
 import static io.cucumber.core.options.Constants.PLUGIN_PUBLISH_QUIET_PROPERTY_NAME;
@@ -50,16 +64,61 @@ public final class CucumberPropertiesParser {
             BooleanString::parseBoolean,
             builder::setDryRun);
 
+        parse(properties,
+            EXECUTION_FAIL_FAST_PROPERTY_NAME,
+            BooleanString::parseBoolean,
+            builder::setFailFast);
+
         parse(properties,
             EXECUTION_LIMIT_PROPERTY_NAME,
             Integer::parseInt,
             builder::setCount);
 
+        parse(properties,
+            EXECUTION_MAX_FAILURES_PROPERTY_NAME,
+            Integer::parseInt,
+            builder::setMaxFailures);
+
         parse(properties,
             EXECUTION_ORDER_PROPERTY_NAME,
             PickleOrderParser::parse,
             builder::setPickleOrder);
 
+        parse(properties,
+            EXECUTION_PARALLEL_GRANULARITY_PROPERTY_NAME,
+            GranularityParser::parse,
+            builder::setGranularity);
+
+        parse(properties,
+            EXECUTION_RESULT_CACHE_ENABLED_PROPERTY_NAME,
+            BooleanString::parseBoolean,
+            builder::setResultCache);
+
+        parseAll(properties,
+            EXECUTION_RESULT_CACHE_INPUTS_PROPERTY_NAME,
+            splitAndMap(Paths::get),
+            builder::addResultCacheInput);
+
+        parse(properties,
+            EXECUTION_SCHEDULER_PROPERTY_NAME,
+            SchedulerParser::parse,
+            builder::setScheduler);
+
+        parse(properties,
+            EXECUTION_SHARD_PROPERTY_NAME,
+            Shard::parse,
+            builder::setShard);
+
+        parse(properties,
+            EXECUTION_SHARD_HISTORY_PROPERTY_NAME,
+            Paths::get,
+            builder::setShardHistory);
+
+        parse(properties,
+            EXECUTION_STEP_MATCH_CACHE_SIZE_PROPERTY_NAME,
+            Integer::parseInt,
+            builder::setStepMatchCacheSize);
+
         parse(properties,
             EXECUTION_STRICT_PROPERTY_NAME,
             BooleanString::parseBoolean,
@@ -95,11 +154,31 @@ public final class CucumberPropertiesParser {
             ObjectFactoryParser::parseObjectFactory,
             builder::setObjectFactoryClass);
 
+        parse(properties,
+            ID_GENERATOR_PROPERTY_NAME,
+            IdGeneratorParser::parseIdGenerator,
+            builder::setIdGeneratorClass);
+
         parseAll(properties,
             PLUGIN_PROPERTY_NAME,
             splitAndMap(Function.identity()),
             builder::addPluginName);
 
+        parse(properties,
+            PLUGIN_ASYNC_OVERFLOW_POLICY_PROPERTY_NAME,
+            OverflowPolicyParser::parse,
+            builder::setAsyncPluginOverflowPolicy);
+
+        parse(properties,
+            PLUGIN_CANONICAL_ORDER_MEMORY_BUDGET_PROPERTY_NAME,
+            Integer::parseInt,
+            builder::setCanonicalOrderMemoryBudget);
+
+        parse(properties,
+            PLUGIN_JSON_PRETTY_PRINT_PROPERTY_NAME,
+            BooleanString::parseBoolean,
+            builder::setJsonPrettyPrint);
+
         parse(properties,
             PLUGIN_PUBLISH_TOKEN_PROPERTY_NAME,
             s -> s, // No validation - validated on server
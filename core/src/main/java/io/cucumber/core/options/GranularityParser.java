@@ -0,0 +1,24 @@
+package io.cucumber.core.options;
+
+import io.cucumber.core.runtime.Granularity;
+
+final class GranularityParser {
+
+    private GranularityParser() {
+
+    }
+
+    static Granularity parse(String argument) {
+        if ("pickle".equals(argument)) {
+            return Granularity.PICKLE;
+        }
+        if ("rule".equals(argument)) {
+            return Granularity.RULE;
+        }
+        if ("feature".equals(argument)) {
+            return Granularity.FEATURE;
+        }
+        throw new IllegalArgumentException("Invalid granularity. Must be either pickle, rule or feature");
+    }
+
+}
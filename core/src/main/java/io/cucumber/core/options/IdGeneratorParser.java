@@ -0,0 +1,39 @@
+package io.cucumber.core.options;
+
+import io.cucumber.core.eventbus.IdGenerator;
+import io.cucumber.core.eventbus.IncrementingIdGenerator;
+import io.cucumber.core.eventbus.RandomIdGenerator;
+import io.cucumber.core.eventbus.SeededIdGenerator;
+
+public final class IdGeneratorParser {
+
+    private IdGeneratorParser() {
+
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Class<? extends IdGenerator> parseIdGenerator(String cucumberIdGenerator) {
+        if ("random".equals(cucumberIdGenerator)) {
+            return RandomIdGenerator.class;
+        }
+        if ("incrementing".equals(cucumberIdGenerator)) {
+            return IncrementingIdGenerator.class;
+        }
+        if ("seeded".equals(cucumberIdGenerator)) {
+            return SeededIdGenerator.class;
+        }
+        Class<?> idGeneratorClass;
+        try {
+            idGeneratorClass = Class.forName(cucumberIdGenerator);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException(
+                String.format("Could not load id generator class for '%s'", cucumberIdGenerator), e);
+        }
+        if (!IdGenerator.class.isAssignableFrom(idGeneratorClass)) {
+            throw new IllegalArgumentException(String.format("Id generator class '%s' was not a subclass of '%s'",
+                idGeneratorClass, IdGenerator.class));
+        }
+        return (Class<? extends IdGenerator>) idGeneratorClass;
+    }
+
+}
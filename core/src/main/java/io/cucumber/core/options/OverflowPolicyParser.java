@@ -0,0 +1,21 @@
+package io.cucumber.core.options;
+
+import io.cucumber.core.plugin.OverflowPolicy;
+
+public final class OverflowPolicyParser {
+
+    private OverflowPolicyParser() {
+
+    }
+
+    public static OverflowPolicy parse(String argument) {
+        if ("block".equals(argument)) {
+            return OverflowPolicy.BLOCK;
+        }
+        if ("drop".equals(argument)) {
+            return OverflowPolicy.DROP;
+        }
+        throw new IllegalArgumentException("Invalid overflow policy. Must be either block or drop");
+    }
+
+}
@@ -1,7 +1,9 @@
 package io.cucumber.core.options;
 
+import io.cucumber.core.history.HistoryRecorder;
 import io.cucumber.core.logging.Logger;
 import io.cucumber.core.logging.LoggerFactory;
+import io.cucumber.core.plugin.BinaryMessageFormatter;
 import io.cucumber.core.plugin.DefaultSummaryPrinter;
 import io.cucumber.core.plugin.HtmlFormatter;
 import io.cucumber.core.plugin.JUnitFormatter;
@@ -44,6 +46,7 @@ public class PluginOption implements Options.Plugin {
     static {
         Map<String, Class<? extends Plugin>> plugins = new HashMap<>();
         plugins.put("default_summary", DefaultSummaryPrinter.class);
+        plugins.put("history", HistoryRecorder.class);
         plugins.put("html", HtmlFormatter.class);
         plugins.put("json", JsonFormatter.class);
         plugins.put("junit", JUnitFormatter.class);
@@ -102,7 +105,12 @@ public class PluginOption implements Options.Plugin {
         }
 
         Class<? extends Plugin> pluginClass = parsePluginName(pluginSpecification, pluginWithFile.group(1));
-        return new PluginOption(pluginSpecification, pluginClass, pluginWithFile.group(2));
+        String argument = pluginWithFile.group(2);
+        // Write messages as protobuf rather than NDJSON
+        if (pluginClass == MessageFormatter.class && (argument.endsWith(".pb") || argument.endsWith(".pb.gz"))) {
+            pluginClass = BinaryMessageFormatter.class;
+        }
+        return new PluginOption(pluginSpecification, pluginClass, argument);
     }
 
     public static PluginOption forClass(Class<? extends Plugin> pluginClass, String argument) {
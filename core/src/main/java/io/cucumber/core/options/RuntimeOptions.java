@@ -1,19 +1,27 @@
 package io.cucumber.core.options;
 
 import io.cucumber.core.backend.ObjectFactory;
+import io.cucumber.core.eventbus.IdGenerator;
 import io.cucumber.core.feature.FeatureWithLines;
+import io.cucumber.core.filter.Shard;
 import io.cucumber.core.order.PickleOrder;
 import io.cucumber.core.order.StandardPickleOrders;
 import io.cucumber.core.plugin.NoPublishFormatter;
+import io.cucumber.core.plugin.OverflowPolicy;
 import io.cucumber.core.plugin.PublishFormatter;
+import io.cucumber.core.runner.StepMatchCache;
+import io.cucumber.core.runtime.Granularity;
+import io.cucumber.core.runtime.Scheduler;
 import io.cucumber.core.snippets.SnippetType;
 import io.cucumber.tagexpressions.Expression;
 
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -31,7 +39,8 @@ public final class RuntimeOptions implements
         io.cucumber.core.runner.Options,
         io.cucumber.core.plugin.Options,
         io.cucumber.core.filter.Options,
-        io.cucumber.core.backend.Options {
+        io.cucumber.core.backend.Options,
+        io.cucumber.core.eventbus.Options {
 
     private final List<URI> glue = new ArrayList<>();
     private final List<Expression> tagExpressions = new ArrayList<>();
@@ -39,18 +48,32 @@ public final class RuntimeOptions implements
     private final List<FeatureWithLines> featurePaths = new ArrayList<>();
     private final List<Plugin> formatters = new ArrayList<>();
     private final List<Plugin> summaryPrinters = new ArrayList<>();
+    private final List<Path> resultCacheInputs = new ArrayList<>();
     private boolean dryRun;
     private boolean monochrome = false;
     private boolean wip = false;
     private SnippetType snippetType = SnippetType.UNDERSCORE;
     private int threads = 1;
+    private boolean virtualThreads = false;
+    private int processes = 1;
     private PickleOrder pickleOrder = StandardPickleOrders.lexicalUriOrder();
     private int count = 0;
+    private Shard shard = Shard.all();
+    private Path shardHistory;
+    private Scheduler scheduler = Scheduler.FIFO;
+    private Granularity granularity = Granularity.PICKLE;
+    private int maxFailures = 0;
+    private int stepMatchCacheSize = StepMatchCache.DEFAULT_MAXIMUM_SIZE;
+    private boolean resultCache = false;
     private Class<? extends ObjectFactory> objectFactoryClass;
+    private Class<? extends IdGenerator> idGeneratorClass;
     private String publishToken;
     private boolean publish;
     private boolean publishQuiet;
     private boolean enablePublishPlugin;
+    private OverflowPolicy asyncPluginOverflowPolicy = OverflowPolicy.BLOCK;
+    private int canonicalOrderMemoryBudget = 64;
+    private boolean jsonPrettyPrint = true;
 
     private RuntimeOptions() {
 
@@ -93,7 +116,7 @@ public final class RuntimeOptions implements
     }
 
     public boolean isMultiThreaded() {
-        return getThreads() > 1;
+        return getThreads() > 1 || isVirtualThreads();
     }
 
     public int getThreads() {
@@ -104,6 +127,35 @@ public final class RuntimeOptions implements
         this.threads = threads;
     }
 
+    /**
+     * When true each pickle is executed on its own virtual thread and
+     * {@link #getThreads()} limits the number of pickles executed
+     * concurrently.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * When more than one, pickles are executed by this number of forked
+     * worker processes.
+     */
+    public boolean isMultiProcess() {
+        return processes > 1;
+    }
+
+    public int getProcesses() {
+        return processes;
+    }
+
+    void setProcesses(int processes) {
+        this.processes = processes;
+    }
+
     @Override
     public List<Plugin> plugins() {
         List<Plugin> plugins = new ArrayList<>();
@@ -142,6 +194,42 @@ public final class RuntimeOptions implements
         this.wip = wip;
     }
 
+    @Override
+    public int getMaxFailures() {
+        return maxFailures;
+    }
+
+    void setMaxFailures(int maxFailures) {
+        this.maxFailures = maxFailures;
+    }
+
+    @Override
+    public OverflowPolicy getAsyncPluginOverflowPolicy() {
+        return asyncPluginOverflowPolicy;
+    }
+
+    void setAsyncPluginOverflowPolicy(OverflowPolicy asyncPluginOverflowPolicy) {
+        this.asyncPluginOverflowPolicy = asyncPluginOverflowPolicy;
+    }
+
+    @Override
+    public int getCanonicalOrderMemoryBudget() {
+        return canonicalOrderMemoryBudget;
+    }
+
+    void setCanonicalOrderMemoryBudget(int canonicalOrderMemoryBudget) {
+        this.canonicalOrderMemoryBudget = canonicalOrderMemoryBudget;
+    }
+
+    @Override
+    public boolean isJsonPrettyPrint() {
+        return jsonPrettyPrint;
+    }
+
+    void setJsonPrettyPrint(boolean jsonPrettyPrint) {
+        this.jsonPrettyPrint = jsonPrettyPrint;
+    }
+
     void setMonochrome(boolean monochrome) {
         this.monochrome = monochrome;
     }
@@ -170,6 +258,15 @@ public final class RuntimeOptions implements
         this.objectFactoryClass = objectFactoryClass;
     }
 
+    @Override
+    public Class<? extends IdGenerator> getIdGeneratorClass() {
+        return idGeneratorClass;
+    }
+
+    void setIdGeneratorClass(Class<? extends IdGenerator> idGeneratorClass) {
+        this.idGeneratorClass = idGeneratorClass;
+    }
+
     void setSnippetType(SnippetType snippetType) {
         this.snippetType = snippetType;
     }
@@ -240,6 +337,66 @@ public final class RuntimeOptions implements
         this.count = count;
     }
 
+    @Override
+    public Shard getShard() {
+        return shard;
+    }
+
+    void setShard(Shard shard) {
+        this.shard = shard;
+    }
+
+    @Override
+    public Optional<Path> getShardHistory() {
+        return Optional.ofNullable(shardHistory);
+    }
+
+    void setShardHistory(Path shardHistory) {
+        this.shardHistory = shardHistory;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    void setScheduler(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    void setGranularity(Granularity granularity) {
+        this.granularity = granularity;
+    }
+
+    @Override
+    public int getStepMatchCacheSize() {
+        return stepMatchCacheSize;
+    }
+
+    void setStepMatchCacheSize(int stepMatchCacheSize) {
+        this.stepMatchCacheSize = stepMatchCacheSize;
+    }
+
+    public boolean isResultCache() {
+        return resultCache;
+    }
+
+    void setResultCache(boolean resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    public List<Path> getResultCacheInputs() {
+        return unmodifiableList(resultCacheInputs);
+    }
+
+    void setResultCacheInputs(List<Path> resultCacheInputs) {
+        this.resultCacheInputs.clear();
+        this.resultCacheInputs.addAll(resultCacheInputs);
+    }
+
     void setTagExpressions(List<Expression> tagExpressions) {
         this.tagExpressions.clear();
         this.tagExpressions.addAll(tagExpressions);
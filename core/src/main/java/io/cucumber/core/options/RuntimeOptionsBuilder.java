@@ -1,14 +1,20 @@
 package io.cucumber.core.options;
 
 import io.cucumber.core.backend.ObjectFactory;
+import io.cucumber.core.eventbus.IdGenerator;
 import io.cucumber.core.exception.CucumberException;
 import io.cucumber.core.feature.FeatureWithLines;
+import io.cucumber.core.filter.Shard;
 import io.cucumber.core.order.PickleOrder;
 import io.cucumber.core.plugin.Options;
+import io.cucumber.core.plugin.OverflowPolicy;
+import io.cucumber.core.runtime.Granularity;
+import io.cucumber.core.runtime.Scheduler;
 import io.cucumber.core.snippets.SnippetType;
 import io.cucumber.tagexpressions.Expression;
 
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -23,14 +29,25 @@ public final class RuntimeOptionsBuilder {
     private final List<URI> parsedGlue = new ArrayList<>();
     private final List<Options.Plugin> formatters = new ArrayList<>();
     private final List<Options.Plugin> summaryPrinters = new ArrayList<>();
+    private final List<Path> parsedResultCacheInputs = new ArrayList<>();
     private List<FeatureWithLines> parsedRerunPaths = null;
     private Integer parsedThreads = null;
+    private Boolean parsedVirtualThreads = null;
+    private Integer parsedProcesses = null;
     private Boolean parsedDryRun = null;
     private Boolean parsedMonochrome = null;
     private SnippetType parsedSnippetType = null;
     private Boolean parsedWip = null;
     private PickleOrder parsedPickleOrder = null;
     private Integer parsedCount = null;
+    private Scheduler parsedScheduler = null;
+    private Granularity parsedGranularity = null;
+    private Boolean parsedFailFast = null;
+    private Integer parsedMaxFailures = null;
+    private Shard parsedShard = null;
+    private Path parsedShardHistory = null;
+    private Integer parsedStepMatchCacheSize = null;
+    private Boolean parsedResultCache = null;
     private Class<? extends ObjectFactory> parsedObjectFactoryClass = null;
     private boolean addDefaultSummaryPrinterIfAbsent;
     private boolean addDefaultFormatterIfAbsent;
@@ -40,6 +57,10 @@ public final class RuntimeOptionsBuilder {
     private Boolean parsedPublish;
     private Boolean parsedPublishQuiet;
     private Boolean parsedEnablePublishPlugin;
+    private OverflowPolicy parsedAsyncPluginOverflowPolicy = null;
+    private Integer parsedCanonicalOrderMemoryBudget = null;
+    private Boolean parsedJsonPrettyPrint = null;
+    private Class<? extends IdGenerator> parsedIdGeneratorClass = null;
 
     public RuntimeOptionsBuilder addRerun(Collection<FeatureWithLines> featureWithLines) {
         if (parsedRerunPaths == null) {
@@ -90,6 +111,14 @@ public final class RuntimeOptionsBuilder {
             runtimeOptions.setThreads(this.parsedThreads);
         }
 
+        if (this.parsedVirtualThreads != null) {
+            runtimeOptions.setVirtualThreads(this.parsedVirtualThreads);
+        }
+
+        if (this.parsedProcesses != null) {
+            runtimeOptions.setProcesses(this.parsedProcesses);
+        }
+
         if (this.parsedDryRun != null) {
             runtimeOptions.setDryRun(this.parsedDryRun);
         }
@@ -114,6 +143,41 @@ public final class RuntimeOptionsBuilder {
             runtimeOptions.setCount(this.parsedCount);
         }
 
+        if (this.parsedScheduler != null) {
+            runtimeOptions.setScheduler(this.parsedScheduler);
+        }
+
+        if (this.parsedGranularity != null) {
+            runtimeOptions.setGranularity(this.parsedGranularity);
+        }
+
+        if (this.parsedMaxFailures != null) {
+            runtimeOptions.setMaxFailures(this.parsedMaxFailures);
+        } else if (Boolean.TRUE.equals(this.parsedFailFast)) {
+            // Disabling fail fast must not disable a configured maximum
+            runtimeOptions.setMaxFailures(1);
+        }
+
+        if (this.parsedShard != null) {
+            runtimeOptions.setShard(this.parsedShard);
+        }
+
+        if (this.parsedShardHistory != null) {
+            runtimeOptions.setShardHistory(this.parsedShardHistory);
+        }
+
+        if (this.parsedStepMatchCacheSize != null) {
+            runtimeOptions.setStepMatchCacheSize(this.parsedStepMatchCacheSize);
+        }
+
+        if (this.parsedResultCache != null) {
+            runtimeOptions.setResultCache(this.parsedResultCache);
+        }
+
+        if (!this.parsedResultCacheInputs.isEmpty()) {
+            runtimeOptions.setResultCacheInputs(this.parsedResultCacheInputs);
+        }
+
         if (!this.parsedTagFilters.isEmpty() || !this.parsedNameFilters.isEmpty() || hasFeaturesWithLineFilters()) {
             runtimeOptions.setTagExpressions(this.parsedTagFilters);
             runtimeOptions.setNameFilters(this.parsedNameFilters);
@@ -169,6 +233,22 @@ public final class RuntimeOptionsBuilder {
             runtimeOptions.setEnablePublishPlugin(parsedEnablePublishPlugin);
         }
 
+        if (parsedAsyncPluginOverflowPolicy != null) {
+            runtimeOptions.setAsyncPluginOverflowPolicy(parsedAsyncPluginOverflowPolicy);
+        }
+
+        if (parsedCanonicalOrderMemoryBudget != null) {
+            runtimeOptions.setCanonicalOrderMemoryBudget(parsedCanonicalOrderMemoryBudget);
+        }
+
+        if (parsedJsonPrettyPrint != null) {
+            runtimeOptions.setJsonPrettyPrint(parsedJsonPrettyPrint);
+        }
+
+        if (parsedIdGeneratorClass != null) {
+            runtimeOptions.setIdGeneratorClass(parsedIdGeneratorClass);
+        }
+
         return runtimeOptions;
     }
 
@@ -211,11 +291,66 @@ public final class RuntimeOptionsBuilder {
         return this;
     }
 
+    public RuntimeOptionsBuilder setScheduler(Scheduler scheduler) {
+        this.parsedScheduler = scheduler;
+        return this;
+    }
+
+    public RuntimeOptionsBuilder setGranularity(Granularity granularity) {
+        this.parsedGranularity = granularity;
+        return this;
+    }
+
+    public RuntimeOptionsBuilder setFailFast(boolean failFast) {
+        this.parsedFailFast = failFast;
+        return this;
+    }
+
+    public RuntimeOptionsBuilder setMaxFailures(int maxFailures) {
+        this.parsedMaxFailures = maxFailures;
+        return this;
+    }
+
+    public RuntimeOptionsBuilder setShard(Shard shard) {
+        this.parsedShard = shard;
+        return this;
+    }
+
+    public RuntimeOptionsBuilder setShardHistory(Path history) {
+        this.parsedShardHistory = history;
+        return this;
+    }
+
+    public RuntimeOptionsBuilder setStepMatchCacheSize(int stepMatchCacheSize) {
+        this.parsedStepMatchCacheSize = stepMatchCacheSize;
+        return this;
+    }
+
+    public RuntimeOptionsBuilder setResultCache(boolean resultCache) {
+        this.parsedResultCache = resultCache;
+        return this;
+    }
+
+    public RuntimeOptionsBuilder addResultCacheInput(Path input) {
+        this.parsedResultCacheInputs.add(input);
+        return this;
+    }
+
     public RuntimeOptionsBuilder setThreads(int threads) {
         this.parsedThreads = threads;
         return this;
     }
 
+    public RuntimeOptionsBuilder setProcesses(int processes) {
+        this.parsedProcesses = processes;
+        return this;
+    }
+
+    public RuntimeOptionsBuilder setVirtualThreads(boolean virtualThreads) {
+        this.parsedVirtualThreads = virtualThreads;
+        return this;
+    }
+
     public RuntimeOptionsBuilder setWip(boolean wip) {
         this.parsedWip = wip;
         return this;
@@ -266,4 +401,24 @@ public final class RuntimeOptionsBuilder {
         return this;
     }
 
+    public RuntimeOptionsBuilder setAsyncPluginOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.parsedAsyncPluginOverflowPolicy = overflowPolicy;
+        return this;
+    }
+
+    public RuntimeOptionsBuilder setCanonicalOrderMemoryBudget(int megabytes) {
+        this.parsedCanonicalOrderMemoryBudget = megabytes;
+        return this;
+    }
+
+    public RuntimeOptionsBuilder setJsonPrettyPrint(boolean prettyPrint) {
+        this.parsedJsonPrettyPrint = prettyPrint;
+        return this;
+    }
+
+    public RuntimeOptionsBuilder setIdGeneratorClass(Class<? extends IdGenerator> idGeneratorClass) {
+        this.parsedIdGeneratorClass = idGeneratorClass;
+        return this;
+    }
+
 }
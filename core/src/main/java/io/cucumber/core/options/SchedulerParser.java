@@ -0,0 +1,21 @@
+package io.cucumber.core.options;
+
+import io.cucumber.core.runtime.Scheduler;
+
+final class SchedulerParser {
+
+    private SchedulerParser() {
+
+    }
+
+    static Scheduler parse(String argument) {
+        if ("fifo".equals(argument)) {
+            return Scheduler.FIFO;
+        }
+        if ("longest-first".equals(argument)) {
+            return Scheduler.LONGEST_FIRST;
+        }
+        throw new IllegalArgumentException("Invalid scheduler. Must be either fifo or longest-first");
+    }
+
+}
@@ -8,4 +8,17 @@ public interface PickleOrder {
 
     List<Pickle> orderPickles(List<Pickle> pickles);
 
+    /**
+     * Whether pickles may be executed in the order in which they are parsed,
+     * rather than after all pickles have been parsed and ordered.
+     * <p>
+     * Features are parsed in lexical uri order. Orders that need all pickles,
+     * e.g. to reverse or shuffle them, can not be streamed.
+     *
+     * @return true iff this order is the order in which pickles are parsed
+     */
+    default boolean isStreamable() {
+        return false;
+    }
+
 }
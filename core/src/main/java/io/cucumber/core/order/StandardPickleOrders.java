@@ -4,6 +4,7 @@ import io.cucumber.core.gherkin.Pickle;
 
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Random;
 
 public final class StandardPickleOrders {
@@ -13,10 +14,7 @@ public final class StandardPickleOrders {
     }
 
     public static PickleOrder lexicalUriOrder() {
-        return pickles -> {
-            pickles.sort(new PickleUriComparator());
-            return pickles;
-        };
+        return new LexicalUriOrder();
     }
 
     public static PickleOrder reverseLexicalUriOrder() {
@@ -33,6 +31,21 @@ public final class StandardPickleOrders {
         };
     }
 
+    private static final class LexicalUriOrder implements PickleOrder {
+
+        @Override
+        public List<Pickle> orderPickles(List<Pickle> pickles) {
+            pickles.sort(new PickleUriComparator());
+            return pickles;
+        }
+
+        @Override
+        public boolean isStreamable() {
+            return true;
+        }
+
+    }
+
     private static class PickleUriComparator implements Comparator<Pickle> {
 
         @Override
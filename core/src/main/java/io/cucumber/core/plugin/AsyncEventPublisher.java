@@ -0,0 +1,226 @@
+package io.cucumber.core.plugin;
+
+import io.cucumber.core.logging.Logger;
+import io.cucumber.core.logging.LoggerFactory;
+import io.cucumber.messages.Messages.Envelope;
+import io.cucumber.plugin.AsyncPlugin;
+import io.cucumber.plugin.event.EventHandler;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static io.cucumber.core.exception.ExceptionUtils.throwAsUncheckedException;
+
+/**
+ * Delivers the events of an {@link AsyncPlugin} on a writer thread.
+ * <p>
+ * Events are queued in a bounded queue. When the queue is full the
+ * {@link OverflowPolicy} decides whether publishing waits or drops the event.
+ * The writer thread flushes the plugin every {@value #FLUSH_INTERVAL_MILLIS}
+ * milliseconds while it receives events, but not once it delivered the end of
+ * the test run, as the plugin may have closed its output. When the test run
+ * finished, the sending thread waits for the writer thread to handle all
+ * events and rethrows the first exception thrown by a handler.
+ */
+final class AsyncEventPublisher implements EventPublisher {
+
+    static final int CAPACITY = 8192;
+    static final long FLUSH_INTERVAL_MILLIS = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncEventPublisher.class);
+    private static final Delivery STOP = new Delivery(Object.class, new Object());
+
+    private final EventPublisher delegate;
+    private final AsyncPlugin plugin;
+    private final OverflowPolicy overflowPolicy;
+    private final Map<Class<?>, List<Registration<?>>> handlers = new ConcurrentHashMap<>();
+    private final BlockingQueue<Delivery> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private Thread writer;
+    private volatile Throwable failure;
+    private long dropped;
+
+    AsyncEventPublisher(EventPublisher delegate, AsyncPlugin plugin, OverflowPolicy overflowPolicy) {
+        this.delegate = delegate;
+        this.plugin = plugin;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @Override
+    public <T> void registerHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+        handlers.computeIfAbsent(eventType, type -> {
+            delegate.registerHandlerFor(eventType, event -> enqueue(eventType, event));
+            return new CopyOnWriteArrayList<>();
+        }).add(new Registration<>(eventType, handler));
+    }
+
+    @Override
+    public <T> void removeHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+        List<Registration<?>> handlersForType = handlers.get(eventType);
+        if (handlersForType == null) {
+            return;
+        }
+        for (Registration<?> registration : handlersForType) {
+            if (registration.handler.equals(handler)) {
+                handlersForType.remove(registration);
+                return;
+            }
+        }
+    }
+
+    private synchronized void enqueue(Class<?> eventType, Object event) {
+        if (writer == null) {
+            writer = new Thread(this::write, "cucumber-plugin-writer-" + plugin.getClass().getSimpleName());
+            writer.setDaemon(true);
+            writer.start();
+        }
+        Delivery delivery = new Delivery(eventType, event);
+        boolean startOrFinish = isTestRunStarted(event) || isTestRunFinished(event);
+        if (overflowPolicy == OverflowPolicy.DROP && !startOrFinish) {
+            if (!queue.offer(delivery)) {
+                if (dropped++ == 0) {
+                    log.warn(() -> plugin.getClass().getName() + " can not keep up. Events for it are dropped.");
+                }
+            }
+        } else {
+            put(delivery);
+        }
+        if (isTestRunFinished(event)) {
+            finish();
+        }
+    }
+
+    private static boolean isTestRunStarted(Object event) {
+        return event instanceof TestRunStarted
+                || event instanceof Envelope && ((Envelope) event).hasTestRunStarted();
+    }
+
+    private static boolean isTestRunFinished(Object event) {
+        return event instanceof TestRunFinished
+                || event instanceof Envelope && ((Envelope) event).hasTestRunFinished();
+    }
+
+    private void put(Delivery delivery) {
+        try {
+            queue.put(delivery);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void finish() {
+        Thread writer = this.writer;
+        this.writer = null;
+        put(STOP);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped > 0) {
+            long dropped = this.dropped;
+            log.warn(() -> "Dropped " + dropped + " events for " + plugin.getClass().getName());
+            this.dropped = 0;
+        }
+        Throwable failure = this.failure;
+        if (failure != null) {
+            this.failure = null;
+            throwAsUncheckedException(failure);
+        }
+    }
+
+    private void write() {
+        long nextFlush = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MILLIS);
+        boolean unflushed = false;
+        boolean finished = false;
+        while (true) {
+            Delivery delivery;
+            try {
+                delivery = queue.poll(Math.max(0, nextFlush - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                // Only the writer thread itself can be interrupted
+                continue;
+            }
+            if (delivery == STOP) {
+                return;
+            }
+            if (delivery != null) {
+                deliver(delivery);
+                // The plugin closes its output once the test run finished
+                finished |= isTestRunFinished(delivery.event);
+                unflushed = !finished;
+            }
+            long now = System.nanoTime();
+            if (now - nextFlush >= 0) {
+                if (unflushed) {
+                    flush();
+                    unflushed = false;
+                }
+                nextFlush = now + TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MILLIS);
+            }
+        }
+    }
+
+    private void deliver(Delivery delivery) {
+        for (Registration<?> registration : handlers.get(delivery.eventType)) {
+            try {
+                registration.receive(delivery.event);
+            } catch (Throwable t) {
+                if (failure == null) {
+                    failure = t;
+                } else {
+                    log.debug(t, () -> "Handler failed while handling " + delivery.event);
+                }
+            }
+        }
+    }
+
+    private void flush() {
+        if (!(plugin instanceof Flushable)) {
+            return;
+        }
+        try {
+            ((Flushable) plugin).flush();
+        } catch (IOException e) {
+            log.warn(e, () -> "Could not flush " + plugin.getClass().getName());
+        }
+    }
+
+    private static final class Registration<T> {
+
+        private final Class<T> eventType;
+        private final EventHandler<T> handler;
+
+        Registration(Class<T> eventType, EventHandler<T> handler) {
+            this.eventType = eventType;
+            this.handler = handler;
+        }
+
+        void receive(Object event) {
+            handler.receive(eventType.cast(event));
+        }
+
+    }
+
+    private static final class Delivery {
+
+        private final Class<?> eventType;
+        private final Object event;
+
+        Delivery(Class<?> eventType, Object event) {
+            this.eventType = eventType;
+            this.event = event;
+        }
+
+    }
+
+}
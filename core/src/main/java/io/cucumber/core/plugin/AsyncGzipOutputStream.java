@@ -0,0 +1,143 @@
+package io.cucumber.core.plugin;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPOutputStream;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Compresses output with gzip on a thread of its own.
+ * <p>
+ * Written bytes are collected in large buffers that are handed to the
+ * compressing thread when full, flushed or closed. Writers only wait when the
+ * compressing thread falls behind by more than {@value #QUEUED_BUFFERS}
+ * buffers.
+ * <p>
+ * Flushing does not flush the compressor, that would make the compression
+ * worse while a partially written gzip file can not be read anyway. The
+ * output is complete once the stream is closed.
+ */
+final class AsyncGzipOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final int QUEUED_BUFFERS = 4;
+    private static final byte[] END = new byte[0];
+
+    private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(QUEUED_BUFFERS);
+    private final Thread compressor;
+    private volatile IOException failure;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int count;
+    private boolean closed;
+
+    AsyncGzipOutputStream(OutputStream out) {
+        this.compressor = new Thread(() -> compress(out), "cucumber-gzip-compressor");
+        this.compressor.setDaemon(true);
+        this.compressor.start();
+    }
+
+    private void compress(OutputStream out) {
+        try (OutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE)) {
+            for (byte[] chunk = queue.take(); chunk != END; chunk = queue.take()) {
+                gzip.write(chunk);
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("Interrupted while compressing");
+        } catch (Throwable t) {
+            // Any failure must be reported, writers would wait for the
+            // compressor to take their buffers forever otherwise
+            failure = new IOException(t);
+        }
+    }
+
+    @Override
+    public synchronized void write(int b) throws IOException {
+        ensureOpen();
+        if (count == buffer.length) {
+            handOffBuffer();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (count == buffer.length) {
+                handOffBuffer();
+            }
+            int n = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        ensureOpen();
+        if (count > 0) {
+            handOff(Arrays.copyOf(buffer, count));
+            count = 0;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        buffer = null;
+        handOff(END);
+        try {
+            compressor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for compression to finish");
+        }
+        throwFailure();
+    }
+
+    private void handOffBuffer() throws IOException {
+        handOff(buffer);
+        buffer = new byte[BUFFER_SIZE];
+        count = 0;
+    }
+
+    private void handOff(byte[] chunk) throws IOException {
+        try {
+            // Stop waiting when the compressor failed and stopped taking
+            while (!queue.offer(chunk, 100, MILLISECONDS)) {
+                throwFailure();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the compressor");
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        throwFailure();
+    }
+
+    private void throwFailure() throws IOException {
+        IOException failure = this.failure;
+        if (failure != null) {
+            throw new IOException("Could not compress output", failure);
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package io.cucumber.core.plugin;
+
+import io.cucumber.messages.Messages.Envelope;
+import io.cucumber.plugin.AsyncPlugin;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+
+import java.io.BufferedOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes messages as length-delimited protobuf.
+ * <p>
+ * Used by the {@code message} plugin when its output ends with {@code .pb}.
+ * Can be read with {@link MessageReader}.
+ */
+public final class BinaryMessageFormatter implements ConcurrentEventListener, AsyncPlugin, Flushable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream outputStream;
+
+    public BinaryMessageFormatter(OutputStream outputStream) {
+        this.outputStream = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(Envelope.class, this::writeMessage);
+    }
+
+    private void writeMessage(Envelope envelope) {
+        try {
+            envelope.writeDelimitedTo(outputStream);
+            if (envelope.hasTestRunFinished()) {
+                outputStream.close();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        outputStream.flush();
+    }
+
+}
@@ -1,23 +1,223 @@
 package io.cucumber.core.plugin;
 
 import io.cucumber.core.eventbus.AbstractEventPublisher;
+import io.cucumber.core.logging.Logger;
+import io.cucumber.core.logging.LoggerFactory;
+import io.cucumber.plugin.event.EmbedEvent;
 import io.cucumber.plugin.event.Event;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.TestCaseEvent;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
 import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.WriteEvent;
 
-import java.util.LinkedList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
+/**
+ * Publishes events in {@link CanonicalEventOrder canonical order} once the
+ * test run finished.
+ * <p>
+ * The events of test cases are kept per uri and line, so they can be
+ * published in order without sorting all events. When the estimated size of
+ * the events of finished test cases exceeds the memory budget they are
+ * spilled to an {@link EventSpillFile} and read back when published.
+ */
 final class CanonicalOrderEventPublisher extends AbstractEventPublisher {
 
-    private final List<Event> queue = new LinkedList<>();
+    private static final Logger log = LoggerFactory.getLogger(CanonicalOrderEventPublisher.class);
+    private static final long EVENT_SIZE = 128;
+    private static final long TEST_CASE_SIZE = 1024;
+    private static final long TEST_STEP_SIZE = 512;
+    private static final long ERROR_SIZE = 4096;
+
+    private final long memoryBudget;
+    private final List<Event> queue = new ArrayList<>();
+    private final Map<URI, Map<Integer, TestCaseEvents>> testCases = new TreeMap<>();
+    private final Set<TestCaseEvents> inMemory = new LinkedHashSet<>();
+    private long estimatedSize;
+    private long spillAt;
+    private EventSpillFile spillFile;
+    private boolean spillFailed;
+
+    CanonicalOrderEventPublisher(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+        this.spillAt = memoryBudget;
+    }
 
     public void handle(final Event event) {
+        if (event instanceof TestCaseEvent) {
+            add((TestCaseEvent) event);
+            if (estimatedSize > spillAt) {
+                spill();
+            }
+            return;
+        }
         queue.add(event);
         if (event instanceof TestRunFinished) {
-            queue.sort(new CanonicalEventOrder());
-            sendAll(queue);
-            queue.clear();
+            try {
+                publish();
+            } finally {
+                clear();
+            }
+        }
+    }
+
+    private void add(TestCaseEvent event) {
+        TestCaseEvents events = testCases
+                .computeIfAbsent(event.getTestCase().getUri(), uri -> new TreeMap<>())
+                .computeIfAbsent(event.getTestCase().getLocation().getLine(), line -> new TestCaseEvents());
+        long size = estimateSize(event);
+        events.add(event, size);
+        estimatedSize += size;
+        inMemory.add(events);
+    }
+
+    private static long estimateSize(TestCaseEvent event) {
+        long size = EVENT_SIZE;
+        if (event instanceof TestCaseStarted) {
+            size += TEST_CASE_SIZE + TEST_STEP_SIZE * event.getTestCase().getTestSteps().size();
+        } else if (event instanceof WriteEvent) {
+            size += 2L * ((WriteEvent) event).getText().length();
+        } else if (event instanceof EmbedEvent) {
+            EmbedEvent embedEvent = (EmbedEvent) event;
+            // Data stored in a file is not kept in memory
+            if (!embedEvent.getPath().isPresent()) {
+                size += embedEvent.getData().length;
+            }
         }
+        Result result = null;
+        if (event instanceof TestStepFinished) {
+            result = ((TestStepFinished) event).getResult();
+        } else if (event instanceof TestCaseFinished) {
+            result = ((TestCaseFinished) event).getResult();
+        }
+        if (result != null && result.getError() != null) {
+            size += ERROR_SIZE;
+        }
+        return size;
+    }
+
+    private void spill() {
+        if (!spillFailed) {
+            try {
+                if (spillFile == null) {
+                    spillFile = EventSpillFile.create();
+                }
+                spillFinishedTestCases();
+            } catch (IOException e) {
+                spillFailed = true;
+                log.warn(e, () -> "Could not spill events to a temporary file, all events are kept in memory");
+            }
+        }
+        // Events of running test cases can not be spilled yet, so try again
+        // once a quarter of the budget was added
+        spillAt = Math.max(memoryBudget, estimatedSize + memoryBudget / 4);
+    }
+
+    private void spillFinishedTestCases() throws IOException {
+        List<TestCaseEvents> spilled = new ArrayList<>();
+        for (TestCaseEvents events : inMemory) {
+            if (events.isRunning()) {
+                continue;
+            }
+            Optional<EventSpillFile.Chunk> chunk = spillFile.write(events.inMemory);
+            if (chunk.isPresent()) {
+                estimatedSize -= events.spill(chunk.get());
+                spilled.add(events);
+            }
+        }
+        inMemory.removeAll(spilled);
+    }
+
+    private void publish() {
+        queue.sort(new CanonicalEventOrder());
+        // Test run finished is always last
+        Event testRunFinished = queue.remove(queue.size() - 1);
+        sendAll(queue);
+        for (Map<Integer, TestCaseEvents> testCasesOfUri : testCases.values()) {
+            for (TestCaseEvents events : testCasesOfUri.values()) {
+                sendAll(events.read(spillFile));
+            }
+        }
+        send(testRunFinished);
+    }
+
+    private void clear() {
+        queue.clear();
+        testCases.clear();
+        inMemory.clear();
+        estimatedSize = 0;
+        spillAt = memoryBudget;
+        if (spillFile != null) {
+            try {
+                spillFile.close();
+            } catch (IOException e) {
+                log.debug(e, () -> "Could not delete temporary file with spilled events");
+            }
+            spillFile = null;
+        }
+    }
+
+    /**
+     * The events of the test cases at a uri and line.
+     */
+    private static final class TestCaseEvents {
+
+        private final List<EventSpillFile.Chunk> spilled = new ArrayList<>();
+        private List<TestCaseEvent> inMemory = new ArrayList<>();
+        private long inMemorySize;
+        private int running;
+
+        void add(TestCaseEvent event, long size) {
+            inMemory.add(event);
+            inMemorySize += size;
+            if (event instanceof TestCaseStarted) {
+                running++;
+            } else if (event instanceof TestCaseFinished) {
+                running--;
+            }
+        }
+
+        boolean isRunning() {
+            return running > 0;
+        }
+
+        long spill(EventSpillFile.Chunk chunk) {
+            spilled.add(chunk);
+            long size = inMemorySize;
+            inMemory = new ArrayList<>();
+            inMemorySize = 0;
+            return size;
+        }
+
+        List<TestCaseEvent> read(EventSpillFile spillFile) {
+            List<TestCaseEvent> events = new ArrayList<>();
+            for (EventSpillFile.Chunk chunk : spilled) {
+                try {
+                    events.addAll(spillFile.read(chunk));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not read spilled events", e);
+                }
+            }
+            events.addAll(inMemory);
+            // Stable, so events with the same instant keep the order in
+            // which they were sent
+            events.sort(Comparator.comparing(Event::getInstant));
+            return events;
+        }
+
     }
 
 }
@@ -0,0 +1,652 @@
+package io.cucumber.core.plugin;
+
+import io.cucumber.core.exception.CucumberException;
+import io.cucumber.core.plugin.SpilledTestCase.SpilledArgument;
+import io.cucumber.core.plugin.SpilledTestCase.SpilledDataTableArgument;
+import io.cucumber.core.plugin.SpilledTestCase.SpilledDocStringArgument;
+import io.cucumber.core.plugin.SpilledTestCase.SpilledGroup;
+import io.cucumber.core.plugin.SpilledTestCase.SpilledHookTestStep;
+import io.cucumber.core.plugin.SpilledTestCase.SpilledPickleStepTestStep;
+import io.cucumber.core.plugin.SpilledTestCase.SpilledStep;
+import io.cucumber.plugin.event.Argument;
+import io.cucumber.plugin.event.DataTableArgument;
+import io.cucumber.plugin.event.DocStringArgument;
+import io.cucumber.plugin.event.EmbedEvent;
+import io.cucumber.plugin.event.Group;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.HookType;
+import io.cucumber.plugin.event.Location;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.Step;
+import io.cucumber.plugin.event.StepArgument;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseEvent;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import io.cucumber.plugin.event.WriteEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A temporary file holding the events of finished test cases in a compact
+ * binary form.
+ * <p>
+ * Events are written in chunks. Each chunk holds the events of one or more
+ * test cases, with each test case written once. Reading a chunk recreates its
+ * events, with a {@link SpilledTestCase} in place of each test case.
+ * <p>
+ * Errors are written with Java serialization, so they keep their class. A
+ * chunk with an error that is not serializable, with test steps or step
+ * arguments of an unknown type, or with incomplete test cases can not be
+ * written.
+ */
+final class EventSpillFile implements Closeable {
+
+    private static final byte TEST_CASE_STARTED = 0;
+    private static final byte TEST_STEP_STARTED = 1;
+    private static final byte TEST_STEP_FINISHED = 2;
+    private static final byte TEST_CASE_FINISHED = 3;
+    private static final byte WRITE = 4;
+    private static final byte EMBED = 5;
+
+    private static final byte HOOK_TEST_STEP = 0;
+    private static final byte PICKLE_STEP_TEST_STEP = 1;
+
+    private static final byte NO_ARGUMENT = 0;
+    private static final byte DOC_STRING_ARGUMENT = 1;
+    private static final byte DATA_TABLE_ARGUMENT = 2;
+
+    private static final Status[] STATUSES = Status.values();
+    private static final HookType[] HOOK_TYPES = HookType.values();
+
+    private final Path path;
+    private final RandomAccessFile file;
+    private long length;
+
+    private EventSpillFile(Path path) throws IOException {
+        this.path = path;
+        this.file = new RandomAccessFile(path.toFile(), "rw");
+    }
+
+    static EventSpillFile create() throws IOException {
+        Path path = Files.createTempFile("cucumber-events", ".bin");
+        path.toFile().deleteOnExit();
+        return new EventSpillFile(path);
+    }
+
+    /**
+     * Writes the events of finished test cases.
+     *
+     * @param  events      the events
+     * @return             the chunk holding the events or empty when the
+     *                     events can not be written
+     * @throws IOException when the file could not be written
+     */
+    Optional<Chunk> write(List<TestCaseEvent> events) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            new Writer(out).writeEvents(events);
+        } catch (UnsupportedEventException | RuntimeException e) {
+            // E.g. a test case without an id, keep its events in memory
+            return Optional.empty();
+        }
+        Chunk chunk = new Chunk(length, bytes.size());
+        file.seek(length);
+        file.write(bytes.toByteArray());
+        length += chunk.length;
+        return Optional.of(chunk);
+    }
+
+    List<TestCaseEvent> read(Chunk chunk) throws IOException {
+        byte[] bytes = new byte[chunk.length];
+        file.seek(chunk.offset);
+        file.readFully(bytes);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return new Reader(in).readEvents();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            file.close();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    static final class Chunk {
+
+        private final long offset;
+        private final int length;
+
+        Chunk(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+    }
+
+    private static final class UnsupportedEventException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedEventException(String message) {
+            super(message, null, false, false);
+        }
+
+    }
+
+    private static final class Writer {
+
+        private final DataOutputStream out;
+        private final Map<TestCase, Integer> testCases = new IdentityHashMap<>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeEvents(List<TestCaseEvent> events) throws IOException, UnsupportedEventException {
+            out.writeInt(events.size());
+            for (TestCaseEvent event : events) {
+                writeEvent(event);
+            }
+        }
+
+        private void writeEvent(TestCaseEvent event) throws IOException, UnsupportedEventException {
+            TestCase testCase = event.getTestCase();
+            if (event instanceof TestCaseStarted) {
+                out.writeByte(TEST_CASE_STARTED);
+                writeHeader(event, testCase);
+            } else if (event instanceof TestStepStarted) {
+                out.writeByte(TEST_STEP_STARTED);
+                writeHeader(event, testCase);
+                writeTestStepIndex(testCase, ((TestStepStarted) event).getTestStep());
+            } else if (event instanceof TestStepFinished) {
+                TestStepFinished testStepFinished = (TestStepFinished) event;
+                out.writeByte(TEST_STEP_FINISHED);
+                writeHeader(event, testCase);
+                writeTestStepIndex(testCase, testStepFinished.getTestStep());
+                writeResult(testStepFinished.getResult());
+            } else if (event instanceof TestCaseFinished) {
+                out.writeByte(TEST_CASE_FINISHED);
+                writeHeader(event, testCase);
+                writeResult(((TestCaseFinished) event).getResult());
+            } else if (event instanceof WriteEvent) {
+                out.writeByte(WRITE);
+                writeHeader(event, testCase);
+                writeString(((WriteEvent) event).getText());
+            } else if (event instanceof EmbedEvent) {
+                EmbedEvent embedEvent = (EmbedEvent) event;
+                out.writeByte(EMBED);
+                writeHeader(event, testCase);
+                // Data stored in a file is not copied, only its path
+                Optional<Path> path = embedEvent.getPath();
+                out.writeBoolean(path.isPresent());
+                if (path.isPresent()) {
+                    writeString(path.get().toString());
+                } else {
+                    out.writeInt(embedEvent.getData().length);
+                    out.write(embedEvent.getData());
+                }
+                writeString(embedEvent.getMediaType());
+                writeString(embedEvent.getName());
+            } else {
+                throw new UnsupportedEventException("Unknown event " + event.getClass());
+            }
+        }
+
+        private void writeHeader(TestCaseEvent event, TestCase testCase) throws IOException, UnsupportedEventException {
+            Instant instant = event.getInstant();
+            out.writeLong(instant.getEpochSecond());
+            out.writeInt(instant.getNano());
+            Integer index = testCases.get(testCase);
+            if (index != null) {
+                out.writeInt(index);
+                return;
+            }
+            // The first event of a test case also holds the test case
+            out.writeInt(testCases.size());
+            testCases.put(testCase, testCases.size());
+            writeTestCase(testCase);
+        }
+
+        private void writeTestCase(TestCase testCase) throws IOException, UnsupportedEventException {
+            writeUuid(testCase.getId());
+            writeString(testCase.getUri().toString());
+            out.writeInt(testCase.getLine());
+            writeLocation(testCase.getLocation());
+            writeString(testCase.getKeyword());
+            writeString(testCase.getName());
+            writeString(testCase.getScenarioDesignation());
+            writeStrings(testCase.getTags());
+            List<TestStep> testSteps = testCase.getTestSteps();
+            out.writeInt(testSteps.size());
+            for (TestStep testStep : testSteps) {
+                writeTestStep(testStep);
+            }
+        }
+
+        private void writeTestStep(TestStep testStep) throws IOException, UnsupportedEventException {
+            if (testStep instanceof HookTestStep) {
+                out.writeByte(HOOK_TEST_STEP);
+                writeUuid(testStep.getId());
+                writeString(testStep.getCodeLocation());
+                out.writeByte(((HookTestStep) testStep).getHookType().ordinal());
+            } else if (testStep instanceof PickleStepTestStep) {
+                PickleStepTestStep pickleStepTestStep = (PickleStepTestStep) testStep;
+                out.writeByte(PICKLE_STEP_TEST_STEP);
+                writeUuid(testStep.getId());
+                writeString(testStep.getCodeLocation());
+                writeString(pickleStepTestStep.getUri().toString());
+                writeString(pickleStepTestStep.getPattern());
+                writeStep(pickleStepTestStep.getStep());
+                writeArguments(pickleStepTestStep.getDefinitionArgument());
+            } else {
+                throw new UnsupportedEventException("Unknown test step " + testStep.getClass());
+            }
+        }
+
+        private void writeStep(Step step) throws IOException, UnsupportedEventException {
+            writeString(step.getKeyword());
+            writeString(step.getText());
+            writeLocation(step.getLocation());
+            StepArgument argument = step.getArgument();
+            if (argument == null) {
+                out.writeByte(NO_ARGUMENT);
+            } else if (argument instanceof DocStringArgument) {
+                DocStringArgument docString = (DocStringArgument) argument;
+                out.writeByte(DOC_STRING_ARGUMENT);
+                writeString(docString.getContent());
+                writeString(docString.getMediaType());
+                out.writeInt(docString.getLine());
+            } else if (argument instanceof DataTableArgument) {
+                DataTableArgument dataTable = (DataTableArgument) argument;
+                out.writeByte(DATA_TABLE_ARGUMENT);
+                List<List<String>> cells = dataTable.cells();
+                out.writeInt(cells.size());
+                for (List<String> row : cells) {
+                    writeStrings(row);
+                }
+                out.writeInt(dataTable.getLine());
+            } else {
+                throw new UnsupportedEventException("Unknown step argument " + argument.getClass());
+            }
+        }
+
+        private void writeArguments(List<Argument> arguments) throws IOException {
+            if (arguments == null) {
+                out.writeInt(-1);
+                return;
+            }
+            out.writeInt(arguments.size());
+            for (Argument argument : arguments) {
+                writeString(argument.getParameterTypeName());
+                writeString(argument.getValue());
+                out.writeInt(argument.getStart());
+                out.writeInt(argument.getEnd());
+                writeGroup(argument.getGroup());
+            }
+        }
+
+        private void writeGroup(Group group) throws IOException {
+            out.writeBoolean(group != null);
+            if (group == null) {
+                return;
+            }
+            writeString(group.getValue());
+            out.writeInt(group.getStart());
+            out.writeInt(group.getEnd());
+            Collection<Group> children = group.getChildren();
+            out.writeInt(children.size());
+            for (Group child : children) {
+                writeGroup(child);
+            }
+        }
+
+        private void writeTestStepIndex(TestCase testCase, TestStep testStep) throws IOException,
+                UnsupportedEventException {
+            List<TestStep> testSteps = testCase.getTestSteps();
+            for (int i = 0; i < testSteps.size(); i++) {
+                if (testSteps.get(i) == testStep) {
+                    out.writeInt(i);
+                    return;
+                }
+            }
+            throw new UnsupportedEventException("Test step is not part of " + testCase.getId());
+        }
+
+        private void writeResult(Result result) throws IOException {
+            out.writeByte(result.getStatus().ordinal());
+            out.writeLong(result.getDuration().getSeconds());
+            out.writeInt(result.getDuration().getNano());
+            Throwable error = result.getError();
+            out.writeBoolean(error != null);
+            if (error == null) {
+                return;
+            }
+            writeError(error);
+        }
+
+        private void writeError(Throwable error) throws IOException {
+            // The error is read back as is when possible. The description
+            // is read back when it can not be deserialized.
+            byte[] serialized = serialize(error);
+            out.writeBoolean(serialized != null);
+            if (serialized != null) {
+                out.writeInt(serialized.length);
+                out.write(serialized);
+            }
+            writeString(error.toString());
+            StackTraceElement[] stackTrace = error.getStackTrace();
+            out.writeInt(stackTrace.length);
+            for (StackTraceElement element : stackTrace) {
+                writeString(element.getClassName());
+                writeString(element.getMethodName());
+                writeString(element.getFileName());
+                out.writeInt(element.getLineNumber());
+            }
+        }
+
+        private static byte[] serialize(Throwable error) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+                objects.writeObject(error);
+            } catch (IOException e) {
+                return null;
+            }
+            return bytes.toByteArray();
+        }
+
+        private void writeLocation(Location location) throws IOException {
+            out.writeInt(location.getLine());
+            out.writeInt(location.getColumn());
+        }
+
+        private void writeUuid(UUID uuid) throws IOException {
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        }
+
+        private void writeStrings(List<String> strings) throws IOException {
+            out.writeInt(strings.size());
+            for (String string : strings) {
+                writeString(string);
+            }
+        }
+
+        private void writeString(String string) throws IOException {
+            // Unlike writeUTF not limited to 64 kB
+            if (string == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] bytes = string.getBytes(UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+    }
+
+    private static final class Reader {
+
+        private final DataInputStream in;
+        private final List<TestCase> testCases = new ArrayList<>();
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        List<TestCaseEvent> readEvents() throws IOException {
+            int size = in.readInt();
+            List<TestCaseEvent> events = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                events.add(readEvent());
+            }
+            return events;
+        }
+
+        private TestCaseEvent readEvent() throws IOException {
+            byte type = in.readByte();
+            Instant instant = Instant.ofEpochSecond(in.readLong(), in.readInt());
+            TestCase testCase = readTestCaseReference();
+            switch (type) {
+                case TEST_CASE_STARTED:
+                    return new TestCaseStarted(instant, testCase);
+                case TEST_STEP_STARTED:
+                    return new TestStepStarted(instant, testCase, testCase.getTestSteps().get(in.readInt()));
+                case TEST_STEP_FINISHED:
+                    TestStep testStep = testCase.getTestSteps().get(in.readInt());
+                    return new TestStepFinished(instant, testCase, testStep, readResult());
+                case TEST_CASE_FINISHED:
+                    return new TestCaseFinished(instant, testCase, readResult());
+                case WRITE:
+                    return new WriteEvent(instant, testCase, readString());
+                case EMBED:
+                    if (in.readBoolean()) {
+                        Path path = Paths.get(readString());
+                        return new EmbedEvent(instant, testCase, path, readString(), readString());
+                    }
+                    byte[] data = new byte[in.readInt()];
+                    in.readFully(data);
+                    return new EmbedEvent(instant, testCase, data, readString(), readString());
+                default:
+                    throw new IOException("Unknown event type " + type);
+            }
+        }
+
+        private TestCase readTestCaseReference() throws IOException {
+            int index = in.readInt();
+            if (index < testCases.size()) {
+                return testCases.get(index);
+            }
+            TestCase testCase = readTestCase();
+            testCases.add(testCase);
+            return testCase;
+        }
+
+        private TestCase readTestCase() throws IOException {
+            UUID id = readUuid();
+            URI uri = URI.create(readString());
+            int line = in.readInt();
+            Location location = readLocation();
+            String keyword = readString();
+            String name = readString();
+            String scenarioDesignation = readString();
+            List<String> tags = readStrings();
+            int size = in.readInt();
+            List<TestStep> testSteps = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                testSteps.add(readTestStep());
+            }
+            return new SpilledTestCase(id, uri, line, location, keyword, name, scenarioDesignation, tags, testSteps);
+        }
+
+        private TestStep readTestStep() throws IOException {
+            byte type = in.readByte();
+            UUID id = readUuid();
+            String codeLocation = readString();
+            if (type == HOOK_TEST_STEP) {
+                return new SpilledHookTestStep(id, codeLocation, HOOK_TYPES[in.readByte()]);
+            }
+            URI uri = URI.create(readString());
+            String pattern = readString();
+            Step step = readStep();
+            return new SpilledPickleStepTestStep(id, codeLocation, uri, pattern, step, readArguments());
+        }
+
+        private Step readStep() throws IOException {
+            String keyword = readString();
+            String text = readString();
+            Location location = readLocation();
+            byte type = in.readByte();
+            StepArgument argument = null;
+            if (type == DOC_STRING_ARGUMENT) {
+                argument = new SpilledDocStringArgument(readString(), readString(), in.readInt());
+            } else if (type == DATA_TABLE_ARGUMENT) {
+                int size = in.readInt();
+                List<List<String>> cells = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    cells.add(readStrings());
+                }
+                argument = new SpilledDataTableArgument(cells, in.readInt());
+            }
+            return new SpilledStep(argument, keyword, text, location);
+        }
+
+        private List<Argument> readArguments() throws IOException {
+            int size = in.readInt();
+            if (size < 0) {
+                return null;
+            }
+            List<Argument> arguments = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                String parameterTypeName = readString();
+                String value = readString();
+                int start = in.readInt();
+                int end = in.readInt();
+                arguments.add(new SpilledArgument(parameterTypeName, value, start, end, readGroup()));
+            }
+            return arguments;
+        }
+
+        private Group readGroup() throws IOException {
+            if (!in.readBoolean()) {
+                return null;
+            }
+            String value = readString();
+            int start = in.readInt();
+            int end = in.readInt();
+            int size = in.readInt();
+            List<Group> children = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                children.add(readGroup());
+            }
+            return new SpilledGroup(children, value, start, end);
+        }
+
+        private Result readResult() throws IOException {
+            Status status = STATUSES[in.readByte()];
+            Duration duration = Duration.ofSeconds(in.readLong(), in.readInt());
+            Throwable error = null;
+            if (in.readBoolean()) {
+                error = readError();
+            }
+            return new Result(status, duration, error);
+        }
+
+        private Throwable readError() throws IOException {
+            Throwable error = null;
+            if (in.readBoolean()) {
+                byte[] serialized = new byte[in.readInt()];
+                in.readFully(serialized);
+                error = deserialize(serialized);
+            }
+            String description = readString();
+            StackTraceElement[] stackTrace = new StackTraceElement[in.readInt()];
+            for (int i = 0; i < stackTrace.length; i++) {
+                stackTrace[i] = new StackTraceElement(readString(), readString(), readString(), in.readInt());
+            }
+            if (error != null) {
+                return error;
+            }
+            CucumberException exception = new CucumberException(description);
+            exception.setStackTrace(stackTrace);
+            return exception;
+        }
+
+        private static Throwable deserialize(byte[] serialized) {
+            try (ObjectInputStream objects = new ContextClassLoaderObjectInputStream(
+                new ByteArrayInputStream(serialized))) {
+                return (Throwable) objects.readObject();
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                // Fall back to the description
+                return null;
+            }
+        }
+
+        private Location readLocation() throws IOException {
+            return new Location(in.readInt(), in.readInt());
+        }
+
+        private UUID readUuid() throws IOException {
+            return new UUID(in.readLong(), in.readLong());
+        }
+
+        private List<String> readStrings() throws IOException {
+            int size = in.readInt();
+            List<String> strings = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                strings.add(readString());
+            }
+            return strings;
+        }
+
+        private String readString() throws IOException {
+            int length = in.readInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, UTF_8);
+        }
+
+    }
+
+    /**
+     * Resolves the classes of errors with the context class loader first, as
+     * they may have been thrown by glue that is not visible to Cucumber.
+     */
+    private static final class ContextClassLoaderObjectInputStream extends ObjectInputStream {
+
+        ContextClassLoaderObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    // Fall back to the default resolution
+                }
+            }
+            return super.resolveClass(desc);
+        }
+
+    }
+
+}
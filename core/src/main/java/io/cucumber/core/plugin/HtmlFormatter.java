@@ -2,13 +2,14 @@ package io.cucumber.core.plugin;
 
 import io.cucumber.htmlformatter.MessagesToHtmlWriter;
 import io.cucumber.messages.Messages.Envelope;
+import io.cucumber.plugin.AsyncPlugin;
 import io.cucumber.plugin.ConcurrentEventListener;
 import io.cucumber.plugin.event.EventPublisher;
 
 import java.io.IOException;
 import java.io.OutputStream;
 
-public final class HtmlFormatter implements ConcurrentEventListener {
+public final class HtmlFormatter implements ConcurrentEventListener, AsyncPlugin {
 
     private final MessagesToHtmlWriter writer;
 
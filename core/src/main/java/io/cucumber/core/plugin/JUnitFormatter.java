@@ -14,23 +14,9 @@ import io.cucumber.plugin.event.TestRunFinished;
 import io.cucumber.plugin.event.TestRunStarted;
 import io.cucumber.plugin.event.TestSourceParsed;
 import io.cucumber.plugin.event.TestStepFinished;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-
-import java.io.Closeable;
+
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.Writer;
 import java.net.URI;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
@@ -49,29 +35,28 @@ import static io.cucumber.core.exception.ExceptionUtils.printStackTrace;
 import static java.util.Locale.ROOT;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
+/**
+ * Writes a report in the JUnit XML format of the Maven Surefire plugin.
+ * <p>
+ * Each test case is written when it finished. The counts of the test suite
+ * are written when the test run finished, see {@link XmlReportWriter}.
+ */
 public final class JUnitFormatter implements EventListener {
 
     private static final long MILLIS_PER_SECOND = SECONDS.toMillis(1L);
-    private final Writer writer;
-    private final Document document;
-    private final Element rootElement;
+    private final XmlReportWriter writer;
     private final Map<URI, Collection<Node>> parsedTestSources = new HashMap<>();
-    private Element root;
     private TestCase testCase;
     private URI currentFeatureFile = null;
     private String previousTestCaseName;
     private int exampleNumber;
     private Instant started;
+    private int tests;
+    private int failures;
+    private int skipped;
 
     public JUnitFormatter(OutputStream out) {
-        this.writer = new UTF8OutputStreamWriter(out);
-        try {
-            document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
-            rootElement = document.createElement("testsuite");
-            document.appendChild(rootElement);
-        } catch (ParserConfigurationException e) {
-            throw new CucumberException("Error while processing unit report", e);
-        }
+        this.writer = new XmlReportWriter(out);
     }
 
     private static String getUniqueTestNameForScenarioExample(String testCaseName, int exampleNumber) {
@@ -103,19 +88,21 @@ public final class JUnitFormatter implements EventListener {
             exampleNumber = 1;
         }
         testCase = new TestCase(event.getTestCase());
-        root = testCase.createElement(document);
-        testCase.writeElement(root);
-        rootElement.appendChild(root);
-
-        increaseTestCount(rootElement);
+        tests++;
     }
 
     private void handleTestCaseFinished(TestCaseFinished event) {
-        if (testCase.steps.isEmpty()) {
-            testCase.handleEmptyTestCase(document, root, event.getResult());
-        } else {
-            testCase.addTestCaseElement(document, root, event.getResult());
+        try {
+            XmlWriter xml = writer.body();
+            if (testCase.steps.isEmpty()) {
+                testCase.writeEmptyTestCase(xml, event.getResult());
+            } else {
+                testCase.writeTestCase(xml, event.getResult());
+            }
+        } catch (IOException e) {
+            throw new CucumberException("Error while writing unit report.", e);
         }
+        testCase = null;
     }
 
     private void handleTestStepFinished(TestStepFinished event) {
@@ -126,36 +113,24 @@ public final class JUnitFormatter implements EventListener {
     }
 
     private void handleTestRunFinished(TestRunFinished event) {
-        try {
+        try (XmlReportWriter report = writer) {
             Instant finished = event.getInstant();
-            // set up a transformer
-            rootElement.setAttribute("name", JUnitFormatter.class.getName());
-            rootElement.setAttribute("failures",
-                String.valueOf(rootElement.getElementsByTagName("failure").getLength()));
-            rootElement.setAttribute("skipped",
-                String.valueOf(rootElement.getElementsByTagName("skipped").getLength()));
-            rootElement.setAttribute("errors", "0");
-            rootElement.setAttribute("time", calculateTotalDurationString(Duration.between(started, finished)));
-
-            TransformerFactory factory = TransformerFactory.newInstance();
-            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-            Transformer transformer = factory.newTransformer();
-            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-            StreamResult result = new StreamResult(writer);
-            DOMSource source = new DOMSource(document);
-            transformer.transform(source, result);
-            closeQuietly(writer);
-        } catch (TransformerException e) {
-            throw new CucumberException("Error while transforming.", e);
-        }
-    }
-
-    private void increaseTestCount(Element element) {
-        int value = 0;
-        if (element.hasAttribute("tests")) {
-            value = Integer.parseInt(element.getAttribute("tests"));
+            XmlWriter xml = report.header();
+            xml.writeDeclaration();
+            xml.writeNewLine(0);
+            xml.writeStartElement("testsuite");
+            xml.writeAttribute("errors", "0");
+            xml.writeAttribute("failures", String.valueOf(failures));
+            xml.writeAttribute("name", JUnitFormatter.class.getName());
+            xml.writeAttribute("skipped", String.valueOf(skipped));
+            xml.writeAttribute("tests", String.valueOf(tests));
+            xml.writeAttribute("time", calculateTotalDurationString(Duration.between(started, finished)));
+            report.writeBody();
+            xml.writeNewLine(0);
+            xml.writeEndElement();
+        } catch (IOException e) {
+            throw new CucumberException("Error while writing unit report.", e);
         }
-        element.setAttribute("tests", String.valueOf(++value));
     }
 
     private static String calculateTotalDurationString(Duration result) {
@@ -164,31 +139,16 @@ public final class JUnitFormatter implements EventListener {
         return numberFormat.format(duration);
     }
 
-    private void closeQuietly(Closeable out) {
-        try {
-            out.close();
-        } catch (IOException ignored) {
-            // go gentle into that good night
-        }
-    }
-
     final class TestCase {
 
         private final List<PickleStepTestStep> steps = new ArrayList<>();
         private final List<Result> results = new ArrayList<>();
-        private final io.cucumber.plugin.event.TestCase testCase;
+        private final String className;
+        private final String name;
 
         TestCase(io.cucumber.plugin.event.TestCase testCase) {
-            this.testCase = testCase;
-        }
-
-        Element createElement(Document doc) {
-            return doc.createElement("testcase");
-        }
-
-        void writeElement(Element tc) {
-            tc.setAttribute("classname", findRootNodeName(testCase));
-            tc.setAttribute("name", calculateElementName(testCase));
+            this.className = findRootNodeName(testCase);
+            this.name = calculateElementName(testCase);
         }
 
         private String findRootNodeName(io.cucumber.plugin.event.TestCase testCase) {
@@ -216,28 +176,42 @@ public final class JUnitFormatter implements EventListener {
             }
         }
 
-        void addTestCaseElement(Document doc, Element tc, Result result) {
-            tc.setAttribute("time", calculateTotalDurationString(result.getDuration()));
+        private void writeStartElement(XmlWriter xml, Result result) throws IOException {
+            xml.writeNewLine(1);
+            xml.writeStartElement("testcase");
+            xml.writeAttribute("classname", className);
+            xml.writeAttribute("name", name);
+            xml.writeAttribute("time", calculateTotalDurationString(result.getDuration()));
+            xml.writeNewLine(2);
+        }
+
+        private void writeEndElement(XmlWriter xml) throws IOException {
+            xml.writeNewLine(1);
+            xml.writeEndElement();
+        }
+
+        void writeTestCase(XmlWriter xml, Result result) throws IOException {
+            writeStartElement(xml, result);
 
             StringBuilder sb = new StringBuilder();
             addStepAndResultListing(sb);
-            Element child;
             Status status = result.getStatus();
             if (status.is(Status.FAILED) || status.is(Status.AMBIGUOUS)) {
                 addStackTrace(sb, result);
-                child = createFailure(doc, sb, result.getError().getMessage(), result.getError().getClass());
+                writeFailure(xml, sb, result.getError().getMessage(), result.getError().getClass());
             } else if (status.is(Status.PENDING) || status.is(Status.UNDEFINED)) {
                 Throwable error = result.getError();
-                child = createFailure(doc, sb, "The scenario has pending or undefined step(s)",
+                writeFailure(xml, sb, "The scenario has pending or undefined step(s)",
                     error == null ? Exception.class : error.getClass());
             } else if (status.is(Status.SKIPPED) && result.getError() != null) {
                 addStackTrace(sb, result);
-                child = createSkipped(doc, sb, printStackTrace(result.getError()));
+                writeSkipped(xml, sb, printStackTrace(result.getError()));
             } else {
-                child = createElement(doc, sb, "system-out");
+                xml.writeStartElement("system-out");
+                writeContent(xml, sb);
             }
 
-            tc.appendChild(child);
+            writeEndElement(xml);
         }
 
         private void addStepAndResultListing(StringBuilder sb) {
@@ -262,35 +236,36 @@ public final class JUnitFormatter implements EventListener {
             sb.append(printStackTrace(failed.getError()));
         }
 
-        private Element createFailure(Document doc, StringBuilder sb, String message, Class<? extends Throwable> type) {
-            Element child = createElement(doc, sb, "failure");
-            child.setAttribute("message", message);
-            child.setAttribute("type", type.getName());
-            return child;
+        private void writeFailure(
+                XmlWriter xml, StringBuilder sb, String message, Class<? extends Throwable> type
+        ) throws IOException {
+            failures++;
+            xml.writeStartElement("failure");
+            // Exceptions without a message get an empty message
+            xml.writeAttribute("message", message == null ? "" : message);
+            xml.writeAttribute("type", type.getName());
+            writeContent(xml, sb);
         }
 
-        private Element createSkipped(Document doc, StringBuilder sb, String message) {
-            Element child = createElement(doc, sb, "skipped");
-            child.setAttribute("message", message);
-            return child;
+        private void writeSkipped(XmlWriter xml, StringBuilder sb, String message) throws IOException {
+            skipped++;
+            xml.writeStartElement("skipped");
+            xml.writeAttribute("message", message);
+            writeContent(xml, sb);
         }
 
-        private Element createElement(Document doc, StringBuilder sb, String elementType) {
-            Element child = doc.createElement(elementType);
-            // the createCDATASection method seems to convert "\n" to "\r\n" on
-            // Windows, in case
-            // data originally contains "\r\n" line separators the result
-            // becomes "\r\r\n", which
-            // are displayed as double line breaks.
+        private void writeContent(XmlWriter xml, StringBuilder sb) throws IOException {
+            // In case the data contains "\r\n" line separators normalize them
+            // so they are not displayed as double line breaks on Windows.
             String normalizedLineEndings = sb.toString().replace(System.lineSeparator(), "\n");
-            child.appendChild(doc.createCDATASection(normalizedLineEndings));
-            return child;
+            xml.writeCData(normalizedLineEndings);
+            xml.writeEndElement();
         }
 
-        void handleEmptyTestCase(Document doc, Element tc, Result result) {
-            tc.setAttribute("time", calculateTotalDurationString(result.getDuration()));
-            Element child = createFailure(doc, new StringBuilder(), "The scenario has no steps", Exception.class);
-            tc.appendChild(child);
+        void writeEmptyTestCase(XmlWriter xml, Result result) throws IOException {
+            writeStartElement(xml, result);
+            writeFailure(xml, new StringBuilder(), "The scenario has no steps", Exception.class);
+            writeEndElement(xml);
         }
 
     }
@@ -6,6 +6,7 @@ import io.cucumber.messages.Messages.GherkinDocument.Feature.Scenario;
 import io.cucumber.messages.Messages.GherkinDocument.Feature.Step;
 import io.cucumber.messages.internal.com.google.gson.Gson;
 import io.cucumber.messages.internal.com.google.gson.GsonBuilder;
+import io.cucumber.messages.internal.com.google.gson.stream.JsonWriter;
 import io.cucumber.plugin.EventListener;
 import io.cucumber.plugin.event.Argument;
 import io.cucumber.plugin.event.DataTableArgument;
@@ -47,15 +48,22 @@ import static java.util.Collections.singletonList;
 import static java.util.Locale.ROOT;
 import static java.util.stream.Collectors.toList;
 
+/**
+ * Writes a report in the JSON format of the original Ruby implementation.
+ * <p>
+ * Each feature is written as soon as the test cases of the next feature
+ * start, so only the feature that is being executed is kept in memory.
+ */
 public final class JsonFormatter implements EventListener {
 
     private static final String before = "before";
     private static final String after = "after";
-    private final List<Map<String, Object>> featureMaps = new ArrayList<>();
     private final Map<String, Object> currentBeforeStepHookList = new HashMap<>();
-    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
     private final Writer writer;
     private final TestSourcesModel testSources = new TestSourcesModel();
+    private Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private JsonWriter jsonWriter;
+    private Map<String, Object> currentFeatureMap;
     private URI currentFeatureFile;
     private List<Map<String, Object>> currentElementsList;
     private Map<String, Object> currentElementMap;
@@ -68,6 +76,10 @@ public final class JsonFormatter implements EventListener {
         this.writer = new UTF8OutputStreamWriter(out);
     }
 
+    void setPrettyPrinting(boolean prettyPrinting) {
+        this.gson = prettyPrinting ? new GsonBuilder().setPrettyPrinting().create() : new Gson();
+    }
+
     @Override
     public void setEventPublisher(EventPublisher publisher) {
         publisher.registerHandlerFor(TestSourceRead.class, this::handleTestSourceRead);
@@ -87,8 +99,9 @@ public final class JsonFormatter implements EventListener {
     private void handleTestCaseStarted(TestCaseStarted event) {
         if (currentFeatureFile == null || !currentFeatureFile.equals(event.getTestCase().getUri())) {
             currentFeatureFile = event.getTestCase().getUri();
-            Map<String, Object> currentFeatureMap = createFeatureMap(event.getTestCase());
-            featureMaps.add(currentFeatureMap);
+            // The previous feature is complete
+            writeFeature();
+            currentFeatureMap = createFeatureMap(event.getTestCase());
             currentElementsList = (List<Map<String, Object>>) currentFeatureMap.get("elements");
         }
         currentTestCaseMap = createTestCase(event);
@@ -140,17 +153,41 @@ public final class JsonFormatter implements EventListener {
     }
 
     private void finishReport(TestRunFinished event) {
+        writeFeature();
         Throwable exception = event.getResult().getError();
         if (exception != null) {
-            featureMaps.add(createDummyFeatureForFailure(event));
+            currentFeatureMap = createDummyFeatureForFailure(event);
+            writeFeature();
+        }
+
+        try {
+            getJsonWriter().endArray();
+            jsonWriter.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
+    }
 
-        gson.toJson(featureMaps, writer);
+    private void writeFeature() {
+        if (currentFeatureMap == null) {
+            return;
+        }
         try {
-            writer.close();
+            gson.toJson(currentFeatureMap, Map.class, getJsonWriter());
+            jsonWriter.flush();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        currentFeatureMap = null;
+    }
+
+    private JsonWriter getJsonWriter() throws IOException {
+        if (jsonWriter == null) {
+            // Configured like Gson.toJson(Object, Appendable) would
+            jsonWriter = gson.newJsonWriter(writer);
+            jsonWriter.beginArray();
+        }
+        return jsonWriter;
     }
 
     private Map<String, Object> createFeatureMap(TestCase testCase) {
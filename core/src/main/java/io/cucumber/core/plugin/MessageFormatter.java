@@ -2,14 +2,16 @@ package io.cucumber.core.plugin;
 
 import io.cucumber.messages.Messages.Envelope;
 import io.cucumber.messages.internal.com.google.protobuf.util.JsonFormat;
+import io.cucumber.plugin.AsyncPlugin;
 import io.cucumber.plugin.ConcurrentEventListener;
 import io.cucumber.plugin.event.EventPublisher;
 
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
 
-public final class MessageFormatter implements ConcurrentEventListener {
+public final class MessageFormatter implements ConcurrentEventListener, AsyncPlugin, Flushable {
 
     private final Writer writer;
     private final JsonFormat.Printer jsonPrinter = JsonFormat.printer()
@@ -28,7 +30,6 @@ public final class MessageFormatter implements ConcurrentEventListener {
         try {
             jsonPrinter.appendTo(envelope, writer);
             writer.write("\n");
-            writer.flush();
             if (envelope.hasTestRunFinished()) {
                 writer.close();
             }
@@ -37,4 +38,9 @@ public final class MessageFormatter implements ConcurrentEventListener {
         }
     }
 
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
 }
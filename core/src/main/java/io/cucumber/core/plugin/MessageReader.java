@@ -0,0 +1,69 @@
+package io.cucumber.core.plugin;
+
+import io.cucumber.messages.BinaryToMessageIterable;
+import io.cucumber.messages.Messages.Envelope;
+import io.cucumber.messages.NdjsonToMessageIterable;
+import org.apiguardian.api.API;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the messages written by the {@code message} plugin.
+ * <p>
+ * Files ending with {@code .pb} are read as length-delimited protobuf, written
+ * by the {@link BinaryMessageFormatter}. Other files are read as NDJSON,
+ * written by the {@link MessageFormatter}. Files ending with {@code .gz} are
+ * decompressed first.
+ */
+@API(status = API.Status.EXPERIMENTAL)
+public final class MessageReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private MessageReader() {
+
+    }
+
+    /**
+     * Reads the messages in a file. The returned stream should be closed to
+     * close the file.
+     *
+     * @param  path        the file to read
+     * @return             the messages in the file
+     * @throws IOException if the file could not be opened
+     */
+    public static Stream<Envelope> read(Path path) throws IOException {
+        InputStream fileInputStream = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE);
+        InputStream inputStream = isCompressed(path.toString())
+                ? new GZIPInputStream(fileInputStream, BUFFER_SIZE)
+                : fileInputStream;
+        Iterable<Envelope> messages = isBinary(path.toString())
+                ? new BinaryToMessageIterable(inputStream)
+                : new NdjsonToMessageIterable(inputStream);
+        return StreamSupport.stream(messages.spliterator(), false)
+                .onClose(() -> {
+                    try {
+                        inputStream.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private static boolean isBinary(String fileName) {
+        return fileName.endsWith(".pb") || fileName.endsWith(".pb.gz");
+    }
+
+    private static boolean isCompressed(String fileName) {
+        return fileName.endsWith(".gz");
+    }
+
+}
@@ -6,14 +6,24 @@ import java.io.IOException;
 
 /**
  * A nice appendable that doesn't throw checked exceptions
+ * <p>
+ * Flushes after each append unless created to only flush when flushed or
+ * closed, e.g. for formatters that flush once per event or write their report
+ * at the end of the test run.
  */
 final class NiceAppendable implements Appendable {
 
     private static final CharSequence NL = "\n";
     private final Appendable out;
+    private final boolean flushEachAppend;
 
     public NiceAppendable(Appendable out) {
+        this(out, true);
+    }
+
+    public NiceAppendable(Appendable out, boolean flushEachAppend) {
         this.out = out;
+        this.flushEachAppend = flushEachAppend;
     }
 
     public NiceAppendable println() {
@@ -51,6 +61,12 @@ final class NiceAppendable implements Appendable {
     }
 
     private void tryFlush() {
+        if (flushEachAppend) {
+            flush();
+        }
+    }
+
+    public void flush() {
         if (!(out instanceof Flushable)) {
             return;
         }
@@ -74,7 +90,7 @@ final class NiceAppendable implements Appendable {
 
     public void close() {
         try {
-            tryFlush();
+            flush();
             if (out instanceof Closeable) {
                 ((Closeable) out).close();
             }
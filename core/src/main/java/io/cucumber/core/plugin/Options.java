@@ -8,6 +8,38 @@ public interface Options {
 
     boolean isWip();
 
+    /**
+     * The number of failed test cases after which the remaining test cases
+     * are skipped.
+     *
+     * @return the maximum number of failures, or 0 when unlimited
+     */
+    int getMaxFailures();
+
+    /**
+     * What to do with events for an {@link io.cucumber.plugin.AsyncPlugin}
+     * that can not keep up.
+     *
+     * @return the overflow policy
+     */
+    OverflowPolicy getAsyncPluginOverflowPolicy();
+
+    /**
+     * The estimated size in megabytes of the events of finished test cases
+     * kept in memory to publish them in canonical order. Beyond it events are
+     * spilled to a temporary file.
+     *
+     * @return the memory budget in megabytes
+     */
+    int getCanonicalOrderMemoryBudget();
+
+    /**
+     * Whether the json formatter indents its output.
+     *
+     * @return true when the json output is pretty printed
+     */
+    boolean isJsonPrettyPrint();
+
     interface Plugin {
 
         Class<? extends io.cucumber.plugin.Plugin> pluginClass();
@@ -0,0 +1,19 @@
+package io.cucumber.core.plugin;
+
+/**
+ * What to do with an event for an {@link io.cucumber.plugin.AsyncPlugin} when
+ * its queue is full.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Wait until the plugin has handled enough events to make room.
+     */
+    BLOCK,
+
+    /**
+     * Drop the event and warn that events were dropped.
+     */
+    DROP
+
+}
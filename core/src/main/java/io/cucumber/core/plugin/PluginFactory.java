@@ -192,11 +192,13 @@ public final class PluginFactory {
         if (arg.matches("^(http|https):.*")) {
             CurlOption option = CurlOption.parse(arg);
             return new UrlOutputStream(option, null);
-        } else if (arg.matches("^file:.*")) {
-            return createFileOutputStream(new File(new URL(arg).getFile()));
-        } else {
-            return createFileOutputStream(new File(arg));
         }
+        File file = arg.matches("^file:.*") ? new File(new URL(arg).getFile()) : new File(arg);
+        FileOutputStream fileOutputStream = createFileOutputStream(file);
+        if (file.getName().endsWith(".gz")) {
+            return new AsyncGzipOutputStream(fileOutputStream);
+        }
+        return fileOutputStream;
     }
 
     private static FileOutputStream createFileOutputStream(File file) {
@@ -226,7 +228,7 @@ public final class PluginFactory {
         }
 
         try {
-            return new FileOutputStream(file);
+            return new PluginFileOutputStream(file);
         } catch (FileNotFoundException e) {
             throw new IllegalArgumentException(String.format("" +
                     "Couldn't create a file output stream for %s.\n" +
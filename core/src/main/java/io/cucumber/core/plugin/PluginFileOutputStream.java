@@ -0,0 +1,24 @@
+package io.cucumber.core.plugin;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+
+/**
+ * Output stream of a plugin that writes to a file. Allows plugins to keep
+ * their temporary files next to their output.
+ */
+final class PluginFileOutputStream extends FileOutputStream {
+
+    private final File file;
+
+    PluginFileOutputStream(File file) throws FileNotFoundException {
+        super(file);
+        this.file = file;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+}
@@ -1,5 +1,6 @@
 package io.cucumber.core.plugin;
 
+import io.cucumber.plugin.AsyncPlugin;
 import io.cucumber.plugin.ColorAware;
 import io.cucumber.plugin.ConcurrentEventListener;
 import io.cucumber.plugin.EventListener;
@@ -41,6 +42,7 @@ public final class Plugins {
         plugins.add(plugin);
         setMonochromeOnColorAwarePlugins(plugin);
         setStrictOnStrictAwarePlugins(plugin);
+        setPrettyPrintingOnJsonFormatter(plugin);
     }
 
     private void setMonochromeOnColorAwarePlugins(Plugin plugin) {
@@ -57,6 +59,13 @@ public final class Plugins {
         }
     }
 
+    private void setPrettyPrintingOnJsonFormatter(Plugin plugin) {
+        if (plugin instanceof JsonFormatter) {
+            JsonFormatter jsonFormatter = (JsonFormatter) plugin;
+            jsonFormatter.setPrettyPrinting(pluginOptions.isJsonPrettyPrint());
+        }
+    }
+
     public List<Plugin> getPlugins() {
         return plugins;
     }
@@ -68,9 +77,9 @@ public final class Plugins {
     public void setEventBusOnEventListenerPlugins(EventPublisher eventPublisher) {
         for (Plugin plugin : plugins) {
             if (plugin instanceof ConcurrentEventListener) {
-                ((ConcurrentEventListener) plugin).setEventPublisher(eventPublisher);
+                ((ConcurrentEventListener) plugin).setEventPublisher(asyncIfNeeded(plugin, eventPublisher));
             } else if (plugin instanceof EventListener) {
-                ((EventListener) plugin).setEventPublisher(eventPublisher);
+                ((EventListener) plugin).setEventPublisher(asyncIfNeeded(plugin, eventPublisher));
             }
         }
     }
@@ -78,14 +87,24 @@ public final class Plugins {
     public void setSerialEventBusOnEventListenerPlugins(EventPublisher eventPublisher) {
         for (Plugin plugin : plugins) {
             if (plugin instanceof ConcurrentEventListener) {
-                ((ConcurrentEventListener) plugin).setEventPublisher(eventPublisher);
+                ((ConcurrentEventListener) plugin).setEventPublisher(asyncIfNeeded(plugin, eventPublisher));
             } else if (plugin instanceof EventListener) {
                 EventPublisher orderedEventPublisher = getOrderedEventPublisher(eventPublisher);
-                ((EventListener) plugin).setEventPublisher(orderedEventPublisher);
+                ((EventListener) plugin).setEventPublisher(asyncIfNeeded(plugin, orderedEventPublisher));
             }
         }
     }
 
+    private EventPublisher asyncIfNeeded(Plugin plugin, EventPublisher eventPublisher) {
+        if (!(plugin instanceof AsyncPlugin)) {
+            return eventPublisher;
+        }
+        // Each plugin has a writer thread of its own, so a slow plugin does
+        // not hold up the others
+        return new AsyncEventPublisher(eventPublisher, (AsyncPlugin) plugin,
+            pluginOptions.getAsyncPluginOverflowPolicy());
+    }
+
     private EventPublisher getOrderedEventPublisher(EventPublisher eventPublisher) {
         // The ordered event publisher stores all events
         // so don't create it unless we need it.
@@ -95,8 +114,10 @@ public final class Plugins {
         return orderedEventPublisher;
     }
 
-    private static EventPublisher createCanonicalOrderEventPublisher(EventPublisher eventPublisher) {
-        final CanonicalOrderEventPublisher canonicalOrderEventPublisher = new CanonicalOrderEventPublisher();
+    private EventPublisher createCanonicalOrderEventPublisher(EventPublisher eventPublisher) {
+        long memoryBudget = pluginOptions.getCanonicalOrderMemoryBudget() * 1024L * 1024L;
+        final CanonicalOrderEventPublisher canonicalOrderEventPublisher = new CanonicalOrderEventPublisher(
+            memoryBudget);
         eventPublisher.registerHandlerFor(Event.class, canonicalOrderEventPublisher::handle);
         return canonicalOrderEventPublisher;
     }
@@ -45,7 +45,7 @@ public final class PrettyFormatter implements ConcurrentEventListener, ColorAwar
     private Formats formats = ansi();
 
     public PrettyFormatter(OutputStream out) {
-        this.out = new NiceAppendable(new UTF8OutputStreamWriter(out));
+        this.out = new NiceAppendable(new UTF8OutputStreamWriter(out), false);
     }
 
     @Override
@@ -62,25 +62,27 @@ public final class PrettyFormatter implements ConcurrentEventListener, ColorAwar
         preCalculateLocationIndent(event);
         printTags(event);
         printScenarioDefinition(event);
+        out.flush();
     }
 
     private void handleTestStepFinished(TestStepFinished event) {
         printStep(event);
         printError(event);
+        out.flush();
     }
 
     private void handleWrite(WriteEvent event) {
         out.println();
         printText(event);
         out.println();
-
+        out.flush();
     }
 
     private void handleEmbed(EmbedEvent event) {
         out.println();
         printEmbedding(event);
         out.println();
-
+        out.flush();
     }
 
     private void handleTestRunFinished(TestRunFinished event) {
@@ -40,7 +40,7 @@ public final class ProgressFormatter implements ConcurrentEventListener, ColorAw
     private boolean monochrome = false;
 
     public ProgressFormatter(OutputStream out) {
-        this.out = new NiceAppendable(new UTF8OutputStreamWriter(out));
+        this.out = new NiceAppendable(new UTF8OutputStreamWriter(out), false);
     }
 
     @Override
@@ -64,11 +64,13 @@ public final class ProgressFormatter implements ConcurrentEventListener, ColorAw
             if (!monochrome) {
                 AnsiEscapes.RESET.appendTo(out);
             }
+            out.flush();
         }
     }
 
     private void handleWrite(WriteEvent event) {
         out.append(event.getText());
+        out.flush();
     }
 
     private void handleTestRunFinished() {
@@ -0,0 +1,371 @@
+package io.cucumber.core.plugin;
+
+import io.cucumber.plugin.event.Argument;
+import io.cucumber.plugin.event.DataTableArgument;
+import io.cucumber.plugin.event.DocStringArgument;
+import io.cucumber.plugin.event.Group;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.HookType;
+import io.cucumber.plugin.event.Location;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Step;
+import io.cucumber.plugin.event.StepArgument;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestStep;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A test case read back from an {@link EventSpillFile}.
+ * <p>
+ * Holds the values of the original test case, its test steps and their
+ * arguments, so plugins can not tell them apart.
+ */
+final class SpilledTestCase implements TestCase {
+
+    private final UUID id;
+    private final URI uri;
+    private final Integer line;
+    private final Location location;
+    private final String keyword;
+    private final String name;
+    private final String scenarioDesignation;
+    private final List<String> tags;
+    private final List<TestStep> testSteps;
+
+    SpilledTestCase(
+            UUID id, URI uri, Integer line, Location location, String keyword, String name,
+            String scenarioDesignation, List<String> tags, List<TestStep> testSteps
+    ) {
+        this.id = id;
+        this.uri = uri;
+        this.line = line;
+        this.location = location;
+        this.keyword = keyword;
+        this.name = name;
+        this.scenarioDesignation = scenarioDesignation;
+        this.tags = tags;
+        this.testSteps = testSteps;
+    }
+
+    @Override
+    public Integer getLine() {
+        return line;
+    }
+
+    @Override
+    public Location getLocation() {
+        return location;
+    }
+
+    @Override
+    public String getKeyword() {
+        return keyword;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getScenarioDesignation() {
+        return scenarioDesignation;
+    }
+
+    @Override
+    public List<String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public List<TestStep> getTestSteps() {
+        return testSteps;
+    }
+
+    @Override
+    public URI getUri() {
+        return uri;
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    static final class SpilledHookTestStep implements HookTestStep {
+
+        private final UUID id;
+        private final String codeLocation;
+        private final HookType hookType;
+
+        SpilledHookTestStep(UUID id, String codeLocation, HookType hookType) {
+            this.id = id;
+            this.codeLocation = codeLocation;
+            this.hookType = hookType;
+        }
+
+        @Override
+        public HookType getHookType() {
+            return hookType;
+        }
+
+        @Override
+        public String getCodeLocation() {
+            return codeLocation;
+        }
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+    }
+
+    static final class SpilledPickleStepTestStep implements PickleStepTestStep {
+
+        private final UUID id;
+        private final String codeLocation;
+        private final URI uri;
+        private final String pattern;
+        private final Step step;
+        private final List<Argument> definitionArgument;
+
+        SpilledPickleStepTestStep(
+                UUID id, String codeLocation, URI uri, String pattern, Step step, List<Argument> definitionArgument
+        ) {
+            this.id = id;
+            this.codeLocation = codeLocation;
+            this.uri = uri;
+            this.pattern = pattern;
+            this.step = step;
+            this.definitionArgument = definitionArgument;
+        }
+
+        @Override
+        public String getPattern() {
+            return pattern;
+        }
+
+        @Override
+        public Step getStep() {
+            return step;
+        }
+
+        @Override
+        public List<Argument> getDefinitionArgument() {
+            return definitionArgument;
+        }
+
+        @Override
+        public StepArgument getStepArgument() {
+            return step.getArgument();
+        }
+
+        @Override
+        public int getStepLine() {
+            return step.getLine();
+        }
+
+        @Override
+        public URI getUri() {
+            return uri;
+        }
+
+        @Override
+        public String getStepText() {
+            return step.getText();
+        }
+
+        @Override
+        public String getCodeLocation() {
+            return codeLocation;
+        }
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+    }
+
+    static final class SpilledStep implements Step {
+
+        private final StepArgument argument;
+        private final String keyword;
+        private final String text;
+        private final Location location;
+
+        SpilledStep(StepArgument argument, String keyword, String text, Location location) {
+            this.argument = argument;
+            this.keyword = keyword;
+            this.text = text;
+            this.location = location;
+        }
+
+        @Override
+        public StepArgument getArgument() {
+            return argument;
+        }
+
+        @Override
+        public String getKeyword() {
+            return keyword;
+        }
+
+        @Override
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public int getLine() {
+            return location.getLine();
+        }
+
+        @Override
+        public Location getLocation() {
+            return location;
+        }
+
+    }
+
+    static final class SpilledDocStringArgument implements DocStringArgument {
+
+        private final String content;
+        private final String mediaType;
+        private final int line;
+
+        SpilledDocStringArgument(String content, String mediaType, int line) {
+            this.content = content;
+            this.mediaType = mediaType;
+            this.line = line;
+        }
+
+        @Override
+        public String getContent() {
+            return content;
+        }
+
+        @Override
+        public String getContentType() {
+            return mediaType;
+        }
+
+        @Override
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        @Override
+        public int getLine() {
+            return line;
+        }
+
+    }
+
+    static final class SpilledDataTableArgument implements DataTableArgument {
+
+        private final List<List<String>> cells;
+        private final int line;
+
+        SpilledDataTableArgument(List<List<String>> cells, int line) {
+            this.cells = cells;
+            this.line = line;
+        }
+
+        @Override
+        public List<List<String>> cells() {
+            return cells;
+        }
+
+        @Override
+        public int getLine() {
+            return line;
+        }
+
+    }
+
+    static final class SpilledArgument implements Argument {
+
+        private final String parameterTypeName;
+        private final String value;
+        private final int start;
+        private final int end;
+        private final Group group;
+
+        SpilledArgument(String parameterTypeName, String value, int start, int end, Group group) {
+            this.parameterTypeName = parameterTypeName;
+            this.value = value;
+            this.start = start;
+            this.end = end;
+            this.group = group;
+        }
+
+        @Override
+        public String getParameterTypeName() {
+            return parameterTypeName;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public int getStart() {
+            return start;
+        }
+
+        @Override
+        public int getEnd() {
+            return end;
+        }
+
+        @Override
+        public Group getGroup() {
+            return group;
+        }
+
+    }
+
+    static final class SpilledGroup implements Group {
+
+        private final Collection<Group> children;
+        private final String value;
+        private final int start;
+        private final int end;
+
+        SpilledGroup(Collection<Group> children, String value, int start, int end) {
+            this.children = children;
+            this.value = value;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public Collection<Group> getChildren() {
+            return children;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public int getStart() {
+            return start;
+        }
+
+        @Override
+        public int getEnd() {
+            return end;
+        }
+
+    }
+
+}
@@ -14,24 +14,9 @@ import io.cucumber.plugin.event.TestRunFinished;
 import io.cucumber.plugin.event.TestRunStarted;
 import io.cucumber.plugin.event.TestSourceParsed;
 import io.cucumber.plugin.event.TestStepFinished;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
 
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-
-import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.Writer;
 import java.net.URI;
 import java.time.Duration;
 import java.time.Instant;
@@ -48,35 +33,26 @@ import static java.time.Duration.ZERO;
 import static java.time.format.DateTimeFormatter.ISO_INSTANT;
 import static java.util.Locale.ROOT;
 
+/**
+ * Writes a report in the XML format of TestNG.
+ * <p>
+ * Each test case is written when it finished. The counts of the results are
+ * written when the test run finished, see {@link XmlReportWriter}.
+ */
 public final class TestNGFormatter implements EventListener {
 
-    private final Writer writer;
-    private final Document document;
-    private final Element results;
-    private final Element suite;
-    private final Element test;
+    private final XmlReportWriter writer;
     private final Map<URI, Collection<Node>> parsedTestSources = new HashMap<>();
-    private Element clazz;
-    private Element root;
     private TestCase testCase;
     private URI currentFeatureFile = null;
     private String previousTestCaseName;
     private int exampleNumber;
     private Instant started;
+    private int passed;
+    private int failed;
 
     public TestNGFormatter(OutputStream out) {
-        this.writer = new UTF8OutputStreamWriter(out);
-        try {
-            document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
-            results = document.createElement("testng-results");
-            suite = document.createElement("suite");
-            test = document.createElement("test");
-            suite.appendChild(test);
-            results.appendChild(suite);
-            document.appendChild(results);
-        } catch (ParserConfigurationException e) {
-            throw new CucumberException("Error initializing DocumentBuilder.", e);
-        }
+        this.writer = new XmlReportWriter(out);
     }
 
     @Override
@@ -98,18 +74,24 @@ public final class TestNGFormatter implements EventListener {
     }
 
     private void handleTestCaseStarted(TestCaseStarted event) {
-        if (currentFeatureFile == null || !currentFeatureFile.equals(event.getTestCase().getUri())) {
-            currentFeatureFile = event.getTestCase().getUri();
-            previousTestCaseName = "";
-            exampleNumber = 1;
-            clazz = document.createElement("class");
-            clazz.setAttribute("name", findRootNodeName(event.getTestCase()));
-            test.appendChild(clazz);
+        try {
+            if (currentFeatureFile == null || !currentFeatureFile.equals(event.getTestCase().getUri())) {
+                XmlWriter xml = writer.body();
+                if (currentFeatureFile != null) {
+                    xml.writeNewLine(3);
+                    xml.writeEndElement();
+                }
+                currentFeatureFile = event.getTestCase().getUri();
+                previousTestCaseName = "";
+                exampleNumber = 1;
+                xml.writeNewLine(3);
+                xml.writeStartElement("class");
+                xml.writeAttribute("name", findRootNodeName(event.getTestCase()));
+            }
+        } catch (IOException e) {
+            throw new CucumberException("Error writing report.", e);
         }
-        root = document.createElement("test-method");
-        clazz.appendChild(root);
-        testCase = new TestCase(event.getTestCase());
-        testCase.start(root, event.getInstant());
+        testCase = new TestCase(event.getTestCase(), event.getInstant());
     }
 
     private String findRootNodeName(io.cucumber.plugin.event.TestCase testCase) {
@@ -136,59 +118,49 @@ public final class TestNGFormatter implements EventListener {
     }
 
     private void handleTestCaseFinished(TestCaseFinished event) {
-        testCase.finish(document, root, event.getInstant());
-    }
-
-    private void handleTestRunFinished(TestRunFinished event) {
         try {
-            Instant finished = event.getInstant();
-            Duration duration = Duration.between(started, finished);
-            results.setAttribute("total", String.valueOf(getElementsCountByAttribute(suite, "status", ".*")));
-            results.setAttribute("passed", String.valueOf(getElementsCountByAttribute(suite, "status", "PASS")));
-            results.setAttribute("failed", String.valueOf(getElementsCountByAttribute(suite, "status", "FAIL")));
-            results.setAttribute("skipped", String.valueOf(getElementsCountByAttribute(suite, "status", "SKIP")));
-            suite.setAttribute("name", TestNGFormatter.class.getName());
-            suite.setAttribute("duration-ms", String.valueOf(duration.toMillis()));
-            test.setAttribute("name", TestNGFormatter.class.getName());
-            test.setAttribute("duration-ms", String.valueOf(duration.toMillis()));
-
-            TransformerFactory factory = TransformerFactory.newInstance();
-            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-            Transformer transformer = factory.newTransformer();
-            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-            StreamResult streamResult = new StreamResult(writer);
-            DOMSource domSource = new DOMSource(document);
-            transformer.transform(domSource, streamResult);
-            closeQuietly(writer);
-        } catch (TransformerException e) {
-            throw new CucumberException("Error transforming report.", e);
+            testCase.finish(writer.body(), event.getInstant());
+        } catch (IOException e) {
+            throw new CucumberException("Error writing report.", e);
         }
+        testCase = null;
     }
 
-    private void closeQuietly(Closeable out) {
-        try {
-            out.close();
-        } catch (IOException ignored) {
-            // go gentle into that good night
-        }
-    }
-
-    private int getElementsCountByAttribute(org.w3c.dom.Node node, String attributeName, String attributeValue) {
-        int count = 0;
-
-        for (int i = 0; i < node.getChildNodes().getLength(); i++) {
-            count += getElementsCountByAttribute(node.getChildNodes().item(i), attributeName, attributeValue);
-        }
-
-        NamedNodeMap attributes = node.getAttributes();
-        if (attributes != null) {
-            org.w3c.dom.Node namedItem = attributes.getNamedItem(attributeName);
-            if (namedItem != null && namedItem.getNodeValue().matches(attributeValue)) {
-                count++;
+    private void handleTestRunFinished(TestRunFinished event) {
+        try (XmlReportWriter report = writer) {
+            if (currentFeatureFile != null) {
+                XmlWriter body = report.body();
+                body.writeNewLine(3);
+                body.writeEndElement();
             }
+            Instant finished = event.getInstant();
+            Duration duration = Duration.between(started, finished);
+            XmlWriter xml = report.header();
+            xml.writeDeclaration();
+            xml.writeNewLine(0);
+            xml.writeStartElement("testng-results");
+            xml.writeAttribute("failed", String.valueOf(failed));
+            xml.writeAttribute("passed", String.valueOf(passed));
+            xml.writeAttribute("skipped", "0");
+            xml.writeAttribute("total", String.valueOf(passed + failed));
+            xml.writeNewLine(1);
+            xml.writeStartElement("suite");
+            xml.writeAttribute("duration-ms", String.valueOf(duration.toMillis()));
+            xml.writeAttribute("name", TestNGFormatter.class.getName());
+            xml.writeNewLine(2);
+            xml.writeStartElement("test");
+            xml.writeAttribute("duration-ms", String.valueOf(duration.toMillis()));
+            xml.writeAttribute("name", TestNGFormatter.class.getName());
+            report.writeBody();
+            xml.writeNewLine(2);
+            xml.writeEndElement();
+            xml.writeNewLine(1);
+            xml.writeEndElement();
+            xml.writeNewLine(0);
+            xml.writeEndElement();
+        } catch (IOException e) {
+            throw new CucumberException("Error writing report.", e);
         }
-
-        return count;
     }
 
     final class TestCase {
@@ -196,15 +168,12 @@ public final class TestNGFormatter implements EventListener {
         private final List<PickleStepTestStep> steps = new ArrayList<>();
         private final List<Result> results = new ArrayList<>();
         private final List<Result> hooks = new ArrayList<>();
-        private final io.cucumber.plugin.event.TestCase testCase;
+        private final String name;
+        private final Instant startedAt;
 
-        TestCase(io.cucumber.plugin.event.TestCase testCase) {
-            this.testCase = testCase;
-        }
-
-        private void start(Element element, Instant instant) {
-            element.setAttribute("name", calculateElementName(testCase));
-            element.setAttribute("started-at", ISO_INSTANT.format(instant));
+        TestCase(io.cucumber.plugin.event.TestCase testCase, Instant startedAt) {
+            this.name = calculateElementName(testCase);
+            this.startedAt = startedAt;
         }
 
         private String calculateElementName(io.cucumber.plugin.event.TestCase testCase) {
@@ -218,9 +187,7 @@ public final class TestNGFormatter implements EventListener {
             }
         }
 
-        void finish(Document doc, Element element, Instant instant) {
-            element.setAttribute("duration-ms", calculateTotalDurationString());
-            element.setAttribute("finished-at", ISO_INSTANT.format(instant));
+        void finish(XmlWriter xml, Instant instant) throws IOException {
             StringBuilder stringBuilder = new StringBuilder();
             addStepAndResultListing(stringBuilder);
             Result skipped = null;
@@ -238,20 +205,30 @@ public final class TestNGFormatter implements EventListener {
                     failed = result;
                 }
             }
+
+            xml.writeNewLine(4);
+            xml.writeStartElement("test-method");
+            xml.writeAttribute("duration-ms", calculateTotalDurationString());
+            xml.writeAttribute("finished-at", ISO_INSTANT.format(instant));
+            xml.writeAttribute("name", name);
+            xml.writeAttribute("started-at", ISO_INSTANT.format(startedAt));
             if (failed != null) {
-                element.setAttribute("status", "FAIL");
+                TestNGFormatter.this.failed++;
+                xml.writeAttribute("status", "FAIL");
                 String stacktrace = printStackTrace(failed.getError());
-                Element exception = createException(doc, failed.getError().getClass().getName(),
-                    stringBuilder.toString(), stacktrace);
-                element.appendChild(exception);
+                writeException(xml, failed.getError().getClass().getName(), stringBuilder.toString(), stacktrace);
+                xml.writeNewLine(4);
             } else if (skipped != null) {
-                element.setAttribute("status", "FAIL");
-                Element exception = createException(doc, "The scenario has pending or undefined step(s)",
+                TestNGFormatter.this.failed++;
+                xml.writeAttribute("status", "FAIL");
+                writeException(xml, "The scenario has pending or undefined step(s)",
                     stringBuilder.toString(), "The scenario has pending or undefined step(s)");
-                element.appendChild(exception);
+                xml.writeNewLine(4);
             } else {
-                element.setAttribute("status", "PASS");
+                passed++;
+                xml.writeAttribute("status", "PASS");
             }
+            xml.writeEndElement();
         }
 
         private String calculateTotalDurationString() {
@@ -282,21 +259,26 @@ public final class TestNGFormatter implements EventListener {
             }
         }
 
-        private Element createException(Document doc, String clazz, String message, String stacktrace) {
-            Element exceptionElement = doc.createElement("exception");
-            exceptionElement.setAttribute("class", clazz);
+        private void writeException(XmlWriter xml, String clazz, String message, String stacktrace)
+                throws IOException {
+            xml.writeNewLine(5);
+            xml.writeStartElement("exception");
+            xml.writeAttribute("class", clazz);
 
             if (message != null) {
-                Element messageElement = doc.createElement("message");
-                messageElement.appendChild(doc.createCDATASection(message));
-                exceptionElement.appendChild(messageElement);
+                xml.writeNewLine(6);
+                xml.writeStartElement("message");
+                xml.writeCData(message);
+                xml.writeEndElement();
             }
 
-            Element stacktraceElement = doc.createElement("full-stacktrace");
-            stacktraceElement.appendChild(doc.createCDATASection(stacktrace));
-            exceptionElement.appendChild(stacktraceElement);
+            xml.writeNewLine(6);
+            xml.writeStartElement("full-stacktrace");
+            xml.writeCData(stacktrace);
+            xml.writeEndElement();
 
-            return exceptionElement;
+            xml.writeNewLine(5);
+            xml.writeEndElement();
         }
 
     }
@@ -64,7 +64,7 @@ public final class TimelineFormatter implements ConcurrentEventListener {
 
         this.reportDir = reportDir;
         this.reportJs = new NiceAppendable(
-            new UTF8OutputStreamWriter(new FileOutputStream(new File(reportDir, "report.js"))));
+            new UTF8OutputStreamWriter(new FileOutputStream(new File(reportDir, "report.js"))), false);
     }
 
     @Override
@@ -28,7 +28,7 @@ public final class UnusedStepsSummaryPrinter implements ColorAware, ConcurrentEv
     private Formats formats = ansi();
 
     public UnusedStepsSummaryPrinter(OutputStream out) {
-        this.out = new NiceAppendable(new UTF8OutputStreamWriter(out));
+        this.out = new NiceAppendable(new UTF8OutputStreamWriter(out), false);
     }
 
     @Override
@@ -69,6 +69,7 @@ public final class UnusedStepsSummaryPrinter implements ColorAware, ConcurrentEv
             String pattern = entry.getValue();
             out.println(format.text(location) + " # " + pattern);
         }
+        out.flush();
     }
 
     @Override
@@ -40,7 +40,7 @@ public final class UsageFormatter implements Plugin, ConcurrentEventListener {
      */
     @SuppressWarnings("WeakerAccess") // Used by PluginFactory
     public UsageFormatter(OutputStream out) {
-        this.out = new NiceAppendable(new UTF8OutputStreamWriter(out));
+        this.out = new NiceAppendable(new UTF8OutputStreamWriter(out), false);
     }
 
     @Override
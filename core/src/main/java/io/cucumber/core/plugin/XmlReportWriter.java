@@ -0,0 +1,127 @@
+package io.cucumber.core.plugin;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Streams an xml report whose root elements have attributes, such as counts
+ * and durations, that are only known when the test run finished.
+ * <p>
+ * The report can not be rewritten once written, so the elements inside the
+ * root elements are written to a temporary file as soon as they are complete.
+ * When the test run finished the root elements are written with their
+ * attributes, followed by the contents of the temporary file. Either way only
+ * the element that is being written is kept in memory.
+ * <p>
+ * When the report is written to a file the temporary file is created next to
+ * it, so it is on the same file system as the report rather than in a
+ * possibly small temporary directory.
+ */
+final class XmlReportWriter implements Closeable {
+
+    private static final String BODY_PREFIX = "cucumber-report";
+    // Not .xml, so report collectors do not pick it up
+    private static final String BODY_SUFFIX = ".tmp";
+
+    private final XmlWriter header;
+    private final Path directory;
+    private Path bodyPath;
+    private XmlWriter body;
+
+    XmlReportWriter(OutputStream out) {
+        this.header = new XmlWriter(new UTF8OutputStreamWriter(out));
+        this.directory = directoryOf(out);
+    }
+
+    private static Path directoryOf(OutputStream out) {
+        if (!(out instanceof PluginFileOutputStream)) {
+            return null;
+        }
+        File directory = ((PluginFileOutputStream) out).getFile().getAbsoluteFile().getParentFile();
+        return directory == null ? null : directory.toPath();
+    }
+
+    /**
+     * @return writer for the elements inside the root elements
+     */
+    XmlWriter body() throws IOException {
+        if (body == null) {
+            bodyPath = createBodyPath();
+            bodyPath.toFile().deleteOnExit();
+            body = new XmlWriter(Files.newBufferedWriter(bodyPath, UTF_8));
+        }
+        return body;
+    }
+
+    private Path createBodyPath() throws IOException {
+        if (directory != null) {
+            try {
+                return Files.createTempFile(directory, BODY_PREFIX, BODY_SUFFIX);
+            } catch (IOException e) {
+                // Fall back to the temporary directory
+            }
+        }
+        return Files.createTempFile(BODY_PREFIX, BODY_SUFFIX);
+    }
+
+    /**
+     * @return writer for the declaration and the root elements
+     */
+    XmlWriter header() {
+        return header;
+    }
+
+    /**
+     * Writes the elements written to the {@link #body()} into the currently
+     * open root element of the {@link #header()}.
+     */
+    void writeBody() throws IOException {
+        if (body == null) {
+            return;
+        }
+        body.close();
+        try (Reader reader = Files.newBufferedReader(bodyPath, UTF_8)) {
+            header.writeXml(reader);
+        }
+        deleteBody();
+    }
+
+    /**
+     * Closes the report and deletes the temporary file, also when the report
+     * could not be written completely.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            header.writeNewLine(0);
+        } finally {
+            try {
+                header.close();
+            } finally {
+                deleteBody();
+            }
+        }
+    }
+
+    private void deleteBody() throws IOException {
+        try {
+            if (body != null) {
+                body.close();
+            }
+        } finally {
+            body = null;
+            if (bodyPath != null) {
+                Files.deleteIfExists(bodyPath);
+                bodyPath = null;
+            }
+        }
+    }
+
+}
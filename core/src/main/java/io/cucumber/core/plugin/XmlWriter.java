@@ -0,0 +1,205 @@
+package io.cucumber.core.plugin;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Writes xml elements as they are written, without keeping a document in
+ * memory.
+ * <p>
+ * Line breaks and tabs in attribute values are written as character
+ * references, so they are preserved when the report is read. Other control
+ * characters, such as the escape character of ANSI colors, are written as
+ * character references everywhere, like the JDK's DOM serializer did.
+ * Characters that can not occur in XML 1.0 at all, e.g. unpaired surrogates,
+ * are replaced with {@code U+FFFD}.
+ */
+final class XmlWriter {
+
+    private static final String INDENT = "    ";
+    private static final String CDATA_START = "<![CDATA[";
+    private static final String CDATA_END = "]]>";
+    private static final char REPLACEMENT_CHARACTER = '\uFFFD';
+
+    private final Deque<String> elements = new ArrayDeque<>();
+    private final Writer out;
+    private boolean startTagOpen;
+
+    XmlWriter(Writer out) {
+        this.out = out;
+    }
+
+    void writeDeclaration() throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>");
+    }
+
+    void writeStartElement(String name) throws IOException {
+        closeStartTag();
+        out.write('<');
+        out.write(name);
+        elements.push(name);
+        startTagOpen = true;
+    }
+
+    void writeAttribute(String name, String value) throws IOException {
+        if (!startTagOpen) {
+            throw new IllegalStateException("Attribute " + name + " must be written directly after a start element");
+        }
+        out.write(' ');
+        out.write(name);
+        out.write("=\"");
+        writeEscaped(value);
+        out.write('"');
+    }
+
+    void writeCData(String data) throws IOException {
+        closeStartTag();
+        if (data.isEmpty()) {
+            out.write(CDATA_START);
+            out.write(CDATA_END);
+            return;
+        }
+        boolean sectionOpen = false;
+        int brackets = 0;
+        for (int i = 0; i < data.length(); i++) {
+            char c = data.charAt(i);
+            if (isControlCharacter(c)) {
+                // Character references can not be written in a CDATA section
+                if (sectionOpen) {
+                    out.write(CDATA_END);
+                    sectionOpen = false;
+                }
+                writeCharacterReference(c);
+                continue;
+            }
+            if (!sectionOpen) {
+                out.write(CDATA_START);
+                sectionOpen = true;
+                brackets = 0;
+            }
+            if (c == '>' && brackets >= 2) {
+                // A CDATA section can not contain its own end, so split it
+                out.write(CDATA_END);
+                out.write(CDATA_START);
+            }
+            brackets = c == ']' ? brackets + 1 : 0;
+            i = writeCharacter(data, i);
+        }
+        if (sectionOpen) {
+            out.write(CDATA_END);
+        }
+    }
+
+    void writeNewLine(int depth) throws IOException {
+        closeStartTag();
+        out.write('\n');
+        for (int i = 0; i < depth; i++) {
+            out.write(INDENT);
+        }
+    }
+
+    void writeEndElement() throws IOException {
+        String name = elements.pop();
+        if (startTagOpen) {
+            out.write("/>");
+            startTagOpen = false;
+        } else {
+            out.write("</");
+            out.write(name);
+            out.write('>');
+        }
+    }
+
+    /**
+     * Copies xml that was written elsewhere into the current element.
+     */
+    void writeXml(Reader xml) throws IOException {
+        closeStartTag();
+        char[] buffer = new char[8192];
+        for (int n = xml.read(buffer); n != -1; n = xml.read(buffer)) {
+            out.write(buffer, 0, n);
+        }
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    void close() throws IOException {
+        out.close();
+    }
+
+    private void closeStartTag() throws IOException {
+        if (startTagOpen) {
+            out.write('>');
+            startTagOpen = false;
+        }
+    }
+
+    private void writeEscaped(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    out.write("&amp;");
+                    break;
+                case '<':
+                    out.write("&lt;");
+                    break;
+                case '>':
+                    out.write("&gt;");
+                    break;
+                case '"':
+                    out.write("&quot;");
+                    break;
+                case '\n':
+                case '\r':
+                case '\t':
+                    writeCharacterReference(c);
+                    break;
+                default:
+                    if (isControlCharacter(c)) {
+                        writeCharacterReference(c);
+                    } else {
+                        i = writeCharacter(value, i);
+                    }
+            }
+        }
+    }
+
+    private void writeCharacterReference(char c) throws IOException {
+        out.write("&#");
+        out.write(Integer.toString(c));
+        out.write(';');
+    }
+
+    /**
+     * Writes the character at the index, or the surrogate pair starting at
+     * the index.
+     *
+     * @return the index of the last character written
+     */
+    private int writeCharacter(String value, int i) throws IOException {
+        char c = value.charAt(i);
+        if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(i + 1))) {
+            out.write(c);
+            out.write(value.charAt(i + 1));
+            return i + 1;
+        }
+        out.write(isInvalidCharacter(c) ? REPLACEMENT_CHARACTER : c);
+        return i;
+    }
+
+    private static boolean isControlCharacter(char c) {
+        return c > 0 && c < 0x20 && c != '\t' && c != '\n' && c != '\r';
+    }
+
+    private static boolean isInvalidCharacter(char c) {
+        return c == 0 || Character.isSurrogate(c) || c == '\uFFFE' || c == '\uFFFF';
+    }
+
+}
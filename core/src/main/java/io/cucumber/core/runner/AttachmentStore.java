@@ -0,0 +1,85 @@
+package io.cucumber.core.runner;
+
+import io.cucumber.core.hash.Sha256;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Stores attached files and streams on disk, so they don't have to be kept in
+ * memory until every plugin has received them.
+ * <p>
+ * Content is stored by its SHA-256 hash, so content that is attached more
+ * than once, e.g. the same screenshot in every scenario, is stored once. The
+ * store used for attachments is a temporary directory that is deleted when the
+ * JVM exits. The {@link ResultCache} keeps its attachments in a store of its
+ * own.
+ */
+final class AttachmentStore {
+
+    private static AttachmentStore instance;
+
+    private final Path directory;
+    private final boolean deleteOnExit;
+
+    AttachmentStore(Path directory) {
+        this(directory, true);
+    }
+
+    AttachmentStore(Path directory, boolean deleteOnExit) {
+        this.directory = directory;
+        this.deleteOnExit = deleteOnExit;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    static synchronized AttachmentStore getInstance() throws IOException {
+        if (instance == null) {
+            Path directory = Files.createTempDirectory("cucumber-attachments");
+            // Files are registered later, so they are deleted first
+            directory.toFile().deleteOnExit();
+            instance = new AttachmentStore(directory);
+        }
+        return instance;
+    }
+
+    Path store(Path file) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return store(inputStream);
+        }
+    }
+
+    Path store(InputStream inputStream) throws IOException {
+        MessageDigest digest = Sha256.newDigest();
+        Path temporary = Files.createTempFile(directory, "attachment", ".tmp");
+        try {
+            Files.copy(new DigestInputStream(inputStream, digest), temporary, REPLACE_EXISTING);
+            Path stored = directory.resolve(Sha256.toHex(digest.digest()));
+            if (Files.exists(stored)) {
+                return stored;
+            }
+            if (deleteOnExit) {
+                stored.toFile().deleteOnExit();
+            }
+            try {
+                Files.move(temporary, stored, ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Stored concurrently by another thread
+            }
+            return stored;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+}
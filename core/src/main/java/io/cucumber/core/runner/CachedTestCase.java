@@ -0,0 +1,123 @@
+package io.cucumber.core.runner;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A passed test case as remembered by the {@link ResultCache}.
+ * <p>
+ * Besides the key of its inputs only the attachments of the test case are
+ * remembered. Everything else is recreated when the test case is replayed.
+ * The content of the attachments is kept in files, it is only read when the
+ * test case is replayed.
+ */
+final class CachedTestCase {
+
+    private final URI uri;
+    private final int line;
+    private final String key;
+    private final long lastRun;
+    private final List<Attachment> attachments;
+
+    CachedTestCase(URI uri, int line, String key, long lastRun, List<Attachment> attachments) {
+        this.uri = uri;
+        this.line = line;
+        this.key = key;
+        this.lastRun = lastRun;
+        this.attachments = attachments;
+    }
+
+    URI getUri() {
+        return uri;
+    }
+
+    int getLine() {
+        return line;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    long getLastRun() {
+        return lastRun;
+    }
+
+    List<Attachment> getAttachments() {
+        return attachments;
+    }
+
+    List<Attachment> getAttachments(int testStepIndex) {
+        return attachments.stream()
+                .filter(attachment -> attachment.getTestStepIndex() == testStepIndex)
+                .collect(toList());
+    }
+
+    CachedTestCase withLastRun(long lastRun) {
+        return new CachedTestCase(uri, line, key, lastRun, attachments);
+    }
+
+    /**
+     * @return true if the content of all attachments can still be replayed
+     */
+    boolean hasAttachmentContent() {
+        return attachments.stream().allMatch(attachment -> Files.isRegularFile(attachment.getContent()));
+    }
+
+    /**
+     * Something logged or attached by a test step.
+     */
+    static final class Attachment {
+
+        enum Kind {
+            LOG, TEXT, BYTES
+        }
+
+        private final int testStepIndex;
+        private final Kind kind;
+        private final Path content;
+        private final String mediaType;
+        private final String name;
+
+        Attachment(int testStepIndex, Kind kind, Path content, String mediaType, String name) {
+            this.testStepIndex = testStepIndex;
+            this.kind = kind;
+            this.content = content;
+            this.mediaType = mediaType;
+            this.name = name;
+        }
+
+        int getTestStepIndex() {
+            return testStepIndex;
+        }
+
+        Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * @return the file containing the attached data
+         */
+        Path getContent() {
+            return content;
+        }
+
+        Attachment withContent(Path content) {
+            return new Attachment(testStepIndex, kind, content, mediaType, name);
+        }
+
+        String getMediaType() {
+            return mediaType;
+        }
+
+        String getName() {
+            return name;
+        }
+
+    }
+
+}
@@ -14,6 +14,7 @@ import io.cucumber.core.backend.StackTraceElementReference;
 import io.cucumber.core.backend.StepDefinition;
 import io.cucumber.core.eventbus.EventBus;
 import io.cucumber.core.gherkin.Step;
+import io.cucumber.core.hash.Fnv1a;
 import io.cucumber.core.stepexpression.Argument;
 import io.cucumber.core.stepexpression.StepExpression;
 import io.cucumber.core.stepexpression.StepExpressionFactory;
@@ -33,6 +34,7 @@ import io.cucumber.messages.Messages.SourceReference;
 import io.cucumber.messages.Messages.StepDefinition.Builder;
 import io.cucumber.messages.Messages.StepDefinition.StepDefinitionPattern;
 import io.cucumber.messages.Messages.StepDefinition.StepDefinitionPattern.StepDefinitionPatternType;
+import io.cucumber.plugin.event.HookType;
 import io.cucumber.plugin.event.StepDefinedEvent;
 
 import java.net.URI;
@@ -41,10 +43,17 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
 
 final class CachingGlue implements Glue {
 
@@ -69,58 +78,110 @@ final class CachingGlue implements Glue {
      * rather slow regex comparisons in `stepDefinitionMatches`. This cache does
      * not need to be cleaned. The matching pattern be will used to look up a
      * pickle specific step definition from `stepDefinitionsByPattern`.
+     *
+     * The cache may be shared with other runners. Matches are keyed by a
+     * fingerprint of the glue that was used to find them.
      */
-    private final Map<String, String> stepPatternByStepText = new HashMap<>();
+    private final StepMatchCache stepMatchCache;
+    private long preparedGlueFingerprint;
+    private long glueFingerprint;
+
+    /*
+     * Glue that is not scenario scoped does not change between pickles. It is
+     * prepared once and reused until either more glue is added or a pickle in a
+     * different locale is executed. Scenario scoped step definitions are
+     * prepared for each pickle and layered on top.
+     */
+    private final Map<String, CoreStepDefinition> preparedStepDefinitionsByPattern = new TreeMap<>();
     private final Map<String, CoreStepDefinition> stepDefinitionsByPattern = new TreeMap<>();
+    private StepTypeRegistry preparedStepTypeRegistry;
+    private Locale preparedLocale;
+    private boolean preparedGlueIsStale = true;
+    private boolean layeredOnPreparedGlue;
+
+    /*
+     * On a cache miss only the step definitions that contain the literal text
+     * of the step are matched. The indexes are created when first needed.
+     */
+    private StepDefinitionIndex preparedStepDefinitionIndex;
+    private StepDefinitionIndex stepDefinitionIndex;
+
+    /*
+     * Pickles often share the same tags. The hooks that match a set of tags
+     * are only looked up once and reused until the hooks change.
+     */
+    private final Map<Set<String>, MatchingHooks> matchingHooksByTags = new HashMap<>();
+
+    /*
+     * Scenario scoped glue is recreated for each pickle. To avoid sending the
+     * same definition to the bus over and over again each definition is
+     * identified by its location and keeps the same id between pickles.
+     */
+    private final Map<String, UUID> definitionIdsByKey = new HashMap<>();
+    private final Set<UUID> scenarioScopedDefinitionIdsInUse = new HashSet<>();
+    private final Set<UUID> emittedDefinitionIds = new HashSet<>();
 
     private final EventBus bus;
 
     CachingGlue(EventBus bus) {
+        this(bus, new StepMatchCache());
+    }
+
+    CachingGlue(EventBus bus, StepMatchCache stepMatchCache) {
         this.bus = bus;
+        this.stepMatchCache = stepMatchCache;
     }
 
     @Override
     public void addStepDefinition(StepDefinition stepDefinition) {
         stepDefinitions.add(stepDefinition);
+        markPreparedGlueStale(stepDefinition);
     }
 
     @Override
     public void addBeforeHook(HookDefinition hookDefinition) {
-        beforeHooks.add(CoreHookDefinition.create(hookDefinition));
+        beforeHooks.add(createHook(hookDefinition, HookType.BEFORE));
         beforeHooks.sort(ASCENDING);
+        matchingHooksByTags.clear();
     }
 
     @Override
     public void addAfterHook(HookDefinition hookDefinition) {
-        afterHooks.add(CoreHookDefinition.create(hookDefinition));
+        afterHooks.add(createHook(hookDefinition, HookType.AFTER));
         afterHooks.sort(ASCENDING);
+        matchingHooksByTags.clear();
     }
 
     @Override
     public void addBeforeStepHook(HookDefinition hookDefinition) {
-        beforeStepHooks.add(CoreHookDefinition.create(hookDefinition));
+        beforeStepHooks.add(createHook(hookDefinition, HookType.BEFORE_STEP));
         beforeStepHooks.sort(ASCENDING);
+        matchingHooksByTags.clear();
     }
 
     @Override
     public void addAfterStepHook(HookDefinition hookDefinition) {
-        afterStepHooks.add(CoreHookDefinition.create(hookDefinition));
+        afterStepHooks.add(createHook(hookDefinition, HookType.AFTER_STEP));
         afterStepHooks.sort(ASCENDING);
+        matchingHooksByTags.clear();
     }
 
     @Override
     public void addParameterType(ParameterTypeDefinition parameterType) {
         parameterTypeDefinitions.add(parameterType);
+        markPreparedGlueStale(parameterType);
     }
 
     @Override
     public void addDataTableType(DataTableTypeDefinition dataTableType) {
         dataTableTypeDefinitions.add(dataTableType);
+        markPreparedGlueStale(dataTableType);
     }
 
     @Override
     public void addDefaultParameterTransformer(DefaultParameterTransformerDefinition defaultParameterTransformer) {
         defaultParameterTransformers.add(defaultParameterTransformer);
+        markPreparedGlueStale(defaultParameterTransformer);
     }
 
     @Override
@@ -129,6 +190,7 @@ final class CachingGlue implements Glue {
     ) {
         defaultDataTableEntryTransformers
                 .add(CoreDefaultDataTableEntryTransformerDefinition.create(defaultDataTableEntryTransformer));
+        markPreparedGlueStale(defaultDataTableEntryTransformer);
     }
 
     @Override
@@ -136,11 +198,44 @@ final class CachingGlue implements Glue {
             DefaultDataTableCellTransformerDefinition defaultDataTableCellTransformer
     ) {
         defaultDataTableCellTransformers.add(defaultDataTableCellTransformer);
+        markPreparedGlueStale(defaultDataTableCellTransformer);
     }
 
     @Override
     public void addDocStringType(DocStringTypeDefinition docStringType) {
         docStringTypeDefinitions.add(docStringType);
+        markPreparedGlueStale(docStringType);
+    }
+
+    private void markPreparedGlueStale(Object glue) {
+        if (!(glue instanceof ScenarioScoped)) {
+            preparedGlueIsStale = true;
+        }
+    }
+
+    private CoreHookDefinition createHook(HookDefinition hookDefinition, HookType hookType) {
+        if (!(hookDefinition instanceof ScenarioScoped)) {
+            return CoreHookDefinition.create(hookDefinition, bus.generateId());
+        }
+        String key = hookType + " hook at " + hookDefinition.getLocation()
+                + " with tags '" + hookDefinition.getTagExpression() + "'"
+                + " and order " + hookDefinition.getOrder();
+        return CoreHookDefinition.create(hookDefinition, scenarioScopedDefinitionId(key));
+    }
+
+    private UUID scenarioScopedDefinitionId(String key) {
+        // Identical definitions may be created multiple times in a single
+        // scenario (e.g. in a loop). These must not share an id.
+        for (int occurrence = 0;; occurrence++) {
+            UUID id = definitionIdsByKey.computeIfAbsent(key + " #" + occurrence, k -> bus.generateId());
+            if (scenarioScopedDefinitionIdsInUse.add(id)) {
+                return id;
+            }
+        }
+    }
+
+    private UUID definitionId(String key) {
+        return definitionIdsByKey.computeIfAbsent(key, k -> bus.generateId());
     }
 
     Collection<CoreHookDefinition> getBeforeHooks() {
@@ -163,6 +258,11 @@ final class CachingGlue implements Glue {
         return hooks;
     }
 
+    MatchingHooks getMatchingHooks(List<String> tags) {
+        return matchingHooksByTags.computeIfAbsent(new HashSet<>(tags),
+            key -> new MatchingHooks(tags, beforeHooks, beforeStepHooks, getAfterStepHooks(), getAfterHooks()));
+    }
+
     Collection<ParameterTypeDefinition> getParameterTypeDefinitions() {
         return parameterTypeDefinitions;
     }
@@ -175,12 +275,17 @@ final class CachingGlue implements Glue {
         return stepDefinitions;
     }
 
-    Map<String, String> getStepPatternByStepText() {
-        return stepPatternByStepText;
+    String getCachedStepPattern(String stepText) {
+        return stepMatchCache.get(glueFingerprint, stepText);
     }
 
     Map<String, CoreStepDefinition> getStepDefinitionsByPattern() {
-        return stepDefinitionsByPattern;
+        Map<String, CoreStepDefinition> stepDefinitions = new TreeMap<>();
+        if (layeredOnPreparedGlue) {
+            stepDefinitions.putAll(preparedStepDefinitionsByPattern);
+        }
+        stepDefinitions.putAll(stepDefinitionsByPattern);
+        return stepDefinitions;
     }
 
     Collection<DefaultParameterTransformerDefinition> getDefaultParameterTransformers() {
@@ -199,15 +304,91 @@ final class CachingGlue implements Glue {
         return docStringTypeDefinitions;
     }
 
-    void prepareGlue(StepTypeRegistry stepTypeRegistry) throws DuplicateStepDefinitionException {
-        StepExpressionFactory stepExpressionFactory = new StepExpressionFactory(stepTypeRegistry, bus);
+    /**
+     * Prepares the glue for the next pickle.
+     * <p>
+     * Glue that is not scenario scoped is prepared once and reused between
+     * pickles. Scenario scoped step definitions are then layered on top. When
+     * the scenario scoped glue also contains types, these may be used by any
+     * step definition so all glue is prepared again, using a new type registry.
+     *
+     * @param  locale               the locale of the pickle
+     * @param  createTypeRegistry   creates a configured type registry for a
+     *                              locale
+     * @return                      the type registry used to prepare the glue
+     */
+    StepTypeRegistry prepareGlue(Locale locale, Function<Locale, StepTypeRegistry> createTypeRegistry)
+            throws DuplicateStepDefinitionException {
+        if (hasScenarioScopedTypeDefinitions()) {
+            stepDefinitionIndex = null;
+            layeredOnPreparedGlue = false;
+            StepTypeRegistry stepTypeRegistry = createTypeRegistry.apply(locale);
+            long fingerprint = prepareTypes(stepTypeRegistry, fingerprint(Fnv1a.OFFSET_BASIS, locale.toString()));
+            emitHooks();
+            glueFingerprint = prepareStepDefinitions(stepTypeRegistry, stepDefinitions, stepDefinitionsByPattern,
+                fingerprint);
+            return stepTypeRegistry;
+        }
+
+        stepDefinitionIndex = null;
+        layeredOnPreparedGlue = true;
+        if (preparedGlueIsStale || !locale.equals(preparedLocale)) {
+            StepTypeRegistry stepTypeRegistry = createTypeRegistry.apply(locale);
+            long fingerprint = prepareTypes(stepTypeRegistry, fingerprint(Fnv1a.OFFSET_BASIS, locale.toString()));
+            preparedStepDefinitionsByPattern.clear();
+            List<StepDefinition> globalStepDefinitions = stepDefinitions.stream()
+                    .filter(stepDefinition -> !(stepDefinition instanceof ScenarioScoped))
+                    .collect(toList());
+            preparedGlueFingerprint = prepareStepDefinitions(stepTypeRegistry, globalStepDefinitions,
+                preparedStepDefinitionsByPattern, fingerprint);
+            preparedStepTypeRegistry = stepTypeRegistry;
+            preparedLocale = locale;
+            preparedGlueIsStale = false;
+            preparedStepDefinitionIndex = null;
+        }
+
+        emitHooks();
+        List<StepDefinition> scenarioScopedStepDefinitions = stepDefinitions.stream()
+                .filter(ScenarioScoped.class::isInstance)
+                .collect(toList());
+        glueFingerprint = prepareStepDefinitions(preparedStepTypeRegistry, scenarioScopedStepDefinitions,
+            stepDefinitionsByPattern, preparedGlueFingerprint);
+        return preparedStepTypeRegistry;
+    }
 
+    private boolean hasScenarioScopedTypeDefinitions() {
+        return containsScenarioScoped(parameterTypeDefinitions)
+                || containsScenarioScoped(dataTableTypeDefinitions)
+                || containsScenarioScoped(docStringTypeDefinitions)
+                || containsScenarioScoped(defaultParameterTransformers)
+                || containsScenarioScoped(defaultDataTableEntryTransformers)
+                || containsScenarioScoped(defaultDataTableCellTransformers);
+    }
+
+    private static boolean containsScenarioScoped(Collection<?> glue) {
+        for (Object definition : glue) {
+            if (definition instanceof ScenarioScoped) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long prepareTypes(StepTypeRegistry stepTypeRegistry, long fingerprint) {
         // TODO: separate prepared and unprepared glue into different classes
-        parameterTypeDefinitions.forEach(ptd -> {
+        for (ParameterTypeDefinition ptd : parameterTypeDefinitions) {
             ParameterType<?> parameterType = ptd.parameterType();
             stepTypeRegistry.defineParameterType(parameterType);
-            emitParameterTypeDefined(parameterType);
-        });
+            UUID id = definitionId("parameter type " + parameterType.getName());
+            if (emittedDefinitionIds.add(id)) {
+                emitParameterTypeDefined(id, parameterType);
+            }
+            // Parameter types change which steps a step definition matches
+            fingerprint = fingerprint(fingerprint, parameterType.getName());
+            for (String regexp : parameterType.getRegexps()) {
+                fingerprint = fingerprint(fingerprint, regexp);
+            }
+        }
         dataTableTypeDefinitions.forEach(dtd -> stepTypeRegistry.defineDataTableType(dtd.dataTableType()));
         docStringTypeDefinitions.forEach(dtd -> stepTypeRegistry.defineDocStringType(dtd.docStringType()));
 
@@ -234,32 +415,72 @@ final class CachingGlue implements Glue {
         } else if (defaultDataTableCellTransformers.size() > 1) {
             throw new DuplicateDefaultDataTableCellTransformers(defaultDataTableCellTransformers);
         }
+        return fingerprint;
+    }
+
+    private void emitHooks() {
+        // Hooks are not redefined for each scenario. Only hooks that have not
+        // been sent before are emitted.
+        beforeHooks.forEach(this::emitHookOnce);
+        beforeStepHooks.forEach(this::emitHookOnce);
+        afterStepHooks.forEach(this::emitHookOnce);
+        afterHooks.forEach(this::emitHookOnce);
+    }
 
-        // TODO: Redefine hooks for each scenario, similar to how we're doing
-        // for CoreStepDefinition
-        beforeHooks.forEach(this::emitHook);
-        beforeStepHooks.forEach(this::emitHook);
+    private void emitHookOnce(CoreHookDefinition hook) {
+        if (emittedDefinitionIds.add(hook.getId())) {
+            emitHook(hook);
+        }
+    }
 
-        stepDefinitions.forEach(stepDefinition -> {
+    private long prepareStepDefinitions(
+            StepTypeRegistry stepTypeRegistry, List<StepDefinition> stepDefinitions,
+            Map<String, CoreStepDefinition> stepDefinitionsByPattern, long fingerprint
+    ) {
+        StepExpressionFactory stepExpressionFactory = new StepExpressionFactory(stepTypeRegistry, bus);
+        for (StepDefinition stepDefinition : stepDefinitions) {
             StepExpression expression = stepExpressionFactory.createExpression(stepDefinition);
-            CoreStepDefinition coreStepDefinition = new CoreStepDefinition(bus.generateId(), stepDefinition,
-                expression);
-            CoreStepDefinition previous = stepDefinitionsByPattern.get(stepDefinition.getPattern());
+            CoreStepDefinition coreStepDefinition = new CoreStepDefinition(stepDefinitionId(stepDefinition),
+                stepDefinition, expression);
+            CoreStepDefinition previous = findStepDefinition(stepDefinition.getPattern());
             if (previous != null) {
                 throw new DuplicateStepDefinitionException(previous, stepDefinition);
             }
             stepDefinitionsByPattern.put(coreStepDefinition.getExpression().getSource(), coreStepDefinition);
-            emitStepDefined(coreStepDefinition);
-        });
+            if (emittedDefinitionIds.add(coreStepDefinition.getId())) {
+                emitStepDefined(coreStepDefinition);
+            }
+            fingerprint = fingerprint(fingerprint, stepDefinition.getPattern());
+            fingerprint = fingerprint(fingerprint, stepDefinition.getLocation());
+        }
+        return fingerprint;
+    }
 
-        afterStepHooks.forEach(this::emitHook);
-        afterHooks.forEach(this::emitHook);
+    private static long fingerprint(long hash, String value) {
+        return Fnv1a.separate(Fnv1a.hash(hash, value));
     }
 
-    private void emitParameterTypeDefined(ParameterType<?> parameterType) {
+    private UUID stepDefinitionId(StepDefinition stepDefinition) {
+        String key = "step definition at " + stepDefinition.getLocation()
+                + " with pattern '" + stepDefinition.getPattern() + "'";
+        if (stepDefinition instanceof ScenarioScoped) {
+            return scenarioScopedDefinitionId(key);
+        }
+        return definitionId(key);
+    }
+
+    private CoreStepDefinition findStepDefinition(String pattern) {
+        CoreStepDefinition stepDefinition = stepDefinitionsByPattern.get(pattern);
+        if (stepDefinition == null && layeredOnPreparedGlue) {
+            return preparedStepDefinitionsByPattern.get(pattern);
+        }
+        return stepDefinition;
+    }
+
+    private void emitParameterTypeDefined(UUID id, ParameterType<?> parameterType) {
         bus.send(Messages.Envelope.newBuilder()
                 .setParameterType(Messages.ParameterType.newBuilder()
-                        .setId(bus.generateId().toString())
+                        .setId(id.toString())
                         .setName(parameterType.getName())
                         .addAllRegularExpressions(parameterType.getRegexps())
                         .setPreferForRegularExpressionMatch(parameterType.preferForRegexpMatch())
@@ -342,12 +563,12 @@ final class CachingGlue implements Glue {
     }
 
     private PickleStepDefinitionMatch cachedStepDefinitionMatch(URI uri, Step step) {
-        String stepDefinitionPattern = stepPatternByStepText.get(step.getText());
+        String stepDefinitionPattern = stepMatchCache.get(glueFingerprint, step.getText());
         if (stepDefinitionPattern == null) {
             return null;
         }
 
-        CoreStepDefinition coreStepDefinition = stepDefinitionsByPattern.get(stepDefinitionPattern);
+        CoreStepDefinition coreStepDefinition = findStepDefinition(stepDefinitionPattern);
         if (coreStepDefinition == null) {
             return null;
         }
@@ -360,6 +581,10 @@ final class CachingGlue implements Glue {
         // cached and
         // must be recreated each time.
         List<Argument> arguments = coreStepDefinition.matchedArguments(step);
+        if (arguments == null) {
+            // Fingerprint collision, fall back to a full search
+            return null;
+        }
         return new PickleStepDefinitionMatch(arguments, coreStepDefinition, uri, step);
     }
 
@@ -375,28 +600,48 @@ final class CachingGlue implements Glue {
 
         PickleStepDefinitionMatch match = matches.get(0);
 
-        stepPatternByStepText.put(step.getText(), match.getPattern());
+        stepMatchCache.put(glueFingerprint, step.getText(), match.getPattern());
 
         return match;
     }
 
     private List<PickleStepDefinitionMatch> stepDefinitionMatches(URI uri, Step step) {
         List<PickleStepDefinitionMatch> result = new ArrayList<>();
-        for (CoreStepDefinition coreStepDefinition : stepDefinitionsByPattern.values()) {
+        if (layeredOnPreparedGlue) {
+            if (preparedStepDefinitionIndex == null) {
+                preparedStepDefinitionIndex = new StepDefinitionIndex(preparedStepDefinitionsByPattern.values());
+            }
+            addStepDefinitionMatches(uri, step, preparedStepDefinitionIndex.candidates(step.getText()), result);
+        }
+        if (stepDefinitionIndex == null) {
+            stepDefinitionIndex = new StepDefinitionIndex(stepDefinitionsByPattern.values());
+        }
+        addStepDefinitionMatches(uri, step, stepDefinitionIndex.candidates(step.getText()), result);
+        return result;
+    }
+
+    private static void addStepDefinitionMatches(
+            URI uri, Step step, Collection<CoreStepDefinition> stepDefinitions, List<PickleStepDefinitionMatch> result
+    ) {
+        for (CoreStepDefinition coreStepDefinition : stepDefinitions) {
             List<Argument> arguments = coreStepDefinition.matchedArguments(step);
             if (arguments != null) {
                 result.add(new PickleStepDefinitionMatch(arguments, coreStepDefinition, uri, step));
             }
         }
-        return result;
     }
 
     void removeScenarioScopedGlue() {
         stepDefinitionsByPattern.clear();
-        removeScenarioScopedGlue(beforeHooks);
-        removeScenarioScopedGlue(beforeStepHooks);
-        removeScenarioScopedGlue(afterHooks);
-        removeScenarioScopedGlue(afterStepHooks);
+        stepDefinitionIndex = null;
+        scenarioScopedDefinitionIdsInUse.clear();
+        boolean hooksRemoved = removeScenarioScopedGlue(beforeHooks)
+                | removeScenarioScopedGlue(beforeStepHooks)
+                | removeScenarioScopedGlue(afterHooks)
+                | removeScenarioScopedGlue(afterStepHooks);
+        if (hooksRemoved) {
+            matchingHooksByTags.clear();
+        }
         removeScenarioScopedGlue(stepDefinitions);
         removeScenarioScopedGlue(dataTableTypeDefinitions);
         removeScenarioScopedGlue(docStringTypeDefinitions);
@@ -406,7 +651,8 @@ final class CachingGlue implements Glue {
         removeScenarioScopedGlue(defaultDataTableCellTransformers);
     }
 
-    private void removeScenarioScopedGlue(Iterable<?> glues) {
+    private boolean removeScenarioScopedGlue(Iterable<?> glues) {
+        boolean removed = false;
         Iterator<?> glueIterator = glues.iterator();
         while (glueIterator.hasNext()) {
             Object glue = glueIterator.next();
@@ -414,8 +660,10 @@ final class CachingGlue implements Glue {
                 ScenarioScoped scenarioScoped = (ScenarioScoped) glue;
                 scenarioScoped.dispose();
                 glueIterator.remove();
+                removed = true;
             }
         }
+        return removed;
     }
 
 }
@@ -33,13 +33,13 @@ class CoreHookDefinition {
         }
     }
 
-    static CoreHookDefinition create(HookDefinition hookDefinition) {
+    static CoreHookDefinition create(HookDefinition hookDefinition, UUID id) {
         // Ideally we would avoid this by keeping the scenario scoped
         // glue in a different bucket from the globally scoped glue.
         if (hookDefinition instanceof ScenarioScoped) {
-            return new ScenarioScopedCoreHookDefinition(hookDefinition);
+            return new ScenarioScopedCoreHookDefinition(id, hookDefinition);
         }
-        return new CoreHookDefinition(UUID.randomUUID(), hookDefinition);
+        return new CoreHookDefinition(id, hookDefinition);
     }
 
     void execute(TestCaseState scenario) {
@@ -72,8 +72,8 @@ class CoreHookDefinition {
 
     static class ScenarioScopedCoreHookDefinition extends CoreHookDefinition implements ScenarioScoped {
 
-        private ScenarioScopedCoreHookDefinition(HookDefinition delegate) {
-            super(UUID.randomUUID(), delegate);
+        private ScenarioScopedCoreHookDefinition(UUID id, HookDefinition delegate) {
+            super(id, delegate);
         }
 
         @Override
@@ -0,0 +1,57 @@
+package io.cucumber.core.runner;
+
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The hooks that match a set of tags, in execution order.
+ * <p>
+ * Hooks are matched against the tags of a pickle once and then reused for
+ * every step in that pickle and every other pickle with the same tags.
+ */
+final class MatchingHooks {
+
+    private final List<CoreHookDefinition> beforeHooks;
+    private final List<CoreHookDefinition> beforeStepHooks;
+    private final List<CoreHookDefinition> afterStepHooks;
+    private final List<CoreHookDefinition> afterHooks;
+
+    MatchingHooks(
+            List<String> tags,
+            Collection<CoreHookDefinition> beforeHooks,
+            Collection<CoreHookDefinition> beforeStepHooks,
+            Collection<CoreHookDefinition> afterStepHooks,
+            Collection<CoreHookDefinition> afterHooks
+    ) {
+        this.beforeHooks = matching(tags, beforeHooks);
+        this.beforeStepHooks = matching(tags, beforeStepHooks);
+        this.afterStepHooks = matching(tags, afterStepHooks);
+        this.afterHooks = matching(tags, afterHooks);
+    }
+
+    private static List<CoreHookDefinition> matching(List<String> tags, Collection<CoreHookDefinition> hooks) {
+        return unmodifiableList(hooks.stream()
+                .filter(hook -> hook.matches(tags))
+                .collect(toList()));
+    }
+
+    List<CoreHookDefinition> getBeforeHooks() {
+        return beforeHooks;
+    }
+
+    List<CoreHookDefinition> getBeforeStepHooks() {
+        return beforeStepHooks;
+    }
+
+    List<CoreHookDefinition> getAfterStepHooks() {
+        return afterStepHooks;
+    }
+
+    List<CoreHookDefinition> getAfterHooks() {
+        return afterHooks;
+    }
+
+}
@@ -16,4 +16,6 @@ public interface Options {
 
     Class<? extends ObjectFactory> getObjectFactoryClass();
 
+    int getStepMatchCacheSize();
+
 }
@@ -0,0 +1,339 @@
+package io.cucumber.core.runner;
+
+import io.cucumber.core.gherkin.DataTableArgument;
+import io.cucumber.core.gherkin.DocStringArgument;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.gherkin.Step;
+import io.cucumber.core.hash.Sha256;
+import io.cucumber.core.logging.Logger;
+import io.cucumber.core.logging.LoggerFactory;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Remembers which pickles passed so they are not executed again while their
+ * inputs are unchanged.
+ * <p>
+ * Each pickle is keyed by a hash of its inputs: the version of Cucumber, the
+ * declared input files and directories, the uri, name, tags and steps of the
+ * pickle and, for each step definition and hook it uses, the code location
+ * and byte code of the class that declares it. When a passed pickle is
+ * executed again with the same key, the test case is replayed instead: each
+ * step passes without executing its step definition and the attachments of
+ * the previous run are attached again. So reports are complete, but the
+ * durations are those of the replay. The content of the attachments is kept
+ * in the {@value #ATTACHMENTS_DIRECTORY_NAME} directory next to the cache and
+ * only read when a test case is replayed.
+ * <p>
+ * Classes used by the step definitions, other than the classes declaring
+ * them, are not part of the key. When these or other resources used by the
+ * scenarios change they should be declared as inputs. Pickles whose step
+ * definitions are not declared by a class, or whose class file can not be
+ * found, are always executed.
+ * <p>
+ * Pickles that did not pass are removed from the cache. Pickles that have not
+ * been executed in the last {@value #MAX_AGE_IN_RUNS} runs are forgotten.
+ */
+@API(status = API.Status.EXPERIMENTAL)
+public final class ResultCache implements ConcurrentEventListener {
+
+    /**
+     * The directory the result cache is stored in by default.
+     */
+    public static final Path DEFAULT_PATH = Paths.get("target", "cucumber-result-cache");
+
+    static final String FILE_NAME = "results.bin";
+    static final String ATTACHMENTS_DIRECTORY_NAME = "attachments";
+    static final int MAX_AGE_IN_RUNS = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(ResultCache.class);
+    private static final String VERSION = ResourceBundle.getBundle("io.cucumber.core.version")
+            .getString("cucumber-jvm.version");
+
+    private final Path file;
+    private final AttachmentStore attachments;
+    private final long run;
+    private final byte[] inputsHash;
+    private final Supplier<ClassLoader> classLoader;
+    private final Map<String, CachedTestCase> testCases = new ConcurrentHashMap<>();
+    private final Map<String, Optional<String>> classHashes = new ConcurrentHashMap<>();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder executed = new LongAdder();
+
+    ResultCache(
+            Path file, long run, byte[] inputsHash, Supplier<ClassLoader> classLoader,
+            List<CachedTestCase> testCases
+    ) {
+        this.file = file;
+        this.attachments = new AttachmentStore(file.resolveSibling(ATTACHMENTS_DIRECTORY_NAME), false);
+        this.run = run;
+        this.inputsHash = inputsHash;
+        this.classLoader = classLoader;
+        for (CachedTestCase testCase : testCases) {
+            this.testCases.put(key(testCase.getUri(), testCase.getLine()), testCase);
+        }
+    }
+
+    /**
+     * Reads the result cache from a directory. A missing or unreadable cache
+     * is treated as empty.
+     *
+     * @param  directory   the directory containing the cache
+     * @param  inputs      files and directories that invalidate all cached
+     *                     results when changed
+     * @param  classLoader the class loader used to find the class files of
+     *                     step definitions and hooks
+     * @return             the result cache
+     */
+    public static ResultCache read(Path directory, List<Path> inputs, Supplier<ClassLoader> classLoader) {
+        Path file = directory.resolve(FILE_NAME);
+        byte[] inputsHash = hashInputs(inputs);
+        List<CachedTestCase> testCases = new ArrayList<>();
+        long previousRun = 0;
+        try {
+            previousRun = ResultCacheFile.read(file, directory.resolve(ATTACHMENTS_DIRECTORY_NAME), testCases);
+        } catch (NoSuchFileException e) {
+            log.debug(() -> "No result cache from a previous run in " + file);
+        } catch (IOException e) {
+            log.warn(e, () -> "Could not read result cache from " + file);
+            testCases.clear();
+        }
+        return new ResultCache(file, previousRun + 1, inputsHash, classLoader, testCases);
+    }
+
+    private static byte[] hashInputs(List<Path> inputs) {
+        MessageDigest digest = Sha256.newDigest();
+        update(digest, VERSION);
+        try {
+            for (Path input : inputs) {
+                update(digest, input.toString());
+                if (Files.isDirectory(input)) {
+                    try (Stream<Path> files = Files.walk(input)) {
+                        for (Path path : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                            update(digest, input.relativize(path).toString());
+                            digest.update(Files.readAllBytes(path));
+                        }
+                    }
+                } else if (Files.isRegularFile(input)) {
+                    digest.update(Files.readAllBytes(input));
+                } else {
+                    log.warn(() -> "Result cache input " + input + " does not exist");
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // Without knowing the inputs nothing can be replayed
+            log.warn(e, () -> "Could not read result cache inputs " + inputs);
+            update(digest, UUID.randomUUID().toString());
+        }
+        return digest.digest();
+    }
+
+    private static void update(MessageDigest digest, String text) {
+        digest.update(text.getBytes(UTF_8));
+        // Separates consecutive texts, so "ab" + "c" differs from "a" + "bc"
+        digest.update((byte) 0);
+    }
+
+    private static String key(URI uri, int line) {
+        return uri + ":" + line;
+    }
+
+    private static String key(Pickle pickle) {
+        return key(pickle.getUri(), pickle.getLocation().getLine());
+    }
+
+    /**
+     * Computes the key of the inputs of a test case.
+     *
+     * @param  pickle   the pickle of the test case
+     * @param  testCase the test case
+     * @return          the key or empty when the test case can not be cached
+     */
+    Optional<String> key(Pickle pickle, io.cucumber.plugin.event.TestCase testCase) {
+        MessageDigest digest = Sha256.newDigest();
+        digest.update(inputsHash);
+        update(digest, key(pickle));
+        update(digest, pickle.getKeyword());
+        update(digest, pickle.getName());
+        update(digest, pickle.getLanguage());
+        pickle.getTags().forEach(tag -> update(digest, tag));
+        for (Step step : pickle.getSteps()) {
+            update(digest, step.getKeyword());
+            update(digest, step.getText());
+            if (step.getArgument() instanceof DocStringArgument) {
+                DocStringArgument docString = (DocStringArgument) step.getArgument();
+                update(digest, String.valueOf(docString.getMediaType()));
+                update(digest, docString.getContent());
+            } else if (step.getArgument() instanceof DataTableArgument) {
+                DataTableArgument dataTable = (DataTableArgument) step.getArgument();
+                for (List<String> row : dataTable.cells()) {
+                    update(digest, "|");
+                    row.forEach(cell -> update(digest, String.valueOf(cell)));
+                }
+            }
+        }
+        for (TestStep testStep : testCase.getTestSteps()) {
+            String codeLocation = testStep.getCodeLocation();
+            if (codeLocation == null) {
+                return Optional.empty();
+            }
+            Optional<String> classHash = classHash(codeLocation);
+            if (!classHash.isPresent()) {
+                return Optional.empty();
+            }
+            update(digest, testStep instanceof HookTestStep
+                    ? ((HookTestStep) testStep).getHookType().name()
+                    : "STEP");
+            update(digest, codeLocation);
+            update(digest, classHash.get());
+        }
+        return Optional.of(Sha256.toHex(digest.digest()));
+    }
+
+    private Optional<String> classHash(String codeLocation) {
+        // E.g. com.example.StepDefinitions.a_step(java.lang.String) or, for
+        // lambdas, app//com.example.StepDefinitions.<init>(StepDefinitions.java:12)
+        int parameters = codeLocation.indexOf('(');
+        String method = parameters < 0 ? codeLocation : codeLocation.substring(0, parameters);
+        method = method.substring(method.lastIndexOf('/') + 1);
+        int dot = method.lastIndexOf('.');
+        if (dot <= 0) {
+            return Optional.empty();
+        }
+        return classHashes.computeIfAbsent(method.substring(0, dot), this::readClassHash);
+    }
+
+    private Optional<String> readClassHash(String className) {
+        String resource = className.replace('.', '/') + ".class";
+        try (InputStream in = classLoader.get().getResourceAsStream(resource)) {
+            if (in == null) {
+                log.debug(() -> "Could not find " + resource + ", scenarios using it are not cached");
+                return Optional.empty();
+            }
+            MessageDigest digest = Sha256.newDigest();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return Optional.of(Sha256.toHex(digest.digest()));
+        } catch (IOException e) {
+            log.debug(e, () -> "Could not read " + resource + ", scenarios using it are not cached");
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Finds the cached result of a pickle.
+     *
+     * @param  pickle the pickle
+     * @param  key    the key of the inputs of the pickle
+     * @return        the cached result or empty when the pickle did not pass
+     *                before, its inputs changed since or its attachments
+     *                were deleted
+     */
+    Optional<CachedTestCase> find(Pickle pickle, String key) {
+        CachedTestCase cached = testCases.computeIfPresent(key(pickle),
+            (k, testCase) -> testCase.getKey().equals(key) ? testCase.withLastRun(run) : testCase);
+        if (cached == null || !cached.getKey().equals(key) || !cached.hasAttachmentContent()) {
+            executed.increment();
+            return Optional.empty();
+        }
+        replayed.increment();
+        return Optional.of(cached);
+    }
+
+    void store(Pickle pickle, String key, List<CachedTestCase.Attachment> recorded) {
+        List<CachedTestCase.Attachment> stored = new ArrayList<>(recorded.size());
+        try {
+            if (!recorded.isEmpty()) {
+                Files.createDirectories(attachments.getDirectory());
+            }
+            // Recorded attachments are in the temporary attachment store
+            for (CachedTestCase.Attachment attachment : recorded) {
+                stored.add(attachment.withContent(attachments.store(attachment.getContent())));
+            }
+        } catch (IOException e) {
+            log.warn(e, () -> "Could not store the attachments of " + key(pickle) + " in the result cache");
+            remove(pickle);
+            return;
+        }
+        testCases.put(key(pickle),
+            new CachedTestCase(pickle.getUri(), pickle.getLocation().getLine(), key, run, stored));
+    }
+
+    void remove(Pickle pickle) {
+        testCases.remove(key(pickle));
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunFinished.class, event -> write());
+    }
+
+    void write() {
+        log.debug(() -> "Replayed " + replayed + " and executed " + executed + " scenarios");
+        List<CachedTestCase> recent = new ArrayList<>();
+        for (CachedTestCase testCase : testCases.values()) {
+            if (run - testCase.getLastRun() < MAX_AGE_IN_RUNS) {
+                recent.add(testCase);
+            }
+        }
+        try {
+            ResultCacheFile.write(file, run, recent);
+        } catch (IOException e) {
+            log.warn(e, () -> "Could not write result cache to " + file);
+            return;
+        }
+        deleteUnusedAttachments(recent);
+    }
+
+    private void deleteUnusedAttachments(List<CachedTestCase> recent) {
+        Path directory = attachments.getDirectory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Set<Path> used = recent.stream()
+                .flatMap(testCase -> testCase.getAttachments().stream())
+                .map(attachment -> attachment.getContent().getFileName())
+                .collect(Collectors.toSet());
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                if (!used.contains(file.getFileName())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.debug(e, () -> "Could not delete unused attachments in " + directory);
+        }
+    }
+
+}
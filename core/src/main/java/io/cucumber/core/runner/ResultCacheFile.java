@@ -0,0 +1,124 @@
+package io.cucumber.core.runner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Reads and writes the result cache in a compact binary format.
+ * <p>
+ * The file starts with a header, followed by one record per test case. The
+ * file is replaced as a whole so a concurrent reader never sees a partially
+ * written cache. Attachments are referenced by the name of the file in the
+ * attachments directory that contains their content, so the file stays small.
+ */
+final class ResultCacheFile {
+
+    private static final int MAGIC = 0x43555243;
+    private static final short VERSION = 2;
+    private static final CachedTestCase.Attachment.Kind[] KINDS = CachedTestCase.Attachment.Kind.values();
+
+    private ResultCacheFile() {
+
+    }
+
+    static long read(Path file, Path attachments, Collection<CachedTestCase> testCases) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException(file + " is not a result cache file");
+            }
+            long previousRun = in.readLong();
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                testCases.add(readTestCase(in, attachments));
+            }
+            return previousRun;
+        }
+    }
+
+    private static CachedTestCase readTestCase(DataInputStream in, Path attachments) throws IOException {
+        URI uri = parseUri(in.readUTF());
+        int line = in.readInt();
+        String key = in.readUTF();
+        long lastRun = in.readLong();
+        int size = in.readInt();
+        List<CachedTestCase.Attachment> testCaseAttachments = new ArrayList<>(Math.min(size, 16));
+        for (int i = 0; i < size; i++) {
+            testCaseAttachments.add(readAttachment(in, attachments));
+        }
+        return new CachedTestCase(uri, line, key, lastRun, testCaseAttachments);
+    }
+
+    private static CachedTestCase.Attachment readAttachment(DataInputStream in, Path attachments)
+            throws IOException {
+        int testStepIndex = in.readInt();
+        int kind = in.readUnsignedByte();
+        if (kind >= KINDS.length) {
+            throw new IOException("Unknown attachment kind " + kind);
+        }
+        Path content = attachments.resolve(in.readUTF());
+        String mediaType = in.readUTF();
+        String name = in.readBoolean() ? in.readUTF() : null;
+        return new CachedTestCase.Attachment(testStepIndex, KINDS[kind], content, mediaType, name);
+    }
+
+    private static URI parseUri(String uri) throws IOException {
+        try {
+            return new URI(uri);
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
+    static void write(Path file, long run, Collection<CachedTestCase> testCases) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "results", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(run);
+            out.writeInt(testCases.size());
+            for (CachedTestCase testCase : testCases) {
+                writeTestCase(out, testCase);
+            }
+        }
+        Files.move(temp, file, REPLACE_EXISTING);
+    }
+
+    private static void writeTestCase(DataOutputStream out, CachedTestCase testCase) throws IOException {
+        out.writeUTF(testCase.getUri().toString());
+        out.writeInt(testCase.getLine());
+        out.writeUTF(testCase.getKey());
+        out.writeLong(testCase.getLastRun());
+        List<CachedTestCase.Attachment> attachments = testCase.getAttachments();
+        out.writeInt(attachments.size());
+        for (CachedTestCase.Attachment attachment : attachments) {
+            writeAttachment(out, attachment);
+        }
+    }
+
+    private static void writeAttachment(DataOutputStream out, CachedTestCase.Attachment attachment)
+            throws IOException {
+        out.writeInt(attachment.getTestStepIndex());
+        out.writeByte(attachment.getKind().ordinal());
+        out.writeUTF(attachment.getContent().getFileName().toString());
+        out.writeUTF(attachment.getMediaType());
+        out.writeBoolean(attachment.getName() != null);
+        if (attachment.getName() != null) {
+            out.writeUTF(attachment.getName());
+        }
+    }
+
+}
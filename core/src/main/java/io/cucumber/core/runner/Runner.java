@@ -3,6 +3,7 @@ package io.cucumber.core.runner;
 import io.cucumber.core.api.TypeRegistryConfigurer;
 import io.cucumber.core.backend.Backend;
 import io.cucumber.core.backend.ObjectFactory;
+import io.cucumber.core.backend.Status;
 import io.cucumber.core.eventbus.EventBus;
 import io.cucumber.core.gherkin.Pickle;
 import io.cucumber.core.gherkin.Step;
@@ -19,6 +20,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.emptyList;
@@ -33,16 +35,47 @@ public final class Runner {
     private final Options runnerOptions;
     private final ObjectFactory objectFactory;
     private final TypeRegistryConfigurer typeRegistryConfigurer;
+    private final ResultCache resultCache;
+    private StepTypeRegistry stepTypeRegistry;
     private List<SnippetGenerator> snippetGenerators;
 
     public Runner(
             EventBus bus, Collection<? extends Backend> backends, ObjectFactory objectFactory,
             TypeRegistryConfigurer typeRegistryConfigurer, Options runnerOptions
+    ) {
+        this(bus, backends, objectFactory, typeRegistryConfigurer, runnerOptions,
+            new StepMatchCache(runnerOptions.getStepMatchCacheSize()));
+    }
+
+    public Runner(
+            EventBus bus, Collection<? extends Backend> backends, ObjectFactory objectFactory,
+            TypeRegistryConfigurer typeRegistryConfigurer, Options runnerOptions, StepMatchCache stepMatchCache
+    ) {
+        this(bus, backends, objectFactory, typeRegistryConfigurer, runnerOptions, stepMatchCache, null);
+    }
+
+    /**
+     * @param bus                    the event bus
+     * @param backends               the backends to load the glue with
+     * @param objectFactory          the object factory shared with the
+     *                               backends
+     * @param typeRegistryConfigurer the type registry configurer
+     * @param runnerOptions          the runner options
+     * @param stepMatchCache         the step match cache, may be shared
+     *                               between runners
+     * @param resultCache            the result cache, may be shared between
+     *                               runners, or null to execute every pickle
+     */
+    public Runner(
+            EventBus bus, Collection<? extends Backend> backends, ObjectFactory objectFactory,
+            TypeRegistryConfigurer typeRegistryConfigurer, Options runnerOptions, StepMatchCache stepMatchCache,
+            ResultCache resultCache
     ) {
         this.bus = bus;
+        this.resultCache = resultCache;
         this.runnerOptions = runnerOptions;
         this.backends = backends;
-        this.glue = new CachingGlue(bus);
+        this.glue = new CachingGlue(bus, stepMatchCache);
         this.objectFactory = objectFactory;
         this.typeRegistryConfigurer = typeRegistryConfigurer;
         List<URI> gluePaths = runnerOptions.getGlue();
@@ -58,34 +91,77 @@ public final class Runner {
     }
 
     public void runPickle(Pickle pickle) {
-        try {
-            StepTypeRegistry stepTypeRegistry = createTypeRegistryForPickle(pickle);
-            snippetGenerators = createSnippetGeneratorsForPickle(stepTypeRegistry);
+        runPickle(pickle, runnerOptions.isDryRun() ? ExecutionMode.DRY_RUN : ExecutionMode.RUN);
+    }
 
+    /**
+     * Reports the pickle as skipped without executing any of its steps or
+     * hooks.
+     *
+     * @param pickle the pickle to skip
+     */
+    public void skipPickle(Pickle pickle) {
+        runPickle(pickle, ExecutionMode.SKIP);
+    }
+
+    private void runPickle(Pickle pickle, ExecutionMode executionMode) {
+        try {
             buildBackendWorlds(); // Java8 step definitions will be added to the
                                   // glue here
 
-            glue.prepareGlue(stepTypeRegistry);
+            StepTypeRegistry stepTypeRegistry = glue.prepareGlue(getLocaleForPickle(pickle), this::createTypeRegistry);
+            if (this.stepTypeRegistry != stepTypeRegistry) {
+                this.stepTypeRegistry = stepTypeRegistry;
+                this.snippetGenerators = createSnippetGenerators(stepTypeRegistry);
+            }
 
-            TestCase testCase = createTestCaseForPickle(pickle);
-            testCase.run(bus);
+            TestCase testCase = createTestCaseForPickle(pickle, executionMode);
+            if (resultCache != null && executionMode == ExecutionMode.RUN) {
+                runOrReplay(pickle, testCase);
+            } else {
+                testCase.run(bus);
+            }
         } finally {
             glue.removeScenarioScopedGlue();
             disposeBackendWorlds();
         }
     }
 
-    private StepTypeRegistry createTypeRegistryForPickle(Pickle pickle) {
+    private void runOrReplay(Pickle pickle, TestCase testCase) {
+        Optional<String> key = resultCache.key(pickle, testCase);
+        if (!key.isPresent()) {
+            resultCache.remove(pickle);
+            testCase.run(bus);
+            return;
+        }
+        Optional<CachedTestCase> cachedTestCase = resultCache.find(pickle, key.get());
+        if (cachedTestCase.isPresent()) {
+            testCase.replay(bus, cachedTestCase.get());
+            return;
+        }
+        TestCaseState state = testCase.runAndRecord(bus);
+        if (state.getStatus() == Status.PASSED) {
+            resultCache.store(pickle, key.get(), state.getRecordedAttachments());
+        } else {
+            resultCache.remove(pickle);
+        }
+    }
+
+    private Locale getLocaleForPickle(Pickle pickle) {
         Locale locale = typeRegistryConfigurer.locale();
         if (locale == null) {
             locale = new Locale(pickle.getLanguage());
         }
+        return locale;
+    }
+
+    private StepTypeRegistry createTypeRegistry(Locale locale) {
         StepTypeRegistry stepTypeRegistry = new StepTypeRegistry(locale);
         typeRegistryConfigurer.configureTypeRegistry(stepTypeRegistry);
         return stepTypeRegistry;
     }
 
-    private List<SnippetGenerator> createSnippetGeneratorsForPickle(StepTypeRegistry stepTypeRegistry) {
+    private List<SnippetGenerator> createSnippetGenerators(StepTypeRegistry stepTypeRegistry) {
         return backends.stream()
                 .map(Backend::getSnippet)
                 .filter(Objects::nonNull)
@@ -100,16 +176,16 @@ public final class Runner {
         }
     }
 
-    private TestCase createTestCaseForPickle(Pickle pickle) {
+    private TestCase createTestCaseForPickle(Pickle pickle, ExecutionMode executionMode) {
         if (pickle.getSteps().isEmpty()) {
-            return new TestCase(bus.generateId(), emptyList(), emptyList(), emptyList(), pickle,
-                runnerOptions.isDryRun());
+            return new TestCase(bus.generateId(), emptyList(), emptyList(), emptyList(), pickle, executionMode);
         }
 
-        List<PickleStepTestStep> testSteps = createTestStepsForPickleSteps(pickle);
-        List<HookTestStep> beforeHooks = createTestStepsForBeforeHooks(pickle.getTags());
-        List<HookTestStep> afterHooks = createTestStepsForAfterHooks(pickle.getTags());
-        return new TestCase(bus.generateId(), testSteps, beforeHooks, afterHooks, pickle, runnerOptions.isDryRun());
+        MatchingHooks hooks = glue.getMatchingHooks(pickle.getTags());
+        List<PickleStepTestStep> testSteps = createTestStepsForPickleSteps(pickle, hooks);
+        List<HookTestStep> beforeHooks = createTestStepsForHooks(hooks.getBeforeHooks(), HookType.BEFORE);
+        List<HookTestStep> afterHooks = createTestStepsForHooks(hooks.getAfterHooks(), HookType.AFTER);
+        return new TestCase(bus.generateId(), testSteps, beforeHooks, afterHooks, pickle, executionMode);
     }
 
     private void disposeBackendWorlds() {
@@ -119,13 +195,15 @@ public final class Runner {
         objectFactory.stop();
     }
 
-    private List<PickleStepTestStep> createTestStepsForPickleSteps(Pickle pickle) {
+    private List<PickleStepTestStep> createTestStepsForPickleSteps(Pickle pickle, MatchingHooks hooks) {
         List<PickleStepTestStep> testSteps = new ArrayList<>();
 
         for (Step step : pickle.getSteps()) {
             PickleStepDefinitionMatch match = matchStepToStepDefinition(pickle, step);
-            List<HookTestStep> afterStepHookSteps = createAfterStepHooks(pickle.getTags());
-            List<HookTestStep> beforeStepHookSteps = createBeforeStepHooks(pickle.getTags());
+            List<HookTestStep> afterStepHookSteps = createTestStepsForHooks(hooks.getAfterStepHooks(),
+                HookType.AFTER_STEP);
+            List<HookTestStep> beforeStepHookSteps = createTestStepsForHooks(hooks.getBeforeStepHooks(),
+                HookType.BEFORE_STEP);
             testSteps.add(new PickleStepTestStep(bus.generateId(), pickle.getUri(), step, beforeStepHookSteps,
                 afterStepHookSteps, match));
         }
@@ -133,14 +211,6 @@ public final class Runner {
         return testSteps;
     }
 
-    private List<HookTestStep> createTestStepsForBeforeHooks(List<String> tags) {
-        return createTestStepsForHooks(tags, glue.getBeforeHooks(), HookType.BEFORE);
-    }
-
-    private List<HookTestStep> createTestStepsForAfterHooks(List<String> tags) {
-        return createTestStepsForHooks(tags, glue.getAfterHooks(), HookType.AFTER);
-    }
-
     private PickleStepDefinitionMatch matchStepToStepDefinition(Pickle pickle, Step step) {
         try {
             PickleStepDefinitionMatch match = glue.stepDefinitionMatch(pickle.getUri(), step);
@@ -158,21 +228,15 @@ public final class Runner {
         }
     }
 
-    private List<HookTestStep> createAfterStepHooks(List<String> tags) {
-        return createTestStepsForHooks(tags, glue.getAfterStepHooks(), HookType.AFTER_STEP);
-    }
-
-    private List<HookTestStep> createBeforeStepHooks(List<String> tags) {
-        return createTestStepsForHooks(tags, glue.getBeforeStepHooks(), HookType.BEFORE_STEP);
-    }
-
-    private List<HookTestStep> createTestStepsForHooks(
-            List<String> tags, Collection<CoreHookDefinition> hooks, HookType hookType
-    ) {
-        return hooks.stream()
-                .filter(hook -> hook.matches(tags))
-                .map(hook -> new HookTestStep(bus.generateId(), hookType, new HookDefinitionMatch(hook)))
-                .collect(Collectors.toList());
+    private List<HookTestStep> createTestStepsForHooks(List<CoreHookDefinition> hooks, HookType hookType) {
+        if (hooks.isEmpty()) {
+            return emptyList();
+        }
+        List<HookTestStep> testSteps = new ArrayList<>(hooks.size());
+        for (CoreHookDefinition hook : hooks) {
+            testSteps.add(new HookTestStep(bus.generateId(), hookType, new HookDefinitionMatch(hook)));
+        }
+        return testSteps;
     }
 
     private List<String> generateSnippetsForStep(Step step) {
@@ -0,0 +1,424 @@
+package io.cucumber.core.runner;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the step definitions that could match a step text without running
+ * their regular expressions.
+ * <p>
+ * Every regular expression, including those generated from Cucumber
+ * expressions, may contain literal text that must occur in any text it
+ * matches. E.g. {@code ^I have (\d+) cukes in my belly$} will only match text
+ * that contains {@code "I have "} and {@code " cukes in my belly"}. The longest
+ * of these literals is added to an Aho-Corasick automaton. This allows all
+ * candidates for a step text to be found in a single pass over the text.
+ * <p>
+ * Step definitions that have no literal text, or a regular expression that is
+ * too complex to analyse, are always a candidate. As such the candidates are a
+ * superset of the step definitions that match. This keeps the detection of
+ * ambiguous step definitions exact.
+ * <p>
+ * Candidates are returned in the iteration order of the step definitions the
+ * index was created from.
+ */
+final class StepDefinitionIndex {
+
+    private static final int[] NO_STEP_DEFINITIONS = new int[0];
+    // Flags that change how literal text is matched
+    private static final int UNSUPPORTED_FLAGS = Pattern.CASE_INSENSITIVE | Pattern.COMMENTS | Pattern.LITERAL
+            | Pattern.CANON_EQ;
+
+    private final CoreStepDefinition[] stepDefinitions;
+    private final String[][] otherLiterals;
+    private final BitSet unindexed = new BitSet();
+    private final State root = new State();
+
+    StepDefinitionIndex(Collection<CoreStepDefinition> stepDefinitions) {
+        this.stepDefinitions = stepDefinitions.toArray(new CoreStepDefinition[0]);
+        this.otherLiterals = new String[this.stepDefinitions.length][];
+        for (int i = 0; i < this.stepDefinitions.length; i++) {
+            Pattern regexp = this.stepDefinitions[i].getExpression().getRegexp();
+            List<String> literals = requiredLiterals(regexp);
+            if (literals.isEmpty()) {
+                unindexed.set(i);
+                otherLiterals[i] = new String[0];
+                continue;
+            }
+            String longest = Collections.max(literals, (a, b) -> Integer.compare(a.length(), b.length()));
+            List<String> others = new ArrayList<>(literals);
+            others.remove(longest);
+            otherLiterals[i] = others.toArray(new String[0]);
+            root.add(longest, i);
+        }
+        root.link();
+    }
+
+    List<CoreStepDefinition> candidates(String stepText) {
+        BitSet candidates = (BitSet) unindexed.clone();
+        State state = root;
+        for (int i = 0; i < stepText.length(); i++) {
+            state = state.next(root, stepText.charAt(i));
+            for (State match = state; match != null; match = match.dictionarySuffix) {
+                for (int stepDefinition : match.stepDefinitions) {
+                    candidates.set(stepDefinition);
+                }
+            }
+        }
+
+        List<CoreStepDefinition> result = new ArrayList<>();
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (containsAll(stepText, otherLiterals[i])) {
+                result.add(stepDefinitions[i]);
+            }
+        }
+        return result;
+    }
+
+    private static boolean containsAll(String text, String[] literals) {
+        for (String literal : literals) {
+            if (!text.contains(literal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int size() {
+        return stepDefinitions.length;
+    }
+
+    int unindexedSize() {
+        return unindexed.cardinality();
+    }
+
+    /**
+     * Extracts the literal text that must occur in any text matched by the
+     * regular expression.
+     * <p>
+     * Only literals outside of groups are extracted. The analysis is
+     * conservative; when in doubt no literal is extracted.
+     *
+     * @param  regexp the regular expression to analyse
+     * @return        the required literals, or an empty list if none could be
+     *                extracted
+     */
+    static List<String> requiredLiterals(Pattern regexp) {
+        if ((regexp.flags() & UNSUPPORTED_FLAGS) != 0) {
+            return Collections.emptyList();
+        }
+        String pattern = regexp.pattern();
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int depth = 0;
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= pattern.length()) {
+                    return Collections.emptyList();
+                }
+                char escaped = pattern.charAt(i + 1);
+                if (escaped == 'Q') {
+                    int end = pattern.indexOf("\\E", i + 2);
+                    String quoted = end < 0 ? pattern.substring(i + 2) : pattern.substring(i + 2, end);
+                    i = end < 0 ? pattern.length() : end + 2;
+                    if (depth == 0) {
+                        literal.append(quoted);
+                        i = dropQuantifiedCharacter(pattern, i, literal, literals);
+                    }
+                    continue;
+                }
+                i = skipEscape(pattern, i);
+                char literalCharacter = escapedLiteral(escaped);
+                if (depth == 0 && literalCharacter != 0) {
+                    literal.append(literalCharacter);
+                    i = dropQuantifiedCharacter(pattern, i, literal, literals);
+                } else if (depth == 0) {
+                    endLiteral(literal, literals);
+                }
+                continue;
+            }
+            if (c == '[') {
+                i = skipCharacterClass(pattern, i);
+                if (i < 0) {
+                    return Collections.emptyList();
+                }
+                if (depth == 0) {
+                    endLiteral(literal, literals);
+                }
+                continue;
+            }
+            if (c == '(') {
+                if (i + 2 < pattern.length() && pattern.charAt(i + 1) == '?' && isInlineFlag(pattern.charAt(i + 2))) {
+                    // E.g. (?i) changes how the rest of the pattern matches
+                    return Collections.emptyList();
+                }
+                if (depth == 0) {
+                    endLiteral(literal, literals);
+                }
+                depth++;
+                i++;
+                continue;
+            }
+            if (c == ')') {
+                depth--;
+                if (depth < 0) {
+                    return Collections.emptyList();
+                }
+                i++;
+                continue;
+            }
+            if (depth > 0) {
+                i++;
+                continue;
+            }
+            if (c == '|') {
+                // Top level alternatives, no literal is required
+                return Collections.emptyList();
+            }
+            if (c == '*' || c == '?' || c == '+' || c == '{') {
+                // Quantifier of something that is not a literal
+                i = skipQuantifier(pattern, i);
+                continue;
+            }
+            if (c == '.' || c == '^' || c == '$') {
+                endLiteral(literal, literals);
+                i++;
+                continue;
+            }
+            literal.append(c);
+            i = dropQuantifiedCharacter(pattern, i + 1, literal, literals);
+        }
+        if (depth != 0) {
+            return Collections.emptyList();
+        }
+        endLiteral(literal, literals);
+        return literals;
+    }
+
+    private static int dropQuantifiedCharacter(
+            String pattern, int i, StringBuilder literal, List<String> literals
+    ) {
+        if (i >= pattern.length()) {
+            return i;
+        }
+        char c = pattern.charAt(i);
+        if (literal.length() == 0) {
+            return i;
+        }
+        if (c == '*' || c == '?' || c == '{') {
+            // The last character is optional or repeated
+            literal.setLength(literal.length() - 1);
+            endLiteral(literal, literals);
+            return skipQuantifier(pattern, i);
+        }
+        if (c == '+') {
+            // The last character occurs at least once
+            endLiteral(literal, literals);
+            return skipQuantifier(pattern, i);
+        }
+        return i;
+    }
+
+    private static int skipQuantifier(String pattern, int i) {
+        if (pattern.charAt(i) == '{') {
+            i = skipPast(pattern, i, '}');
+        } else {
+            i++;
+        }
+        // Reluctant and possessive quantifiers
+        if (i < pattern.length() && (pattern.charAt(i) == '?' || pattern.charAt(i) == '+')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipEscape(String pattern, int start) {
+        int i = start + 2;
+        switch (pattern.charAt(start + 1)) {
+            case 'x':
+                return i < pattern.length() && pattern.charAt(i) == '{' ? skipPast(pattern, i, '}') : i + 2;
+            case 'u':
+                return i + 4;
+            case 'c':
+                return i + 1;
+            case 'p':
+            case 'P':
+                return i < pattern.length() && pattern.charAt(i) == '{' ? skipPast(pattern, i, '}') : i + 1;
+            case 'N':
+                return skipPast(pattern, i, '}');
+            case 'k':
+                return skipPast(pattern, i, '>');
+            default:
+                if (Character.isDigit(pattern.charAt(start + 1))) {
+                    // Back references and octal escapes
+                    while (i < pattern.length() && Character.isDigit(pattern.charAt(i))) {
+                        i++;
+                    }
+                }
+                return i;
+        }
+    }
+
+    private static int skipPast(String pattern, int start, char end) {
+        int index = pattern.indexOf(end, start);
+        return index < 0 ? pattern.length() : index + 1;
+    }
+
+    private static int skipCharacterClass(String pattern, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+                i++;
+                // A leading ] is not supported, bail out
+                if (i < pattern.length() && pattern.charAt(i) == '^') {
+                    i++;
+                }
+                if (i < pattern.length() && pattern.charAt(i) == ']') {
+                    return -1;
+                }
+                continue;
+            }
+            if (c == ']') {
+                depth--;
+                i++;
+                if (depth == 0) {
+                    return i;
+                }
+                continue;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private static boolean isInlineFlag(char c) {
+        return Character.isLetter(c) || c == '-';
+    }
+
+    private static char escapedLiteral(char escaped) {
+        switch (escaped) {
+            case 't':
+                return '\t';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            case 'a':
+                return '\u0007';
+            case 'e':
+                return '\u001B';
+            default:
+                // Escaped letters and digits are character classes, back
+                // references, boundaries, ect.
+                return Character.isLetterOrDigit(escaped) ? 0 : escaped;
+        }
+    }
+
+    private static void endLiteral(StringBuilder literal, List<String> literals) {
+        if (literal.length() > 0) {
+            literals.add(literal.toString());
+            literal.setLength(0);
+        }
+    }
+
+    private static final class State {
+
+        private static final char[] NO_LABELS = new char[0];
+        private static final State[] NO_STATES = new State[0];
+
+        private char[] labels = NO_LABELS;
+        private State[] children = NO_STATES;
+        private int[] stepDefinitions = NO_STEP_DEFINITIONS;
+        private State failure;
+        private State dictionarySuffix;
+
+        void add(String literal, int stepDefinition) {
+            State state = this;
+            for (int i = 0; i < literal.length(); i++) {
+                state = state.childOrCreate(literal.charAt(i));
+            }
+            state.stepDefinitions = Arrays.copyOf(state.stepDefinitions, state.stepDefinitions.length + 1);
+            state.stepDefinitions[state.stepDefinitions.length - 1] = stepDefinition;
+        }
+
+        private State child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index < 0 ? null : children[index];
+        }
+
+        private State childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertion = -(index + 1);
+            char[] newLabels = new char[labels.length + 1];
+            State[] newChildren = new State[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertion);
+            System.arraycopy(children, 0, newChildren, 0, insertion);
+            System.arraycopy(labels, insertion, newLabels, insertion + 1, labels.length - insertion);
+            System.arraycopy(children, insertion, newChildren, insertion + 1, children.length - insertion);
+            State child = new State();
+            newLabels[insertion] = label;
+            newChildren[insertion] = child;
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        void link() {
+            // Breadth first, the failure state of a state is always closer to
+            // the root.
+            Deque<State> queue = new ArrayDeque<>();
+            for (State child : children) {
+                child.failure = this;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                State state = queue.remove();
+                for (int i = 0; i < state.labels.length; i++) {
+                    State child = state.children[i];
+                    child.failure = state.failure.next(this, state.labels[i]);
+                    child.dictionarySuffix = child.failure.stepDefinitions.length > 0
+                            ? child.failure
+                            : child.failure.dictionarySuffix;
+                    queue.add(child);
+                }
+            }
+        }
+
+        State next(State root, char label) {
+            State state = this;
+            while (true) {
+                State child = state.child(label);
+                if (child != null) {
+                    return child;
+                }
+                if (state == root) {
+                    return root;
+                }
+                state = state.failure;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,133 @@
+package io.cucumber.core.runner;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the pattern of the step definition that matches a step text.
+ * <p>
+ * Finding the step definition for a step requires matching the step text
+ * against every step definition. The result depends only on the step text and
+ * the glue. By keying the cache on both the cache can be shared between all
+ * runners that execute the same glue, e.g. when executing in parallel.
+ * <p>
+ * Only unambiguous matches are cached. The cache is bounded. When an insert
+ * makes it exceed its maximum size another entry, the first one in iteration
+ * order, is evicted. The bound is approximate, concurrent inserts may exceed it
+ * until their evictions complete.
+ * <p>
+ * Thread safe.
+ */
+public final class StepMatchCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final ConcurrentMap<Key, String> stepPatternByStepText = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final int maximumSize;
+
+    public StepMatchCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public StepMatchCache(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must be positive or zero, was " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    String get(long glueFingerprint, String stepText) {
+        String pattern = stepPatternByStepText.get(new Key(glueFingerprint, stepText));
+        if (pattern == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return pattern;
+    }
+
+    void put(long glueFingerprint, String stepText, String pattern) {
+        if (maximumSize == 0) {
+            return;
+        }
+        Key key = new Key(glueFingerprint, stepText);
+        if (stepPatternByStepText.putIfAbsent(key, pattern) != null) {
+            return;
+        }
+        while (stepPatternByStepText.size() > maximumSize && evictOther(key)) {
+            // Concurrent inserts each evict until the bound holds again
+        }
+    }
+
+    private boolean evictOther(Key key) {
+        Iterator<Key> iterator = stepPatternByStepText.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (!iterator.next().equals(key)) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return stepPatternByStepText.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public String toString() {
+        return "StepMatchCache{" +
+                "size=" + size() +
+                ", maximumSize=" + maximumSize +
+                ", hits=" + getHitCount() +
+                ", misses=" + getMissCount() +
+                '}';
+    }
+
+    private static final class Key {
+
+        private final long glueFingerprint;
+        private final String stepText;
+
+        Key(long glueFingerprint, String stepText) {
+            this.glueFingerprint = glueFingerprint;
+            this.stepText = stepText;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return glueFingerprint == key.glueFingerprint &&
+                    stepText.equals(key.stepText);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(glueFingerprint) + stepText.hashCode();
+        }
+
+    }
+
+}
@@ -23,11 +23,13 @@ import java.util.List;
 import java.util.UUID;
 
 import static io.cucumber.core.runner.ExecutionMode.DRY_RUN;
+import static io.cucumber.core.runner.ExecutionMode.REPLAY;
 import static io.cucumber.core.runner.ExecutionMode.RUN;
 import static io.cucumber.core.runner.TestStepResultStatus.from;
 import static io.cucumber.messages.TimeConversion.javaDurationToDuration;
 import static io.cucumber.messages.TimeConversion.javaInstantToTimestamp;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
 import static java.util.stream.Collectors.toList;
 
 final class TestCase implements io.cucumber.plugin.event.TestCase {
@@ -37,6 +39,7 @@ final class TestCase implements io.cucumber.plugin.event.TestCase {
     private final ExecutionMode executionMode;
     private final List<HookTestStep> beforeHooks;
     private final List<HookTestStep> afterHooks;
+    private final List<TestStep> allTestSteps;
     private final UUID id;
 
     TestCase(
@@ -45,13 +48,39 @@ final class TestCase implements io.cucumber.plugin.event.TestCase {
             List<HookTestStep> afterHooks,
             Pickle pickle,
             boolean dryRun
+    ) {
+        this(id, testSteps, beforeHooks, afterHooks, pickle, dryRun ? DRY_RUN : RUN);
+    }
+
+    TestCase(
+            UUID id, List<PickleStepTestStep> testSteps,
+            List<HookTestStep> beforeHooks,
+            List<HookTestStep> afterHooks,
+            Pickle pickle,
+            ExecutionMode executionMode
     ) {
         this.id = id;
         this.testSteps = testSteps;
         this.beforeHooks = beforeHooks;
         this.afterHooks = afterHooks;
+        this.allTestSteps = createAllTestSteps(testSteps, beforeHooks, afterHooks);
         this.pickle = pickle;
-        this.executionMode = dryRun ? DRY_RUN : RUN;
+        this.executionMode = executionMode;
+    }
+
+    private static List<TestStep> createAllTestSteps(
+            List<PickleStepTestStep> testSteps,
+            List<HookTestStep> beforeHooks,
+            List<HookTestStep> afterHooks
+    ) {
+        List<TestStep> allTestSteps = new ArrayList<>(beforeHooks);
+        for (PickleStepTestStep step : testSteps) {
+            allTestSteps.addAll(step.getBeforeStepHookSteps());
+            allTestSteps.add(step);
+            allTestSteps.addAll(step.getAfterStepHookSteps());
+        }
+        allTestSteps.addAll(afterHooks);
+        return unmodifiableList(allTestSteps);
     }
 
     private static StepMatchArgument.Group makeMessageGroup(
@@ -84,7 +113,35 @@ final class TestCase implements io.cucumber.plugin.event.TestCase {
     }
 
     void run(EventBus bus) {
-        ExecutionMode nextExecutionMode = this.executionMode;
+        run(bus, executionMode, null, false);
+    }
+
+    /**
+     * Runs the test case while recording everything attached by its steps.
+     *
+     * @param  bus the event bus
+     * @return     the state of the finished test case
+     */
+    TestCaseState runAndRecord(EventBus bus) {
+        return run(bus, executionMode, null, true);
+    }
+
+    /**
+     * Replays a test case that passed before. The steps and hooks are not
+     * executed but pass, attaching what they attached when they were
+     * executed.
+     *
+     * @param bus            the event bus
+     * @param cachedTestCase the test case as executed before
+     */
+    void replay(EventBus bus, CachedTestCase cachedTestCase) {
+        run(bus, REPLAY, cachedTestCase, false);
+    }
+
+    private TestCaseState run(
+            EventBus bus, ExecutionMode executionMode, CachedTestCase replayedTestCase, boolean record
+    ) {
+        ExecutionMode nextExecutionMode = executionMode;
         emitTestCaseMessage(bus);
 
         Instant start = bus.getInstant();
@@ -92,6 +149,12 @@ final class TestCase implements io.cucumber.plugin.event.TestCase {
         emitTestCaseStarted(bus, start, executionId);
 
         TestCaseState state = new TestCaseState(bus, executionId, this);
+        if (record) {
+            state.recordAttachments();
+        }
+        if (replayedTestCase != null) {
+            state.replayAttachmentsOf(replayedTestCase);
+        }
 
         for (HookTestStep before : beforeHooks) {
             nextExecutionMode = before
@@ -116,6 +179,7 @@ final class TestCase implements io.cucumber.plugin.event.TestCase {
         Status status = Status.valueOf(state.getStatus().name());
         Result result = new Result(status, duration, state.getError());
         emitTestCaseFinished(bus, executionId, stop, duration, status, result);
+        return state;
     }
 
     @Override
@@ -154,14 +218,7 @@ final class TestCase implements io.cucumber.plugin.event.TestCase {
 
     @Override
     public List<TestStep> getTestSteps() {
-        List<TestStep> testSteps = new ArrayList<>(beforeHooks);
-        for (PickleStepTestStep step : this.testSteps) {
-            testSteps.addAll(step.getBeforeStepHookSteps());
-            testSteps.add(step);
-            testSteps.addAll(step.getAfterStepHookSteps());
-        }
-        testSteps.addAll(afterHooks);
-        return testSteps;
+        return allTestSteps;
     }
 
     @Override
@@ -175,17 +232,25 @@ final class TestCase implements io.cucumber.plugin.event.TestCase {
     }
 
     private void emitTestCaseMessage(EventBus bus) {
+        if (!bus.hasHandlerFor(Messages.Envelope.class)) {
+            return;
+        }
         bus.send(Messages.Envelope.newBuilder()
                 .setTestCase(Messages.TestCase.newBuilder()
                         .setId(id.toString())
                         .setPickleId(pickle.getId())
-                        .addAllTestSteps(getTestSteps()
-                                .stream()
-                                .map(this::createTestStep)
-                                .collect(toList())))
+                        .addAllTestSteps(createTestSteps()))
                 .build());
     }
 
+    private List<Messages.TestCase.TestStep> createTestSteps() {
+        List<Messages.TestCase.TestStep> testSteps = new ArrayList<>(allTestSteps.size());
+        for (TestStep testStep : allTestSteps) {
+            testSteps.add(createTestStep(testStep));
+        }
+        return testSteps;
+    }
+
     private Messages.TestCase.TestStep createTestStep(TestStep testStep) {
         Messages.TestCase.TestStep.Builder testStepBuilder = Messages.TestCase.TestStep
                 .newBuilder()
@@ -225,7 +290,12 @@ final class TestCase implements io.cucumber.plugin.event.TestCase {
     }
 
     private void emitTestCaseStarted(EventBus bus, Instant start, UUID executionId) {
-        bus.send(new TestCaseStarted(start, this));
+        if (bus.hasHandlerFor(TestCaseStarted.class)) {
+            bus.send(new TestCaseStarted(start, this));
+        }
+        if (!bus.hasHandlerFor(Messages.Envelope.class)) {
+            return;
+        }
         bus.send(Messages.Envelope.newBuilder()
                 .setTestCaseStarted(Messages.TestCaseStarted.newBuilder()
                         .setId(executionId.toString())
@@ -238,7 +308,12 @@ final class TestCase implements io.cucumber.plugin.event.TestCase {
     private void emitTestCaseFinished(
             EventBus bus, UUID executionId, Instant stop, Duration duration, Status status, Result result
     ) {
-        bus.send(new TestCaseFinished(stop, this, result));
+        if (bus.hasHandlerFor(TestCaseFinished.class)) {
+            bus.send(new TestCaseFinished(stop, this, result));
+        }
+        if (!bus.hasHandlerFor(Messages.Envelope.class)) {
+            return;
+        }
         Messages.TestStepFinished.TestStepResult.Builder testResultBuilder = Messages.TestStepFinished.TestStepResult
                 .newBuilder()
                 .setStatus(from(status))
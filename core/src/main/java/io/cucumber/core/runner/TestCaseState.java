@@ -2,15 +2,22 @@ package io.cucumber.core.runner;
 
 import io.cucumber.core.backend.Status;
 import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.exception.CucumberException;
 import io.cucumber.messages.Messages;
 import io.cucumber.messages.Messages.Attachment;
 import io.cucumber.messages.Messages.Attachment.ContentEncoding;
 import io.cucumber.plugin.event.EmbedEvent;
 import io.cucumber.plugin.event.Result;
 import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestStep;
 import io.cucumber.plugin.event.WriteEvent;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collection;
@@ -24,12 +31,16 @@ import static java.util.Objects.requireNonNull;
 
 class TestCaseState implements io.cucumber.core.backend.TestCaseState {
 
+    private static final String LOG_MEDIA_TYPE = "text/x.cucumber.log+plain";
+
     private final List<Result> stepResults = new ArrayList<>();
     private final EventBus bus;
     private final TestCase testCase;
     private final UUID testExecutionId;
 
     private UUID currentTestStepId;
+    private List<CachedTestCase.Attachment> recordedAttachments;
+    private CachedTestCase replayedTestCase;
 
     TestCaseState(EventBus bus, UUID testExecutionId, TestCase testCase) {
         this.bus = requireNonNull(bus);
@@ -37,6 +48,22 @@ class TestCaseState implements io.cucumber.core.backend.TestCaseState {
         this.testCase = requireNonNull(testCase);
     }
 
+    /**
+     * Records everything attached from now on, so it can be attached again
+     * when the test case is replayed.
+     */
+    void recordAttachments() {
+        this.recordedAttachments = new ArrayList<>();
+    }
+
+    List<CachedTestCase.Attachment> getRecordedAttachments() {
+        return recordedAttachments;
+    }
+
+    void replayAttachmentsOf(CachedTestCase replayedTestCase) {
+        this.replayedTestCase = replayedTestCase;
+    }
+
     void add(Result result) {
         stepResults.add(result);
     }
@@ -71,7 +98,13 @@ class TestCaseState implements io.cucumber.core.backend.TestCaseState {
         requireNonNull(mediaType);
 
         requireActiveTestStep();
-        bus.send(new EmbedEvent(bus.getInstant(), testCase, data, mediaType, name));
+        record(CachedTestCase.Attachment.Kind.BYTES, data, mediaType, name);
+        if (bus.hasHandlerFor(EmbedEvent.class)) {
+            bus.send(new EmbedEvent(bus.getInstant(), testCase, data, mediaType, name));
+        }
+        if (!bus.hasHandlerFor(Messages.Envelope.class)) {
+            return;
+        }
         Attachment.Builder attachment = createAttachment()
                 .setBody(Base64.getEncoder().encodeToString(data))
                 .setContentEncoding(ContentEncoding.BASE64)
@@ -90,7 +123,14 @@ class TestCaseState implements io.cucumber.core.backend.TestCaseState {
         requireNonNull(mediaType);
 
         requireActiveTestStep();
-        bus.send(new EmbedEvent(bus.getInstant(), testCase, data.getBytes(UTF_8), mediaType, name));
+        byte[] bytes = data.getBytes(UTF_8);
+        record(CachedTestCase.Attachment.Kind.TEXT, bytes, mediaType, name);
+        if (bus.hasHandlerFor(EmbedEvent.class)) {
+            bus.send(new EmbedEvent(bus.getInstant(), testCase, bytes, mediaType, name));
+        }
+        if (!bus.hasHandlerFor(Messages.Envelope.class)) {
+            return;
+        }
         Attachment.Builder attachment = createAttachment()
                 .setBody(data)
                 .setContentEncoding(ContentEncoding.IDENTITY)
@@ -103,19 +143,141 @@ class TestCaseState implements io.cucumber.core.backend.TestCaseState {
                 .build());
     }
 
+    @Override
+    public void attach(Path file, String mediaType, String name) {
+        requireNonNull(file);
+        requireNonNull(mediaType);
+
+        requireActiveTestStep();
+        Path stored;
+        try {
+            stored = AttachmentStore.getInstance().store(file);
+        } catch (IOException e) {
+            throw new CucumberException("Could not attach " + file, e);
+        }
+        attachStored(stored, mediaType, name);
+    }
+
+    @Override
+    public void attach(InputStream data, String mediaType, String name) {
+        requireNonNull(data);
+        requireNonNull(mediaType);
+
+        requireActiveTestStep();
+        Path stored;
+        try {
+            stored = AttachmentStore.getInstance().store(data);
+        } catch (IOException e) {
+            throw new CucumberException("Could not attach " + (name != null ? name : "stream"), e);
+        }
+        attachStored(stored, mediaType, name);
+    }
+
+    private void attachStored(Path stored, String mediaType, String name) {
+        record(CachedTestCase.Attachment.Kind.BYTES, stored, mediaType, name);
+        // Plugins read the data from the store when they need it
+        if (bus.hasHandlerFor(EmbedEvent.class)) {
+            bus.send(new EmbedEvent(bus.getInstant(), testCase, stored, mediaType, name));
+        }
+        if (!bus.hasHandlerFor(Messages.Envelope.class)) {
+            return;
+        }
+        // Attachment messages can only contain data, not a reference to it.
+        // So consumers of messages pay for reading and encoding the file
+        // here, as documented on io.cucumber.core.backend.TestCaseState.
+        Attachment.Builder attachment = createAttachment()
+                .setBody(Base64.getEncoder().encodeToString(readStored(stored)))
+                .setContentEncoding(ContentEncoding.BASE64)
+                .setMediaType(mediaType);
+        if (name != null) {
+            attachment.setFileName(name);
+        }
+        bus.send(Messages.Envelope.newBuilder()
+                .setAttachment(attachment)
+                .build());
+    }
+
+    private static byte[] readStored(Path stored) {
+        try {
+            return Files.readAllBytes(stored);
+        } catch (IOException e) {
+            throw new CucumberException("Could not read attachment " + stored, e);
+        }
+    }
+
     @Override
     public void log(String text) {
         requireActiveTestStep();
-        bus.send(new WriteEvent(bus.getInstant(), testCase, text));
+        if (recordedAttachments != null) {
+            record(CachedTestCase.Attachment.Kind.LOG, text.getBytes(UTF_8), LOG_MEDIA_TYPE, null);
+        }
+        if (bus.hasHandlerFor(WriteEvent.class)) {
+            bus.send(new WriteEvent(bus.getInstant(), testCase, text));
+        }
+        if (!bus.hasHandlerFor(Messages.Envelope.class)) {
+            return;
+        }
         Attachment.Builder attachment = createAttachment()
                 .setBody(text)
                 .setContentEncoding(ContentEncoding.IDENTITY)
-                .setMediaType("text/x.cucumber.log+plain");
+                .setMediaType(LOG_MEDIA_TYPE);
         bus.send(Messages.Envelope.newBuilder()
                 .setAttachment(attachment)
                 .build());
     }
 
+    private void record(CachedTestCase.Attachment.Kind kind, byte[] data, String mediaType, String name) {
+        if (recordedAttachments == null) {
+            return;
+        }
+        Path stored;
+        try {
+            stored = AttachmentStore.getInstance().store(new ByteArrayInputStream(data));
+        } catch (IOException e) {
+            throw new CucumberException("Could not record attachment " + (name != null ? name : mediaType), e);
+        }
+        record(kind, stored, mediaType, name);
+    }
+
+    private void record(CachedTestCase.Attachment.Kind kind, Path stored, String mediaType, String name) {
+        if (recordedAttachments != null) {
+            recordedAttachments.add(
+                new CachedTestCase.Attachment(currentTestStepIndex(), kind, stored, mediaType, name));
+        }
+    }
+
+    /**
+     * Attaches everything the current test step attached when the replayed
+     * test case was executed.
+     */
+    void replayCurrentTestStep() {
+        requireActiveTestStep();
+        for (CachedTestCase.Attachment attachment : replayedTestCase.getAttachments(currentTestStepIndex())) {
+            switch (attachment.getKind()) {
+                case LOG:
+                    log(new String(readStored(attachment.getContent()), UTF_8));
+                    break;
+                case TEXT:
+                    attach(new String(readStored(attachment.getContent()), UTF_8), attachment.getMediaType(),
+                        attachment.getName());
+                    break;
+                default:
+                    attach(attachment.getContent(), attachment.getMediaType(), attachment.getName());
+                    break;
+            }
+        }
+    }
+
+    private int currentTestStepIndex() {
+        List<TestStep> testSteps = testCase.getTestSteps();
+        for (int i = 0; i < testSteps.size(); i++) {
+            if (testSteps.get(i).getId().equals(currentTestStepId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     private Attachment.Builder createAttachment() {
         return Attachment.newBuilder()
                 .setTestCaseStartedId(testExecutionId.toString())
@@ -77,7 +77,12 @@ abstract class TestStep implements io.cucumber.plugin.event.TestStep {
     }
 
     private void emitTestStepStarted(TestCase testCase, EventBus bus, UUID textExecutionId, Instant startTime) {
-        bus.send(new TestStepStarted(startTime, testCase, this));
+        if (bus.hasHandlerFor(TestStepStarted.class)) {
+            bus.send(new TestStepStarted(startTime, testCase, this));
+        }
+        if (!bus.hasHandlerFor(Messages.Envelope.class)) {
+            return;
+        }
         bus.send(Messages.Envelope.newBuilder()
                 .setTestStepStarted(Messages.TestStepStarted.newBuilder()
                         .setTestCaseStartedId(textExecutionId.toString())
@@ -121,7 +126,12 @@ abstract class TestStep implements io.cucumber.plugin.event.TestStep {
     private void emitTestStepFinished(
             TestCase testCase, EventBus bus, UUID textExecutionId, Instant stopTime, Duration duration, Result result
     ) {
-        bus.send(new TestStepFinished(stopTime, testCase, this, result));
+        if (bus.hasHandlerFor(TestStepFinished.class)) {
+            bus.send(new TestStepFinished(stopTime, testCase, this, result));
+        }
+        if (!bus.hasHandlerFor(Messages.Envelope.class)) {
+            return;
+        }
         Messages.TestStepFinished.TestStepResult.Builder builder = Messages.TestStepFinished.TestStepResult
                 .newBuilder();
 
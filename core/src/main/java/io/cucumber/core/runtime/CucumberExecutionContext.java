@@ -4,6 +4,7 @@ import io.cucumber.core.eventbus.EventBus;
 import io.cucumber.core.exception.CompositeCucumberException;
 import io.cucumber.core.exception.CucumberException;
 import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
 import io.cucumber.core.logging.Logger;
 import io.cucumber.core.logging.LoggerFactory;
 import io.cucumber.core.runner.Runner;
@@ -120,6 +121,57 @@ public final class CucumberExecutionContext {
         } catch (Throwable e) {
             thrown.add(e);
             throw e;
+        } finally {
+            runnerSupplier.release(runner);
+        }
+    }
+
+    /**
+     * Runs a pickle with a runner obtained from
+     * {@link #runTestCase(Consumer)}.
+     * <p>
+     * Once the maximum number of failures has been reached the pickle is
+     * reported as skipped instead.
+     *
+     * @param runner the runner to use
+     * @param pickle the pickle to run
+     */
+    public void runPickle(Runner runner, Pickle pickle) {
+        if (exitStatus.isMaxFailuresReached()) {
+            runner.skipPickle(pickle);
+        } else {
+            runner.runPickle(pickle);
+        }
+    }
+
+    /**
+     * Supplies the features and submits their pickles. Like failures of
+     * runners, failures to supply features fail the test run when it
+     * finishes.
+     *
+     * @param execution the supply of the features
+     */
+    void runFeatures(Runnable execution) {
+        try {
+            execution.run();
+        } catch (Throwable e) {
+            thrown.add(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs pickles in forked worker processes. Like failures of runners in
+     * this process, failures of workers fail the test run when it finishes.
+     *
+     * @param execution the execution of the pickles
+     */
+    void runForked(Runnable execution) {
+        try {
+            execution.run();
+        } catch (Throwable e) {
+            thrown.add(e);
+            throw e;
         }
     }
 
@@ -10,6 +10,7 @@ import io.cucumber.plugin.event.TestCaseFinished;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Collections.max;
 import static java.util.Collections.min;
@@ -23,7 +24,15 @@ public final class ExitStatus implements ConcurrentEventListener {
     private final List<Result> results = new ArrayList<>();
     private final Options options;
 
-    private final EventHandler<TestCaseFinished> testCaseFinishedHandler = event -> results.add(event.getResult());
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private final EventHandler<TestCaseFinished> testCaseFinishedHandler = event -> {
+        Result result = event.getResult();
+        results.add(result);
+        if (isFailure(result)) {
+            failures.incrementAndGet();
+        }
+    };
 
     public ExitStatus(Options options) {
         this.options = options;
@@ -34,6 +43,22 @@ public final class ExitStatus implements ConcurrentEventListener {
         publisher.registerHandlerFor(TestCaseFinished.class, testCaseFinishedHandler);
     }
 
+    private boolean isFailure(Result result) {
+        Status status = result.getStatus();
+        return options.isWip() ? status.is(Status.PASSED) : !status.isOk();
+    }
+
+    /**
+     * Whether the number of failed test cases has reached the maximum number
+     * of failures allowed before the remaining test cases are skipped.
+     *
+     * @return true iff a maximum is configured and has been reached
+     */
+    boolean isMaxFailuresReached() {
+        int maxFailures = options.getMaxFailures();
+        return maxFailures > 0 && failures.get() >= maxFailures;
+    }
+
     byte exitStatus() {
         return isSuccess() ? DEFAULT : ERRORS;
     }
@@ -1,19 +1,27 @@
 package io.cucumber.core.runtime;
 
+import io.cucumber.core.exception.CucumberException;
 import io.cucumber.core.feature.FeatureIdentifier;
 import io.cucumber.core.feature.FeatureParser;
 import io.cucumber.core.feature.Options;
 import io.cucumber.core.gherkin.Feature;
 import io.cucumber.core.logging.Logger;
 import io.cucumber.core.logging.LoggerFactory;
+import io.cucumber.core.resource.Resource;
 import io.cucumber.core.resource.ResourceScanner;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static io.cucumber.core.feature.FeatureIdentifier.isFeature;
 import static java.util.Comparator.comparing;
@@ -27,23 +35,59 @@ public final class FeaturePathFeatureSupplier implements FeatureSupplier {
 
     private static final Logger log = LoggerFactory.getLogger(FeaturePathFeatureSupplier.class);
 
-    private final ResourceScanner<Feature> featureScanner;
+    private final ResourceScanner<Resource> featureScanner;
 
     private final Options featureOptions;
 
+    private final FeatureParser parser;
+
     public FeaturePathFeatureSupplier(Supplier<ClassLoader> classLoader, Options featureOptions, FeatureParser parser) {
         this.featureOptions = featureOptions;
+        this.parser = parser;
         this.featureScanner = new ResourceScanner<>(
             classLoader,
             FeatureIdentifier::isFeature,
-            parser::parseResource);
+            FeaturePathFeatureSupplier::readResource);
     }
 
     @Override
     public List<Feature> get() {
+        final FeatureBuilder builder = new FeatureBuilder();
+        parseFeatures().forEach(builder::addUnique);
+        return builder.build();
+    }
+
+    /**
+     * Parses features one at a time, in lexical uri order.
+     * <p>
+     * Feature files are found and read before the stream is returned. The
+     * features are parsed as the stream is consumed.
+     */
+    @Override
+    public Stream<Feature> stream() {
+        final FeatureBuilder builder = new FeatureBuilder();
+        return parseFeatures().filter(builder::addUnique);
+    }
+
+    private Stream<Feature> parseFeatures() {
+        return findFeatureResources().stream()
+                .map(parser::parseResource)
+                .filter(Optional::isPresent)
+                .map(Optional::get);
+    }
+
+    private List<Resource> findFeatureResources() {
         List<URI> featurePaths = featureOptions.getFeaturePaths();
-        List<Feature> features = loadFeatures(featurePaths);
-        if (features.isEmpty()) {
+        log.debug(() -> "Loading features from " + featurePaths.stream().map(URI::toString).collect(joining(", ")));
+        List<Resource> resources = new ArrayList<>();
+        for (URI featurePath : featurePaths) {
+            List<Resource> found = featureScanner.scanForResourcesUri(featurePath);
+            if (found.isEmpty() && isFeature(featurePath)) {
+                throw new IllegalArgumentException("Feature not found: " + featurePath);
+            }
+            resources.addAll(found);
+        }
+        if (resources.isEmpty()) {
             if (featurePaths.isEmpty()) {
                 log.warn(() -> "Got no path to feature directory or feature file");
             } else {
@@ -51,22 +95,46 @@ public final class FeaturePathFeatureSupplier implements FeatureSupplier {
                     () -> "No features found at " + featurePaths.stream().map(URI::toString).collect(joining(", ")));
             }
         }
-        return features;
+        // Features are parsed, and duplicates are found, in lexical uri order
+        resources.sort(comparing(Resource::getUri));
+        return resources;
     }
 
-    private List<Feature> loadFeatures(List<URI> featurePaths) {
-        log.debug(() -> "Loading features from " + featurePaths.stream().map(URI::toString).collect(joining(", ")));
-        final FeatureBuilder builder = new FeatureBuilder();
-
-        for (URI featurePath : featurePaths) {
-            List<Feature> found = featureScanner.scanForResourcesUri(featurePath);
-            if (found.isEmpty() && isFeature(featurePath)) {
-                throw new IllegalArgumentException("Feature not found: " + featurePath);
+    private static Optional<Resource> readResource(Resource resource) {
+        // Read while the scanner has the (jar) file system open
+        try (InputStream inputStream = resource.getInputStream()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4 * 1024];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
             }
-            found.forEach(builder::addUnique);
+            return Optional.of(new ReadResource(resource.getUri(), bytes.toByteArray()));
+        } catch (IOException e) {
+            throw new CucumberException("Failed to read resource:" + resource.getUri(), e);
+        }
+    }
+
+    private static final class ReadResource implements Resource {
+
+        private final URI uri;
+        private final byte[] bytes;
+
+        ReadResource(URI uri, byte[] bytes) {
+            this.uri = uri;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public URI getUri() {
+            return uri;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(bytes);
         }
 
-        return builder.build();
     }
 
     static final class FeatureBuilder {
@@ -80,7 +148,7 @@ public final class FeaturePathFeatureSupplier implements FeatureSupplier {
             return features;
         }
 
-        void addUnique(Feature parsedFeature) {
+        boolean addUnique(Feature parsedFeature) {
             String parsedFileName = getFileName(parsedFeature);
 
             Map<String, Feature> existingFeatures = sourceToFeature.get(parsedFeature.getSource());
@@ -101,12 +169,13 @@ public final class FeaturePathFeatureSupplier implements FeatureSupplier {
                             "If your features are on the class path consider using a class path URI.\n" +
                             "For example: 'classpath:com/example/app.feature'\n" +
                             "Otherwise you'll have to provide a more specific location");
-                    return;
+                    return false;
                 }
             }
             sourceToFeature.putIfAbsent(parsedFeature.getSource(), new HashMap<>());
             sourceToFeature.get(parsedFeature.getSource()).put(parsedFileName, parsedFeature);
             features.add(parsedFeature);
+            return true;
         }
 
         private String getFileName(Feature feature) {
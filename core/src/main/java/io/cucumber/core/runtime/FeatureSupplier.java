@@ -3,9 +3,24 @@ package io.cucumber.core.runtime;
 import io.cucumber.core.gherkin.Feature;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Comparator.comparing;
 
 public interface FeatureSupplier {
 
     List<Feature> get();
 
+    /**
+     * Supplies features one at a time, in lexical uri order.
+     * <p>
+     * Allows pickles to be executed before all features have been parsed. By
+     * default waits for all features.
+     *
+     * @return a stream of features, in lexical uri order
+     */
+    default Stream<Feature> stream() {
+        return get().stream().sorted(comparing(Feature::getUri));
+    }
+
 }
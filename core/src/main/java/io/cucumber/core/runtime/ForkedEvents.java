@@ -0,0 +1,886 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.exception.CucumberException;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.plugin.event.Argument;
+import io.cucumber.plugin.event.DataTableArgument;
+import io.cucumber.plugin.event.DocStringArgument;
+import io.cucumber.plugin.event.EmbedEvent;
+import io.cucumber.plugin.event.Group;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.HookType;
+import io.cucumber.plugin.event.Location;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.SnippetsSuggestedEvent;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.Step;
+import io.cucumber.plugin.event.StepArgument;
+import io.cucumber.plugin.event.StepDefinedEvent;
+import io.cucumber.plugin.event.StepDefinition;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import io.cucumber.plugin.event.WriteEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Messages sent by a forked worker process to the process that forked it.
+ * <p>
+ * Plugin events refer to the test cases and steps of the runner that created
+ * them. These can not be sent to another process. So the worker sends a
+ * serializable snapshot of each event from which the parent recreates an
+ * equivalent event. Snapshots of the same test case are sent as references
+ * to the same object, so the recreated events of a test case share a single
+ * test case too.
+ */
+final class ForkedEvents {
+
+    private ForkedEvents() {
+
+    }
+
+    /**
+     * Takes snapshots of the events of a worker.
+     * <p>
+     * Snapshots are remembered until {@link #clear()}, to send events of the
+     * same test case with the same snapshot.
+     */
+    static final class Snapshots {
+
+        private final Map<TestCase, TestCaseSnapshot> testCases = new IdentityHashMap<>();
+
+        EventMessage toMessage(Object event) {
+            if (event instanceof TestCaseStarted) {
+                TestCaseStarted testCaseStarted = (TestCaseStarted) event;
+                return new TestCaseStartedMessage(testCaseStarted.getInstant(),
+                    snapshot(testCaseStarted.getTestCase()));
+            }
+            if (event instanceof TestStepStarted) {
+                TestStepStarted testStepStarted = (TestStepStarted) event;
+                TestCaseSnapshot testCase = snapshot(testStepStarted.getTestCase());
+                return new TestStepStartedMessage(testStepStarted.getInstant(), testCase,
+                    testCase.findTestStep(testStepStarted.getTestStep()));
+            }
+            if (event instanceof TestStepFinished) {
+                TestStepFinished testStepFinished = (TestStepFinished) event;
+                TestCaseSnapshot testCase = snapshot(testStepFinished.getTestCase());
+                return new TestStepFinishedMessage(testStepFinished.getInstant(), testCase,
+                    testCase.findTestStep(testStepFinished.getTestStep()),
+                    new ResultSnapshot(testStepFinished.getResult()));
+            }
+            if (event instanceof TestCaseFinished) {
+                TestCaseFinished testCaseFinished = (TestCaseFinished) event;
+                return new TestCaseFinishedMessage(testCaseFinished.getInstant(),
+                    snapshot(testCaseFinished.getTestCase()), new ResultSnapshot(testCaseFinished.getResult()));
+            }
+            if (event instanceof WriteEvent) {
+                WriteEvent writeEvent = (WriteEvent) event;
+                return new WriteMessage(writeEvent.getInstant(), snapshot(writeEvent.getTestCase()),
+                    writeEvent.getText());
+            }
+            if (event instanceof EmbedEvent) {
+                EmbedEvent embedEvent = (EmbedEvent) event;
+                return new EmbedMessage(embedEvent.getInstant(), snapshot(embedEvent.getTestCase()),
+                    embedEvent.getData(), embedEvent.getMediaType(), embedEvent.getName());
+            }
+            if (event instanceof SnippetsSuggestedEvent) {
+                SnippetsSuggestedEvent snippetsSuggested = (SnippetsSuggestedEvent) event;
+                return new SnippetsSuggestedMessage(snippetsSuggested.getInstant(), snippetsSuggested.getUri(),
+                    new LocationSnapshot(snippetsSuggested.getScenarioLocation()),
+                    new LocationSnapshot(snippetsSuggested.getStepLocation()),
+                    new ArrayList<>(snippetsSuggested.getSnippets()));
+            }
+            if (event instanceof StepDefinedEvent) {
+                StepDefinedEvent stepDefined = (StepDefinedEvent) event;
+                StepDefinition stepDefinition = stepDefined.getStepDefinition();
+                return new StepDefinedMessage(stepDefined.getInstant(), stepDefinition.getLocation(),
+                    stepDefinition.getPattern());
+            }
+            return null;
+        }
+
+        private TestCaseSnapshot snapshot(TestCase testCase) {
+            return testCases.computeIfAbsent(testCase, TestCaseSnapshot::new);
+        }
+
+        void clear() {
+            testCases.clear();
+        }
+
+    }
+
+    /**
+     * Sent when the worker is ready to execute pickles.
+     */
+    static final class Ready implements Serializable {
+
+        private static final long serialVersionUID = 20261017L;
+
+    }
+
+    /**
+     * Sent when the worker finished executing a pickle.
+     */
+    static final class Done implements Serializable {
+
+        private static final long serialVersionUID = 20261017L;
+
+    }
+
+    /**
+     * Sent when the worker could not start or execute a pickle.
+     */
+    static final class Failure implements Serializable {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final ThrowableSnapshot error;
+
+        Failure(Throwable error) {
+            this.error = new ThrowableSnapshot(error);
+        }
+
+        CucumberException toException(ClassLoader classLoader) {
+            Throwable throwable = error.toThrowable(classLoader);
+            if (throwable instanceof CucumberException) {
+                return (CucumberException) throwable;
+            }
+            return new CucumberException(throwable);
+        }
+
+    }
+
+    /**
+     * An envelope of the message protocol, in its binary format.
+     */
+    static final class EnvelopeMessage implements Serializable {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final byte[] envelope;
+
+        EnvelopeMessage(byte[] envelope) {
+            this.envelope = envelope;
+        }
+
+        byte[] getEnvelope() {
+            return envelope;
+        }
+
+    }
+
+    abstract static class EventMessage implements Serializable {
+
+        private static final long serialVersionUID = 20261017L;
+
+        final Instant instant;
+
+        EventMessage(Instant instant) {
+            this.instant = instant;
+        }
+
+        abstract Object toEvent(ClassLoader classLoader);
+
+    }
+
+    static final class TestCaseStartedMessage extends EventMessage {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final TestCaseSnapshot testCase;
+
+        TestCaseStartedMessage(Instant instant, TestCaseSnapshot testCase) {
+            super(instant);
+            this.testCase = testCase;
+        }
+
+        @Override
+        Object toEvent(ClassLoader classLoader) {
+            return new TestCaseStarted(instant, testCase);
+        }
+
+    }
+
+    static final class TestCaseFinishedMessage extends EventMessage {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final TestCaseSnapshot testCase;
+        private final ResultSnapshot result;
+
+        TestCaseFinishedMessage(Instant instant, TestCaseSnapshot testCase, ResultSnapshot result) {
+            super(instant);
+            this.testCase = testCase;
+            this.result = result;
+        }
+
+        @Override
+        Object toEvent(ClassLoader classLoader) {
+            return new TestCaseFinished(instant, testCase, result.toResult(classLoader));
+        }
+
+    }
+
+    static final class TestStepStartedMessage extends EventMessage {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final TestCaseSnapshot testCase;
+        private final TestStepSnapshot testStep;
+
+        TestStepStartedMessage(Instant instant, TestCaseSnapshot testCase, TestStepSnapshot testStep) {
+            super(instant);
+            this.testCase = testCase;
+            this.testStep = testStep;
+        }
+
+        @Override
+        Object toEvent(ClassLoader classLoader) {
+            return new TestStepStarted(instant, testCase, testStep);
+        }
+
+    }
+
+    static final class TestStepFinishedMessage extends EventMessage {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final TestCaseSnapshot testCase;
+        private final TestStepSnapshot testStep;
+        private final ResultSnapshot result;
+
+        TestStepFinishedMessage(
+                Instant instant, TestCaseSnapshot testCase, TestStepSnapshot testStep, ResultSnapshot result
+        ) {
+            super(instant);
+            this.testCase = testCase;
+            this.testStep = testStep;
+            this.result = result;
+        }
+
+        @Override
+        Object toEvent(ClassLoader classLoader) {
+            return new TestStepFinished(instant, testCase, testStep, result.toResult(classLoader));
+        }
+
+    }
+
+    static final class WriteMessage extends EventMessage {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final TestCaseSnapshot testCase;
+        private final String text;
+
+        WriteMessage(Instant instant, TestCaseSnapshot testCase, String text) {
+            super(instant);
+            this.testCase = testCase;
+            this.text = text;
+        }
+
+        @Override
+        Object toEvent(ClassLoader classLoader) {
+            return new WriteEvent(instant, testCase, text);
+        }
+
+    }
+
+    static final class EmbedMessage extends EventMessage {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final TestCaseSnapshot testCase;
+        private final byte[] data;
+        private final String mediaType;
+        private final String name;
+
+        EmbedMessage(Instant instant, TestCaseSnapshot testCase, byte[] data, String mediaType, String name) {
+            super(instant);
+            this.testCase = testCase;
+            this.data = data;
+            this.mediaType = mediaType;
+            this.name = name;
+        }
+
+        @Override
+        Object toEvent(ClassLoader classLoader) {
+            return new EmbedEvent(instant, testCase, data, mediaType, name);
+        }
+
+    }
+
+    static final class SnippetsSuggestedMessage extends EventMessage {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final URI uri;
+        private final LocationSnapshot scenarioLocation;
+        private final LocationSnapshot stepLocation;
+        private final List<String> snippets;
+
+        SnippetsSuggestedMessage(
+                Instant instant, URI uri, LocationSnapshot scenarioLocation, LocationSnapshot stepLocation,
+                List<String> snippets
+        ) {
+            super(instant);
+            this.uri = uri;
+            this.scenarioLocation = scenarioLocation;
+            this.stepLocation = stepLocation;
+            this.snippets = snippets;
+        }
+
+        @Override
+        Object toEvent(ClassLoader classLoader) {
+            return new SnippetsSuggestedEvent(instant, uri, scenarioLocation.toLocation(),
+                stepLocation.toLocation(), snippets);
+        }
+
+    }
+
+    static final class StepDefinedMessage extends EventMessage {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final String location;
+        private final String pattern;
+
+        StepDefinedMessage(Instant instant, String location, String pattern) {
+            super(instant);
+            this.location = location;
+            this.pattern = pattern;
+        }
+
+        @Override
+        Object toEvent(ClassLoader classLoader) {
+            return new StepDefinedEvent(instant, new StepDefinition(location, pattern));
+        }
+
+    }
+
+    static final class LocationSnapshot implements Serializable {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final int line;
+        private final int column;
+
+        LocationSnapshot(Location location) {
+            this.line = location.getLine();
+            this.column = location.getColumn();
+        }
+
+        Location toLocation() {
+            return new Location(line, column);
+        }
+
+    }
+
+    static final class ResultSnapshot implements Serializable {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final Status status;
+        private final Duration duration;
+        private final ThrowableSnapshot error;
+
+        ResultSnapshot(Result result) {
+            this.status = result.getStatus();
+            this.duration = result.getDuration();
+            this.error = result.getError() == null ? null : new ThrowableSnapshot(result.getError());
+        }
+
+        Result toResult(ClassLoader classLoader) {
+            return new Result(status, duration, error == null ? null : error.toThrowable(classLoader));
+        }
+
+    }
+
+    /**
+     * A throwable, serialized when possible. Otherwise only its description
+     * and stack trace are kept.
+     */
+    static final class ThrowableSnapshot implements Serializable {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final byte[] serialized;
+        private final String description;
+        private final StackTraceElement[] stackTrace;
+
+        ThrowableSnapshot(Throwable throwable) {
+            this.serialized = serialize(throwable);
+            this.description = throwable.toString();
+            this.stackTrace = throwable.getStackTrace();
+        }
+
+        private static byte[] serialize(Throwable throwable) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(throwable);
+            } catch (IOException e) {
+                return null;
+            }
+            return bytes.toByteArray();
+        }
+
+        Throwable toThrowable(ClassLoader classLoader) {
+            if (serialized != null) {
+                try (ObjectInputStream in = new ClassLoaderObjectInputStream(
+                    new ByteArrayInputStream(serialized), classLoader)) {
+                    return (Throwable) in.readObject();
+                } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                    // Fall through, the description is still useful
+                }
+            }
+            CucumberException exception = new CucumberException(description);
+            exception.setStackTrace(stackTrace);
+            return exception;
+        }
+
+    }
+
+    private static final class ClassLoaderObjectInputStream extends ObjectInputStream {
+
+        private final ClassLoader classLoader;
+
+        ClassLoaderObjectInputStream(InputStream in, ClassLoader classLoader) throws IOException {
+            super(in);
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            try {
+                return Class.forName(desc.getName(), false, classLoader);
+            } catch (ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+
+    }
+
+    static final class TestCaseSnapshot implements TestCase, Serializable {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final UUID id;
+        private final String name;
+        private final String keyword;
+        private final URI uri;
+        private final LocationSnapshot location;
+        private final List<String> tags;
+        private final List<TestStep> testSteps;
+
+        TestCaseSnapshot(TestCase testCase) {
+            this.id = testCase.getId();
+            this.name = testCase.getName();
+            this.keyword = testCase.getKeyword();
+            this.uri = testCase.getUri();
+            this.location = new LocationSnapshot(testCase.getLocation());
+            this.tags = new ArrayList<>(testCase.getTags());
+            this.testSteps = testCase.getTestSteps().stream()
+                    .map(TestCaseSnapshot::snapshot)
+                    .collect(toList());
+        }
+
+        TestCaseSnapshot(UUID id, Pickle pickle) {
+            this.id = id;
+            this.name = pickle.getName();
+            this.keyword = pickle.getKeyword();
+            this.uri = pickle.getUri();
+            this.location = new LocationSnapshot(pickle.getLocation());
+            this.tags = new ArrayList<>(pickle.getTags());
+            this.testSteps = Collections.emptyList();
+        }
+
+        private static TestStep snapshot(TestStep testStep) {
+            if (testStep instanceof PickleStepTestStep) {
+                return new PickleStepTestStepSnapshot((PickleStepTestStep) testStep);
+            }
+            if (testStep instanceof HookTestStep) {
+                return new HookTestStepSnapshot((HookTestStep) testStep);
+            }
+            return new TestStepSnapshot(testStep);
+        }
+
+        TestStepSnapshot findTestStep(TestStep testStep) {
+            for (TestStep snapshot : testSteps) {
+                if (snapshot.getId().equals(testStep.getId())) {
+                    return (TestStepSnapshot) snapshot;
+                }
+            }
+            throw new IllegalArgumentException("Test step " + testStep.getId() + " is not part of test case " + id);
+        }
+
+        @Override
+        public Integer getLine() {
+            return location.line;
+        }
+
+        @Override
+        public Location getLocation() {
+            return location.toLocation();
+        }
+
+        @Override
+        public String getKeyword() {
+            return keyword;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getScenarioDesignation() {
+            return uri.getSchemeSpecificPart() + ":" + location.line + " # " + name;
+        }
+
+        @Override
+        public List<String> getTags() {
+            return tags;
+        }
+
+        @Override
+        public List<TestStep> getTestSteps() {
+            return testSteps;
+        }
+
+        @Override
+        public URI getUri() {
+            return uri;
+        }
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+    }
+
+    static class TestStepSnapshot implements TestStep, Serializable {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final UUID id;
+        private final String codeLocation;
+
+        TestStepSnapshot(TestStep testStep) {
+            this.id = testStep.getId();
+            this.codeLocation = testStep.getCodeLocation();
+        }
+
+        @Override
+        public String getCodeLocation() {
+            return codeLocation;
+        }
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+    }
+
+    static final class HookTestStepSnapshot extends TestStepSnapshot implements HookTestStep {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final HookType hookType;
+
+        HookTestStepSnapshot(HookTestStep testStep) {
+            super(testStep);
+            this.hookType = testStep.getHookType();
+        }
+
+        @Override
+        public HookType getHookType() {
+            return hookType;
+        }
+
+    }
+
+    static final class PickleStepTestStepSnapshot extends TestStepSnapshot implements PickleStepTestStep {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final String pattern;
+        private final StepSnapshot step;
+        private final List<Argument> definitionArguments;
+        private final URI uri;
+
+        PickleStepTestStepSnapshot(PickleStepTestStep testStep) {
+            super(testStep);
+            this.pattern = testStep.getPattern();
+            this.step = new StepSnapshot(testStep.getStep());
+            this.definitionArguments = testStep.getDefinitionArgument().stream()
+                    .map(ArgumentSnapshot::new)
+                    .collect(toList());
+            this.uri = testStep.getUri();
+        }
+
+        @Override
+        public String getPattern() {
+            return pattern;
+        }
+
+        @Override
+        public Step getStep() {
+            return step;
+        }
+
+        @Override
+        public List<Argument> getDefinitionArgument() {
+            return definitionArguments;
+        }
+
+        @Override
+        public StepArgument getStepArgument() {
+            return step.getArgument();
+        }
+
+        @Override
+        public int getStepLine() {
+            return step.getLine();
+        }
+
+        @Override
+        public URI getUri() {
+            return uri;
+        }
+
+        @Override
+        public String getStepText() {
+            return step.getText();
+        }
+
+    }
+
+    static final class StepSnapshot implements Step, Serializable {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final StepArgument argument;
+        private final String keyword;
+        private final String text;
+        private final LocationSnapshot location;
+
+        StepSnapshot(Step step) {
+            this.argument = snapshot(step.getArgument());
+            this.keyword = step.getKeyword();
+            this.text = step.getText();
+            this.location = new LocationSnapshot(step.getLocation());
+        }
+
+        private static StepArgument snapshot(StepArgument argument) {
+            if (argument instanceof DataTableArgument) {
+                return new DataTableArgumentSnapshot((DataTableArgument) argument);
+            }
+            if (argument instanceof DocStringArgument) {
+                return new DocStringArgumentSnapshot((DocStringArgument) argument);
+            }
+            return null;
+        }
+
+        @Override
+        public StepArgument getArgument() {
+            return argument;
+        }
+
+        @Override
+        public String getKeyword() {
+            return keyword;
+        }
+
+        @Override
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public int getLine() {
+            return location.line;
+        }
+
+        @Override
+        public Location getLocation() {
+            return location.toLocation();
+        }
+
+    }
+
+    static final class DataTableArgumentSnapshot implements DataTableArgument, Serializable {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final List<List<String>> cells;
+        private final int line;
+
+        DataTableArgumentSnapshot(DataTableArgument argument) {
+            this.cells = argument.cells().stream()
+                    .map(ArrayList::new)
+                    .collect(toList());
+            this.line = argument.getLine();
+        }
+
+        @Override
+        public List<List<String>> cells() {
+            return cells;
+        }
+
+        @Override
+        public int getLine() {
+            return line;
+        }
+
+    }
+
+    static final class DocStringArgumentSnapshot implements DocStringArgument, Serializable {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final String content;
+        private final String contentType;
+        private final String mediaType;
+        private final int line;
+
+        DocStringArgumentSnapshot(DocStringArgument argument) {
+            this.content = argument.getContent();
+            this.contentType = argument.getContentType();
+            this.mediaType = argument.getMediaType();
+            this.line = argument.getLine();
+        }
+
+        @Override
+        public String getContent() {
+            return content;
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        @Override
+        public int getLine() {
+            return line;
+        }
+
+    }
+
+    static final class ArgumentSnapshot implements Argument, Serializable {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final String parameterTypeName;
+        private final String value;
+        private final int start;
+        private final int end;
+        private final GroupSnapshot group;
+
+        ArgumentSnapshot(Argument argument) {
+            this.parameterTypeName = argument.getParameterTypeName();
+            this.value = argument.getValue();
+            this.start = argument.getStart();
+            this.end = argument.getEnd();
+            this.group = argument.getGroup() == null ? null : new GroupSnapshot(argument.getGroup());
+        }
+
+        @Override
+        public String getParameterTypeName() {
+            return parameterTypeName;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public int getStart() {
+            return start;
+        }
+
+        @Override
+        public int getEnd() {
+            return end;
+        }
+
+        @Override
+        public Group getGroup() {
+            return group;
+        }
+
+    }
+
+    static final class GroupSnapshot implements Group, Serializable {
+
+        private static final long serialVersionUID = 20261017L;
+
+        private final List<Group> children;
+        private final String value;
+        private final int start;
+        private final int end;
+
+        GroupSnapshot(Group group) {
+            this.children = group.getChildren().stream()
+                    .map(GroupSnapshot::new)
+                    .collect(toList());
+            this.value = group.getValue();
+            this.start = group.getStart();
+            this.end = group.getEnd();
+        }
+
+        @Override
+        public Collection<Group> getChildren() {
+            return children;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public int getStart() {
+            return start;
+        }
+
+        @Override
+        public int getEnd() {
+            return end;
+        }
+
+    }
+
+}
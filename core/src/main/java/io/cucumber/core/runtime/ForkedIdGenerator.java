@@ -0,0 +1,26 @@
+package io.cucumber.core.runtime;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Generates the same sequence of ids in every process.
+ * <p>
+ * The forking process and its workers parse the same features in the same
+ * order. With this generator each pickle, and each node of the gherkin
+ * document, gets the same id in every process. So pickles can be identified
+ * by their id and the messages of the workers refer to the pickles sent by
+ * the forking process.
+ */
+final class ForkedIdGenerator implements Supplier<UUID> {
+
+    private long next;
+
+    @Override
+    public synchronized UUID get() {
+        return UUID.nameUUIDFromBytes(("cucumber-forked-" + next++).getBytes(UTF_8));
+    }
+
+}
@@ -0,0 +1,308 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.exception.CucumberException;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.logging.Logger;
+import io.cucumber.core.logging.LoggerFactory;
+import io.cucumber.messages.Messages;
+import io.cucumber.messages.Messages.Envelope;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static io.cucumber.messages.TimeConversion.javaInstantToTimestamp;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A worker process forked to execute pickles.
+ * <p>
+ * The events sent by the worker are passed on to the event bus of this
+ * process as they arrive. When the worker exits while executing a pickle, the
+ * pickle is reported as failed.
+ */
+final class ForkedWorker {
+
+    static final byte EXIT = 0;
+    static final byte RUN = 1;
+    static final byte SKIP = 2;
+
+    private static final Logger log = LoggerFactory.getLogger(ForkedWorker.class);
+    static final long CONNECT_TIMEOUT_MILLIS = 60_000;
+
+    private static final int ACCEPT_TIMEOUT_MILLIS = 100;
+    private static final int HANDSHAKE_TIMEOUT_MILLIS = 60_000;
+    private static final long EXIT_TIMEOUT_SECONDS = 10;
+
+    private final Process process;
+    private final Socket socket;
+    private final ObjectInputStream in;
+    private final ObjectOutputStream out;
+    private final EventBus bus;
+    private final ClassLoader classLoader;
+
+    private ForkedWorker(
+            Process process, Socket socket, ObjectInputStream in, ObjectOutputStream out, EventBus bus,
+            ClassLoader classLoader
+    ) {
+        this.process = process;
+        this.socket = socket;
+        this.in = in;
+        this.out = out;
+        this.bus = bus;
+        this.classLoader = classLoader;
+    }
+
+    static ForkedWorker start(ForkedWorkerOptions options, EventBus bus, ClassLoader classLoader) {
+        return start(options, bus, classLoader, ForkedWorkerMain.class, CONNECT_TIMEOUT_MILLIS);
+    }
+
+    static ForkedWorker start(
+            ForkedWorkerOptions options, EventBus bus, ClassLoader classLoader, Class<?> mainClass,
+            long connectTimeoutMillis
+    ) {
+        // Only a process that was given the token is accepted as worker
+        String token = UUID.randomUUID().toString();
+        Process process = null;
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            process = new ProcessBuilder(command(mainClass, server.getLocalPort(), token)).inheritIO().start();
+            Socket socket = accept(server, process, connectTimeoutMillis);
+            socket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+            ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.flush();
+            ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(socket.getInputStream()));
+            if (!token.equals(in.readUTF())) {
+                throw new CucumberException("The worker process did not present the expected token");
+            }
+            socket.setSoTimeout(0);
+
+            ForkedWorker worker = new ForkedWorker(process, socket, in, out, bus, classLoader);
+            out.writeObject(options);
+            out.flush();
+            Object reply = worker.receive(new InFlightTestCase());
+            if (reply instanceof ForkedEvents.Failure) {
+                worker.close();
+                throw ((ForkedEvents.Failure) reply).toException(classLoader);
+            }
+            return worker;
+        } catch (IOException | ClassNotFoundException e) {
+            if (process != null) {
+                process.destroyForcibly();
+            }
+            throw new CucumberException("Could not start a worker process", e);
+        } catch (CucumberException e) {
+            if (process != null) {
+                process.destroyForcibly();
+            }
+            throw e;
+        }
+    }
+
+    private static List<String> command(Class<?> mainClass, int port, String token) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        // Same heap, agents and module options as this process
+        ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .filter(argument -> !isDebugAgent(argument))
+                .filter(argument -> !argument.startsWith("-Dcucumber."))
+                .forEach(command::add);
+        // Including the cucumber properties set after this process started
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("cucumber."))
+                .sorted()
+                .forEach(name -> command.add("-D" + name + "=" + System.getProperty(name)));
+        command.add(mainClass.getName());
+        command.add(Integer.toString(port));
+        command.add(token);
+        return command;
+    }
+
+    private static boolean isDebugAgent(String argument) {
+        // Workers would try to listen on the same debug port
+        return argument.startsWith("-agentlib:jdwp")
+                || argument.startsWith("-Xrunjdwp")
+                || argument.equals("-Xdebug");
+    }
+
+    private static Socket accept(ServerSocket server, Process process, long connectTimeoutMillis)
+            throws IOException {
+        server.setSoTimeout(ACCEPT_TIMEOUT_MILLIS);
+        long deadline = System.nanoTime() + MILLISECONDS.toNanos(connectTimeoutMillis);
+        while (true) {
+            try {
+                return server.accept();
+            } catch (SocketTimeoutException e) {
+                if (!process.isAlive()) {
+                    throw new CucumberException(
+                        "The worker process exited with code " + process.exitValue() + " before it connected");
+                }
+                // A worker that hangs, e.g. in a static initializer, is
+                // destroyed by start
+                if (System.nanoTime() - deadline >= 0) {
+                    throw new CucumberException(
+                        "The worker process did not connect within " + connectTimeoutMillis + " milliseconds");
+                }
+            }
+        }
+    }
+
+    /**
+     * Executes a pickle in the worker.
+     *
+     * @param  pickle             the pickle to execute
+     * @param  skip               whether the pickle should be skipped
+     * @return                    false if the worker exited, the pickle was
+     *                            then reported as failed
+     * @throws CucumberException when the worker could not execute the
+     *                            pickle
+     */
+    boolean execute(Pickle pickle, boolean skip) {
+        InFlightTestCase inFlight = new InFlightTestCase();
+        try {
+            out.writeByte(skip ? SKIP : RUN);
+            out.writeUTF(pickle.getId());
+            out.flush();
+            Object reply = receive(inFlight);
+            if (reply instanceof ForkedEvents.Failure) {
+                throw ((ForkedEvents.Failure) reply).toException(classLoader);
+            }
+            return true;
+        } catch (IOException | ClassNotFoundException e) {
+            log.debug(e, () -> "Lost connection to worker process");
+            int exitCode = destroy();
+            reportExited(pickle, inFlight, exitCode);
+            return false;
+        }
+    }
+
+    private Object receive(InFlightTestCase inFlight) throws IOException, ClassNotFoundException {
+        while (true) {
+            Object message = in.readObject();
+            if (message instanceof ForkedEvents.EnvelopeMessage) {
+                Envelope envelope = Envelope.parseFrom(((ForkedEvents.EnvelopeMessage) message).getEnvelope());
+                inFlight.update(envelope);
+                bus.send(envelope);
+            } else if (message instanceof ForkedEvents.EventMessage) {
+                Object event = ((ForkedEvents.EventMessage) message).toEvent(classLoader);
+                inFlight.update(event);
+                bus.send(event);
+            } else {
+                return message;
+            }
+        }
+    }
+
+    private void reportExited(Pickle pickle, InFlightTestCase inFlight, int exitCode) {
+        Instant instant = bus.getInstant();
+        Result result = new Result(Status.FAILED, Duration.ZERO, new CucumberException(
+            "The worker process executing " + pickle.getUri() + ":" + pickle.getLocation().getLine()
+                    + " exited with code " + exitCode));
+        TestCase testCase = inFlight.testCase;
+        String testCaseStartedId = inFlight.testCaseStartedId;
+        if (testCase == null) {
+            UUID testCaseId = bus.generateId();
+            testCase = new ForkedEvents.TestCaseSnapshot(testCaseId, pickle);
+            testCaseStartedId = bus.generateId().toString();
+            bus.send(Envelope.newBuilder()
+                    .setTestCase(Messages.TestCase.newBuilder()
+                            .setId(testCaseId.toString())
+                            .setPickleId(pickle.getId()))
+                    .build());
+            bus.send(new TestCaseStarted(instant, testCase));
+            bus.send(Envelope.newBuilder()
+                    .setTestCaseStarted(Messages.TestCaseStarted.newBuilder()
+                            .setId(testCaseStartedId)
+                            .setTestCaseId(testCaseId.toString())
+                            .setTimestamp(javaInstantToTimestamp(instant)))
+                    .build());
+        }
+        bus.send(new TestCaseFinished(instant, testCase, result));
+        if (testCaseStartedId != null) {
+            bus.send(Envelope.newBuilder()
+                    .setTestCaseFinished(Messages.TestCaseFinished.newBuilder()
+                            .setTestCaseStartedId(testCaseStartedId)
+                            .setTimestamp(javaInstantToTimestamp(instant)))
+                    .build());
+        }
+    }
+
+    /**
+     * Asks the worker to exit and waits until it did.
+     */
+    void close() {
+        try {
+            out.writeByte(EXIT);
+            out.flush();
+        } catch (IOException e) {
+            log.debug(e, () -> "Worker process already exited");
+        }
+        destroy();
+    }
+
+    private int destroy() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            log.debug(e, () -> "Could not close connection to worker process");
+        }
+        try {
+            if (!process.waitFor(EXIT_TIMEOUT_SECONDS, SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            return process.exitValue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+            return -1;
+        }
+    }
+
+    /**
+     * The test case the worker was executing, if it had started one.
+     */
+    private static final class InFlightTestCase {
+
+        private TestCase testCase;
+        private String testCaseStartedId;
+
+        void update(Object event) {
+            if (event instanceof TestCaseStarted) {
+                testCase = ((TestCaseStarted) event).getTestCase();
+            } else if (event instanceof TestCaseFinished) {
+                testCase = null;
+            }
+        }
+
+        void update(Envelope envelope) {
+            if (envelope.hasTestCaseStarted()) {
+                testCaseStartedId = envelope.getTestCaseStarted().getId();
+            } else if (envelope.hasTestCaseFinished()) {
+                testCaseStartedId = null;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,162 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.exception.CucumberException;
+import io.cucumber.core.feature.FeatureParser;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.core.resource.ClassLoaders;
+import io.cucumber.core.runner.Runner;
+import io.cucumber.messages.Messages.Envelope;
+import io.cucumber.plugin.event.Event;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Entry point of a worker process forked by the {@link Runtime}.
+ * <p>
+ * The worker connects to the process that forked it, parses the same features
+ * and executes the pickles it is sent one at a time. All events are sent back
+ * to the forking process. Not intended to be started by hand.
+ */
+public final class ForkedWorkerMain {
+
+    private final ObjectInputStream in;
+    private final ObjectOutputStream out;
+    private final ForkedEvents.Snapshots snapshots = new ForkedEvents.Snapshots();
+
+    private ForkedWorkerMain(ObjectInputStream in, ObjectOutputStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * @param  args                   the port of the forking process and the
+     *                                token to connect with
+     * @throws IOException            when the connection to the forking
+     *                                process fails
+     * @throws ClassNotFoundException when the options of the forking process
+     *                                can not be read
+     */
+    public static void main(String... args) throws IOException, ClassNotFoundException {
+        int port = Integer.parseInt(args[0]);
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeUTF(args[1]);
+            out.flush();
+            ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(socket.getInputStream()));
+            new ForkedWorkerMain(in, out).run();
+        }
+        // Glue may have started non-daemon threads
+        System.exit(0);
+    }
+
+    private void run() throws IOException, ClassNotFoundException {
+        ForkedWorkerOptions options = (ForkedWorkerOptions) in.readObject();
+        Map<String, Pickle> pickles = new HashMap<>();
+        Runner runner;
+        try {
+            Supplier<ClassLoader> classLoader = ClassLoaders::getDefaultClassLoader;
+            RuntimeOptions runtimeOptions = options.toRuntimeOptions(classLoader.get());
+
+            EventBus bus = new TimeServiceEventBus(new MonotonicClock(),
+                new IdGeneratorServiceLoader(runtimeOptions).loadIdGenerator()::generateId);
+            bus.registerHandlerFor(Event.class, this::sendEvent);
+            bus.registerHandlerFor(Envelope.class, this::sendEnvelope);
+
+            ObjectFactorySupplier objectFactorySupplier = new SingletonObjectFactorySupplier(
+                new ObjectFactoryServiceLoader(runtimeOptions));
+            BackendSupplier backendSupplier = new BackendServiceLoader(classLoader, objectFactorySupplier);
+            TypeRegistryConfigurerSupplier typeRegistryConfigurerSupplier = new ScanningTypeRegistryConfigurerSupplier(
+                classLoader, runtimeOptions);
+            RunnerSupplier runnerSupplier = new SingletonRunnerSupplier(runtimeOptions, bus, backendSupplier,
+                objectFactorySupplier, typeRegistryConfigurerSupplier);
+
+            // Same features, same order, same ids as the forking process
+            FeatureParser parser = new FeatureParser(new ForkedIdGenerator());
+            for (Feature feature : new FeaturePathFeatureSupplier(classLoader, runtimeOptions, parser).get()) {
+                for (Pickle pickle : feature.getPickles()) {
+                    pickles.put(pickle.getId(), pickle);
+                }
+            }
+            runner = runnerSupplier.get();
+        } catch (Throwable e) {
+            send(new ForkedEvents.Failure(e));
+            flush();
+            return;
+        }
+        send(new ForkedEvents.Ready());
+        flush();
+
+        while (true) {
+            byte command = in.readByte();
+            if (command == ForkedWorker.EXIT) {
+                return;
+            }
+            String pickleId = in.readUTF();
+            execute(runner, pickles.get(pickleId), pickleId, command == ForkedWorker.SKIP);
+        }
+    }
+
+    private void execute(Runner runner, Pickle pickle, String pickleId, boolean skip) {
+        try {
+            if (pickle == null) {
+                throw new CucumberException("The worker did not find a pickle with id " + pickleId);
+            }
+            if (skip) {
+                runner.skipPickle(pickle);
+            } else {
+                runner.runPickle(pickle);
+            }
+            send(new ForkedEvents.Done());
+        } catch (UncheckedIOException e) {
+            throw e;
+        } catch (Throwable e) {
+            send(new ForkedEvents.Failure(e));
+        }
+        flush();
+    }
+
+    private synchronized void sendEvent(Event event) {
+        ForkedEvents.EventMessage message = snapshots.toMessage(event);
+        if (message != null) {
+            send(message);
+        }
+    }
+
+    private void sendEnvelope(Envelope envelope) {
+        send(new ForkedEvents.EnvelopeMessage(envelope.toByteArray()));
+    }
+
+    private synchronized void send(Serializable message) {
+        try {
+            out.writeObject(message);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private synchronized void flush() {
+        try {
+            // Forget the snapshots of the finished pickle
+            out.reset();
+            snapshots.clear();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.backend.ObjectFactory;
+import io.cucumber.core.eventbus.IdGenerator;
+import io.cucumber.core.exception.CucumberException;
+import io.cucumber.core.feature.FeatureWithLines;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.core.options.RuntimeOptionsBuilder;
+import io.cucumber.core.snippets.SnippetType;
+
+import java.io.Serializable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The options a forked worker needs to execute pickles.
+ * <p>
+ * Filters and plugins are not included. The forking process selects the
+ * pickles and receives the events of the worker.
+ */
+final class ForkedWorkerOptions implements Serializable {
+
+    private static final long serialVersionUID = 20261017L;
+
+    private final List<URI> featurePaths;
+    private final List<URI> glue;
+    private final String objectFactoryClass;
+    private final String idGeneratorClass;
+    private final boolean dryRun;
+    private final SnippetType snippetType;
+    private final int stepMatchCacheSize;
+
+    ForkedWorkerOptions(RuntimeOptions runtimeOptions) {
+        this.featurePaths = new ArrayList<>(runtimeOptions.getFeaturePaths());
+        this.glue = new ArrayList<>(runtimeOptions.getGlue());
+        Class<? extends ObjectFactory> objectFactoryClass = runtimeOptions.getObjectFactoryClass();
+        this.objectFactoryClass = objectFactoryClass == null ? null : objectFactoryClass.getName();
+        Class<? extends IdGenerator> idGeneratorClass = runtimeOptions.getIdGeneratorClass();
+        this.idGeneratorClass = idGeneratorClass == null ? null : idGeneratorClass.getName();
+        this.dryRun = runtimeOptions.isDryRun();
+        this.snippetType = runtimeOptions.getSnippetType();
+        this.stepMatchCacheSize = runtimeOptions.getStepMatchCacheSize();
+    }
+
+    RuntimeOptions toRuntimeOptions(ClassLoader classLoader) {
+        RuntimeOptionsBuilder builder = new RuntimeOptionsBuilder();
+        for (URI featurePath : featurePaths) {
+            builder.addFeature(FeatureWithLines.create(featurePath, Collections.emptyList()));
+        }
+        for (URI gluePath : glue) {
+            builder.addGlue(gluePath);
+        }
+        if (objectFactoryClass != null) {
+            builder.setObjectFactoryClass(
+                loadClass(classLoader, objectFactoryClass, ObjectFactory.class, "object factory"));
+        }
+        if (idGeneratorClass != null) {
+            builder.setIdGeneratorClass(
+                loadClass(classLoader, idGeneratorClass, IdGenerator.class, "id generator"));
+        }
+        return builder
+                .setDryRun(dryRun)
+                .setSnippetType(snippetType)
+                .setStepMatchCacheSize(stepMatchCacheSize)
+                .build();
+    }
+
+    private static <T> Class<? extends T> loadClass(
+            ClassLoader classLoader, String className, Class<T> type, String description
+    ) {
+        try {
+            return Class.forName(className, true, classLoader).asSubclass(type);
+        } catch (ClassNotFoundException e) {
+            throw new CucumberException("Could not load " + description + " " + className, e);
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.exception.CucumberException;
+import io.cucumber.core.gherkin.Pickle;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Executes groups of pickles in forked worker processes.
+ * <p>
+ * Workers are started on demand, so there are at most as many workers as
+ * groups executed concurrently. Idle workers are kept and used for the next
+ * group. A worker that exits while executing a pickle is replaced for the
+ * remaining pickles of its group.
+ */
+final class ForkedWorkerPool {
+
+    private final ForkedWorkerOptions options;
+    private final EventBus bus;
+    private final ExitStatus exitStatus;
+    private final Supplier<ClassLoader> classLoader;
+    private final Class<?> workerMainClass;
+    private final Queue<ForkedWorker> idleWorkers = new ConcurrentLinkedQueue<>();
+    private volatile CucumberException startFailure;
+
+    ForkedWorkerPool(
+            ForkedWorkerOptions options, EventBus bus, ExitStatus exitStatus, Supplier<ClassLoader> classLoader
+    ) {
+        this(options, bus, exitStatus, classLoader, ForkedWorkerMain.class);
+    }
+
+    ForkedWorkerPool(
+            ForkedWorkerOptions options, EventBus bus, ExitStatus exitStatus, Supplier<ClassLoader> classLoader,
+            Class<?> workerMainClass
+    ) {
+        this.options = options;
+        this.bus = SynchronizedEventBus.synchronizeIfNeeded(bus);
+        this.exitStatus = exitStatus;
+        this.classLoader = classLoader;
+        this.workerMainClass = workerMainClass;
+    }
+
+    void execute(List<Pickle> group) {
+        ForkedWorker worker = idleWorkers.poll();
+        try {
+            for (Pickle pickle : group) {
+                if (worker == null) {
+                    worker = start();
+                }
+                // Pickles that start after the maximum number of failures was
+                // reached are skipped
+                if (!worker.execute(pickle, exitStatus.isMaxFailuresReached())) {
+                    worker = null;
+                }
+            }
+        } finally {
+            if (worker != null) {
+                idleWorkers.add(worker);
+            }
+        }
+    }
+
+    private ForkedWorker start() {
+        // Workers that could not start will not start next time either
+        CucumberException startFailure = this.startFailure;
+        if (startFailure != null) {
+            throw startFailure;
+        }
+        try {
+            return ForkedWorker.start(options, bus, classLoader.get(), workerMainClass,
+                ForkedWorker.CONNECT_TIMEOUT_MILLIS);
+        } catch (CucumberException e) {
+            this.startFailure = e;
+            throw e;
+        }
+    }
+
+    void close() {
+        ForkedWorker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            worker.close();
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package io.cucumber.core.runtime;
+
+/**
+ * Decides which pickles are executed together, in order, on a single thread
+ * when executing pickles in parallel.
+ */
+public enum Granularity {
+
+    /**
+     * Each pickle is executed on its own.
+     */
+    PICKLE,
+
+    /**
+     * The pickles of a rule are executed together. Pickles that are not part
+     * of a rule are executed on their own.
+     */
+    RULE,
+
+    /**
+     * The pickles of a feature are executed together.
+     */
+    FEATURE
+
+}
@@ -0,0 +1,50 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.eventbus.IdGenerator;
+import io.cucumber.core.eventbus.Options;
+import io.cucumber.core.eventbus.RandomIdGenerator;
+import io.cucumber.core.exception.CucumberException;
+
+import java.util.ServiceLoader;
+
+import static java.util.Objects.requireNonNull;
+
+public final class IdGeneratorServiceLoader {
+
+    private final Options options;
+
+    public IdGeneratorServiceLoader(Options options) {
+        this.options = requireNonNull(options);
+    }
+
+    /**
+     * Loads an instance of {@link IdGenerator} using the {@link ServiceLoader}
+     * mechanism.
+     * <p>
+     * Will load an instance of the class provided by
+     * {@link Options#getIdGeneratorClass()}. If
+     * {@link Options#getIdGeneratorClass()} does not provide a class the
+     * {@link RandomIdGenerator} will be used.
+     *
+     * @return an instance of {@link IdGenerator}
+     */
+    public IdGenerator loadIdGenerator() {
+        Class<? extends IdGenerator> idGeneratorClass = options.getIdGeneratorClass();
+        if (idGeneratorClass == null) {
+            return new RandomIdGenerator();
+        }
+
+        final ServiceLoader<IdGenerator> loader = ServiceLoader.load(IdGenerator.class);
+        for (IdGenerator idGenerator : loader) {
+            if (idGeneratorClass.equals(idGenerator.getClass())) {
+                return idGenerator;
+            }
+        }
+
+        throw new CucumberException("" +
+                "Could not find id generator " + idGeneratorClass.getName() + ".\n" +
+                "Cucumber uses SPI to discover id generator implementations.\n" +
+                "Has the class been registered with SPI and is it available on the classpath?");
+    }
+
+}
@@ -0,0 +1,47 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.eventbus.AbstractEventBus;
+import io.cucumber.core.eventbus.EventBus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event bus of a single runner.
+ * <p>
+ * Passes all events on to the event bus shared by all runners. Handlers
+ * registered on this bus only receive events sent by its runner.
+ */
+final class LocalEventBus extends AbstractEventBus {
+
+    private final EventBus parent;
+
+    LocalEventBus(final EventBus parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public <T> void send(final T event) {
+        // Most runners have no handlers of their own
+        if (!handlers.isEmpty()) {
+            super.send(event);
+        }
+        parent.send(event);
+    }
+
+    @Override
+    public boolean hasHandlerFor(Class<?> eventType) {
+        return super.hasHandlerFor(eventType) || parent.hasHandlerFor(eventType);
+    }
+
+    @Override
+    public Instant getInstant() {
+        return parent.getInstant();
+    }
+
+    @Override
+    public UUID generateId() {
+        return parent.generateId();
+    }
+
+}
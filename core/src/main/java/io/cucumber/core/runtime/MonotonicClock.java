@@ -0,0 +1,82 @@
+package io.cucumber.core.runtime;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Clock that tells time by {@link System#nanoTime()}.
+ * <p>
+ * The wall clock is read once, when the clock is first used, i.e. when the
+ * test run starts. Later instants are that instant plus the elapsed nano
+ * time. So durations between instants are monotonic and have nanosecond
+ * resolution, regardless of adjustments to or the resolution of the wall
+ * clock.
+ */
+public final class MonotonicClock extends Clock {
+
+    private final Clock wallClock;
+    private final LongSupplier nanoTime;
+    private final AtomicReference<Anchor> anchor;
+    private final ZoneId zone;
+
+    public MonotonicClock() {
+        this(Clock.systemUTC(), System::nanoTime);
+    }
+
+    MonotonicClock(Clock wallClock, LongSupplier nanoTime) {
+        this(wallClock, nanoTime, new AtomicReference<>(), wallClock.getZone());
+    }
+
+    private MonotonicClock(Clock wallClock, LongSupplier nanoTime, AtomicReference<Anchor> anchor, ZoneId zone) {
+        this.wallClock = wallClock;
+        this.nanoTime = nanoTime;
+        this.anchor = anchor;
+        this.zone = zone;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        if (Objects.equals(zone, this.zone)) {
+            return this;
+        }
+        // Shares the anchor, so instants of both clocks are comparable
+        return new MonotonicClock(wallClock, nanoTime, anchor, zone);
+    }
+
+    @Override
+    public Instant instant() {
+        Anchor anchor = this.anchor.get();
+        if (anchor == null) {
+            this.anchor.compareAndSet(null, new Anchor(wallClock.instant(), nanoTime.getAsLong()));
+            anchor = this.anchor.get();
+        }
+        return anchor.instant.plusNanos(nanoTime.getAsLong() - anchor.nanoTime);
+    }
+
+    @Override
+    public String toString() {
+        return "MonotonicClock[" + zone + "]";
+    }
+
+    private static final class Anchor {
+
+        private final Instant instant;
+        private final long nanoTime;
+
+        Anchor(Instant instant, long nanoTime) {
+            this.instant = instant;
+            this.nanoTime = nanoTime;
+        }
+
+    }
+
+}
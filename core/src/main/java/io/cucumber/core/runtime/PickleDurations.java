@@ -0,0 +1,108 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.history.History;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Estimates the duration of each pickle from its {@link History}.
+ */
+final class PickleDurations {
+
+    private final History history;
+
+    PickleDurations(History history) {
+        this.history = history;
+    }
+
+    private Long findNanos(Pickle pickle) {
+        return history.find(pickle).map(pickleHistory -> pickleHistory.getDuration().toNanos()).orElse(null);
+    }
+
+    /**
+     * Orders pickles by their expected duration, longest first.
+     * <p>
+     * Pickles without a previous duration are estimated from their number of
+     * steps and the average duration of a step in pickles that do have a
+     * previous duration. Pickles with the same expected duration keep their
+     * relative order.
+     *
+     * @param  pickles the pickles to order
+     * @return         a new list with the pickles, longest first
+     */
+    List<Pickle> orderLongestFirst(List<Pickle> pickles) {
+        List<List<Pickle>> groups = new ArrayList<>(pickles.size());
+        for (Pickle pickle : pickles) {
+            groups.add(singletonList(pickle));
+        }
+        List<Pickle> ordered = new ArrayList<>(pickles.size());
+        for (List<Pickle> group : orderGroupsLongestFirst(groups)) {
+            ordered.add(group.get(0));
+        }
+        return ordered;
+    }
+
+    /**
+     * Orders groups of pickles by their expected duration, longest first.
+     * <p>
+     * The expected duration of a group is the sum of the expected durations
+     * of its pickles.
+     *
+     * @param  groups the groups to order
+     * @return        a new list with the groups, longest first
+     * @see           #orderLongestFirst(List)
+     */
+    List<List<Pickle>> orderGroupsLongestFirst(List<List<Pickle>> groups) {
+        long knownNanos = 0;
+        long knownSteps = 0;
+        for (List<Pickle> group : groups) {
+            for (Pickle pickle : group) {
+                Long nanos = findNanos(pickle);
+                if (nanos != null) {
+                    knownNanos += nanos;
+                    knownSteps += Math.max(1, pickle.getSteps().size());
+                }
+            }
+        }
+        double nanosPerStep = knownSteps == 0 ? 1 : (double) knownNanos / knownSteps;
+
+        List<ExpectedDuration> expectedDurations = new ArrayList<>(groups.size());
+        for (List<Pickle> group : groups) {
+            double expected = 0;
+            for (Pickle pickle : group) {
+                Long nanos = findNanos(pickle);
+                expected += nanos != null ? nanos : Math.max(1, pickle.getSteps().size()) * nanosPerStep;
+            }
+            expectedDurations.add(new ExpectedDuration(group, expected));
+        }
+        expectedDurations.sort(Comparator.comparingDouble(ExpectedDuration::getNanos).reversed());
+
+        List<List<Pickle>> ordered = new ArrayList<>(groups.size());
+        for (ExpectedDuration expectedDuration : expectedDurations) {
+            ordered.add(expectedDuration.group);
+        }
+        return ordered;
+    }
+
+    private static final class ExpectedDuration {
+
+        private final List<Pickle> group;
+        private final double nanos;
+
+        ExpectedDuration(List<Pickle> group, double nanos) {
+            this.group = group;
+            this.nanos = nanos;
+        }
+
+        double getNanos() {
+            return nanos;
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.plugin.event.Node;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Groups pickles that are executed together, in order, on a single thread.
+ */
+final class PickleGrouper {
+
+    private final Granularity granularity;
+    private final Map<URI, Feature> features = new HashMap<>();
+
+    PickleGrouper(Granularity granularity) {
+        this.granularity = granularity;
+    }
+
+    void addFeature(Feature feature) {
+        if (granularity == Granularity.RULE) {
+            features.put(feature.getUri(), feature);
+        }
+    }
+
+    /**
+     * Groups pickles by the granularity. Groups are ordered by their first
+     * pickle, pickles in a group keep their relative order.
+     *
+     * @param  pickles the pickles to group
+     * @return         the groups of pickles
+     */
+    List<List<Pickle>> group(List<Pickle> pickles) {
+        if (granularity == Granularity.PICKLE) {
+            List<List<Pickle>> groups = new ArrayList<>(pickles.size());
+            for (Pickle pickle : pickles) {
+                groups.add(singletonList(pickle));
+            }
+            return groups;
+        }
+        Map<Object, List<Pickle>> groups = new LinkedHashMap<>();
+        for (Pickle pickle : pickles) {
+            groups.computeIfAbsent(key(pickle), key -> new ArrayList<>()).add(pickle);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private Object key(Pickle pickle) {
+        if (granularity == Granularity.FEATURE) {
+            return pickle.getUri();
+        }
+        Optional<Node> rule = findRule(pickle);
+        if (!rule.isPresent()) {
+            return pickle;
+        }
+        return pickle.getUri() + ":" + rule.get().getLocation().getLine();
+    }
+
+    private Optional<Node> findRule(Pickle pickle) {
+        Feature feature = features.get(pickle.getUri());
+        if (feature == null) {
+            return Optional.empty();
+        }
+        return feature.findPathTo(node -> pickle.getLocation().equals(node.getLocation()))
+                .flatMap(path -> path.stream()
+                        .filter(node -> node instanceof Node.Rule)
+                        .findFirst());
+    }
+
+}
@@ -0,0 +1,156 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.exception.CucumberException;
+import io.cucumber.core.runner.Options;
+import io.cucumber.core.runner.ResultCache;
+import io.cucumber.core.runner.Runner;
+import io.cucumber.core.runner.StepMatchCache;
+
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Lends runners from a bounded pool. Each runner has its own bus, backends and
+ * object factory.
+ * <p>
+ * Runners are created on demand until the pool is full, after which callers
+ * wait until another runner is released. Released runners are kept, with
+ * their glue loaded, and lent out again. A runner is used by one thread at a
+ * time, but not necessarily by the same thread each time. So unlike the
+ * {@link ThreadLocalRunnerSupplier} the number of runners does not depend on
+ * the number of threads. Pickles can be executed on short lived (virtual)
+ * threads or on threads added by a pool to compensate for blocked threads
+ * without loading the glue again for each thread.
+ * <p>
+ * Each runners bus passes all events to the event bus of this supplier. All
+ * runners share a single step match cache and, when enabled, a single result
+ * cache.
+ */
+public final class PooledRunnerSupplier implements RunnerSupplier {
+
+    private final int maximumSize;
+    private final BackendSupplier backendSupplier;
+    private final Options runnerOptions;
+    private final EventBus sharedEventBus;
+    private final ThreadLocalObjectFactorySupplier objectFactorySupplier;
+    private final TypeRegistryConfigurerSupplier typeRegistryConfigurerSupplier;
+    private final StepMatchCache stepMatchCache;
+    private final ResultCache resultCache;
+    private final BlockingDeque<Runner> idleRunners = new LinkedBlockingDeque<>();
+    private int size;
+
+    public PooledRunnerSupplier(
+            int maximumSize,
+            Options runnerOptions,
+            EventBus sharedEventBus,
+            BackendSupplier backendSupplier,
+            ThreadLocalObjectFactorySupplier objectFactorySupplier,
+            TypeRegistryConfigurerSupplier typeRegistryConfigurerSupplier
+    ) {
+        this(maximumSize, runnerOptions, sharedEventBus, backendSupplier, objectFactorySupplier,
+            typeRegistryConfigurerSupplier, null);
+    }
+
+    public PooledRunnerSupplier(
+            int maximumSize,
+            Options runnerOptions,
+            EventBus sharedEventBus,
+            BackendSupplier backendSupplier,
+            ThreadLocalObjectFactorySupplier objectFactorySupplier,
+            TypeRegistryConfigurerSupplier typeRegistryConfigurerSupplier,
+            ResultCache resultCache
+    ) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be > 0");
+        }
+        this.maximumSize = maximumSize;
+        this.runnerOptions = runnerOptions;
+        this.sharedEventBus = SynchronizedEventBus.synchronizeIfNeeded(sharedEventBus);
+        this.backendSupplier = backendSupplier;
+        this.objectFactorySupplier = requireNonNull(objectFactorySupplier);
+        this.typeRegistryConfigurerSupplier = typeRegistryConfigurerSupplier;
+        this.stepMatchCache = new StepMatchCache(runnerOptions.getStepMatchCacheSize());
+        this.resultCache = resultCache;
+    }
+
+    @Override
+    public Runner get() {
+        try {
+            while (true) {
+                // Most recently released runner first, it is most likely warm
+                Runner runner = idleRunners.pollFirst();
+                if (runner != null) {
+                    return runner;
+                }
+                if (reserve()) {
+                    return createReservedRunner();
+                }
+                // Wait for a release, then check again in case a runner
+                // could not be created and its reservation was returned.
+                runner = idleRunners.pollFirst(100, MILLISECONDS);
+                if (runner != null) {
+                    return runner;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CucumberException("Interrupted while waiting for a runner", e);
+        }
+    }
+
+    @Override
+    public void release(Runner runner) {
+        idleRunners.offerFirst(runner);
+    }
+
+    private synchronized boolean reserve() {
+        if (size == maximumSize) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    private synchronized void unreserve() {
+        size--;
+    }
+
+    private Runner createReservedRunner() {
+        boolean created = false;
+        try {
+            Runner runner = createRunner();
+            created = true;
+            return runner;
+        } finally {
+            if (!created) {
+                unreserve();
+            }
+        }
+    }
+
+    private Runner createRunner() {
+        try {
+            // The backends and the runner must share an object factory
+            return new Runner(
+                new LocalEventBus(sharedEventBus),
+                backendSupplier.get(),
+                objectFactorySupplier.get(),
+                typeRegistryConfigurerSupplier.get(),
+                runnerOptions,
+                stepMatchCache,
+                resultCache);
+        } finally {
+            // Otherwise the next runner created by this thread would share it
+            objectFactorySupplier.remove();
+        }
+    }
+
+    public StepMatchCache getStepMatchCache() {
+        return stepMatchCache;
+    }
+
+}
@@ -0,0 +1,281 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.logging.Logger;
+import io.cucumber.core.logging.LoggerFactory;
+import io.cucumber.plugin.event.EventHandler;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static io.cucumber.core.exception.ExceptionUtils.throwAsUncheckedException;
+
+/**
+ * Passes events sent from any number of threads to the handlers of another
+ * event bus on a single dispatcher thread.
+ * <p>
+ * Each sending thread publishes its events into a ring buffer of its own, so
+ * sending an event neither takes a lock nor waits for the handlers, e.g. for
+ * a formatter writing to a slow file system. Only when the dispatcher falls
+ * {@value #CAPACITY} events behind a thread does that thread wait for it.
+ * Once a thread terminated and its events were delivered, its ring buffer is
+ * claimed by the next new thread that sends an event. So even when each pickle
+ * runs on a new virtual thread, there are about as many ring buffers as
+ * threads that run at the same time.
+ * <p>
+ * Each event is numbered when it is sent. The dispatcher delivers the events
+ * of all threads in that order, so the handlers see the events in the order
+ * they were sent, e.g. the start of the test run before the test cases
+ * started by other threads.
+ * <p>
+ * Handlers must be registered before events are sent. Handlers run on the
+ * dispatcher thread, one event at a time. A handler that throws does not stop
+ * the delivery of other events; the first exception is thrown by
+ * {@link #close()}.
+ * <p>
+ * Thread safe.
+ */
+public final class RingBufferEventBus implements EventBus {
+
+    static final int CAPACITY = 1024;
+
+    private static final Logger log = LoggerFactory.getLogger(RingBufferEventBus.class);
+    private static final long FULL_PARK_NANOS = 10_000;
+    private static final long FLUSH_PARK_NANOS = 50_000;
+
+    private final EventBus delegate;
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Ring> rings = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Ring> ring = ThreadLocal.withInitial(this::createRing);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile long delivered;
+    private volatile boolean dispatcherWaiting;
+    private volatile boolean closing;
+    private volatile Thread dispatcher;
+
+    public RingBufferEventBus(EventBus delegate) {
+        this.delegate = delegate;
+    }
+
+    private Ring createRing() {
+        Thread thread = Thread.currentThread();
+        for (Ring ring : rings) {
+            if (ring.claim(thread)) {
+                return ring;
+            }
+        }
+        Ring ring = new Ring(thread);
+        rings.add(ring);
+        return ring;
+    }
+
+    @Override
+    public Instant getInstant() {
+        return delegate.getInstant();
+    }
+
+    @Override
+    public UUID generateId() {
+        return delegate.generateId();
+    }
+
+    @Override
+    public <T> void registerHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+        delegate.registerHandlerFor(eventType, handler);
+    }
+
+    @Override
+    public <T> void removeHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+        delegate.removeHandlerFor(eventType, handler);
+    }
+
+    @Override
+    public boolean hasHandlerFor(Class<?> eventType) {
+        return delegate.hasHandlerFor(eventType);
+    }
+
+    @Override
+    public <T> void send(T event) {
+        Ring ring = this.ring.get();
+        while (ring.isFull()) {
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+        // Only this thread adds to its ring, so there is still room
+        ring.add(sequence.getAndIncrement(), event);
+        Thread dispatcher = this.dispatcher;
+        if (dispatcher == null) {
+            startDispatcher();
+        } else if (dispatcherWaiting) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    @Override
+    public <T> void sendAll(Iterable<T> events) {
+        for (T event : events) {
+            send(event);
+        }
+    }
+
+    private synchronized void startDispatcher() {
+        if (dispatcher != null) {
+            return;
+        }
+        Thread thread = new Thread(this::dispatch, "cucumber-event-dispatcher");
+        thread.setDaemon(true);
+        dispatcher = thread;
+        thread.start();
+    }
+
+    /**
+     * Waits until all events sent so far have been delivered.
+     */
+    public void flush() {
+        long sent = sequence.get();
+        while (delivered < sent) {
+            LockSupport.parkNanos(this, FLUSH_PARK_NANOS);
+        }
+    }
+
+    /**
+     * Waits until all events sent so far have been delivered and stops the
+     * dispatcher. Events sent afterwards start a new dispatcher. Must not be
+     * called while other threads are sending events.
+     * <p>
+     * Rethrows the first exception thrown by a handler, if any.
+     */
+    public synchronized void close() {
+        Thread dispatcher = this.dispatcher;
+        if (dispatcher != null) {
+            closing = true;
+            LockSupport.unpark(dispatcher);
+            try {
+                dispatcher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                closing = false;
+                this.dispatcher = null;
+            }
+        }
+        Throwable failure = this.failure.getAndSet(null);
+        if (failure != null) {
+            throwAsUncheckedException(failure);
+        }
+    }
+
+    /**
+     * @return the number of ring buffers, in use or not
+     */
+    int ringCount() {
+        return rings.size();
+    }
+
+    private void dispatch() {
+        long next = delivered;
+        while (true) {
+            long before = next;
+            for (Ring ring : rings) {
+                // Threads tend to send several events in a row
+                while (ring.nextSequence() == next) {
+                    deliver(ring.remove());
+                    next++;
+                }
+            }
+            if (next != before) {
+                delivered = next;
+                continue;
+            }
+            if (next < sequence.get()) {
+                // The event was numbered, but not yet added to its ring
+                Thread.yield();
+                continue;
+            }
+            if (closing) {
+                return;
+            }
+            dispatcherWaiting = true;
+            if (next == sequence.get() && !closing) {
+                LockSupport.park(this);
+            }
+            dispatcherWaiting = false;
+        }
+    }
+
+    private void deliver(Object event) {
+        try {
+            delegate.send(event);
+        } catch (Throwable t) {
+            if (!failure.compareAndSet(null, t)) {
+                log.debug(t, () -> "Handler failed while handling " + event);
+            }
+        }
+    }
+
+    /**
+     * A bounded queue with a single producer, the owner, and a single
+     * consumer, the dispatcher.
+     */
+    private static final class Ring {
+
+        private static final int MASK = CAPACITY - 1;
+
+        private final Object[] events = new Object[CAPACITY];
+        private final long[] sequences = new long[CAPACITY];
+        private final AtomicLong head = new AtomicLong();
+        private final AtomicLong tail = new AtomicLong();
+        private final AtomicReference<Thread> owner;
+
+        Ring(Thread owner) {
+            this.owner = new AtomicReference<>(owner);
+        }
+
+        boolean claim(Thread thread) {
+            Thread owner = this.owner.get();
+            // A terminated thread will not add to its ring again
+            return !owner.isAlive() && isEmpty() && this.owner.compareAndSet(owner, thread);
+        }
+
+        boolean isFull() {
+            return tail.get() - head.get() == CAPACITY;
+        }
+
+        boolean isEmpty() {
+            return tail.get() == head.get();
+        }
+
+        void add(long sequence, Object event) {
+            long tail = this.tail.get();
+            int index = (int) tail & MASK;
+            events[index] = event;
+            sequences[index] = sequence;
+            // Publishes the event to the dispatcher
+            this.tail.set(tail + 1);
+        }
+
+        long nextSequence() {
+            long head = this.head.get();
+            if (head == tail.get()) {
+                return -1;
+            }
+            return sequences[(int) head & MASK];
+        }
+
+        Object remove() {
+            long head = this.head.get();
+            int index = (int) head & MASK;
+            Object event = events[index];
+            events[index] = null;
+            // Makes room for the owner
+            this.head.set(head + 1);
+            return event;
+        }
+
+    }
+
+}
@@ -6,4 +6,14 @@ public interface RunnerSupplier {
 
     Runner get();
 
+    /**
+     * Returns a runner obtained from {@link #get()} once it is no longer used
+     * by the calling thread.
+     *
+     * @param runner the runner to return
+     */
+    default void release(Runner runner) {
+
+    }
+
 }
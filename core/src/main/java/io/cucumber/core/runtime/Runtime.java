@@ -6,6 +6,7 @@ import io.cucumber.core.feature.FeatureParser;
 import io.cucumber.core.filter.Filters;
 import io.cucumber.core.gherkin.Feature;
 import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.history.HistoryRecorder;
 import io.cucumber.core.logging.Logger;
 import io.cucumber.core.logging.LoggerFactory;
 import io.cucumber.core.options.RuntimeOptions;
@@ -13,22 +14,26 @@ import io.cucumber.core.order.PickleOrder;
 import io.cucumber.core.plugin.PluginFactory;
 import io.cucumber.core.plugin.Plugins;
 import io.cucumber.core.resource.ClassLoaders;
+import io.cucumber.core.runner.ResultCache;
 import io.cucumber.plugin.Plugin;
 
-import java.time.Clock;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.UUID;
 import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import static java.util.Collections.emptyList;
@@ -44,21 +49,31 @@ public final class Runtime {
 
     private final ExitStatus exitStatus;
 
-    private final Predicate<Pickle> filter;
+    private final Filters filter;
     private final int limit;
     private final FeatureSupplier featureSupplier;
     private final ExecutorService executor;
     private final PickleOrder pickleOrder;
+    private final Scheduler scheduler;
+    private final PickleDurations pickleDurations;
+    private final PickleGrouper pickleGrouper;
     private final CucumberExecutionContext context;
+    private final ForkedWorkerPool forkedWorkers;
+    private final RingBufferEventBus ringBufferEventBus;
 
     private Runtime(
             final ExitStatus exitStatus,
             final CucumberExecutionContext context,
-            final Predicate<Pickle> filter,
+            final Filters filter,
             final int limit,
             final FeatureSupplier featureSupplier,
             final ExecutorService executor,
-            final PickleOrder pickleOrder
+            final PickleOrder pickleOrder,
+            final Scheduler scheduler,
+            final PickleDurations pickleDurations,
+            final PickleGrouper pickleGrouper,
+            final ForkedWorkerPool forkedWorkers,
+            final RingBufferEventBus ringBufferEventBus
     ) {
         this.filter = filter;
         this.context = context;
@@ -67,6 +82,11 @@ public final class Runtime {
         this.executor = executor;
         this.exitStatus = exitStatus;
         this.pickleOrder = pickleOrder;
+        this.scheduler = scheduler;
+        this.pickleDurations = pickleDurations;
+        this.pickleGrouper = pickleGrouper;
+        this.forkedWorkers = forkedWorkers;
+        this.ringBufferEventBus = ringBufferEventBus;
     }
 
     public static Builder builder() {
@@ -75,22 +95,32 @@ public final class Runtime {
 
     public void run() {
         context.startTestRun();
-        final List<Feature> features = featureSupplier.get();
-        features.forEach(context::beforeFeature);
-        final List<Future<?>> executingPickles = features.stream()
-                .flatMap(feature -> feature.getPickles().stream())
-                .filter(filter)
-                .collect(collectingAndThen(toList(),
-                    list -> pickleOrder.orderPickles(list).stream()))
-                .limit(limit > 0 ? limit : Integer.MAX_VALUE)
-                .map(pickle -> executor.submit(execute(pickle)))
-                .collect(toList());
-
-        executor.shutdown();
+        final List<Future<?>> executingPickles = new ArrayList<>();
+        RuntimeException supplierException = null;
+        try {
+            context.runFeatures(() -> {
+                if (isStreamable()) {
+                    executeStreaming(executingPickles);
+                } else {
+                    executeOrdered(executingPickles);
+                }
+            });
+        } catch (RuntimeException e) {
+            // A feature could not be supplied, e.g. it could not be parsed,
+            // after earlier pickles were submitted. Pickles that did not
+            // start yet are not executed, the others are finished so the
+            // test run can finish.
+            supplierException = e;
+            executingPickles.forEach(executingPickle -> executingPickle.cancel(false));
+        } finally {
+            executor.shutdown();
+        }
 
         for (Future<?> executingPickle : executingPickles) {
             try {
                 executingPickle.get();
+            } catch (CancellationException e) {
+                log.debug(e, () -> "Cancelled pickle");
             } catch (ExecutionException e) {
                 log.error(e, () -> "Exception while executing pickle");
             } catch (InterruptedException e) {
@@ -98,16 +128,87 @@ public final class Runtime {
                 log.debug(e, () -> "Interrupted while executing pickle");
             }
         }
+        if (forkedWorkers != null) {
+            forkedWorkers.close();
+        }
+        if (ringBufferEventBus != null) {
+            // The result of the run depends on the results of all test cases
+            ringBufferEventBus.flush();
+        }
         context.finishTestRun();
+        if (ringBufferEventBus != null) {
+            ringBufferEventBus.close();
+        }
 
+        if (supplierException != null) {
+            throw supplierException;
+        }
         CucumberException exception = context.getException();
         if (exception != null) {
             throw exception;
         }
     }
 
-    private Runnable execute(Pickle pickle) {
-        return () -> context.runTestCase(runner -> runner.runPickle(pickle));
+    private boolean isStreamable() {
+        // Sharding divides all pickles at once
+        return pickleOrder.isStreamable() && scheduler == Scheduler.FIFO && !filter.isSharded();
+    }
+
+    private void executeStreaming(List<Future<?>> executingPickles) {
+        // Features are parsed in the order pickles are executed. So pickles
+        // can be executed while the remaining features are parsed.
+        int remaining = limit > 0 ? limit : Integer.MAX_VALUE;
+        Iterator<Feature> features = featureSupplier.stream().iterator();
+        while (features.hasNext()) {
+            Feature feature = features.next();
+            context.beforeFeature(feature);
+            pickleGrouper.addFeature(feature);
+            List<Pickle> pickles = new ArrayList<>();
+            for (Pickle pickle : feature.getPickles()) {
+                if (remaining > 0 && filter.test(pickle)) {
+                    remaining--;
+                    pickles.add(pickle);
+                }
+            }
+            for (List<Pickle> group : pickleGrouper.group(pickles)) {
+                executingPickles.add(executor.submit(execute(group)));
+            }
+        }
+    }
+
+    private void executeOrdered(List<Future<?>> executingPickles) {
+        final List<Feature> features = featureSupplier.get();
+        features.forEach(context::beforeFeature);
+        features.forEach(pickleGrouper::addFeature);
+        final List<Pickle> pickles = features.stream()
+                .flatMap(feature -> feature.getPickles().stream())
+                .filter(filter)
+                .collect(collectingAndThen(toList(),
+                    list -> filter.shard(pickleOrder.orderPickles(list)).stream()))
+                .limit(limit > 0 ? limit : Integer.MAX_VALUE)
+                .collect(toList());
+        for (List<Pickle> group : schedule(pickleGrouper.group(pickles))) {
+            executingPickles.add(executor.submit(execute(group)));
+        }
+    }
+
+    private List<List<Pickle>> schedule(List<List<Pickle>> groups) {
+        // Scheduling happens after the limit is applied so the same pickles
+        // are executed, only their order changes.
+        if (scheduler == Scheduler.LONGEST_FIRST) {
+            return pickleDurations.orderGroupsLongestFirst(groups);
+        }
+        return groups;
+    }
+
+    private Runnable execute(List<Pickle> group) {
+        if (forkedWorkers != null) {
+            // The pickles in a group share a worker process
+            return () -> context.runForked(() -> forkedWorkers.execute(group));
+        }
+        // The pickles in a group share a thread and a runner. Pickles that
+        // start after the maximum number of failures was reached are skipped.
+        return () -> context.runTestCase(runner -> group.forEach(pickle -> context.runPickle(runner, pickle)));
     }
 
     public byte exitStatus() {
@@ -116,7 +217,7 @@ public final class Runtime {
 
     public static class Builder {
 
-        private EventBus eventBus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+        private EventBus eventBus;
         private Supplier<ClassLoader> classLoader = ClassLoaders::getDefaultClassLoader;
         private RuntimeOptions runtimeOptions = RuntimeOptions.defaultOptions();
         private BackendSupplier backendSupplier;
@@ -160,8 +261,11 @@ public final class Runtime {
             final ObjectFactoryServiceLoader objectFactoryServiceLoader = new ObjectFactoryServiceLoader(
                 runtimeOptions);
 
-            final ObjectFactorySupplier objectFactorySupplier = runtimeOptions.isMultiThreaded()
+            final ThreadLocalObjectFactorySupplier threadLocalObjectFactorySupplier = runtimeOptions.isMultiThreaded()
                     ? new ThreadLocalObjectFactorySupplier(objectFactoryServiceLoader)
+                    : null;
+            final ObjectFactorySupplier objectFactorySupplier = threadLocalObjectFactorySupplier != null
+                    ? threadLocalObjectFactorySupplier
                     : new SingletonObjectFactorySupplier(objectFactoryServiceLoader);
 
             final BackendSupplier backendSupplier = this.backendSupplier != null
@@ -174,7 +278,26 @@ public final class Runtime {
             }
             final ExitStatus exitStatus = new ExitStatus(runtimeOptions);
             plugins.addPlugin(exitStatus);
-            if (runtimeOptions.isMultiThreaded()) {
+            final Scheduler scheduler = runtimeOptions.getScheduler();
+            final PickleDurations pickleDurations = scheduler == Scheduler.LONGEST_FIRST
+                    ? new PickleDurations(findOrAddHistoryRecorder(plugins).getHistory())
+                    : null;
+            final boolean multiProcess = isMultiProcess();
+            final ResultCache resultCache = createResultCache(multiProcess);
+            if (resultCache != null) {
+                plugins.addPlugin(resultCache);
+            }
+            // Events sent by runner threads are delivered on a single
+            // dispatcher thread, runners do not wait for the plugins
+            final EventBus sharedEventBus = this.eventBus != null
+                    ? this.eventBus
+                    : new TimeServiceEventBus(new MonotonicClock(),
+                        new IdGeneratorServiceLoader(runtimeOptions).loadIdGenerator()::generateId);
+            final RingBufferEventBus ringBufferEventBus = runtimeOptions.isMultiThreaded() || multiProcess
+                    ? new RingBufferEventBus(sharedEventBus)
+                    : null;
+            final EventBus eventBus = ringBufferEventBus != null ? ringBufferEventBus : sharedEventBus;
+            if (ringBufferEventBus != null) {
                 plugins.setSerialEventBusOnEventListenerPlugins(eventBus);
             } else {
                 plugins.setEventBusOnEventListenerPlugins(eventBus);
@@ -183,28 +306,100 @@ public final class Runtime {
             final TypeRegistryConfigurerSupplier typeRegistryConfigurerSupplier = new ScanningTypeRegistryConfigurerSupplier(
                 classLoader, runtimeOptions);
 
+            // Runners are lent per pickle, so threads created by the executor
+            // do not each create a runner of their own
             final RunnerSupplier runnerSupplier = runtimeOptions.isMultiThreaded()
-                    ? new ThreadLocalRunnerSupplier(runtimeOptions, eventBus, backendSupplier, objectFactorySupplier,
-                        typeRegistryConfigurerSupplier)
+                    ? new PooledRunnerSupplier(runtimeOptions.getThreads(), runtimeOptions, eventBus, backendSupplier,
+                        threadLocalObjectFactorySupplier, typeRegistryConfigurerSupplier, resultCache)
                     : new SingletonRunnerSupplier(runtimeOptions, eventBus, backendSupplier, objectFactorySupplier,
-                        typeRegistryConfigurerSupplier);
+                        typeRegistryConfigurerSupplier, resultCache);
 
-            final ExecutorService executor = runtimeOptions.isMultiThreaded()
-                    ? Executors.newFixedThreadPool(runtimeOptions.getThreads(), new CucumberThreadFactory())
-                    : new SameThreadExecutorService();
+            final ExecutorService executor = multiProcess
+                    ? Executors.newFixedThreadPool(runtimeOptions.getProcesses(), new CucumberThreadFactory())
+                    : createExecutorService(scheduler);
 
-            final FeatureParser parser = new FeatureParser(eventBus::generateId);
+            // Workers parse the same features, the pickles must have the same
+            // ids in each process
+            final FeatureParser parser = new FeatureParser(
+                multiProcess ? new ForkedIdGenerator() : eventBus::generateId);
 
             final FeatureSupplier featureSupplier = this.featureSupplier != null
                     ? this.featureSupplier
                     : new FeaturePathFeatureSupplier(classLoader, runtimeOptions, parser);
 
-            final Predicate<Pickle> filter = new Filters(runtimeOptions);
+            final Filters filter = new Filters(runtimeOptions);
             final int limit = runtimeOptions.getLimitCount();
             final PickleOrder pickleOrder = runtimeOptions.getPickleOrder();
             final CucumberExecutionContext context = new CucumberExecutionContext(eventBus, exitStatus, runnerSupplier);
 
-            return new Runtime(exitStatus, context, filter, limit, featureSupplier, executor, pickleOrder);
+            final PickleGrouper pickleGrouper = new PickleGrouper(runtimeOptions.getGranularity());
+
+            final ForkedWorkerPool forkedWorkers = multiProcess
+                    ? new ForkedWorkerPool(new ForkedWorkerOptions(runtimeOptions), eventBus, exitStatus, classLoader)
+                    : null;
+
+            return new Runtime(exitStatus, context, filter, limit, featureSupplier, executor, pickleOrder, scheduler,
+                pickleDurations, pickleGrouper, forkedWorkers, ringBufferEventBus);
+        }
+
+        private boolean isMultiProcess() {
+            if (!runtimeOptions.isMultiProcess()) {
+                return false;
+            }
+            if (featureSupplier != null) {
+                log.warn(() -> "Worker processes parse features from the feature path. " +
+                        "Executing pickles in this process instead.");
+                return false;
+            }
+            return true;
+        }
+
+        private ResultCache createResultCache(boolean multiProcess) {
+            if (!runtimeOptions.isResultCache() || runtimeOptions.isDryRun()) {
+                return null;
+            }
+            if (multiProcess) {
+                log.warn(() -> "The result cache is not used when executing pickles in worker processes.");
+                return null;
+            }
+            return ResultCache.read(ResultCache.DEFAULT_PATH, runtimeOptions.getResultCacheInputs(), classLoader);
+        }
+
+        private HistoryRecorder findOrAddHistoryRecorder(Plugins plugins) {
+            for (Plugin plugin : plugins.getPlugins()) {
+                if (plugin instanceof HistoryRecorder) {
+                    return (HistoryRecorder) plugin;
+                }
+            }
+            HistoryRecorder historyRecorder = new HistoryRecorder();
+            if (!runtimeOptions.isDryRun()) {
+                plugins.addPlugin(historyRecorder);
+            }
+            return historyRecorder;
+        }
+
+        private ExecutorService createExecutorService(Scheduler scheduler) {
+            if (!runtimeOptions.isMultiThreaded()) {
+                return new SameThreadExecutorService();
+            }
+            if (runtimeOptions.isVirtualThreads()) {
+                return createVirtualThreadExecutorService();
+            }
+            if (scheduler == Scheduler.LONGEST_FIRST) {
+                // Idle threads steal work from busy threads
+                return new ForkJoinPool(runtimeOptions.getThreads(), new CucumberForkJoinWorkerThreadFactory(), null,
+                    true);
+            }
+            return Executors.newFixedThreadPool(runtimeOptions.getThreads(), new CucumberThreadFactory());
+        }
+
+        private ExecutorService createVirtualThreadExecutorService() {
+            int threads = runtimeOptions.getThreads();
+            if (!VirtualThreads.isSupported()) {
+                log.warn(() -> "Virtual threads require Java 21 or later. Using " + threads + " threads instead.");
+            }
+            return VirtualThreads.newExecutorService(CucumberThreadFactory.nextNamePrefix("virtual-"), threads,
+                () -> Executors.newFixedThreadPool(threads, new CucumberThreadFactory()));
         }
 
     }
@@ -216,7 +411,11 @@ public final class Runtime {
         private final String namePrefix;
 
         CucumberThreadFactory() {
-            this.namePrefix = "cucumber-runner-" + poolNumber.getAndIncrement() + "-thread-";
+            this.namePrefix = nextNamePrefix("thread-");
+        }
+
+        static String nextNamePrefix(String threadKind) {
+            return "cucumber-runner-" + poolNumber.getAndIncrement() + "-" + threadKind;
         }
 
         @Override
@@ -226,6 +425,28 @@ public final class Runtime {
 
     }
 
+    private static final class CucumberForkJoinWorkerThreadFactory implements ForkJoinWorkerThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+        private final String namePrefix;
+        private final ClassLoader contextClassLoader;
+
+        CucumberForkJoinWorkerThreadFactory() {
+            this.namePrefix = CucumberThreadFactory.nextNamePrefix("thread-");
+            this.contextClassLoader = Thread.currentThread().getContextClassLoader();
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = new ForkJoinWorkerThread(pool) {
+            };
+            thread.setName(namePrefix + this.threadNumber.getAndIncrement());
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        }
+
+    }
+
     private static final class SameThreadExecutorService extends AbstractExecutorService {
 
         @Override
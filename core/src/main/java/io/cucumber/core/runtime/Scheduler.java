@@ -0,0 +1,22 @@
+package io.cucumber.core.runtime;
+
+/**
+ * Decides the order in which the runtime starts executing pickles.
+ */
+public enum Scheduler {
+
+    /**
+     * Pickles are executed in the order determined by the
+     * {@link io.cucumber.core.order.PickleOrder}.
+     */
+    FIFO,
+
+    /**
+     * Pickles are executed in order of their expected duration, longest
+     * first, on a work stealing pool. The expected duration is based on the
+     * duration of a previous run. This prevents long running pickles that
+     * start late from keeping a single thread busy at the end of a run.
+     */
+    LONGEST_FIRST
+
+}
@@ -2,7 +2,9 @@ package io.cucumber.core.runtime;
 
 import io.cucumber.core.eventbus.EventBus;
 import io.cucumber.core.runner.Options;
+import io.cucumber.core.runner.ResultCache;
 import io.cucumber.core.runner.Runner;
+import io.cucumber.core.runner.StepMatchCache;
 
 /**
  * Returns a single unique runner.
@@ -16,6 +18,7 @@ public final class SingletonRunnerSupplier implements RunnerSupplier {
     private final EventBus eventBus;
     private final ObjectFactorySupplier objectFactorySupplier;
     private final TypeRegistryConfigurerSupplier typeRegistryConfigurerSupplier;
+    private final ResultCache resultCache;
     private Runner runner;
 
     public SingletonRunnerSupplier(
@@ -24,6 +27,17 @@ public final class SingletonRunnerSupplier implements RunnerSupplier {
             BackendSupplier backendSupplier,
             ObjectFactorySupplier objectFactorySupplier, TypeRegistryConfigurerSupplier typeRegistryConfigurerSupplier
     ) {
+        this(runnerOptions, eventBus, backendSupplier, objectFactorySupplier, typeRegistryConfigurerSupplier, null);
+    }
+
+    public SingletonRunnerSupplier(
+            Options runnerOptions,
+            EventBus eventBus,
+            BackendSupplier backendSupplier,
+            ObjectFactorySupplier objectFactorySupplier, TypeRegistryConfigurerSupplier typeRegistryConfigurerSupplier,
+            ResultCache resultCache
+    ) {
+        this.resultCache = resultCache;
         this.backendSupplier = backendSupplier;
         this.runnerOptions = runnerOptions;
         this.eventBus = eventBus;
@@ -45,7 +59,9 @@ public final class SingletonRunnerSupplier implements RunnerSupplier {
             backendSupplier.get(),
             objectFactorySupplier.get(),
             typeRegistryConfigurerSupplier.get(),
-            runnerOptions);
+            runnerOptions,
+            new StepMatchCache(runnerOptions.getStepMatchCacheSize()),
+            resultCache);
     }
 
 }
@@ -4,11 +4,16 @@ import io.cucumber.core.eventbus.EventBus;
 import io.cucumber.plugin.event.EventHandler;
 
 import java.time.Instant;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class SynchronizedEventBus implements EventBus {
 
     private final EventBus delegate;
+    // Answers of the delegate, read without taking the lock. Written and
+    // cleared while holding the lock, so never older than the handlers.
+    private final Map<Class<?>, Boolean> hasHandlerFor = new ConcurrentHashMap<>();
 
     private SynchronizedEventBus(final EventBus delegate) {
         this.delegate = delegate;
@@ -22,14 +27,42 @@ public final class SynchronizedEventBus implements EventBus {
         return new SynchronizedEventBus(eventBus);
     }
 
+    /**
+     * Synchronizes an event bus unless it is thread safe already.
+     *
+     * @param  eventBus the event bus
+     * @return          a thread safe event bus
+     */
+    static EventBus synchronizeIfNeeded(EventBus eventBus) {
+        if (eventBus instanceof RingBufferEventBus) {
+            return eventBus;
+        }
+        return synchronize(eventBus);
+    }
+
     @Override
     public synchronized <T> void registerHandlerFor(Class<T> eventType, EventHandler<T> handler) {
         delegate.registerHandlerFor(eventType, handler);
+        hasHandlerFor.clear();
     }
 
     @Override
     public synchronized <T> void removeHandlerFor(Class<T> eventType, EventHandler<T> handler) {
         delegate.removeHandlerFor(eventType, handler);
+        hasHandlerFor.clear();
+    }
+
+    @Override
+    public boolean hasHandlerFor(Class<?> eventType) {
+        Boolean cached = hasHandlerFor.get(eventType);
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (this) {
+            boolean hasHandler = delegate.hasHandlerFor(eventType);
+            hasHandlerFor.put(eventType, hasHandler);
+            return hasHandler;
+        }
     }
 
     @Override
@@ -18,4 +18,12 @@ public final class ThreadLocalObjectFactorySupplier implements ObjectFactorySupp
         return runners.get();
     }
 
+    /**
+     * Forgets the object factory of the calling thread. The next call to
+     * {@link #get()} on this thread creates a new object factory.
+     */
+    void remove() {
+        runners.remove();
+    }
+
 }
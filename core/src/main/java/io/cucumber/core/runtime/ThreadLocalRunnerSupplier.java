@@ -1,26 +1,25 @@
 package io.cucumber.core.runtime;
 
-import io.cucumber.core.eventbus.AbstractEventBus;
 import io.cucumber.core.eventbus.EventBus;
 import io.cucumber.core.runner.Options;
 import io.cucumber.core.runner.Runner;
-
-import java.time.Instant;
-import java.util.UUID;
+import io.cucumber.core.runner.StepMatchCache;
 
 /**
  * Creates a distinct runner for each calling thread. Each runner has its own
  * bus, backend- and glue-suppliers.
  * <p>
- * Each runners bus passes all events to the event bus of this supplier.
+ * Each runners bus passes all events to the event bus of this supplier. All
+ * runners share a single step match cache.
  */
 public final class ThreadLocalRunnerSupplier implements RunnerSupplier {
 
     private final BackendSupplier backendSupplier;
     private final io.cucumber.core.runner.Options runnerOptions;
-    private final SynchronizedEventBus sharedEventBus;
+    private final EventBus sharedEventBus;
     private final ObjectFactorySupplier objectFactorySupplier;
     private final TypeRegistryConfigurerSupplier typeRegistryConfigurerSupplier;
+    private final StepMatchCache stepMatchCache;
 
     private final ThreadLocal<Runner> runners = ThreadLocal.withInitial(this::createRunner);
 
@@ -32,10 +31,11 @@ public final class ThreadLocalRunnerSupplier implements RunnerSupplier {
             TypeRegistryConfigurerSupplier typeRegistryConfigurerSupplier
     ) {
         this.runnerOptions = runnerOptions;
-        this.sharedEventBus = SynchronizedEventBus.synchronize(sharedEventBus);
+        this.sharedEventBus = SynchronizedEventBus.synchronizeIfNeeded(sharedEventBus);
         this.backendSupplier = backendSupplier;
         this.objectFactorySupplier = objectFactorySupplier;
         this.typeRegistryConfigurerSupplier = typeRegistryConfigurerSupplier;
+        this.stepMatchCache = new StepMatchCache(runnerOptions.getStepMatchCacheSize());
     }
 
     @Override
@@ -49,33 +49,12 @@ public final class ThreadLocalRunnerSupplier implements RunnerSupplier {
             backendSupplier.get(),
             objectFactorySupplier.get(),
             typeRegistryConfigurerSupplier.get(),
-            runnerOptions);
+            runnerOptions,
+            stepMatchCache);
     }
 
-    private static final class LocalEventBus extends AbstractEventBus {
-
-        private final SynchronizedEventBus parent;
-
-        LocalEventBus(final SynchronizedEventBus parent) {
-            this.parent = parent;
-        }
-
-        @Override
-        public <T> void send(final T event) {
-            super.send(event);
-            parent.send(event);
-        }
-
-        @Override
-        public Instant getInstant() {
-            return parent.getInstant();
-        }
-
-        @Override
-        public UUID generateId() {
-            return parent.generateId();
-        }
-
+    public StepMatchCache getStepMatchCache() {
+        return stepMatchCache;
     }
 
 }
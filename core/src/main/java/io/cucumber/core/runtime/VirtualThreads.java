@@ -0,0 +1,36 @@
+package io.cucumber.core.runtime;
+
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Creates executors that run each task on a new virtual thread.
+ * <p>
+ * Virtual threads require Java 21. This implementation is used on older
+ * versions of Java and uses platform threads instead. The multi-release jar
+ * contains an implementation for Java 21 and later.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+
+    }
+
+    static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * @param  namePrefix      prefix of the names of the virtual threads
+     * @param  threads         the maximum number of tasks executed at once
+     * @param  platformThreads executor to use when virtual threads are not
+     *                         supported
+     * @return                 the executor of platform threads
+     */
+    static ExecutorService newExecutorService(
+            String namePrefix, int threads, Supplier<ExecutorService> platformThreads
+    ) {
+        return platformThreads.get();
+    }
+
+}
@@ -31,8 +31,8 @@ public final class ArgumentMatcher {
 
         if (arg instanceof io.cucumber.core.gherkin.DataTableArgument) {
             DataTableArgument table = (DataTableArgument) arg;
-            List<List<String>> cells = emptyCellsToNull(table.cells());
-            return expression.match(step.getText(), cells, types);
+            // Only copy the table when the step text matches
+            return expression.match(step.getText(), () -> emptyCellsToNull(table.cells()), types);
         }
 
         throw new IllegalStateException("Argument was neither PickleString nor PickleTable");
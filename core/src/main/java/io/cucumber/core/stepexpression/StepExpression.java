@@ -5,6 +5,8 @@ import io.cucumber.cucumberexpressions.Expression;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 public final class StepExpression {
 
@@ -26,6 +28,10 @@ public final class StepExpression {
         return expression.getSource();
     }
 
+    public Pattern getRegexp() {
+        return expression.getRegexp();
+    }
+
     public List<Argument> match(String text, List<List<String>> cells, Type... types) {
         List<Argument> list = match(text, types);
 
@@ -39,6 +45,18 @@ public final class StepExpression {
 
     }
 
+    List<Argument> match(String text, Supplier<List<List<String>>> cells, Type... types) {
+        List<Argument> list = match(text, types);
+
+        if (list == null) {
+            return null;
+        }
+
+        list.add(new DataTableArgument(tableType, cells.get()));
+
+        return list;
+    }
+
     public List<Argument> match(String text, Type... types) {
         List<io.cucumber.cucumberexpressions.Argument<?>> match = expression.match(text, types);
         if (match == null) {
@@ -0,0 +1,29 @@
+package io.cucumber.core.runtime;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
+/**
+ * Creates executors that run each task on a new virtual thread.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+
+    }
+
+    static boolean isSupported() {
+        return true;
+    }
+
+    static ExecutorService newExecutorService(
+            String namePrefix, int threads, Supplier<ExecutorService> platformThreads
+    ) {
+        ThreadFactory factory = Thread.ofVirtual().name(namePrefix, 1).factory();
+        // Pickles are submitted in order, so the scheduler order is kept
+        return new ConcurrencyLimitedExecutorService(Executors.newThreadPerTaskExecutor(factory), threads);
+    }
+
+}
@@ -0,0 +1,68 @@
+package io.cucumber.core.eventbus;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class IncrementingIdGeneratorTest {
+
+    @Test
+    void generates_the_same_ids_in_every_run() {
+        List<UUID> first = generate(new IncrementingIdGenerator(), 3000);
+        List<UUID> second = generate(new IncrementingIdGenerator(), 3000);
+
+        assertThat(first, is(second));
+    }
+
+    @Test
+    void generates_valid_uuids() {
+        UUID id = new IncrementingIdGenerator().generateId();
+
+        assertAll(
+            () -> assertThat(id.version(), is(8)),
+            () -> assertThat(id.variant(), is(2)),
+            () -> assertThat(UUID.fromString(id.toString()), is(id)));
+    }
+
+    @Test
+    void generates_unique_ids_on_multiple_threads() throws Exception {
+        IdGenerator idGenerator = new IncrementingIdGenerator();
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int idsPerThread = 5 * IncrementingIdGenerator.BLOCK_SIZE + 1;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> ids.addAll(generate(idGenerator, idsPerThread))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids.size(), is(threads * idsPerThread));
+    }
+
+    private static List<UUID> generate(IdGenerator idGenerator, int count) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(idGenerator.generateId());
+        }
+        return ids;
+    }
+
+}
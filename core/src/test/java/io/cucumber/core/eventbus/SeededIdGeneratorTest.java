@@ -0,0 +1,38 @@
+package io.cucumber.core.eventbus;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class SeededIdGeneratorTest {
+
+    @Test
+    void generates_the_same_ids_with_the_same_seed() {
+        IdGenerator first = new SeededIdGenerator(42);
+        IdGenerator second = new SeededIdGenerator(42);
+
+        assertAll(
+            () -> assertThat(first.generateId(), is(second.generateId())),
+            () -> assertThat(first.generateId(), is(second.generateId())));
+    }
+
+    @Test
+    void generates_different_ids_with_a_different_seed() {
+        assertThat(new SeededIdGenerator(1).generateId(), is(not(new SeededIdGenerator(2).generateId())));
+    }
+
+    @Test
+    void generates_version_4_uuids() {
+        UUID id = new SeededIdGenerator().generateId();
+
+        assertAll(
+            () -> assertThat(id.version(), is(4)),
+            () -> assertThat(id.variant(), is(2)));
+    }
+
+}
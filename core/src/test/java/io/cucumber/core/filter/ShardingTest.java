@@ -0,0 +1,145 @@
+package io.cucumber.core.filter;
+
+import io.cucumber.core.feature.TestFeatureParser;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Collections.reverse;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsEmptyCollection.empty;
+import static org.hamcrest.collection.IsIterableContainingInAnyOrder.containsInAnyOrder;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsIterableContaining.hasItem;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShardingTest {
+
+    private final Feature feature = TestFeatureParser.parse("file:path/test.feature", "" +
+            "Feature: Test feature\n" +
+            "  Scenario: one\n" +
+            "    Given a step\n" +
+            "  Scenario: two\n" +
+            "    Given a step\n" +
+            "  Scenario: three\n" +
+            "    Given a step\n" +
+            "  Scenario: four\n" +
+            "    Given a step\n" +
+            "  Scenario: five\n" +
+            "    Given a step\n");
+
+    private final List<Pickle> pickles = feature.getPickles();
+
+    @Test
+    void selects_all_pickles_without_shards() {
+        Sharding sharding = new Sharding(Shard.all(), pickle -> Optional.empty());
+        assertThat(sharding.isSharded(), is(false));
+        assertThat(sharding.select(pickles), is(pickles));
+    }
+
+    @Test
+    void divides_pickles_evenly_over_shards() {
+        List<Pickle> first = new Sharding(new Shard(1, 2), pickle -> Optional.empty()).select(pickles);
+        List<Pickle> second = new Sharding(new Shard(2, 2), pickle -> Optional.empty()).select(pickles);
+
+        assertThat(first.size() + second.size(), is(pickles.size()));
+        assertThat(Math.abs(first.size() - second.size()), is(1));
+        List<Pickle> all = new ArrayList<>(first);
+        all.addAll(second);
+        assertThat(all, containsInAnyOrder(pickles.toArray()));
+    }
+
+    @Test
+    void selects_the_same_pickles_regardless_of_order() {
+        List<Pickle> reversed = new ArrayList<>(pickles);
+        reverse(reversed);
+
+        for (int index = 1; index <= 3; index++) {
+            Sharding sharding = new Sharding(new Shard(index, 3), pickle -> Optional.empty());
+            List<Pickle> selected = sharding.select(pickles);
+            List<Pickle> selectedFromReversed = sharding.select(reversed);
+            reverse(selectedFromReversed);
+            assertThat(selectedFromReversed, equalTo(selected));
+        }
+    }
+
+    @Test
+    void balances_shards_by_expected_duration() {
+        Map<String, Duration> durations = new HashMap<>();
+        durations.put("one", Duration.ofSeconds(10));
+        durations.put("two", Duration.ofSeconds(4));
+        durations.put("three", Duration.ofSeconds(3));
+        durations.put("four", Duration.ofSeconds(2));
+        durations.put("five", Duration.ofSeconds(1));
+
+        List<Pickle> first = new Sharding(new Shard(1, 2),
+            pickle -> Optional.ofNullable(durations.get(pickle.getName()))).select(pickles);
+        List<Pickle> second = new Sharding(new Shard(2, 2),
+            pickle -> Optional.ofNullable(durations.get(pickle.getName()))).select(pickles);
+
+        assertThat(names(first), contains("one"));
+        assertThat(names(second), contains("two", "three", "four", "five"));
+    }
+
+    @Test
+    void nodes_with_different_histories_select_disjoint_shards_covering_all_pickles() {
+        // After a sharded run the history of a node only knows the durations
+        // of the pickles in its own shard
+        Map<String, Duration> firstNodeHistory = new HashMap<>();
+        firstNodeHistory.put("one", Duration.ofSeconds(10));
+        firstNodeHistory.put("three", Duration.ofSeconds(3));
+        Map<String, Duration> secondNodeHistory = new HashMap<>();
+        secondNodeHistory.put("two", Duration.ofSeconds(4));
+        secondNodeHistory.put("four", Duration.ofSeconds(2));
+        secondNodeHistory.put("five", Duration.ofSeconds(1));
+
+        // Balanced by their own history the nodes disagree on the partition
+        List<Pickle> firstWeighted = new Sharding(new Shard(1, 2),
+            pickle -> Optional.ofNullable(firstNodeHistory.get(pickle.getName()))).select(pickles);
+        List<Pickle> secondWeighted = new Sharding(new Shard(2, 2),
+            pickle -> Optional.ofNullable(secondNodeHistory.get(pickle.getName()))).select(pickles);
+        assertThat(names(firstWeighted), hasItem("one"));
+        assertThat(names(secondWeighted), hasItem("one"));
+
+        // So without a shared history each node divides the pickles by hash
+        List<Pickle> first = new Sharding(new Shard(1, 2)).select(pickles);
+        List<Pickle> second = new Sharding(new Shard(2, 2)).select(pickles);
+        List<Pickle> all = new ArrayList<>(first);
+        all.addAll(second);
+        assertThat(all, containsInAnyOrder(pickles.toArray()));
+    }
+
+    @Test
+    void selects_nothing_from_nothing() {
+        Sharding sharding = new Sharding(new Shard(2, 3), pickle -> Optional.empty());
+        assertThat(sharding.select(new ArrayList<>()), is(empty()));
+    }
+
+    @Test
+    void parses_shard() {
+        assertThat(Shard.parse("2/12"), is(new Shard(2, 12)));
+    }
+
+    @Test
+    void rejects_invalid_shards() {
+        assertThrows(IllegalArgumentException.class, () -> Shard.parse("2"));
+        assertThrows(IllegalArgumentException.class, () -> Shard.parse("0/2"));
+        assertThrows(IllegalArgumentException.class, () -> Shard.parse("3/2"));
+        assertThrows(IllegalArgumentException.class, () -> Shard.parse("a/b"));
+    }
+
+    private static List<String> names(List<Pickle> pickles) {
+        return pickles.stream().map(Pickle::getName).collect(toList());
+    }
+
+}
@@ -0,0 +1,31 @@
+package io.cucumber.core.hash;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+
+class Fnv1aTest {
+
+    @Test
+    void hashes_known_values() {
+        assertThat(Fnv1a.hash(""), is(Fnv1a.OFFSET_BASIS));
+        assertThat(Fnv1a.hash("a"), is(0xaf63dc4c8601ec8cL));
+        assertThat(Fnv1a.hash("foobar"), is(0x85944171f73967e8L));
+    }
+
+    @Test
+    void continues_a_hash() {
+        assertThat(Fnv1a.hash(Fnv1a.hash("foo"), "bar"), is(Fnv1a.hash("foobar")));
+    }
+
+    @Test
+    void separates_texts() {
+        long fooBar = Fnv1a.hash(Fnv1a.separate(Fnv1a.hash("foo")), "bar");
+        long foBar = Fnv1a.hash(Fnv1a.separate(Fnv1a.hash("fo")), "obar");
+        assertThat(fooBar, is(not(foBar)));
+        assertThat(fooBar, is(not(Fnv1a.hash("foobar"))));
+    }
+
+}
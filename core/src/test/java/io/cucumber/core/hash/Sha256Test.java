@@ -0,0 +1,17 @@
+package io.cucumber.core.hash;
+
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+class Sha256Test {
+
+    @Test
+    void digests_as_hex() {
+        byte[] digest = Sha256.newDigest().digest("Hello World".getBytes(UTF_8));
+        assertThat(Sha256.toHex(digest), is("a591a6d40bf420404a011733cfb7b190d62c65bf0bcda32b57b277d9ad9f146e"));
+    }
+
+}
@@ -0,0 +1,155 @@
+package io.cucumber.core.history;
+
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.feature.TestFeatureParser;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.runtime.TimeServiceEventBus;
+import io.cucumber.plugin.event.Location;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.Step;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.Duration.ZERO;
+import static java.time.Duration.ofSeconds;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.number.IsCloseTo.closeTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HistoryTest {
+
+    private final Feature feature = TestFeatureParser.parse("file:path/test.feature", "" +
+            "Feature: Test feature\n" +
+            "  Scenario: first\n" +
+            "    Given a step\n" +
+            "    And another step\n");
+
+    private final Pickle pickle = feature.getPickles().get(0);
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void is_empty_without_previous_runs() {
+        History history = History.read(temp);
+        assertThat(history.find(pickle).isPresent(), is(false));
+    }
+
+    @Test
+    void is_empty_when_the_file_is_not_a_history() throws IOException {
+        Files.write(temp.resolve(History.FILE_NAME), "not a history".getBytes(UTF_8));
+        History history = History.read(temp);
+        assertThat(history.find(pickle).isPresent(), is(false));
+    }
+
+    @Test
+    void remembers_pickles_between_runs() {
+        run(testCase("first", "a step", "another step"), Status.FAILED, ofSeconds(3), ofSeconds(1), ofSeconds(2));
+
+        PickleHistory pickleHistory = History.read(temp).find(pickle).orElseThrow(AssertionError::new);
+        assertThat(pickleHistory.getUri(), is(URI.create("file:path/test.feature")));
+        assertThat(pickleHistory.getLine(), is(2));
+        assertThat(pickleHistory.getRuns(), is(1));
+        assertThat(pickleHistory.getDuration(), is(ofSeconds(3)));
+        assertThat(pickleHistory.getStepDurations(), contains(ofSeconds(1), ofSeconds(2)));
+        assertThat(pickleHistory.getLastStatus(), is(Status.FAILED));
+        assertThat(pickleHistory.getFailureRate(), is(1.0));
+    }
+
+    @Test
+    void averages_durations_over_runs() {
+        run(testCase("first", "a step", "another step"), Status.FAILED, ofSeconds(10), ofSeconds(4), ofSeconds(6));
+        run(testCase("first", "a step", "another step"), Status.PASSED, ofSeconds(20), ofSeconds(4), ofSeconds(16));
+
+        PickleHistory pickleHistory = History.read(temp).find(pickle).orElseThrow(AssertionError::new);
+        assertThat(pickleHistory.getRuns(), is(2));
+        assertThat(pickleHistory.getDuration(), is(ofSeconds(12)));
+        assertThat(pickleHistory.getStepDurations(), contains(ofSeconds(4), ofSeconds(8)));
+        assertThat(pickleHistory.getLastStatus(), is(Status.PASSED));
+        assertThat(pickleHistory.getFailureRate(), closeTo(0.8, 0.0001));
+    }
+
+    @Test
+    void forgets_pickles_that_were_changed() {
+        run(testCase("first", "a step", "a changed step"), Status.PASSED, ofSeconds(3), ofSeconds(1), ofSeconds(2));
+
+        History history = History.read(temp);
+        assertThat(history.find(pickle).isPresent(), is(false));
+    }
+
+    @Test
+    void does_not_record_skipped_pickles() {
+        run(testCase("first", "a step", "another step"), Status.SKIPPED, ZERO, ZERO, ZERO);
+
+        History history = History.read(temp);
+        assertThat(history.find(pickle).isPresent(), is(false));
+    }
+
+    @Test
+    void forgets_pickles_that_were_not_executed_recently() {
+        run(testCase("first", "a step", "another step"), Status.PASSED, ofSeconds(3), ofSeconds(1), ofSeconds(2));
+        for (int i = 1; i < History.MAX_AGE_IN_RUNS; i++) {
+            History.read(temp).write();
+        }
+        assertThat(History.read(temp).find(pickle).isPresent(), is(true));
+
+        History.read(temp).write();
+        assertThat(History.read(temp).find(pickle).isPresent(), is(false));
+    }
+
+    private void run(TestCase testCase, Status status, Duration duration, Duration... stepDurations) {
+        EventBus bus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+        HistoryRecorder recorder = new HistoryRecorder(temp.toFile());
+        recorder.setEventPublisher(bus);
+
+        List<TestStep> testSteps = testCase.getTestSteps();
+        for (int i = 0; i < testSteps.size(); i++) {
+            bus.send(new TestStepFinished(Instant.now(), testCase, testSteps.get(i),
+                new Result(status, stepDurations[i], null)));
+        }
+        bus.send(new TestCaseFinished(Instant.now(), testCase, new Result(status, duration, null)));
+        bus.send(new TestRunFinished(Instant.now(), new Result(status, duration, null)));
+    }
+
+    private static TestCase testCase(String name, String... stepTexts) {
+        TestCase testCase = mock(TestCase.class);
+        when(testCase.getId()).thenReturn(UUID.randomUUID());
+        when(testCase.getName()).thenReturn(name);
+        when(testCase.getUri()).thenReturn(URI.create("file:path/test.feature"));
+        when(testCase.getLocation()).thenReturn(new Location(2, 3));
+        TestStep[] testSteps = new TestStep[stepTexts.length];
+        for (int i = 0; i < stepTexts.length; i++) {
+            Step step = mock(Step.class);
+            when(step.getText()).thenReturn(stepTexts[i]);
+            PickleStepTestStep testStep = mock(PickleStepTestStep.class);
+            when(testStep.getStep()).thenReturn(step);
+            testSteps[i] = testStep;
+        }
+        when(testCase.getTestSteps()).thenReturn(asList(testSteps));
+        return testCase;
+    }
+
+}
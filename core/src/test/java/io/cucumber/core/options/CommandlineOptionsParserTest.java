@@ -356,6 +356,25 @@ class CommandlineOptionsParserTest {
         assertThat(options.getThreads(), is(10));
     }
 
+    @Test
+    void ensure_virtual_threads_param_is_used() {
+        RuntimeOptions options = parser
+                .parse("--threads", "virtual:100")
+                .build();
+        assertThat(options.getThreads(), is(100));
+        assertThat(options.isVirtualThreads(), is(true));
+        assertThat(options.isMultiThreaded(), is(true));
+    }
+
+    @Test
+    void ensure_less_than_1_virtual_thread_is_not_allowed() {
+        parser
+                .parse("--threads", "virtual:0")
+                .build();
+        assertThat(output(), is("--threads must be > 0\n"));
+        assertThat(parser.exitStatus(), is(Optional.of((byte) 0x1)));
+    }
+
     @Test
     void ensure_less_than_1_thread_is_not_allowed() {
         parser
@@ -365,6 +384,24 @@ class CommandlineOptionsParserTest {
         assertThat(parser.exitStatus(), is(Optional.of((byte) 0x1)));
     }
 
+    @Test
+    void ensure_processes_param_is_used() {
+        RuntimeOptions options = parser
+                .parse("--processes", "4")
+                .build();
+        assertThat(options.getProcesses(), is(4));
+        assertThat(options.isMultiProcess(), is(true));
+    }
+
+    @Test
+    void ensure_less_than_1_process_is_not_allowed() {
+        parser
+                .parse("--processes", "0")
+                .build();
+        assertThat(output(), is("--processes must be > 0\n"));
+        assertThat(parser.exitStatus(), is(Optional.of((byte) 0x1)));
+    }
+
     @Test
     void set_monochrome_on_color_aware_formatters() {
         RuntimeOptions options = parser
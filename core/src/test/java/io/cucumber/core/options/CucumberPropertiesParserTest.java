@@ -1,8 +1,13 @@
 package io.cucumber.core.options;
 
 import io.cucumber.core.backend.ObjectFactory;
+import io.cucumber.core.eventbus.IncrementingIdGenerator;
 import io.cucumber.core.exception.CucumberException;
+import io.cucumber.core.filter.Shard;
 import io.cucumber.core.order.StandardPickleOrders;
+import io.cucumber.core.plugin.OverflowPolicy;
+import io.cucumber.core.runtime.Granularity;
+import io.cucumber.core.runtime.Scheduler;
 import io.cucumber.core.snippets.SnippetType;
 import io.cucumber.tagexpressions.TagExpressionParser;
 import org.junit.jupiter.api.Test;
@@ -12,11 +17,13 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.nio.file.StandardOpenOption.WRITE;
@@ -59,6 +66,94 @@ class CucumberPropertiesParserTest {
         assertThat(options.getPickleOrder(), equalTo(StandardPickleOrders.reverseLexicalUriOrder()));
     }
 
+    @Test
+    void should_parse_execution_fail_fast() {
+        properties.put(Constants.EXECUTION_FAIL_FAST_PROPERTY_NAME, "true");
+        RuntimeOptions options = cucumberPropertiesParser.parse(properties).build();
+        assertThat(options.getMaxFailures(), equalTo(1));
+    }
+
+    @Test
+    void should_parse_execution_max_failures() {
+        properties.put(Constants.EXECUTION_MAX_FAILURES_PROPERTY_NAME, "5");
+        RuntimeOptions options = cucumberPropertiesParser.parse(properties).build();
+        assertThat(options.getMaxFailures(), equalTo(5));
+    }
+
+    @Test
+    void should_parse_execution_max_failures_over_fail_fast() {
+        properties.put(Constants.EXECUTION_FAIL_FAST_PROPERTY_NAME, "false");
+        properties.put(Constants.EXECUTION_MAX_FAILURES_PROPERTY_NAME, "5");
+        RuntimeOptions options = cucumberPropertiesParser.parse(properties).build();
+        assertThat(options.getMaxFailures(), equalTo(5));
+    }
+
+    @Test
+    void should_parse_execution_shard() {
+        properties.put(Constants.EXECUTION_SHARD_PROPERTY_NAME, "2/12");
+        RuntimeOptions options = cucumberPropertiesParser.parse(properties).build();
+        assertThat(options.getShard(), equalTo(new Shard(2, 12)));
+    }
+
+    @Test
+    void should_parse_execution_shard_history() {
+        properties.put(Constants.EXECUTION_SHARD_HISTORY_PROPERTY_NAME, "build/cucumber-history");
+        RuntimeOptions options = cucumberPropertiesParser.parse(properties).build();
+        assertThat(options.getShardHistory(), equalTo(Optional.of(Paths.get("build/cucumber-history"))));
+    }
+
+    @Test
+    void should_parse_execution_result_cache() {
+        properties.put(Constants.EXECUTION_RESULT_CACHE_ENABLED_PROPERTY_NAME, "true");
+        properties.put(Constants.EXECUTION_RESULT_CACHE_INPUTS_PROPERTY_NAME, "src/test/resources/data, config.yml");
+        RuntimeOptions options = cucumberPropertiesParser.parse(properties).build();
+        assertThat(options.isResultCache(), equalTo(true));
+        assertThat(options.getResultCacheInputs(),
+            contains(Paths.get("src/test/resources/data"), Paths.get("config.yml")));
+    }
+
+    @Test
+    void should_parse_execution_parallel_granularity() {
+        properties.put(Constants.EXECUTION_PARALLEL_GRANULARITY_PROPERTY_NAME, "feature");
+        RuntimeOptions options = cucumberPropertiesParser.parse(properties).build();
+        assertThat(options.getGranularity(), equalTo(Granularity.FEATURE));
+    }
+
+    @Test
+    void should_parse_plugin_async_overflow_policy() {
+        properties.put(Constants.PLUGIN_ASYNC_OVERFLOW_POLICY_PROPERTY_NAME, "drop");
+        RuntimeOptions options = cucumberPropertiesParser.parse(properties).build();
+        assertThat(options.getAsyncPluginOverflowPolicy(), equalTo(OverflowPolicy.DROP));
+    }
+
+    @Test
+    void should_parse_id_generator() {
+        properties.put(Constants.ID_GENERATOR_PROPERTY_NAME, "incrementing");
+        RuntimeOptions options = cucumberPropertiesParser.parse(properties).build();
+        assertThat(options.getIdGeneratorClass(), equalTo(IncrementingIdGenerator.class));
+    }
+
+    @Test
+    void should_parse_canonical_order_memory_budget() {
+        properties.put(Constants.PLUGIN_CANONICAL_ORDER_MEMORY_BUDGET_PROPERTY_NAME, "16");
+        RuntimeOptions options = cucumberPropertiesParser.parse(properties).build();
+        assertThat(options.getCanonicalOrderMemoryBudget(), equalTo(16));
+    }
+
+    @Test
+    void should_parse_json_pretty_print() {
+        properties.put(Constants.PLUGIN_JSON_PRETTY_PRINT_PROPERTY_NAME, "false");
+        RuntimeOptions options = cucumberPropertiesParser.parse(properties).build();
+        assertThat(options.isJsonPrettyPrint(), equalTo(false));
+    }
+
+    @Test
+    void should_parse_execution_scheduler() {
+        properties.put(Constants.EXECUTION_SCHEDULER_PROPERTY_NAME, "longest-first");
+        RuntimeOptions options = cucumberPropertiesParser.parse(properties).build();
+        assertThat(options.getScheduler(), equalTo(Scheduler.LONGEST_FIRST));
+    }
+
     @Test
     void should_parse_features() {
         properties.put(Constants.FEATURES_PROPERTY_NAME, "classpath:com/example.feature");
@@ -1,5 +1,7 @@
 package io.cucumber.core.options;
 
+import io.cucumber.core.plugin.BinaryMessageFormatter;
+import io.cucumber.core.plugin.MessageFormatter;
 import io.cucumber.core.plugin.PrettyFormatter;
 import io.cucumber.core.plugin.TeamCityPlugin;
 import org.junit.jupiter.api.Test;
@@ -29,6 +31,13 @@ class PluginOptionTest {
         assertThat(option.argument(), is("out.txt"));
     }
 
+    @Test
+    void should_parse_message_plugin_with_protobuf_file() {
+        assertAll(
+            () -> assertThat(PluginOption.parse("message:out.ndjson").pluginClass(), is(MessageFormatter.class)),
+            () -> assertThat(PluginOption.parse("message:out.pb").pluginClass(), is(BinaryMessageFormatter.class)));
+    }
+
     @Test
     void should_parse_fully_qualified_class_name() {
         PluginOption option = PluginOption.parse(PrettyFormatter.class.getName());
@@ -53,7 +62,7 @@ class PluginOptionTest {
                     "\n" +
                     "Plugin specifications should have the format of PLUGIN[:[PATH|[URI [OPTIONS]]]\n" +
                     "\n" +
-                    "Valid values for PLUGIN are: default_summary, html, json, junit, message, null_summary, pretty, progress, rerun, summary, teamcity, testng, timeline, unused, usage\n"
+                    "Valid values for PLUGIN are: default_summary, history, html, json, junit, message, null_summary, pretty, progress, rerun, summary, teamcity, testng, timeline, unused, usage\n"
                     +
                     "\n" +
                     "PLUGIN can also be a fully qualified class name, allowing registration of 3rd party plugins. The 3rd party plugin must implement io.cucumber.plugin.Plugin"));
@@ -70,7 +79,7 @@ class PluginOptionTest {
                 "\n" +
                 "Plugin specifications should have the format of PLUGIN[:[PATH|[URI [OPTIONS]]]\n" +
                 "\n" +
-                "Valid values for PLUGIN are: default_summary, html, json, junit, message, null_summary, pretty, progress, rerun, summary, teamcity, testng, timeline, unused, usage\n"
+                "Valid values for PLUGIN are: default_summary, history, html, json, junit, message, null_summary, pretty, progress, rerun, summary, teamcity, testng, timeline, unused, usage\n"
                 +
                 "\n" +
                 "PLUGIN can also be a fully qualified class name, allowing registration of 3rd party plugins. The 3rd party plugin must implement io.cucumber.plugin.Plugin"));
@@ -87,7 +96,7 @@ class PluginOptionTest {
                 "\n" +
                 "Plugin specifications should have the format of PLUGIN[:[PATH|[URI [OPTIONS]]]\n" +
                 "\n" +
-                "Valid values for PLUGIN are: default_summary, html, json, junit, message, null_summary, pretty, progress, rerun, summary, teamcity, testng, timeline, unused, usage\n"
+                "Valid values for PLUGIN are: default_summary, history, html, json, junit, message, null_summary, pretty, progress, rerun, summary, teamcity, testng, timeline, unused, usage\n"
                 +
                 "\n" +
                 "PLUGIN can also be a fully qualified class name, allowing registration of 3rd party plugins. The 3rd party plugin must implement io.cucumber.plugin.Plugin"));
@@ -0,0 +1,147 @@
+package io.cucumber.core.plugin;
+
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.runtime.TimeServiceEventBus;
+import io.cucumber.plugin.AsyncPlugin;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestRunFinished;
+import org.junit.jupiter.api.Test;
+
+import java.io.Flushable;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static java.time.Instant.EPOCH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.number.OrderingComparison.lessThan;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AsyncEventPublisherTest {
+
+    private final EventBus bus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+    private final TestRunFinished testRunFinished = new TestRunFinished(EPOCH,
+        new Result(Status.PASSED, Duration.ZERO, null));
+
+    @Test
+    void delivers_events_on_a_writer_thread_before_the_test_run_finished() {
+        AsyncEventPublisher publisher = new AsyncEventPublisher(bus, new StubAsyncPlugin(), OverflowPolicy.BLOCK);
+        List<String> received = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        publisher.registerHandlerFor(String.class, event -> {
+            received.add(event);
+            threads.add(Thread.currentThread());
+        });
+        publisher.registerHandlerFor(TestRunFinished.class, event -> received.add("finished"));
+
+        bus.send("first");
+        bus.send("second");
+        bus.send(testRunFinished);
+
+        assertAll(
+            () -> assertThat(received, contains("first", "second", "finished")),
+            () -> assertThat(threads.get(0), is(not(Thread.currentThread()))));
+    }
+
+    @Test
+    void drops_events_when_the_plugin_can_not_keep_up() throws InterruptedException {
+        AsyncEventPublisher publisher = new AsyncEventPublisher(bus, new StubAsyncPlugin(), OverflowPolicy.DROP);
+        CountDownLatch slow = new CountDownLatch(1);
+        List<String> received = new ArrayList<>();
+        publisher.registerHandlerFor(String.class, event -> {
+            awaitQuietly(slow);
+            received.add(event);
+        });
+        List<String> finished = new ArrayList<>();
+        publisher.registerHandlerFor(TestRunFinished.class, event -> finished.add("finished"));
+
+        int sent = AsyncEventPublisher.CAPACITY * 2;
+        for (int i = 0; i < sent; i++) {
+            bus.send("event " + i);
+        }
+        slow.countDown();
+        bus.send(testRunFinished);
+
+        assertAll(
+            () -> assertThat(received.size(), is(lessThan(sent))),
+            () -> assertThat(received.get(0), is("event 0")),
+            () -> assertThat(finished, contains("finished")));
+    }
+
+    @Test
+    void rethrows_exception_of_handler_when_the_test_run_finished() {
+        AsyncEventPublisher publisher = new AsyncEventPublisher(bus, new StubAsyncPlugin(), OverflowPolicy.BLOCK);
+        RuntimeException exception = new RuntimeException("Boom");
+        publisher.registerHandlerFor(String.class, event -> {
+            throw exception;
+        });
+        publisher.registerHandlerFor(TestRunFinished.class, event -> {
+        });
+
+        bus.send("first");
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> bus.send(testRunFinished));
+        assertThat(thrown, is(exception));
+    }
+
+    @Test
+    void does_not_flush_the_plugin_once_the_test_run_finished() {
+        ClosingAsyncPlugin plugin = new ClosingAsyncPlugin();
+        AsyncEventPublisher publisher = new AsyncEventPublisher(bus, plugin, OverflowPolicy.BLOCK);
+        publisher.registerHandlerFor(String.class, event -> {
+        });
+        publisher.registerHandlerFor(TestRunFinished.class, event -> {
+            // Finish after the next flush was due
+            sleepQuietly(AsyncEventPublisher.FLUSH_INTERVAL_MILLIS + 100);
+            plugin.closed = true;
+        });
+
+        bus.send("first");
+        bus.send(testRunFinished);
+
+        assertThat(plugin.flushedAfterClose, is(false));
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class StubAsyncPlugin implements AsyncPlugin {
+
+    }
+
+    private static final class ClosingAsyncPlugin implements AsyncPlugin, Flushable {
+
+        private volatile boolean closed;
+        private volatile boolean flushedAfterClose;
+
+        @Override
+        public void flush() {
+            if (closed) {
+                flushedAfterClose = true;
+            }
+        }
+
+    }
+
+}
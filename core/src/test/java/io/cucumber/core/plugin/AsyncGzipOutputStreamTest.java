@@ -0,0 +1,98 @@
+package io.cucumber.core.plugin;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AsyncGzipOutputStreamTest {
+
+    @Test
+    void compresses_everything_written() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        Random random = new Random(42);
+
+        AsyncGzipOutputStream out = new AsyncGzipOutputStream(compressed);
+        for (int i = 0; i < 2000; i++) {
+            byte[] bytes = new byte[random.nextInt(1024)];
+            random.nextBytes(bytes);
+            write(bytes, out, expected);
+            out.write('\n');
+            expected.write('\n');
+            if (i % 100 == 0) {
+                out.flush();
+            }
+        }
+        out.close();
+
+        assertThat(decompress(compressed.toByteArray()), is(expected.toByteArray()));
+    }
+
+    @Test
+    void can_not_be_written_to_when_closed() throws IOException {
+        AsyncGzipOutputStream out = new AsyncGzipOutputStream(new ByteArrayOutputStream());
+        out.close();
+        out.close();
+
+        assertThrows(IOException.class, () -> out.write(1));
+    }
+
+    @Test
+    void throws_when_compressed_output_could_not_be_written() {
+        AsyncGzipOutputStream out = new AsyncGzipOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Disk full");
+            }
+        });
+
+        assertThrows(IOException.class, out::close);
+    }
+
+    @Test
+    void throws_when_the_compressor_failed_unexpectedly() {
+        AsyncGzipOutputStream out = new AsyncGzipOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                throw new IllegalStateException("Unexpected");
+            }
+        });
+        byte[] bytes = new byte[1024 * 1024];
+
+        IOException exception = assertThrows(IOException.class, () -> {
+            // More than the compressor can queue
+            for (int i = 0; i < 10; i++) {
+                out.write(bytes);
+            }
+        });
+        assertThat(exception.getCause().getCause() instanceof IllegalStateException, is(true));
+        assertThrows(IOException.class, out::close);
+    }
+
+    private static void write(byte[] bytes, OutputStream out, ByteArrayOutputStream expected) throws IOException {
+        out.write(bytes);
+        expected.write(bytes);
+    }
+
+    private static byte[] decompress(byte[] compressed) throws IOException {
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            byte[] buffer = new byte[8192];
+            for (int n = in.read(buffer); n > 0; n = in.read(buffer)) {
+                decompressed.write(buffer, 0, n);
+            }
+        }
+        return decompressed.toByteArray();
+    }
+
+}
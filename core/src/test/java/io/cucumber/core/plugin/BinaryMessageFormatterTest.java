@@ -0,0 +1,71 @@
+package io.cucumber.core.plugin;
+
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.runtime.TimeServiceEventBus;
+import io.cucumber.messages.Messages;
+import io.cucumber.messages.Messages.Envelope;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+class BinaryMessageFormatterTest {
+
+    private final Envelope testRunStarted = Envelope.newBuilder()
+            .setTestRunStarted(Messages.TestRunStarted.newBuilder()
+                    .setTimestamp(Messages.Timestamp.newBuilder()
+                            .setSeconds(10)
+                            .build())
+                    .build())
+            .build();
+
+    private final Envelope testRunFinished = Envelope.newBuilder()
+            .setTestRunFinished(Messages.TestRunFinished.newBuilder()
+                    .setTimestamp(Messages.Timestamp.newBuilder()
+                            .setSeconds(15)
+                            .build())
+                    .build())
+            .build();
+
+    @Test
+    void writes_messages_that_can_be_read(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("messages.pb");
+        BinaryMessageFormatter formatter = new BinaryMessageFormatter(new FileOutputStream(file.toFile()));
+        EventBus bus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+        formatter.setEventPublisher(bus);
+
+        bus.send(testRunStarted);
+        bus.send(testRunFinished);
+
+        try (Stream<Envelope> messages = MessageReader.read(file)) {
+            assertThat(messages.collect(Collectors.toList()), is(Arrays.asList(testRunStarted, testRunFinished)));
+        }
+    }
+
+    @Test
+    void reads_ndjson_messages(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("messages.ndjson");
+        Files.write(file, ("" +
+                "{\"testRunStarted\":{\"timestamp\":{\"seconds\":\"10\"}}}\n" +
+                "{\"testRunFinished\":{\"timestamp\":{\"seconds\":\"15\"}}}\n").getBytes(UTF_8));
+
+        try (Stream<Envelope> messages = MessageReader.read(file)) {
+            List<Envelope> envelopes = messages.collect(Collectors.toList());
+            assertThat(envelopes, is(Arrays.asList(testRunStarted, testRunFinished)));
+        }
+    }
+
+}
@@ -0,0 +1,208 @@
+package io.cucumber.core.plugin;
+
+import io.cucumber.core.plugin.SpilledTestCase.SpilledHookTestStep;
+import io.cucumber.core.plugin.SpilledTestCase.SpilledPickleStepTestStep;
+import io.cucumber.core.plugin.SpilledTestCase.SpilledStep;
+import io.cucumber.plugin.event.EmbedEvent;
+import io.cucumber.plugin.event.Event;
+import io.cucumber.plugin.event.HookType;
+import io.cucumber.plugin.event.Location;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseEvent;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestSourceRead;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import io.cucumber.plugin.event.WriteEvent;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static java.time.Instant.EPOCH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class CanonicalOrderEventPublisherTest {
+
+    private final TestCase feature1Scenario = createTestCase(URI.create("file:path/to/1.feature"), 3);
+    private final TestCase feature2Scenario1 = createTestCase(URI.create("file:path/to/2.feature"), 1);
+    private final TestCase feature2Scenario2 = createTestCase(URI.create("file:path/to/2.feature"), 7);
+    private int seconds;
+
+    private static TestCase createTestCase(URI uri, int line) {
+        Location location = new Location(line, 3);
+        SpilledStep step = new SpilledStep(null, "Given ", "a step", new Location(line + 1, 5));
+        List<TestStep> testSteps = Arrays.asList(
+            new SpilledHookTestStep(UUID.randomUUID(), "Hooks.before()", HookType.BEFORE),
+            new SpilledPickleStepTestStep(UUID.randomUUID(), "Steps.a_step()", uri, "a step", step,
+                Collections.emptyList()));
+        return new SpilledTestCase(UUID.randomUUID(), uri, line, location, "Scenario", "scenario at " + line,
+            uri + ":" + line, Collections.singletonList("@tag"), testSteps);
+    }
+
+    @Test
+    void publishes_the_same_events_in_the_same_order_when_spilling() {
+        List<Event> events = createEvents();
+
+        List<Event> unbounded = publish(new CanonicalOrderEventPublisher(Long.MAX_VALUE), events);
+        List<Event> spilled = publish(new CanonicalOrderEventPublisher(0), events);
+
+        assertThat(describe(spilled), is(describe(unbounded)));
+    }
+
+    @Test
+    void restores_spilled_events() {
+        List<Event> spilled = publish(new CanonicalOrderEventPublisher(0), createEvents());
+
+        TestCaseStarted testCaseStarted = (TestCaseStarted) spilled.get(2);
+        TestCase testCase = testCaseStarted.getTestCase();
+        PickleStepTestStep testStep = (PickleStepTestStep) testCase.getTestSteps().get(1);
+        TestStepFinished testStepFinished = spilled.stream()
+                .filter(TestStepFinished.class::isInstance)
+                .map(TestStepFinished.class::cast)
+                .filter(event -> event.getTestStep() == testStep)
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        EmbedEvent embedEvent = spilled.stream()
+                .filter(EmbedEvent.class::isInstance)
+                .map(EmbedEvent.class::cast)
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+
+        assertAll(
+            () -> assertThat(testCase, is(not(sameInstance(feature1Scenario)))),
+            () -> assertThat(testCase.getId(), is(feature1Scenario.getId())),
+            () -> assertThat(testCase.getName(), is("scenario at 3")),
+            () -> assertThat(testCase.getTags(), is(Collections.singletonList("@tag"))),
+            () -> assertThat(testStep.getStep().getText(), is("a step")),
+            () -> assertThat(testStep.getStepLine(), is(4)),
+            () -> assertThat(testStepFinished.getTestCase(), is(testCase)),
+            () -> assertThat(testStepFinished.getResult().getStatus(), is(Status.FAILED)),
+            () -> assertThat(testStepFinished.getResult().getError().getMessage(), is("Boom")),
+            () -> assertThat(embedEvent.getData(), is(new byte[] { 1, 2, 3 })),
+            () -> assertThat(embedEvent.getMediaType(), is("application/octet-stream")));
+    }
+
+    @Test
+    void restores_spilled_errors_that_can_not_be_serialized() {
+        TestStep step = feature1Scenario.getTestSteps().get(1);
+        UnserializableException error = new UnserializableException("Boom");
+        List<Event> events = Arrays.asList(
+            new TestRunStarted(nextInstant()),
+            new TestCaseStarted(nextInstant(), feature1Scenario),
+            new TestStepStarted(nextInstant(), feature1Scenario, step),
+            new TestStepFinished(nextInstant(), feature1Scenario, step,
+                new Result(Status.FAILED, Duration.ofMillis(2), error)),
+            new TestCaseFinished(nextInstant(), feature1Scenario, passed()),
+            new TestRunFinished(nextInstant()));
+
+        List<Event> spilled = publish(new CanonicalOrderEventPublisher(0), events);
+
+        Throwable restored = spilled.stream()
+                .filter(TestStepFinished.class::isInstance)
+                .map(TestStepFinished.class::cast)
+                .findFirst()
+                .map(event -> event.getResult().getError())
+                .orElseThrow(AssertionError::new);
+        assertAll(
+            () -> assertThat(restored.getMessage(), is(error.toString())),
+            () -> assertThat(describe(restored.getStackTrace()), is(describe(error.getStackTrace()))));
+    }
+
+    private List<Event> createEvents() {
+        List<Event> events = new ArrayList<>();
+        events.add(new TestRunStarted(nextInstant()));
+        events.add(new TestCaseStarted(nextInstant(), feature2Scenario2));
+        events.add(new TestCaseStarted(nextInstant(), feature1Scenario));
+        events.addAll(createTestStepEvents(feature2Scenario2));
+        events.add(new TestCaseFinished(nextInstant(), feature2Scenario2, passed()));
+        events.addAll(createTestStepEvents(feature1Scenario));
+        events.add(new WriteEvent(nextInstant(), feature1Scenario, "written"));
+        events.add(new EmbedEvent(nextInstant(), feature1Scenario, new byte[] { 1, 2, 3 },
+            "application/octet-stream", "embedded"));
+        events.add(new TestCaseFinished(nextInstant(), feature1Scenario, passed()));
+        events.add(new TestSourceRead(nextInstant(), feature1Scenario.getUri(), "Feature: 1"));
+        events.add(new TestCaseStarted(nextInstant(), feature2Scenario1));
+        events.addAll(createTestStepEvents(feature2Scenario1));
+        events.add(new TestCaseFinished(nextInstant(), feature2Scenario1, passed()));
+        events.add(new TestRunFinished(nextInstant()));
+        return events;
+    }
+
+    private List<TestCaseEvent> createTestStepEvents(TestCase testCase) {
+        TestStep hook = testCase.getTestSteps().get(0);
+        TestStep step = testCase.getTestSteps().get(1);
+        StubException error = new StubException("Boom", "the stack trace");
+        Result failed = new Result(Status.FAILED, Duration.ofMillis(2), error);
+        return Arrays.asList(
+            new TestStepStarted(nextInstant(), testCase, hook),
+            new TestStepFinished(nextInstant(), testCase, hook, passed()),
+            new TestStepStarted(nextInstant(), testCase, step),
+            new TestStepFinished(nextInstant(), testCase, step, failed));
+    }
+
+    private Instant nextInstant() {
+        return EPOCH.plusSeconds(seconds++);
+    }
+
+    private static Result passed() {
+        return new Result(Status.PASSED, Duration.ofMillis(1), null);
+    }
+
+    private static List<Event> publish(CanonicalOrderEventPublisher publisher, List<Event> events) {
+        List<Event> received = new ArrayList<>();
+        publisher.registerHandlerFor(Event.class, received::add);
+        events.forEach(publisher::handle);
+        return received;
+    }
+
+    private static final class UnserializableException extends RuntimeException {
+
+        private final Object notSerializable = new Object();
+
+        UnserializableException(String message) {
+            super(message);
+        }
+
+    }
+
+    private static List<String> describe(List<Event> events) {
+        return events.stream()
+                .map(CanonicalOrderEventPublisherTest::describe)
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> describe(StackTraceElement[] stackTrace) {
+        return Arrays.stream(stackTrace)
+                .map(element -> element.getClassName() + "." + element.getMethodName() + ":" + element.getLineNumber())
+                .collect(Collectors.toList());
+    }
+
+    private static String describe(Event event) {
+        String description = event.getClass().getSimpleName() + " " + event.getInstant();
+        if (event instanceof TestCaseEvent) {
+            TestCase testCase = ((TestCaseEvent) event).getTestCase();
+            description += " " + testCase.getId();
+        }
+        return description;
+    }
+
+}
@@ -26,6 +26,7 @@ import static java.time.Duration.ofMillis;
 import static java.time.Instant.EPOCH;
 import static java.time.ZoneId.of;
 import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.xmlunit.matchers.CompareMatcher.isIdenticalTo;
 import static org.xmlunit.matchers.ValidationMatcher.valid;
@@ -322,6 +323,35 @@ class JUnitFormatterTest {
         assertXmlEqual(expected, out);
     }
 
+    @Test
+    void should_format_failed_scenario_with_ansi_colored_message() {
+        Feature feature = TestFeatureParser.parse("path/test.feature",
+            "Feature: feature name\n" +
+                    "  Scenario: scenario name\n" +
+                    "    Given first step\n");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Runtime.builder()
+                .withFeatureSupplier(new StubFeatureSupplier(feature))
+                .withAdditionalPlugins(new JUnitFormatter(out))
+                .withEventBus(new TimeServiceEventBus(fixed(EPOCH, of("UTC")), UUID::randomUUID))
+                .withBackendSupplier(new StubBackendSupplier(
+                    new StubStepDefinition("first step",
+                        new StubException("\u001B[31mthe message\u001B[0m", "\u001B[31mthe stack trace\u001B[0m"))))
+                .build()
+                .run();
+
+        // Like the DOM serializer, control characters are written as
+        // character references. Not valid XML 1.0, so compared as text.
+        String actual = new String(out.toByteArray(), UTF_8);
+        assertThat(actual, containsString("" +
+                "<failure message=\"&#27;[31mthe message&#27;[0m\" type=\"io.cucumber.core.plugin.StubException\">" +
+                "<![CDATA[Given first step............................................................failed\n" +
+                "\n" +
+                "StackTrace:\n" +
+                "]]>&#27;<![CDATA[[31mthe stack trace]]>&#27;<![CDATA[[0m]]></failure>"));
+    }
+
     @Test
     void should_handle_failure_in_before_hook() {
         Feature feature = TestFeatureParser.parse("path/test.feature",
@@ -683,4 +713,22 @@ class JUnitFormatterTest {
         assertXmlEqual(expected, out);
     }
 
+    @Test
+    void should_format_test_run_without_scenarios() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Runtime.builder()
+                .withFeatureSupplier(new StubFeatureSupplier())
+                .withAdditionalPlugins(new JUnitFormatter(out))
+                .withEventBus(new TimeServiceEventBus(fixed(EPOCH, of("UTC")), UUID::randomUUID))
+                .withBackendSupplier(new StubBackendSupplier())
+                .build()
+                .run();
+
+        String expected = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n" +
+                "<testsuite failures=\"0\" name=\"io.cucumber.core.plugin.JUnitFormatter\" skipped=\"0\" errors=\"0\" tests=\"0\" time=\"0\">\n"
+                +
+                "</testsuite>\n";
+        assertXmlEqual(expected, out);
+    }
+
 }
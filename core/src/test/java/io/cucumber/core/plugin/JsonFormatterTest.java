@@ -28,6 +28,8 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static uk.co.datumedge.hamcrest.json.SameJSONAs.sameJSONAs;
 
 class JsonFormatterTest {
@@ -1485,4 +1487,61 @@ class JsonFormatterTest {
         assertJsonEquals(expected, out);
     }
 
+    @Test
+    void should_format_without_pretty_printing() {
+        Feature feature = TestFeatureParser.parse("path/test.feature", "" +
+                "Feature: Banana party\n" +
+                "\n" +
+                "  Scenario: Monkey eats bananas\n" +
+                "    Given there are bananas\n");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Runtime.builder()
+                .withRuntimeOptions(new RuntimeOptionsBuilder().setJsonPrettyPrint(false).build())
+                .withFeatureSupplier(new StubFeatureSupplier(feature))
+                .withAdditionalPlugins(new JsonFormatter(out))
+                .withEventBus(new TimeServiceEventBus(fixed(EPOCH, of("UTC")), UUID::randomUUID))
+                .withBackendSupplier(new StubBackendSupplier())
+                .build()
+                .run();
+
+        String expected = "" +
+                "[\n" +
+                "  {\n" +
+                "    \"id\": \"banana-party\",\n" +
+                "    \"uri\": \"file:path/test.feature\",\n" +
+                "    \"keyword\": \"Feature\",\n" +
+                "    \"name\": \"Banana party\",\n" +
+                "    \"line\": 1,\n" +
+                "    \"description\": \"\",\n" +
+                "    \"elements\": [\n" +
+                "      {\n" +
+                "        \"id\": \"banana-party;monkey-eats-bananas\",\n" +
+                "        \"keyword\": \"Scenario\",\n" +
+                "        \"start_timestamp\": \"1970-01-01T00:00:00.000Z\",\n" +
+                "        \"name\": \"Monkey eats bananas\",\n" +
+                "        \"line\": 3,\n" +
+                "        \"description\": \"\",\n" +
+                "        \"type\": \"scenario\",\n" +
+                "        \"steps\": [\n" +
+                "          {\n" +
+                "            \"keyword\": \"Given \",\n" +
+                "            \"name\": \"there are bananas\",\n" +
+                "            \"line\": 4,\n" +
+                "            \"match\": {},\n" +
+                "            \"result\": {\n" +
+                "              \"status\": \"undefined\"\n" +
+                "            }\n" +
+                "          }\n" +
+                "        ]\n" +
+                "      }\n" +
+                "    ],\n" +
+                "    \"tags\": []\n" +
+                "  }\n" +
+                "]";
+        String actual = new String(out.toByteArray(), UTF_8);
+        assertThat(actual, not(containsString("\n")));
+        assertJsonEquals(expected, actual);
+    }
+
 }
@@ -16,6 +16,7 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.net.URL;
@@ -24,8 +25,10 @@ import java.nio.file.Path;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import static io.cucumber.core.options.TestPluginOption.parse;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.Duration.ZERO;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -67,6 +70,23 @@ class PluginFactoryTest {
             () -> assertThat(Files.exists(file), is(true)));
     }
 
+    @Test
+    void compresses_output_to_gz_files() throws IOException {
+        Path file = tmp.resolve("out.txt.gz");
+        WantsOutputStream plugin = (WantsOutputStream) fc.create(parse(WantsOutputStream.class.getName() + ":" + file));
+        plugin.printStream.write("Hello World".getBytes(UTF_8));
+        plugin.printStream.close();
+
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(file))) {
+            ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            for (int n = inputStream.read(buffer); n > 0; n = inputStream.read(buffer)) {
+                decompressed.write(buffer, 0, n);
+            }
+            assertThat(new String(decompressed.toByteArray(), UTF_8), is("Hello World"));
+        }
+    }
+
     @Test
     void fails_to_instantiates_html_plugin_with_dir_arg() {
         assertThrows(
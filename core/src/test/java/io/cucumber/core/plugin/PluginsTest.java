@@ -1,6 +1,7 @@
 package io.cucumber.core.plugin;
 
 import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.plugin.AsyncPlugin;
 import io.cucumber.plugin.ColorAware;
 import io.cucumber.plugin.ConcurrentEventListener;
 import io.cucumber.plugin.EventListener;
@@ -22,6 +23,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
 
 @ExtendWith({ MockitoExtension.class })
 class PluginsTest {
@@ -71,6 +73,18 @@ class PluginsTest {
         assertThat(eventPublisher.getValue().getClass(), is(equalTo(CanonicalOrderEventPublisher.class)));
     }
 
+    @Test
+    void shouldSetAsyncEventPublisherOnAsyncPlugin() {
+        RuntimeOptions runtimeOptions = RuntimeOptions.defaultOptions();
+        Plugins plugins = new Plugins(pluginFactory, runtimeOptions);
+        ConcurrentEventListener plugin = mock(ConcurrentEventListener.class,
+            withSettings().extraInterfaces(AsyncPlugin.class));
+        plugins.addPlugin(plugin);
+        plugins.setEventBusOnEventListenerPlugins(rootEventPublisher);
+        verify(plugin, times(1)).setEventPublisher(eventPublisher.capture());
+        assertThat(eventPublisher.getValue().getClass(), is(equalTo(AsyncEventPublisher.class)));
+    }
+
     @Test
     void shouldRegisterCanonicalOrderEventPublisherWithRootEventPublisher() {
         RuntimeOptions runtimeOptions = RuntimeOptions.defaultOptions();
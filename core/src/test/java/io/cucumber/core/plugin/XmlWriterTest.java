@@ -0,0 +1,93 @@
+package io.cucumber.core.plugin;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+class XmlWriterTest {
+
+    private final StringWriter out = new StringWriter();
+    private final XmlWriter xml = new XmlWriter(out);
+
+    @Test
+    void writes_empty_element() throws IOException {
+        xml.writeStartElement("test-method");
+        xml.writeAttribute("status", "PASS");
+        xml.writeEndElement();
+
+        assertThat(out.toString(), is("<test-method status=\"PASS\"/>"));
+    }
+
+    @Test
+    void writes_nested_elements() throws IOException {
+        xml.writeStartElement("testcase");
+        xml.writeNewLine(1);
+        xml.writeStartElement("system-out");
+        xml.writeCData("passed");
+        xml.writeEndElement();
+        xml.writeNewLine(0);
+        xml.writeEndElement();
+
+        assertThat(out.toString(), is("" +
+                "<testcase>\n" +
+                "    <system-out><![CDATA[passed]]></system-out>\n" +
+                "</testcase>"));
+    }
+
+    @Test
+    void escapes_attribute_values() throws IOException {
+        xml.writeStartElement("skipped");
+        xml.writeAttribute("message", "<\"&\">\n\tat Steps.step()\r\n");
+        xml.writeEndElement();
+
+        assertThat(out.toString(),
+            is("<skipped message=\"&lt;&quot;&amp;&quot;&gt;&#10;&#9;at Steps.step()&#13;&#10;\"/>"));
+    }
+
+    @Test
+    void splits_cdata_at_its_end() throws IOException {
+        xml.writeStartElement("failure");
+        xml.writeCData("a]]>b");
+        xml.writeEndElement();
+
+        assertThat(out.toString(), is("<failure><![CDATA[a]]]]><![CDATA[>b]]></failure>"));
+    }
+
+    @Test
+    void writes_control_characters_as_character_references() throws IOException {
+        xml.writeStartElement("failure");
+        xml.writeAttribute("message", "\u001B[31mred\u001B[0m");
+        xml.writeCData("\u001B[31mred\u001B[0m");
+        xml.writeEndElement();
+
+        assertThat(out.toString(), is("" +
+                "<failure message=\"&#27;[31mred&#27;[0m\">" +
+                "&#27;<![CDATA[[31mred]]>&#27;<![CDATA[[0m]]>" +
+                "</failure>"));
+    }
+
+    @Test
+    void replaces_characters_that_can_not_occur_in_xml() throws IOException {
+        xml.writeStartElement("failure");
+        xml.writeAttribute("message", "a\u0000b\uD800c\uFFFF");
+        xml.writeCData("\uD83E\uDD52\uDC00");
+        xml.writeEndElement();
+
+        assertThat(out.toString(),
+            is("<failure message=\"a\uFFFDb\uFFFDc\uFFFD\"><![CDATA[\uD83E\uDD52\uFFFD]]></failure>"));
+    }
+
+    @Test
+    void writes_empty_cdata() throws IOException {
+        xml.writeStartElement("system-out");
+        xml.writeCData("");
+        xml.writeEndElement();
+
+        assertThat(out.toString(), is("<system-out><![CDATA[]]></system-out>"));
+    }
+
+}
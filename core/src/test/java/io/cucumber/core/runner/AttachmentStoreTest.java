@@ -0,0 +1,48 @@
+package io.cucumber.core.runner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+
+class AttachmentStoreTest {
+
+    @Test
+    void stores_content_once(@TempDir Path dir) throws IOException {
+        AttachmentStore store = new AttachmentStore(dir);
+
+        Path first = store.store(new ByteArrayInputStream("Hello World".getBytes(UTF_8)));
+        Path second = store.store(new ByteArrayInputStream("Hello World".getBytes(UTF_8)));
+        Path other = store.store(new ByteArrayInputStream("Goodbye World".getBytes(UTF_8)));
+
+        assertThat(second, is(first));
+        assertThat(other, is(not(first)));
+        assertThat(new String(Files.readAllBytes(first), UTF_8), is("Hello World"));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.count(), is(2L));
+        }
+    }
+
+    @Test
+    void stores_a_copy_of_files(@TempDir Path dir) throws IOException {
+        AttachmentStore store = new AttachmentStore(dir.resolve("store"));
+        Files.createDirectories(dir.resolve("store"));
+        Path file = dir.resolve("screenshot.png");
+        Files.write(file, new byte[] { 1, 2, 3 });
+
+        Path stored = store.store(file);
+        Files.delete(file);
+
+        assertThat(Files.readAllBytes(stored), is(new byte[] { 1, 2, 3 }));
+    }
+
+}
@@ -33,16 +33,21 @@ import java.net.URI;
 import java.time.Clock;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static java.util.Arrays.asList;
 import static java.util.Locale.ENGLISH;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -51,7 +56,6 @@ import static org.mockito.Mockito.when;
 
 class CachingGlueTest {
 
-    private final StepTypeRegistry stepTypeRegistry = new StepTypeRegistry(ENGLISH);
     private final CachingGlue glue = new CachingGlue(new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID));
 
     @Test
@@ -68,7 +72,7 @@ class CachingGlueTest {
 
         DuplicateStepDefinitionException exception = assertThrows(
             DuplicateStepDefinitionException.class,
-            () -> glue.prepareGlue(stepTypeRegistry));
+            () -> glue.prepareGlue(ENGLISH, StepTypeRegistry::new));
         assertThat(exception.getMessage(), equalTo("Duplicate step definitions in foo.bf:10 and bar.bf:90"));
     }
 
@@ -79,7 +83,7 @@ class CachingGlueTest {
 
         DuplicateDefaultParameterTransformers exception = assertThrows(
             DuplicateDefaultParameterTransformers.class,
-            () -> glue.prepareGlue(stepTypeRegistry));
+            () -> glue.prepareGlue(ENGLISH, StepTypeRegistry::new));
         assertThat(exception.getMessage(), equalTo("" +
                 "There may not be more then one default parameter transformer. Found:\n" +
                 " - mocked default parameter transformer\n" +
@@ -93,7 +97,7 @@ class CachingGlueTest {
 
         DuplicateDefaultDataTableEntryTransformers exception = assertThrows(
             DuplicateDefaultDataTableEntryTransformers.class,
-            () -> glue.prepareGlue(stepTypeRegistry));
+            () -> glue.prepareGlue(ENGLISH, StepTypeRegistry::new));
         assertThat(exception.getMessage(), equalTo("" +
                 "There may not be more then one default data table entry. Found:\n" +
                 " - mocked default data table entry transformer\n" +
@@ -107,7 +111,7 @@ class CachingGlueTest {
 
         DuplicateDefaultDataTableCellTransformers exception = assertThrows(
             DuplicateDefaultDataTableCellTransformers.class,
-            () -> glue.prepareGlue(stepTypeRegistry));
+            () -> glue.prepareGlue(ENGLISH, StepTypeRegistry::new));
         assertThat(exception.getMessage(), equalTo("" +
                 "There may not be more then one default table cell transformers. Found:\n" +
                 " - mocked default data table cell transformer\n" +
@@ -133,7 +137,7 @@ class CachingGlueTest {
         glue.addDefaultDataTableCellTransformer(new MockedDefaultDataTableCellTransformer());
         glue.addDefaultDataTableEntryTransformer(new MockedDefaultDataTableEntryTransformer());
 
-        glue.prepareGlue(stepTypeRegistry);
+        glue.prepareGlue(ENGLISH, StepTypeRegistry::new);
 
         assertAll(
             () -> assertThat(glue.getStepDefinitions().size(), is(equalTo(1))),
@@ -189,7 +193,7 @@ class CachingGlueTest {
         StepDefinition stepDefinition2 = new MockedStepDefinition("^pattern2");
         glue.addStepDefinition(stepDefinition1);
         glue.addStepDefinition(stepDefinition2);
-        glue.prepareGlue(stepTypeRegistry);
+        glue.prepareGlue(ENGLISH, StepTypeRegistry::new);
 
         URI uri = URI.create("file:path/to.feature");
         String stepText = "pattern1";
@@ -201,7 +205,7 @@ class CachingGlueTest {
             is(equalTo(stepDefinition1)));
 
         // check cache
-        assertThat(glue.getStepPatternByStepText().get(stepText), is(equalTo(stepDefinition1.getPattern())));
+        assertThat(glue.getCachedStepPattern(stepText), is(equalTo(stepDefinition1.getPattern())));
         CoreStepDefinition coreStepDefinition = glue.getStepDefinitionsByPattern().get(stepDefinition1.getPattern());
         assertThat(coreStepDefinition.getStepDefinition(), is(equalTo(stepDefinition1)));
 
@@ -217,7 +221,7 @@ class CachingGlueTest {
         StepDefinition stepDefinition2 = new MockedStepDefinition("^pattern2", DataTable.class);
         glue.addStepDefinition(stepDefinition1);
         glue.addStepDefinition(stepDefinition2);
-        glue.prepareGlue(stepTypeRegistry);
+        glue.prepareGlue(ENGLISH, StepTypeRegistry::new);
 
         URI uri = URI.create("file:path/to.feature");
         String stepText = "pattern1";
@@ -227,7 +231,7 @@ class CachingGlueTest {
         assertThat(((CoreStepDefinition) match1.getStepDefinition()).getStepDefinition(), is(equalTo(stepDefinition1)));
 
         // check cache
-        assertThat(glue.getStepPatternByStepText().get(stepText), is(equalTo(stepDefinition1.getPattern())));
+        assertThat(glue.getCachedStepPattern(stepText), is(equalTo(stepDefinition1.getPattern())));
         CoreStepDefinition coreStepDefinition = glue.getStepDefinitionsByPattern().get(stepDefinition1.getPattern());
         assertThat(coreStepDefinition.getStepDefinition(), is(equalTo(stepDefinition1)));
 
@@ -258,7 +262,7 @@ class CachingGlueTest {
         StepDefinition stepDefinition2 = new MockedStepDefinition("^pattern2", String.class);
         glue.addStepDefinition(stepDefinition1);
         glue.addStepDefinition(stepDefinition2);
-        glue.prepareGlue(stepTypeRegistry);
+        glue.prepareGlue(ENGLISH, StepTypeRegistry::new);
 
         URI uri = URI.create("file:path/to.feature");
         String stepText = "pattern1";
@@ -268,7 +272,7 @@ class CachingGlueTest {
         PickleStepDefinitionMatch match1 = glue.stepDefinitionMatch(uri, pickleStep1);
         assertThat(((CoreStepDefinition) match1.getStepDefinition()).getStepDefinition(), is(equalTo(stepDefinition1)));
         // check cache
-        assertThat(glue.getStepPatternByStepText().get(stepText), is(equalTo(stepDefinition1.getPattern())));
+        assertThat(glue.getCachedStepPattern(stepText), is(equalTo(stepDefinition1.getPattern())));
         CoreStepDefinition coreStepDefinition = glue.getStepDefinitionsByPattern().get(stepDefinition1.getPattern());
         assertThat(coreStepDefinition.getStepDefinition(), is(equalTo(stepDefinition1)));
 
@@ -302,7 +306,7 @@ class CachingGlueTest {
 
         StepDefinition stepDefinition1 = new MockedScenarioScopedStepDefinition("^pattern1");
         glue.addStepDefinition(stepDefinition1);
-        glue.prepareGlue(stepTypeRegistry);
+        glue.prepareGlue(ENGLISH, StepTypeRegistry::new);
 
         PickleStepDefinitionMatch pickleStepDefinitionMatch = glue.stepDefinitionMatch(uri, pickleStep1);
         assertThat(((CoreStepDefinition) pickleStepDefinitionMatch.getStepDefinition()).getStepDefinition(),
@@ -312,7 +316,7 @@ class CachingGlueTest {
 
         StepDefinition stepDefinition2 = new MockedScenarioScopedStepDefinition("^pattern1");
         glue.addStepDefinition(stepDefinition2);
-        glue.prepareGlue(stepTypeRegistry);
+        glue.prepareGlue(ENGLISH, StepTypeRegistry::new);
 
         PickleStepDefinitionMatch pickleStepDefinitionMatch2 = glue.stepDefinitionMatch(uri, pickleStep1);
         assertThat(((CoreStepDefinition) pickleStepDefinitionMatch2.getStepDefinition()).getStepDefinition(),
@@ -345,7 +349,7 @@ class CachingGlueTest {
         MockedDefaultParameterTransformer defaultParameterTransformer = new MockedDefaultParameterTransformer();
         glue.addDefaultParameterTransformer(defaultParameterTransformer);
 
-        glue.prepareGlue(stepTypeRegistry);
+        glue.prepareGlue(ENGLISH, StepTypeRegistry::new);
         glue.removeScenarioScopedGlue();
 
         assertThat(stepDefinition.isDisposed(), is(true));
@@ -369,7 +373,7 @@ class CachingGlueTest {
 
         StepDefinition stepDefinition1 = new MockedScenarioScopedStepDefinition("^pattern1");
         glue.addStepDefinition(stepDefinition1);
-        glue.prepareGlue(stepTypeRegistry);
+        glue.prepareGlue(ENGLISH, StepTypeRegistry::new);
 
         PickleStepDefinitionMatch pickleStepDefinitionMatch = glue.stepDefinitionMatch(uri, pickleStep1);
         assertThat(((CoreStepDefinition) pickleStepDefinitionMatch.getStepDefinition()).getStepDefinition(),
@@ -377,7 +381,7 @@ class CachingGlueTest {
 
         glue.removeScenarioScopedGlue();
 
-        glue.prepareGlue(stepTypeRegistry);
+        glue.prepareGlue(ENGLISH, StepTypeRegistry::new);
 
         PickleStepDefinitionMatch pickleStepDefinitionMatch2 = glue.stepDefinitionMatch(uri, pickleStep1);
         assertThat(pickleStepDefinitionMatch2, nullValue());
@@ -391,7 +395,7 @@ class CachingGlueTest {
         glue.addStepDefinition(stepDefinition1);
         glue.addStepDefinition(stepDefinition2);
         glue.addStepDefinition(stepDefinition3);
-        glue.prepareGlue(stepTypeRegistry);
+        glue.prepareGlue(ENGLISH, StepTypeRegistry::new);
 
         URI uri = URI.create("file:path/to.feature");
 
@@ -463,6 +467,26 @@ class CachingGlueTest {
         assertThat(hooks, contains(hookDefinition2, hookDefinition1, hookDefinition3));
     }
 
+    @Test
+    void matches_hooks_once_per_set_of_tags() {
+        HookDefinition hookDefinition1 = new MockedHookDefinition(12);
+        HookDefinition hookDefinition2 = new MockedScenarioScopedHookDefinition(13);
+        glue.addBeforeHook(hookDefinition1);
+        glue.addAfterStepHook(hookDefinition1);
+
+        MatchingHooks hooks = glue.getMatchingHooks(asList("@a", "@b"));
+        assertThat(glue.getMatchingHooks(asList("@b", "@a")), is(sameInstance(hooks)));
+        assertThat(hooks.getAfterStepHooks().size(), is(equalTo(1)));
+
+        glue.addBeforeHook(hookDefinition2);
+        MatchingHooks withScenarioScopedHook = glue.getMatchingHooks(asList("@a", "@b"));
+        assertThat(withScenarioScopedHook, is(not(sameInstance(hooks))));
+        assertThat(withScenarioScopedHook.getBeforeHooks().size(), is(equalTo(2)));
+
+        glue.removeScenarioScopedGlue();
+        assertThat(glue.getMatchingHooks(asList("@a", "@b")).getBeforeHooks().size(), is(equalTo(1)));
+    }
+
     @Test
     public void emits_hook_messages_to_bus() {
 
@@ -478,10 +502,114 @@ class CachingGlueTest {
         glue.addBeforeStepHook(new MockedScenarioScopedHookDefinition());
         glue.addAfterStepHook(new MockedScenarioScopedHookDefinition());
 
-        glue.prepareGlue(stepTypeRegistry);
+        glue.prepareGlue(ENGLISH, StepTypeRegistry::new);
         assertThat(events.size(), is(4));
     }
 
+    @Test
+    void reuses_prepared_glue_between_pickles() {
+        List<Messages.Envelope> events = new ArrayList<>();
+        EventBus bus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+        bus.registerHandlerFor(Messages.Envelope.class, events::add);
+        CachingGlue glue = new CachingGlue(bus);
+        glue.addStepDefinition(new MockedStepDefinition("^pattern1"));
+        glue.addBeforeHook(new MockedHookDefinition());
+
+        List<Locale> createdTypeRegistries = new ArrayList<>();
+        Function<Locale, StepTypeRegistry> createTypeRegistry = locale -> {
+            createdTypeRegistries.add(locale);
+            return new StepTypeRegistry(locale);
+        };
+
+        StepTypeRegistry first = glue.prepareGlue(ENGLISH, createTypeRegistry);
+        glue.removeScenarioScopedGlue();
+        StepTypeRegistry second = glue.prepareGlue(ENGLISH, createTypeRegistry);
+
+        assertAll(
+            () -> assertThat(second, is(sameInstance(first))),
+            () -> assertThat(createdTypeRegistries, contains(ENGLISH)),
+            () -> assertThat(events.size(), is(2)));
+    }
+
+    @Test
+    void emits_scenario_scoped_definitions_once() throws AmbiguousStepDefinitionsException {
+        List<Messages.Envelope> events = new ArrayList<>();
+        EventBus bus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+        bus.registerHandlerFor(Messages.Envelope.class, events::add);
+        CachingGlue glue = new CachingGlue(bus);
+        URI uri = URI.create("file:path/to.feature");
+        Step pickleStep = getPickleStep("pattern1");
+
+        glue.addStepDefinition(new MockedScenarioScopedStepDefinition("^pattern1"));
+        glue.addBeforeHook(new MockedScenarioScopedHookDefinition());
+        glue.prepareGlue(ENGLISH, StepTypeRegistry::new);
+        CoreStepDefinition first = (CoreStepDefinition) glue.stepDefinitionMatch(uri, pickleStep)
+                .getStepDefinition();
+        glue.removeScenarioScopedGlue();
+
+        glue.addStepDefinition(new MockedScenarioScopedStepDefinition("^pattern1"));
+        glue.addBeforeHook(new MockedScenarioScopedHookDefinition());
+        glue.prepareGlue(ENGLISH, StepTypeRegistry::new);
+        CoreStepDefinition second = (CoreStepDefinition) glue.stepDefinitionMatch(uri, pickleStep)
+                .getStepDefinition();
+
+        assertAll(
+            () -> assertThat(second.getId(), is(equalTo(first.getId()))),
+            () -> assertThat(events.size(), is(2)));
+    }
+
+    @Test
+    void shares_step_matches_between_glues_with_the_same_definitions() throws AmbiguousStepDefinitionsException {
+        StepMatchCache stepMatchCache = new StepMatchCache();
+        EventBus bus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+        CachingGlue glue1 = new CachingGlue(bus, stepMatchCache);
+        CachingGlue glue2 = new CachingGlue(bus, stepMatchCache);
+        glue1.addStepDefinition(new MockedStepDefinition("^pattern1"));
+        glue2.addStepDefinition(new MockedStepDefinition("^pattern1"));
+        glue1.prepareGlue(ENGLISH, StepTypeRegistry::new);
+        glue2.prepareGlue(ENGLISH, StepTypeRegistry::new);
+
+        URI uri = URI.create("file:path/to.feature");
+        Step pickleStep = getPickleStep("pattern1");
+        glue1.stepDefinitionMatch(uri, pickleStep);
+        PickleStepDefinitionMatch match = glue2.stepDefinitionMatch(uri, pickleStep);
+
+        assertAll(
+            () -> assertThat(match.getPattern(), is(equalTo("^pattern1"))),
+            () -> assertThat(stepMatchCache.getHitCount(), is(1L)),
+            () -> assertThat(stepMatchCache.getMissCount(), is(1L)));
+    }
+
+    @Test
+    void does_not_share_step_matches_between_glues_with_different_definitions()
+            throws AmbiguousStepDefinitionsException {
+        StepMatchCache stepMatchCache = new StepMatchCache();
+        EventBus bus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+        CachingGlue glue1 = new CachingGlue(bus, stepMatchCache);
+        CachingGlue glue2 = new CachingGlue(bus, stepMatchCache);
+        glue1.addStepDefinition(new MockedStepDefinition("^pattern1"));
+        glue2.addStepDefinition(new MockedStepDefinition("^pattern1"));
+        glue2.addStepDefinition(new MockedStepDefinition("^pattern[1,3]"));
+        glue1.prepareGlue(ENGLISH, StepTypeRegistry::new);
+        glue2.prepareGlue(ENGLISH, StepTypeRegistry::new);
+
+        URI uri = URI.create("file:path/to.feature");
+        Step pickleStep = getPickleStep("pattern1");
+        glue1.stepDefinitionMatch(uri, pickleStep);
+
+        assertThrows(AmbiguousStepDefinitionsException.class, () -> glue2.stepDefinitionMatch(uri, pickleStep));
+    }
+
+    @Test
+    void throws_duplicate_error_on_scenario_scoped_dupe_of_prepared_stepdef() {
+        glue.addStepDefinition(new MockedStepDefinition("hello"));
+        glue.addStepDefinition(new MockedScenarioScopedStepDefinition("hello"));
+
+        assertThrows(
+            DuplicateStepDefinitionException.class,
+            () -> glue.prepareGlue(ENGLISH, StepTypeRegistry::new));
+    }
+
     private static class MockedScenarioScopedStepDefinition extends StubStepDefinition implements ScenarioScoped {
 
         MockedScenarioScopedStepDefinition(String pattern, Type... types) {
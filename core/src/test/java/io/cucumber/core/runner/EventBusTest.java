@@ -2,6 +2,8 @@ package io.cucumber.core.runner;
 
 import io.cucumber.core.eventbus.EventBus;
 import io.cucumber.core.runtime.TimeServiceEventBus;
+import io.cucumber.messages.Messages.Envelope;
+import io.cucumber.plugin.event.Event;
 import io.cucumber.plugin.event.EventHandler;
 import io.cucumber.plugin.event.PickleStepTestStep;
 import io.cucumber.plugin.event.Result;
@@ -20,6 +22,9 @@ import java.util.UUID;
 
 import static java.time.Duration.ZERO;
 import static java.time.Instant.EPOCH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -56,4 +61,33 @@ class EventBusTest {
         verify(handler, never()).receive(event);
     }
 
+    @Test
+    void reports_event_types_that_have_handlers() {
+        EventHandler<TestStepFinished> handler = event -> {
+        };
+
+        EventBus bus = new TimeServiceEventBus(Clock.fixed(Instant.EPOCH, ZoneId.of("UTC")), UUID::randomUUID);
+        bus.registerHandlerFor(TestStepFinished.class, handler);
+
+        assertAll(
+            () -> assertThat(bus.hasHandlerFor(TestStepFinished.class), is(true)),
+            () -> assertThat(bus.hasHandlerFor(TestStepStarted.class), is(false)),
+            () -> assertThat(bus.hasHandlerFor(Envelope.class), is(false)));
+
+        bus.removeHandlerFor(TestStepFinished.class, handler);
+
+        assertThat(bus.hasHandlerFor(TestStepFinished.class), is(false));
+    }
+
+    @Test
+    void handlers_of_all_events_have_every_event_type() {
+        EventBus bus = new TimeServiceEventBus(Clock.fixed(Instant.EPOCH, ZoneId.of("UTC")), UUID::randomUUID);
+        bus.registerHandlerFor(Event.class, event -> {
+        });
+
+        assertAll(
+            () -> assertThat(bus.hasHandlerFor(TestStepStarted.class), is(true)),
+            () -> assertThat(bus.hasHandlerFor(Envelope.class), is(false)));
+    }
+
 }
@@ -0,0 +1,216 @@
+package io.cucumber.core.runner;
+
+import io.cucumber.core.backend.Glue;
+import io.cucumber.core.backend.HookDefinition;
+import io.cucumber.core.backend.StepDefinition;
+import io.cucumber.core.backend.StubStepDefinition;
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.feature.TestFeatureParser;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.core.runtime.TimeServiceEventBus;
+import io.cucumber.plugin.event.EmbedEvent;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.WriteEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResultCacheTest {
+
+    private static final String LOCATION = ResultCacheTest.class.getName() + ".a_step()";
+
+    private final RuntimeOptions runtimeOptions = RuntimeOptions.defaultOptions();
+    private final Feature feature = TestFeatureParser.parse("file:path/test.feature", "" +
+            "Feature: Test feature\n" +
+            "  Scenario: Test scenario\n" +
+            "    Given a step\n");
+    private final Pickle pickle = feature.getPickles().get(0);
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void replays_pickles_that_passed() {
+        StubStepDefinition stepDefinition = spy(new StubStepDefinition("a step", LOCATION));
+
+        assertThat(run(stepDefinition, emptyList()).statuses, contains(Status.PASSED));
+        assertThat(run(stepDefinition, emptyList()).statuses, contains(Status.PASSED));
+        verify(stepDefinition, times(1)).execute(any(Object[].class));
+    }
+
+    @Test
+    void replays_what_was_logged() {
+        StubStepDefinition stepDefinition = new StubStepDefinition("a step", LOCATION);
+        HookDefinition beforeHook = mock(HookDefinition.class);
+        when(beforeHook.getTagExpression()).thenReturn("");
+        when(beforeHook.getLocation()).thenReturn(ResultCacheTest.class.getName() + ".before()");
+        doAnswer(invocation -> {
+            TestCaseState state = invocation.getArgument(0);
+            state.log("Hello from hook");
+            return null;
+        }).when(beforeHook).execute(any(TestCaseState.class));
+
+        Run first = run(stepDefinition, beforeHook, emptyList());
+        Run second = run(stepDefinition, beforeHook, emptyList());
+
+        verify(beforeHook, times(1)).execute(any(TestCaseState.class));
+        assertThat(first.logged, contains("Hello from hook"));
+        assertThat(second.logged, contains("Hello from hook"));
+    }
+
+    @Test
+    void replays_what_was_attached_from_files_next_to_the_cache() throws IOException {
+        StubStepDefinition stepDefinition = new StubStepDefinition("a step", LOCATION);
+        HookDefinition beforeHook = attachingHook(new byte[] { 1, 2, 3 });
+
+        Run first = run(stepDefinition, beforeHook, emptyList());
+        Run second = run(stepDefinition, beforeHook, emptyList());
+
+        verify(beforeHook, times(1)).execute(any(TestCaseState.class));
+        assertThat(first.attached, contains(new byte[] { 1, 2, 3 }));
+        assertThat(second.attached, contains(new byte[] { 1, 2, 3 }));
+        try (Stream<Path> attachments = Files.list(temp.resolve(ResultCache.ATTACHMENTS_DIRECTORY_NAME))) {
+            assertThat(attachments.count(), is(1L));
+        }
+    }
+
+    @Test
+    void executes_pickles_again_when_an_attachment_was_deleted() throws IOException {
+        StubStepDefinition stepDefinition = new StubStepDefinition("a step", LOCATION);
+        HookDefinition beforeHook = attachingHook(new byte[] { 1, 2, 3 });
+
+        run(stepDefinition, beforeHook, emptyList());
+        try (Stream<Path> attachments = Files.list(temp.resolve(ResultCache.ATTACHMENTS_DIRECTORY_NAME))) {
+            for (Path attachment : attachments.collect(toList())) {
+                Files.delete(attachment);
+            }
+        }
+        Run second = run(stepDefinition, beforeHook, emptyList());
+
+        verify(beforeHook, times(2)).execute(any(TestCaseState.class));
+        assertThat(second.attached, contains(new byte[] { 1, 2, 3 }));
+    }
+
+    @Test
+    void executes_pickles_that_failed_again() {
+        StubStepDefinition stepDefinition = spy(
+            new StubStepDefinition("a step", LOCATION, new RuntimeException("Boom")));
+
+        assertThat(run(stepDefinition, emptyList()).statuses, contains(Status.FAILED));
+        assertThat(run(stepDefinition, emptyList()).statuses, contains(Status.FAILED));
+        verify(stepDefinition, times(2)).execute(any(Object[].class));
+    }
+
+    @Test
+    void executes_pickles_again_when_an_input_changed() throws IOException {
+        Path input = Files.write(temp.resolve("input.txt"), "first".getBytes(UTF_8));
+        Path cache = Files.createDirectory(temp.resolve("cache"));
+        StubStepDefinition stepDefinition = spy(new StubStepDefinition("a step", LOCATION));
+
+        run(cache, stepDefinition, null, singletonList(input));
+        run(cache, stepDefinition, null, singletonList(input));
+        Files.write(input, "second".getBytes(UTF_8));
+        run(cache, stepDefinition, null, singletonList(input));
+
+        verify(stepDefinition, times(2)).execute(any(Object[].class));
+    }
+
+    @Test
+    void executes_pickles_again_when_the_class_of_a_step_definition_is_not_found() {
+        StubStepDefinition stepDefinition = spy(new StubStepDefinition("a step", "com.example.Missing.a_step()"));
+
+        run(stepDefinition, emptyList());
+        run(stepDefinition, emptyList());
+
+        verify(stepDefinition, times(2)).execute(any(Object[].class));
+    }
+
+    @Test
+    void executes_pickles_when_the_file_is_not_a_result_cache() throws IOException {
+        Files.write(temp.resolve(ResultCache.FILE_NAME), "not a result cache".getBytes(UTF_8));
+        StubStepDefinition stepDefinition = spy(new StubStepDefinition("a step", LOCATION));
+
+        run(stepDefinition, emptyList());
+
+        verify(stepDefinition, times(1)).execute(any(Object[].class));
+    }
+
+    private static HookDefinition attachingHook(byte[] data) {
+        HookDefinition beforeHook = mock(HookDefinition.class);
+        when(beforeHook.getTagExpression()).thenReturn("");
+        when(beforeHook.getLocation()).thenReturn(ResultCacheTest.class.getName() + ".before()");
+        doAnswer(invocation -> {
+            TestCaseState state = invocation.getArgument(0);
+            state.attach(data, "application/octet-stream", "data.bin");
+            return null;
+        }).when(beforeHook).execute(any(TestCaseState.class));
+        return beforeHook;
+    }
+
+    private Run run(StepDefinition stepDefinition, List<Path> inputs) {
+        return run(temp, stepDefinition, null, inputs);
+    }
+
+    private Run run(StepDefinition stepDefinition, HookDefinition beforeHook, List<Path> inputs) {
+        return run(temp, stepDefinition, beforeHook, inputs);
+    }
+
+    private Run run(Path directory, StepDefinition stepDefinition, HookDefinition beforeHook, List<Path> inputs) {
+        Run run = new Run();
+        EventBus bus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+        bus.registerHandlerFor(TestCaseFinished.class, event -> run.statuses.add(event.getResult().getStatus()));
+        bus.registerHandlerFor(WriteEvent.class, event -> run.logged.add(event.getText()));
+        bus.registerHandlerFor(EmbedEvent.class, event -> run.attached.add(event.getData()));
+        ResultCache resultCache = ResultCache.read(directory, inputs, ResultCacheTest.class::getClassLoader);
+        TestRunnerSupplier runnerSupplier = new TestRunnerSupplier(bus, runtimeOptions) {
+            @Override
+            public void loadGlue(Glue glue, List<URI> gluePaths) {
+                glue.addStepDefinition(stepDefinition);
+                if (beforeHook != null) {
+                    glue.addBeforeHook(beforeHook);
+                }
+            }
+        };
+        new Runner(bus, singletonList(runnerSupplier), runnerSupplier, typeRegistry -> {
+        }, runtimeOptions, new StepMatchCache(), resultCache)
+                .runPickle(pickle);
+        resultCache.write();
+        return run;
+    }
+
+    private static final class Run {
+
+        private final List<Status> statuses = new ArrayList<>();
+        private final List<String> logged = new ArrayList<>();
+        private final List<byte[]> attached = new ArrayList<>();
+
+    }
+
+}
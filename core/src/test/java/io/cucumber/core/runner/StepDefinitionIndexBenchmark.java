@@ -0,0 +1,126 @@
+package io.cucumber.core.runner;
+
+import io.cucumber.core.backend.StepDefinition;
+import io.cucumber.core.feature.TestFeatureParser;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Step;
+import io.cucumber.core.runtime.TimeServiceEventBus;
+import io.cucumber.core.stepexpression.Argument;
+import io.cucumber.core.stepexpression.StepExpressionFactory;
+import io.cucumber.core.stepexpression.StepTypeRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares finding the step definitions that match a step by matching every
+ * step definition against finding them through a {@link StepDefinitionIndex}.
+ * <p>
+ * Run with {@code main} from the test classpath, e.g. from an IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StepDefinitionIndexBenchmark {
+
+    @Param({ "5000" })
+    public int stepDefinitionCount;
+
+    private List<CoreStepDefinition> stepDefinitions;
+    private StepDefinitionIndex index;
+    private List<Step> steps;
+    private int next;
+
+    public static void main(String[] args) throws RunnerException {
+        new org.openjdk.jmh.runner.Runner(new OptionsBuilder()
+                .include(StepDefinitionIndexBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setUp() {
+        StepExpressionFactory stepExpressionFactory = new StepExpressionFactory(
+            new StepTypeRegistry(Locale.ENGLISH),
+            new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID));
+
+        stepDefinitions = new ArrayList<>();
+        for (int i = 0; i < stepDefinitionCount; i++) {
+            StepDefinition stepDefinition = new StubStepDefinition(createPattern(i));
+            stepDefinitions.add(new CoreStepDefinition(UUID.randomUUID(), stepDefinition,
+                stepExpressionFactory.createExpression(stepDefinition)));
+        }
+        index = new StepDefinitionIndex(stepDefinitions);
+
+        Random random = new Random(42);
+        StringBuilder source = new StringBuilder("Feature: Benchmark\n  Scenario: Benchmark\n");
+        for (int i = 0; i < 100; i++) {
+            source.append("    Given ").append(createStepText(random.nextInt(stepDefinitionCount))).append("\n");
+        }
+        Feature feature = TestFeatureParser.parse(source.toString());
+        steps = feature.getPickles().get(0).getSteps();
+    }
+
+    private static String createPattern(int i) {
+        if (i % 2 == 0) {
+            return "the user {word} has {int} items in basket " + i;
+        }
+        return "^a customer named (\\w+) orders (\\d+) products from store " + i + "$";
+    }
+
+    private static String createStepText(int i) {
+        if (i % 2 == 0) {
+            return "the user bob has 3 items in basket " + i;
+        }
+        return "a customer named alice orders 5 products from store " + i;
+    }
+
+    private Step nextStep() {
+        next = (next + 1) % steps.size();
+        return steps.get(next);
+    }
+
+    @Benchmark
+    public List<List<Argument>> linearScan() {
+        return matchAll(nextStep(), stepDefinitions);
+    }
+
+    @Benchmark
+    public List<List<Argument>> indexedLookup() {
+        Step step = nextStep();
+        return matchAll(step, index.candidates(step.getText()));
+    }
+
+    private static List<List<Argument>> matchAll(Step step, List<CoreStepDefinition> stepDefinitions) {
+        List<List<Argument>> matches = new ArrayList<>();
+        for (CoreStepDefinition stepDefinition : stepDefinitions) {
+            List<Argument> arguments = stepDefinition.matchedArguments(step);
+            if (arguments != null) {
+                matches.add(arguments);
+            }
+        }
+        return matches;
+    }
+
+}
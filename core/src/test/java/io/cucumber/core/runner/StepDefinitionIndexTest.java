@@ -0,0 +1,118 @@
+package io.cucumber.core.runner;
+
+import io.cucumber.core.backend.StepDefinition;
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.runtime.TimeServiceEventBus;
+import io.cucumber.core.stepexpression.StepExpression;
+import io.cucumber.core.stepexpression.StepExpressionFactory;
+import io.cucumber.core.stepexpression.StepTypeRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsEmptyCollection.empty;
+import static org.hamcrest.core.Is.is;
+
+class StepDefinitionIndexTest {
+
+    private final StepTypeRegistry stepTypeRegistry = new StepTypeRegistry(Locale.ENGLISH);
+    private final EventBus bus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+    private final StepExpressionFactory stepExpressionFactory = new StepExpressionFactory(stepTypeRegistry, bus);
+
+    @Test
+    void extracts_literals_from_cucumber_expressions() {
+        StepExpression expression = createExpression("I have {int} cucumber(s) in my belly/stomach");
+        assertThat(StepDefinitionIndex.requiredLiterals(expression.getRegexp()),
+            is(asList("I have ", " cucumber", " in my ")));
+    }
+
+    @Test
+    void extracts_literals_from_regular_expressions() {
+        assertThat(literals("^I have (\\d+) cukes? in my \\w+$"), is(asList("I have ", " cuke", " in my ")));
+        assertThat(literals("^a\\.b\\Qc.d\\E[xyz]e+f*$"), is(asList("a.bc.d", "e")));
+        assertThat(literals("^I am \\x41 \\u0042 \\p{L}$"), is(asList("I am ", " ", " ")));
+    }
+
+    @Test
+    void does_not_extract_literals_from_alternatives_or_flags() {
+        assertThat(literals("^I have cukes|I have gherkins$"), is(empty()));
+        assertThat(literals("^(?i)I have cukes$"), is(empty()));
+        assertThat(StepDefinitionIndex.requiredLiterals(Pattern.compile("I have cukes", Pattern.CASE_INSENSITIVE)),
+            is(empty()));
+    }
+
+    @Test
+    void finds_candidates_in_definition_order() {
+        StepDefinitionIndex index = createIndex(
+            "^a (.*) b$",
+            "I have {int} cukes",
+            "I have {int} gherkins",
+            "^(.*)$",
+            "I have {int} cukes in my belly");
+
+        assertThat(patterns(index.candidates("I have 4 cukes in my belly")),
+            is(asList("I have {int} cukes", "^(.*)$", "I have {int} cukes in my belly")));
+        assertThat(patterns(index.candidates("I have 4 gherkins")),
+            is(asList("I have {int} gherkins", "^(.*)$")));
+        assertThat(index.unindexedSize(), is(1));
+    }
+
+    @Test
+    void candidates_include_all_matching_step_definitions() {
+        List<String> patterns = asList(
+            "I have {int} cukes",
+            "^I have (\\d+) cukes$",
+            "^I have (\\d+) cukes in my (.*)$",
+            "^.*cukes$",
+            "{word} have {int} cukes",
+            "I have {int} cuke(s)",
+            "I have {int} cukes/gherkins");
+        StepDefinitionIndex index = createIndex(patterns.toArray(new String[0]));
+
+        for (String text : asList("I have 4 cukes", "I have 4 cukes in my belly", "I have 1 cuke", "We have 4 cukes")) {
+            List<CoreStepDefinition> candidates = index.candidates(text);
+            for (CoreStepDefinition stepDefinition : createStepDefinitions(patterns)) {
+                boolean matches = stepDefinition.getExpression().match(text) != null;
+                boolean candidate = patterns(candidates).contains(stepDefinition.getPattern());
+                assertThat(text + " matched by " + stepDefinition.getPattern(), !matches || candidate, is(true));
+            }
+        }
+    }
+
+    private List<String> literals(String regexp) {
+        return StepDefinitionIndex.requiredLiterals(Pattern.compile(regexp));
+    }
+
+    private StepExpression createExpression(String pattern) {
+        return stepExpressionFactory.createExpression(new StubStepDefinition(pattern));
+    }
+
+    private StepDefinitionIndex createIndex(String... patterns) {
+        return new StepDefinitionIndex(createStepDefinitions(asList(patterns)));
+    }
+
+    private List<CoreStepDefinition> createStepDefinitions(List<String> patterns) {
+        List<CoreStepDefinition> stepDefinitions = new ArrayList<>();
+        for (String pattern : patterns) {
+            StepDefinition stepDefinition = new StubStepDefinition(pattern);
+            stepDefinitions.add(new CoreStepDefinition(UUID.randomUUID(), stepDefinition,
+                stepExpressionFactory.createExpression(stepDefinition)));
+        }
+        return stepDefinitions;
+    }
+
+    private static List<String> patterns(List<CoreStepDefinition> stepDefinitions) {
+        return stepDefinitions.stream()
+                .map(CoreStepDefinition::getPattern)
+                .collect(toList());
+    }
+
+}
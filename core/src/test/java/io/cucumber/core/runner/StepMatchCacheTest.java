@@ -0,0 +1,99 @@
+package io.cucumber.core.runner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.number.OrderingComparison.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StepMatchCacheTest {
+
+    @Test
+    void caches_pattern_by_glue_fingerprint_and_step_text() {
+        StepMatchCache cache = new StepMatchCache();
+        cache.put(1L, "a step", "^a step$");
+
+        assertAll(
+            () -> assertThat(cache.get(1L, "a step"), is(equalTo("^a step$"))),
+            () -> assertThat(cache.get(2L, "a step"), is(nullValue())),
+            () -> assertThat(cache.get(1L, "another step"), is(nullValue())));
+    }
+
+    @Test
+    void counts_hits_and_misses() {
+        StepMatchCache cache = new StepMatchCache();
+        cache.get(1L, "a step");
+        cache.put(1L, "a step", "^a step$");
+        cache.get(1L, "a step");
+        cache.get(1L, "a step");
+
+        assertAll(
+            () -> assertThat(cache.getHitCount(), is(2L)),
+            () -> assertThat(cache.getMissCount(), is(1L)));
+    }
+
+    @Test
+    void does_not_exceed_maximum_size() {
+        StepMatchCache cache = new StepMatchCache(2);
+        cache.put(1L, "a", "^a$");
+        cache.put(1L, "b", "^b$");
+        cache.put(1L, "c", "^c$");
+
+        assertAll(
+            () -> assertThat(cache.size(), is(2)),
+            () -> assertThat(cache.get(1L, "c"), is(equalTo("^c$"))));
+    }
+
+    @Test
+    void does_not_evict_when_the_step_text_is_already_cached() {
+        StepMatchCache cache = new StepMatchCache(2);
+        cache.put(1L, "a", "^a$");
+        cache.put(1L, "b", "^b$");
+        cache.put(1L, "b", "^b$");
+
+        assertAll(
+            () -> assertThat(cache.size(), is(2)),
+            () -> assertThat(cache.get(1L, "a"), is(equalTo("^a$"))),
+            () -> assertThat(cache.get(1L, "b"), is(equalTo("^b$"))));
+    }
+
+    @Test
+    void does_not_exceed_maximum_size_when_overflowing_concurrently() throws InterruptedException {
+        StepMatchCache cache = new StepMatchCache(10);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            int offset = thread * 1000;
+            executor.execute(() -> {
+                for (int i = offset; i < offset + 1000; i++) {
+                    cache.put(1L, "step " + i, "^step " + i + "$");
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS), is(true));
+
+        assertThat(cache.size(), is(lessThanOrEqualTo(10)));
+    }
+
+    @Test
+    void does_not_cache_when_maximum_size_is_zero() {
+        StepMatchCache cache = new StepMatchCache(0);
+        cache.put(1L, "a", "^a$");
+
+        assertThat(cache.get(1L, "a"), is(nullValue()));
+    }
+
+    @Test
+    void rejects_negative_maximum_size() {
+        assertThrows(IllegalArgumentException.class, () -> new StepMatchCache(-1));
+    }
+
+}
@@ -0,0 +1,100 @@
+package io.cucumber.core.runner;
+
+import io.cucumber.core.feature.TestFeatureParser;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.gherkin.Step;
+import io.cucumber.core.runtime.TimeServiceEventBus;
+import io.cucumber.messages.Messages.Envelope;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.net.URI;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures running a test case with plugins that do not receive messages,
+ * e.g. the {@code progress} formatter, and with plugins that do, e.g. the
+ * {@code message} formatter.
+ * <p>
+ * Messages are only created when they are received, so the allocation rate
+ * reported by the GC profiler ({@code gc.alloc.rate.norm}) is lower without
+ * them.
+ * <p>
+ * Run with {@code main} from the test classpath, e.g. from an IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TestCaseBenchmark {
+
+    @Param({ "progress", "message" })
+    public String plugins;
+
+    private TimeServiceEventBus bus;
+    private TestCase testCase;
+
+    public static void main(String[] args) throws RunnerException {
+        new org.openjdk.jmh.runner.Runner(new OptionsBuilder()
+                .include(TestCaseBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        bus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+        bus.registerHandlerFor(TestStepFinished.class, blackhole::consume);
+        bus.registerHandlerFor(TestCaseFinished.class, blackhole::consume);
+        if ("message".equals(plugins)) {
+            bus.registerHandlerFor(Envelope.class, blackhole::consume);
+        }
+
+        StringBuilder source = new StringBuilder("Feature: Benchmark\n  Scenario: Benchmark\n");
+        for (int i = 0; i < 10; i++) {
+            source.append("    Given a step\n");
+        }
+        Feature feature = TestFeatureParser.parse(source.toString());
+        Pickle pickle = feature.getPickles().get(0);
+        URI uri = URI.create("file:path/to/benchmark.feature");
+        StubStepDefinition stepDefinition = new StubStepDefinition("a step");
+        List<PickleStepTestStep> testSteps = new ArrayList<>();
+        for (Step step : pickle.getSteps()) {
+            PickleStepDefinitionMatch match = new PickleStepDefinitionMatch(Collections.emptyList(), stepDefinition,
+                uri, step);
+            testSteps.add(new PickleStepTestStep(UUID.randomUUID(), uri, step, match));
+        }
+        testCase = new TestCase(UUID.randomUUID(), testSteps, Collections.emptyList(), Collections.emptyList(),
+            pickle, false);
+    }
+
+    @Benchmark
+    public void run() {
+        testCase.run(bus);
+    }
+
+}
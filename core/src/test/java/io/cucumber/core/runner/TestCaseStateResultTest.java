@@ -29,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -39,7 +40,7 @@ class TestCaseStateResultTest {
             "Feature: Test feature\n" +
             "  Scenario: Test scenario\n" +
             "     Given I have 4 cukes in my belly\n");
-    private final EventBus bus = mock(EventBus.class);
+    private final EventBus bus = mock(EventBus.class, CALLS_REAL_METHODS);
     private final TestCaseState s = new TestCaseState(
         bus,
         UUID.randomUUID(),
@@ -9,9 +9,14 @@ import io.cucumber.messages.Messages.Envelope;
 import io.cucumber.plugin.event.EmbedEvent;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Base64;
@@ -164,6 +169,59 @@ class TestCaseStateTest {
         assertThat(envelope.getAttachment().getTestCaseStartedId(), is(state.getTestExecutionId().toString()));
     }
 
+    @Test
+    void attach_file_emits_event_on_bus(@TempDir Path dir) throws IOException {
+        Feature feature = TestFeatureParser.parse("" +
+                "Feature: Test feature\n" +
+                "  Scenario: Test scenario\n" +
+                "     Given I have 4 cukes in my belly\n");
+        TestCaseState state = createTestCaseState(feature);
+
+        List<EmbedEvent> embedEvents = new ArrayList<>();
+        List<Envelope> envelopes = new ArrayList<>();
+        bus.registerHandlerFor(EmbedEvent.class, embedEvents::add);
+        bus.registerHandlerFor(Envelope.class, envelopes::add);
+
+        Path file = dir.resolve("hello.txt");
+        Files.write(file, "Hello World".getBytes(UTF_8));
+        UUID activeTestStep = UUID.randomUUID();
+        state.setCurrentTestStepId(activeTestStep);
+        state.attach(file, "text/plain", "hello.txt");
+        Files.write(file, "Goodbye World".getBytes(UTF_8));
+
+        EmbedEvent embedEvent = embedEvents.get(0);
+        assertThat(embedEvent.getPath().isPresent(), is(true));
+        assertThat(embedEvent.getData(), is("Hello World".getBytes(UTF_8)));
+        assertThat(embedEvent.getMediaType(), is("text/plain"));
+        assertThat(embedEvent.getName(), is("hello.txt"));
+
+        Envelope envelope = envelopes.get(0);
+        assertThat(envelope.getAttachment().getBody(),
+            is(Base64.getEncoder().encodeToString("Hello World".getBytes(UTF_8))));
+        assertThat(envelope.getAttachment().getContentEncoding(), is(ContentEncoding.BASE64));
+        assertThat(envelope.getAttachment().getTestStepId(), is(activeTestStep.toString()));
+    }
+
+    @Test
+    void attach_stream_emits_event_on_bus() {
+        Feature feature = TestFeatureParser.parse("" +
+                "Feature: Test feature\n" +
+                "  Scenario: Test scenario\n" +
+                "     Given I have 4 cukes in my belly\n");
+        TestCaseState state = createTestCaseState(feature);
+
+        List<EmbedEvent> embedEvents = new ArrayList<>();
+        bus.registerHandlerFor(EmbedEvent.class, embedEvents::add);
+
+        state.setCurrentTestStepId(UUID.randomUUID());
+        state.attach(new ByteArrayInputStream("Hello World".getBytes(UTF_8)), "text/plain", "hello.txt");
+
+        EmbedEvent embedEvent = embedEvents.get(0);
+        assertThat(embedEvent.getData(), is("Hello World".getBytes(UTF_8)));
+        assertThat(embedEvent.getMediaType(), is("text/plain"));
+        assertThat(embedEvent.getName(), is("hello.txt"));
+    }
+
     @Test
     void attach_throws_when_test_step_is_not_active() {
         Feature feature = TestFeatureParser.parse("" +
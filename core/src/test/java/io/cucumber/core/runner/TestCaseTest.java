@@ -20,6 +20,7 @@ import static io.cucumber.plugin.event.HookType.BEFORE_STEP;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
@@ -34,7 +35,7 @@ class TestCaseTest {
             "     Given I have 4 cukes in my belly\n" +
             "     And I have 4 cucumber on my plate\n");
 
-    private final EventBus bus = mock(EventBus.class);
+    private final EventBus bus = mock(EventBus.class, CALLS_REAL_METHODS);
 
     private final PickleStepDefinitionMatch definitionMatch1 = mock(PickleStepDefinitionMatch.class);
     private final CoreHookDefinition beforeStep1HookDefinition1 = mock(CoreHookDefinition.class);
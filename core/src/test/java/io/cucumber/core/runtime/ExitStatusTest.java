@@ -42,6 +42,35 @@ class ExitStatusTest {
         exitStatus.setEventPublisher(bus);
     }
 
+    @Test
+    void should_reach_max_failures_after_failed_scenarios() {
+        createExitStatus(new RuntimeOptionsBuilder().setMaxFailures(2).build());
+        bus.send(testCaseFinishedWithStatus(Status.FAILED));
+        bus.send(testCaseFinishedWithStatus(Status.PASSED));
+        bus.send(testCaseFinishedWithStatus(Status.SKIPPED));
+        assertThat(exitStatus.isMaxFailuresReached(), is(false));
+
+        bus.send(testCaseFinishedWithStatus(Status.UNDEFINED));
+        assertThat(exitStatus.isMaxFailuresReached(), is(true));
+    }
+
+    @Test
+    void should_not_reach_max_failures_when_unlimited() {
+        createStrictRuntime();
+        bus.send(testCaseFinishedWithStatus(Status.FAILED));
+        assertThat(exitStatus.isMaxFailuresReached(), is(false));
+    }
+
+    @Test
+    void wip_should_reach_max_failures_after_passed_scenarios() {
+        createExitStatus(new RuntimeOptionsBuilder().setWip(true).setFailFast(true).build());
+        bus.send(testCaseFinishedWithStatus(Status.FAILED));
+        assertThat(exitStatus.isMaxFailuresReached(), is(false));
+
+        bus.send(testCaseFinishedWithStatus(Status.PASSED));
+        assertThat(exitStatus.isMaxFailuresReached(), is(true));
+    }
+
     @Test
     void wip_with_ambiguous_scenarios() {
         createStrictWipRuntime();
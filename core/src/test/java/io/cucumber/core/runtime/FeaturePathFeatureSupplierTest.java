@@ -3,21 +3,26 @@ package io.cucumber.core.runtime;
 import io.cucumber.core.feature.FeatureParser;
 import io.cucumber.core.feature.FeaturePath;
 import io.cucumber.core.feature.Options;
+import io.cucumber.core.gherkin.Feature;
 import io.cucumber.core.logging.LogRecordListener;
 import io.cucumber.core.logging.LoggerFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.net.URI;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import java.util.function.Supplier;
 
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -61,6 +66,18 @@ class FeaturePathFeatureSupplierTest {
             containsString("Got no path to feature directory or feature file"));
     }
 
+    @Test
+    void streams_features_in_lexical_uri_order() {
+        Options featureOptions = () -> singletonList(FeaturePath.parse("classpath:io/cucumber/core/feature"));
+        FeaturePathFeatureSupplier supplier = new FeaturePathFeatureSupplier(classLoader, featureOptions, parser);
+
+        List<URI> uris = supplier.stream().map(Feature::getUri).collect(toList());
+
+        assertThat(uris, contains(
+            URI.create("classpath:io/cucumber/core/feature/UTF_8_BOM_Encoded.feature"),
+            URI.create("classpath:io/cucumber/core/feature/UTF_8_Encoded.feature")));
+    }
+
     @Test
     void throws_if_path_does_not_exist() {
         Options featureOptions = () -> singletonList(FeaturePath.parse("file:does/not/exist"));
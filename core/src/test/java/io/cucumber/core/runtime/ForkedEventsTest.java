@@ -0,0 +1,148 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.plugin.event.Location;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.Step;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static java.time.Duration.ofMillis;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ForkedEventsTest {
+
+    private final ClassLoader classLoader = getClass().getClassLoader();
+    private final Step step = step();
+    private final PickleStepTestStep testStep = testStep(step);
+    private final TestCase testCase = testCase(testStep);
+
+    @Test
+    void recreates_events_of_a_test_case_with_the_same_test_case() throws Exception {
+        ForkedEvents.Snapshots snapshots = new ForkedEvents.Snapshots();
+        List<Object> events = sendAndReceive(
+            snapshots.toMessage(new TestCaseStarted(Instant.EPOCH, testCase)),
+            snapshots.toMessage(new TestStepFinished(Instant.EPOCH, testCase, testStep,
+                new Result(Status.FAILED, ofMillis(5), new AssertionError("boom")))));
+
+        TestCaseStarted testCaseStarted = (TestCaseStarted) events.get(0);
+        TestStepFinished testStepFinished = (TestStepFinished) events.get(1);
+        assertThat(testStepFinished.getTestCase(), sameInstance(testCaseStarted.getTestCase()));
+        assertThat(testStepFinished.getTestStep(), sameInstance(testCaseStarted.getTestCase().getTestSteps().get(0)));
+
+        TestCase received = testCaseStarted.getTestCase();
+        assertThat(received.getId(), is(testCase.getId()));
+        assertThat(received.getName(), is("a scenario"));
+        assertThat(received.getLocation(), is(new Location(3, 3)));
+
+        PickleStepTestStep receivedStep = (PickleStepTestStep) testStepFinished.getTestStep();
+        assertThat(receivedStep.getId(), is(testStep.getId()));
+        assertThat(receivedStep.getStep().getText(), is("a step"));
+        assertThat(receivedStep.getStep().getLocation(), is(new Location(4, 5)));
+        assertThat(testStepFinished.getResult().getStatus(), is(Status.FAILED));
+        assertThat(testStepFinished.getResult().getDuration(), is(ofMillis(5)));
+        assertThat(testStepFinished.getResult().getError(), instanceOf(AssertionError.class));
+        assertThat(testStepFinished.getResult().getError().getMessage(), is("boom"));
+    }
+
+    @Test
+    void describes_errors_that_can_not_be_serialized() throws Exception {
+        ForkedEvents.Snapshots snapshots = new ForkedEvents.Snapshots();
+        NotSerializableException error = new NotSerializableException("boom");
+        List<Object> events = sendAndReceive(
+            snapshots.toMessage(new TestStepFinished(Instant.EPOCH, testCase, testStep,
+                new Result(Status.FAILED, ofMillis(5), error))));
+
+        Throwable received = ((TestStepFinished) events.get(0)).getResult().getError();
+        assertThat(received.getMessage(), is(error.toString()));
+        assertThat(received.getStackTrace(), is(error.getStackTrace()));
+    }
+
+    @Test
+    void generates_the_same_ids_in_every_process() {
+        ForkedIdGenerator first = new ForkedIdGenerator();
+        ForkedIdGenerator second = new ForkedIdGenerator();
+        assertThat(first.get(), is(second.get()));
+        assertThat(first.get(), is(second.get()));
+    }
+
+    private List<Object> sendAndReceive(Object... messages) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            for (Object message : messages) {
+                out.writeObject(message);
+            }
+        }
+        List<Object> events = new ArrayList<>();
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            for (int i = 0; i < messages.length; i++) {
+                events.add(((ForkedEvents.EventMessage) in.readObject()).toEvent(classLoader));
+            }
+        }
+        return events;
+    }
+
+    private static Step step() {
+        Step step = mock(Step.class);
+        when(step.getKeyword()).thenReturn("Given ");
+        when(step.getText()).thenReturn("a step");
+        when(step.getLine()).thenReturn(4);
+        when(step.getLocation()).thenReturn(new Location(4, 5));
+        return step;
+    }
+
+    private static PickleStepTestStep testStep(Step step) {
+        PickleStepTestStep testStep = mock(PickleStepTestStep.class);
+        when(testStep.getId()).thenReturn(UUID.randomUUID());
+        when(testStep.getCodeLocation()).thenReturn("Steps.a_step()");
+        when(testStep.getPattern()).thenReturn("a step");
+        when(testStep.getStep()).thenReturn(step);
+        when(testStep.getDefinitionArgument()).thenReturn(emptyList());
+        when(testStep.getUri()).thenReturn(URI.create("file:path/test.feature"));
+        return testStep;
+    }
+
+    private static TestCase testCase(PickleStepTestStep testStep) {
+        TestCase testCase = mock(TestCase.class);
+        when(testCase.getId()).thenReturn(UUID.randomUUID());
+        when(testCase.getName()).thenReturn("a scenario");
+        when(testCase.getKeyword()).thenReturn("Scenario");
+        when(testCase.getUri()).thenReturn(URI.create("file:path/test.feature"));
+        when(testCase.getLocation()).thenReturn(new Location(3, 3));
+        when(testCase.getTags()).thenReturn(emptyList());
+        when(testCase.getTestSteps()).thenReturn(singletonList(testStep));
+        return testCase;
+    }
+
+    private static final class NotSerializableException extends RuntimeException {
+
+        private final Object notSerializable = new Object();
+
+        NotSerializableException(String message) {
+            super(message);
+        }
+
+    }
+
+}
@@ -0,0 +1,36 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.eventbus.IncrementingIdGenerator;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.core.options.RuntimeOptionsBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
+
+class ForkedWorkerOptionsTest {
+
+    private final ClassLoader classLoader = getClass().getClassLoader();
+
+    @Test
+    void should_pass_the_id_generator_to_the_worker() {
+        RuntimeOptions runtimeOptions = new RuntimeOptionsBuilder()
+                .setIdGeneratorClass(IncrementingIdGenerator.class)
+                .build();
+
+        RuntimeOptions workerOptions = new ForkedWorkerOptions(runtimeOptions).toRuntimeOptions(classLoader);
+
+        assertThat(workerOptions.getIdGeneratorClass(), is(equalTo(IncrementingIdGenerator.class)));
+    }
+
+    @Test
+    void should_not_pass_an_id_generator_when_none_is_set() {
+        RuntimeOptions workerOptions = new ForkedWorkerOptions(RuntimeOptions.defaultOptions())
+                .toRuntimeOptions(classLoader);
+
+        assertThat(workerOptions.getIdGeneratorClass(), is(nullValue()));
+    }
+
+}
@@ -0,0 +1,50 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.feature.TestFeatureParser;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+
+class ForkedWorkerPoolTest {
+
+    private final EventBus bus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+    private final RuntimeOptions runtimeOptions = RuntimeOptions.defaultOptions();
+    private final List<Pickle> pickles = TestFeatureParser.parse("file:path/test.feature", "" +
+            "Feature: Test feature\n" +
+            "  Scenario: one\n" +
+            "    Given a step\n" +
+            "  Scenario: two\n" +
+            "    Given a step\n").getPickles();
+
+    @Test
+    void should_replace_a_worker_that_exited() {
+        List<TestCaseFinished> finished = new ArrayList<>();
+        bus.registerHandlerFor(TestCaseFinished.class, finished::add);
+        ForkedWorkerPool pool = new ForkedWorkerPool(new ForkedWorkerOptions(runtimeOptions), bus,
+            new ExitStatus(runtimeOptions), () -> getClass().getClassLoader(), StubForkedWorkerMain.Exiting.class);
+
+        // Each worker exits while executing its first pickle
+        pool.execute(pickles);
+        pool.close();
+
+        assertThat(finished.stream().map(event -> event.getResult().getStatus()).collect(toList()),
+            contains(Status.FAILED, Status.FAILED));
+        assertThat(finished.stream().map(event -> event.getResult().getError().getMessage()).collect(toList()),
+            contains(
+                "The worker process executing file:path/test.feature:2 exited with code 3",
+                "The worker process executing file:path/test.feature:4 exited with code 3"));
+    }
+
+}
@@ -0,0 +1,59 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.exception.CucumberException;
+import io.cucumber.core.feature.TestFeatureParser;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ForkedWorkerTest {
+
+    private final EventBus bus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+    private final ForkedWorkerOptions options = new ForkedWorkerOptions(RuntimeOptions.defaultOptions());
+    private final ClassLoader classLoader = getClass().getClassLoader();
+    private final Pickle pickle = TestFeatureParser.parse("file:path/test.feature", "" +
+            "Feature: Test feature\n" +
+            "  Scenario: one\n" +
+            "    Given a step\n").getPickles().get(0);
+
+    @Test
+    void should_destroy_a_worker_that_does_not_connect() {
+        CucumberException exception = assertThrows(CucumberException.class,
+            () -> ForkedWorker.start(options, bus, classLoader, StubForkedWorkerMain.Hanging.class, 500));
+        assertThat(exception.getMessage(), is(equalTo(
+            "The worker process did not connect within 500 milliseconds")));
+    }
+
+    @Test
+    void should_report_the_pickle_as_failed_when_the_worker_exits() {
+        List<TestCaseFinished> finished = new ArrayList<>();
+        bus.registerHandlerFor(TestCaseFinished.class, finished::add);
+        ForkedWorker worker = ForkedWorker.start(options, bus, classLoader, StubForkedWorkerMain.Exiting.class,
+            ForkedWorker.CONNECT_TIMEOUT_MILLIS);
+
+        boolean executed = worker.execute(pickle, false);
+
+        assertAll(
+            () -> assertThat(executed, is(false)),
+            () -> assertThat(finished.size(), is(1)),
+            () -> assertThat(finished.get(0).getResult().getStatus(), is(Status.FAILED)),
+            () -> assertThat(finished.get(0).getResult().getError().getMessage(), is(equalTo(
+                "The worker process executing file:path/test.feature:2 exited with code "
+                        + StubForkedWorkerMain.EXIT_CODE))));
+    }
+
+}
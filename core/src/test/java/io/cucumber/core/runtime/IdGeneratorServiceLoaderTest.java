@@ -0,0 +1,59 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.eventbus.IdGenerator;
+import io.cucumber.core.eventbus.IncrementingIdGenerator;
+import io.cucumber.core.eventbus.RandomIdGenerator;
+import io.cucumber.core.exception.CucumberException;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.core.options.RuntimeOptionsBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdGeneratorServiceLoaderTest {
+
+    @Test
+    void should_load_random_id_generator_by_default() {
+        RuntimeOptions runtimeOptions = RuntimeOptions.defaultOptions();
+        IdGeneratorServiceLoader loader = new IdGeneratorServiceLoader(runtimeOptions);
+        assertThat(loader.loadIdGenerator(), is(instanceOf(RandomIdGenerator.class)));
+    }
+
+    @Test
+    void should_load_selected_id_generator() {
+        RuntimeOptions runtimeOptions = new RuntimeOptionsBuilder()
+                .setIdGeneratorClass(IncrementingIdGenerator.class)
+                .build();
+        IdGeneratorServiceLoader loader = new IdGeneratorServiceLoader(runtimeOptions);
+        assertThat(loader.loadIdGenerator(), is(instanceOf(IncrementingIdGenerator.class)));
+    }
+
+    @Test
+    void should_throw_an_exception_when_the_selected_id_generator_is_not_registered() {
+        RuntimeOptions runtimeOptions = new RuntimeOptionsBuilder()
+                .setIdGeneratorClass(UnregisteredIdGenerator.class)
+                .build();
+        IdGeneratorServiceLoader loader = new IdGeneratorServiceLoader(runtimeOptions);
+
+        CucumberException exception = assertThrows(CucumberException.class, loader::loadIdGenerator);
+        assertThat(exception.getMessage(), is("" +
+                "Could not find id generator " + UnregisteredIdGenerator.class.getName() + ".\n" +
+                "Cucumber uses SPI to discover id generator implementations.\n" +
+                "Has the class been registered with SPI and is it available on the classpath?"));
+    }
+
+    static final class UnregisteredIdGenerator implements IdGenerator {
+
+        @Override
+        public UUID generateId() {
+            return UUID.randomUUID();
+        }
+
+    }
+
+}
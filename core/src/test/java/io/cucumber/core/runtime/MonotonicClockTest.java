@@ -0,0 +1,82 @@
+package io.cucumber.core.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static java.time.Instant.EPOCH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+class MonotonicClockTest {
+
+    private final AdjustableClock wallClock = new AdjustableClock(EPOCH.plusSeconds(60));
+    private long nanoTime = 1_000_000;
+    private final MonotonicClock clock = new MonotonicClock(wallClock, () -> nanoTime);
+
+    @Test
+    void starts_at_the_wall_clock_instant() {
+        nanoTime += 5_000;
+        assertThat(clock.instant(), is(EPOCH.plusSeconds(60)));
+    }
+
+    @Test
+    void advances_by_the_elapsed_nano_time() {
+        Instant start = clock.instant();
+        nanoTime += 1_234;
+        Instant stop = clock.instant();
+
+        assertThat(Duration.between(start, stop), is(Duration.ofNanos(1_234)));
+    }
+
+    @Test
+    void ignores_adjustments_of_the_wall_clock() {
+        Instant start = clock.instant();
+        wallClock.instant = EPOCH;
+        nanoTime += 1_000;
+        Instant stop = clock.instant();
+
+        assertThat(Duration.between(start, stop), is(Duration.ofNanos(1_000)));
+    }
+
+    @Test
+    void shares_the_start_instant_with_clocks_of_other_zones() {
+        Instant start = clock.instant();
+        Clock zoned = clock.withZone(ZoneId.of("Europe/Amsterdam"));
+        nanoTime += 1_000;
+        wallClock.instant = EPOCH;
+
+        assertThat(zoned.getZone(), is(ZoneId.of("Europe/Amsterdam")));
+        assertThat(zoned.instant(), is(start.plusNanos(1_000)));
+    }
+
+    private static final class AdjustableClock extends Clock {
+
+        private Instant instant;
+
+        AdjustableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}
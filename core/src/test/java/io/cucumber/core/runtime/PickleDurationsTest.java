@@ -0,0 +1,136 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.feature.TestFeatureParser;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.history.History;
+import io.cucumber.core.history.HistoryRecorder;
+import io.cucumber.plugin.event.Location;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.Step;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PickleDurationsTest {
+
+    private final Feature feature = TestFeatureParser.parse("file:path/test.feature", "" +
+            "Feature: Test feature\n" +
+            "  Scenario: short\n" +
+            "    Given a step\n" +
+            "  Scenario: long\n" +
+            "    Given a step\n" +
+            "  Scenario: unknown\n" +
+            "    Given a step\n" +
+            "    And another step\n" +
+            "    And yet another step\n");
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void orders_pickles_longest_first() {
+        record(
+            testCaseFinished(2, "short", Duration.ofNanos(1000), "a step"),
+            testCaseFinished(4, "long", Duration.ofNanos(5000), "a step"));
+
+        PickleDurations pickleDurations = new PickleDurations(History.read(temp));
+        List<Pickle> ordered = pickleDurations.orderLongestFirst(feature.getPickles());
+
+        // unknown is estimated at 3 steps * 3000 nanos per step
+        assertThat(names(ordered), contains("unknown", "long", "short"));
+    }
+
+    @Test
+    void orders_pickles_by_number_of_steps_without_previous_durations() {
+        PickleDurations pickleDurations = new PickleDurations(History.read(temp));
+        List<Pickle> ordered = pickleDurations.orderLongestFirst(feature.getPickles());
+        assertThat(names(ordered), contains("unknown", "short", "long"));
+    }
+
+    @Test
+    void ignores_durations_of_changed_pickles() {
+        record(
+            testCaseFinished(2, "short", Duration.ofNanos(1000), "a step"),
+            testCaseFinished(4, "long", Duration.ofNanos(5000), "a changed step"));
+
+        PickleDurations pickleDurations = new PickleDurations(History.read(temp));
+        List<Pickle> ordered = pickleDurations.orderLongestFirst(feature.getPickles());
+
+        // long is estimated at 1 step * 1000 nanos per step
+        assertThat(names(ordered), contains("unknown", "short", "long"));
+    }
+
+    @Test
+    void orders_groups_of_pickles_by_total_duration() {
+        record(
+            testCaseFinished(2, "short", Duration.ofNanos(1000), "a step"),
+            testCaseFinished(4, "long", Duration.ofNanos(5000), "a step"),
+            testCaseFinished(6, "unknown", Duration.ofNanos(4500), "a step", "another step", "yet another step"));
+
+        List<Pickle> pickles = feature.getPickles();
+        List<List<Pickle>> groups = asList(
+            asList(pickles.get(0), pickles.get(2)),
+            singletonList(pickles.get(1)));
+
+        PickleDurations pickleDurations = new PickleDurations(History.read(temp));
+        List<List<Pickle>> ordered = pickleDurations.orderGroupsLongestFirst(groups);
+
+        assertThat(ordered, contains(groups.get(0), groups.get(1)));
+    }
+
+    private void record(TestCaseFinished... testCasesFinished) {
+        EventBus bus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+        new HistoryRecorder(temp.toFile()).setEventPublisher(bus);
+        for (TestCaseFinished testCaseFinished : testCasesFinished) {
+            bus.send(testCaseFinished);
+        }
+        bus.send(new TestRunFinished(Instant.now(), new Result(Status.PASSED, Duration.ZERO, null)));
+    }
+
+    private static TestCaseFinished testCaseFinished(int line, String name, Duration duration, String... stepTexts) {
+        List<TestStep> testSteps = new ArrayList<>();
+        for (String stepText : stepTexts) {
+            Step step = mock(Step.class);
+            when(step.getText()).thenReturn(stepText);
+            PickleStepTestStep testStep = mock(PickleStepTestStep.class);
+            when(testStep.getStep()).thenReturn(step);
+            testSteps.add(testStep);
+        }
+        TestCase testCase = mock(TestCase.class);
+        when(testCase.getId()).thenReturn(UUID.randomUUID());
+        when(testCase.getName()).thenReturn(name);
+        when(testCase.getUri()).thenReturn(URI.create("file:path/test.feature"));
+        when(testCase.getLocation()).thenReturn(new Location(line, 3));
+        when(testCase.getTestSteps()).thenReturn(testSteps);
+        return new TestCaseFinished(Instant.now(), testCase, new Result(Status.PASSED, duration, null));
+    }
+
+    private static List<String> names(List<Pickle> pickles) {
+        return pickles.stream().map(Pickle::getName).collect(toList());
+    }
+
+}
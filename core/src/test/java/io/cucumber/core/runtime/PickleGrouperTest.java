@@ -0,0 +1,78 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.feature.TestFeatureParser;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+
+class PickleGrouperTest {
+
+    private final Feature feature = TestFeatureParser.parse("file:path/test.feature", "" +
+            "Feature: Test feature\n" +
+            "  Scenario: one\n" +
+            "    Given a step\n" +
+            "  Rule: first rule\n" +
+            "    Scenario: two\n" +
+            "      Given a step\n" +
+            "    Scenario Outline: three\n" +
+            "      Given a <step>\n" +
+            "      Examples:\n" +
+            "        | step |\n" +
+            "        | a    |\n" +
+            "        | b    |\n" +
+            "  Rule: second rule\n" +
+            "    Scenario: four\n" +
+            "      Given a step\n");
+
+    @Test
+    void groups_each_pickle_on_its_own() {
+        PickleGrouper grouper = new PickleGrouper(Granularity.PICKLE);
+        grouper.addFeature(feature);
+
+        List<List<String>> groups = names(grouper.group(feature.getPickles()));
+
+        assertThat(groups, contains(
+            contains("one"),
+            contains("two"),
+            contains("three"),
+            contains("three"),
+            contains("four")));
+    }
+
+    @Test
+    void groups_pickles_by_rule() {
+        PickleGrouper grouper = new PickleGrouper(Granularity.RULE);
+        grouper.addFeature(feature);
+
+        List<List<String>> groups = names(grouper.group(feature.getPickles()));
+
+        assertThat(groups, contains(
+            contains("one"),
+            contains("two", "three", "three"),
+            contains("four")));
+    }
+
+    @Test
+    void groups_pickles_by_feature() {
+        PickleGrouper grouper = new PickleGrouper(Granularity.FEATURE);
+        grouper.addFeature(feature);
+
+        List<List<String>> groups = names(grouper.group(feature.getPickles()));
+
+        assertThat(groups, contains(
+            contains("one", "two", "three", "three", "four")));
+    }
+
+    private static List<List<String>> names(List<List<Pickle>> groups) {
+        return groups.stream()
+                .map(group -> group.stream().map(Pickle::getName).collect(toList()))
+                .collect(toList());
+    }
+
+}
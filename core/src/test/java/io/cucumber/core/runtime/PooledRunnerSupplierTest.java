@@ -0,0 +1,113 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.core.runner.Runner;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseStarted;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static java.time.Instant.EPOCH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
+
+class PooledRunnerSupplierTest {
+
+    private PooledRunnerSupplier runnerSupplier;
+    private TimeServiceEventBus eventBus;
+
+    @BeforeEach
+    void before() {
+        Supplier<ClassLoader> classLoader = PooledRunnerSupplierTest.class::getClassLoader;
+        RuntimeOptions runtimeOptions = RuntimeOptions.defaultOptions();
+        ObjectFactoryServiceLoader objectFactoryServiceLoader = new ObjectFactoryServiceLoader(runtimeOptions);
+        ThreadLocalObjectFactorySupplier objectFactory = new ThreadLocalObjectFactorySupplier(
+            objectFactoryServiceLoader);
+        BackendServiceLoader backendSupplier = new BackendServiceLoader(classLoader, objectFactory);
+        eventBus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+        TypeRegistryConfigurerSupplier typeRegistryConfigurerSupplier = new ScanningTypeRegistryConfigurerSupplier(
+            classLoader, runtimeOptions);
+        runnerSupplier = new PooledRunnerSupplier(2, runtimeOptions, eventBus, backendSupplier, objectFactory,
+            typeRegistryConfigurerSupplier);
+    }
+
+    @Test
+    void should_create_a_runner() {
+        assertThat(runnerSupplier.get(), is(notNullValue()));
+    }
+
+    @Test
+    void should_create_a_runner_per_borrower_on_the_same_thread() {
+        Runner runner0 = runnerSupplier.get();
+        Runner runner1 = runnerSupplier.get();
+
+        assertAll(
+            () -> assertThat(runner0, is(not(equalTo(runner1)))),
+            () -> assertThat(runner0.getBus(), is(not(equalTo(runner1.getBus())))));
+    }
+
+    @Test
+    void should_reuse_released_runner() {
+        Runner runner = runnerSupplier.get();
+        runnerSupplier.release(runner);
+
+        assertThat(runnerSupplier.get(), is(sameInstance(runner)));
+    }
+
+    @Test
+    void should_reuse_released_runner_on_another_thread() throws Exception {
+        Runner runner = runnerSupplier.get();
+        runnerSupplier.release(runner);
+
+        Runner borrowed = CompletableFuture.supplyAsync(runnerSupplier::get).get(1, TimeUnit.SECONDS);
+
+        assertThat(borrowed, is(sameInstance(runner)));
+    }
+
+    @Test
+    void should_wait_for_a_runner_when_pool_is_exhausted() throws Exception {
+        runnerSupplier.get();
+        Runner runner = runnerSupplier.get();
+
+        CompletableFuture<Runner> borrowed = CompletableFuture.supplyAsync(runnerSupplier::get);
+        assertThat(borrowed.isDone(), is(false));
+
+        runnerSupplier.release(runner);
+
+        assertThat(borrowed.get(1, TimeUnit.SECONDS), is(sameInstance(runner)));
+    }
+
+    @Test
+    void runner_should_wrap_event_bus_bus() {
+        // This avoids problems with JUnit which listens to individual runners
+        EventBus runnerBus = runnerSupplier.get().getBus();
+
+        assertAll(
+            () -> assertThat(eventBus, is(not(equalTo(runnerBus)))),
+            () -> assertThat(runnerBus, is(not(equalTo(eventBus)))));
+    }
+
+    @Test
+    void should_limit_runner_bus_scope_to_events_generated_by_runner() {
+        // This avoids problems with JUnit which listens to individual runners
+        runnerSupplier.get().getBus().registerHandlerFor(
+            TestCaseStarted.class,
+            event -> fail("Should not receive event"));
+        eventBus.send(new TestCaseStarted(EPOCH, mock(TestCase.class)));
+    }
+
+}
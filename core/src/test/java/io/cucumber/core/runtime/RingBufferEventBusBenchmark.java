@@ -0,0 +1,100 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.eventbus.EventBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of runners sending events through a
+ * {@link SynchronizedEventBus} against sending them through a
+ * {@link RingBufferEventBus} with 1, 8 and 32 runner threads. The handler
+ * spends some time on each event, like a formatter would.
+ * <p>
+ * Run with {@code main} from the test classpath, e.g. from an IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RingBufferEventBusBenchmark {
+
+    private static final long HANDLER_TOKENS = 200;
+    private static final long RUNNER_TOKENS = 200;
+
+    private EventBus synchronizedEventBus;
+    private RingBufferEventBus ringBufferEventBus;
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] { 1, 8, 32 }) {
+            new org.openjdk.jmh.runner.Runner(new OptionsBuilder()
+                    .include(RingBufferEventBusBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build())
+                    .run();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        synchronizedEventBus = SynchronizedEventBus.synchronize(createEventBus());
+        ringBufferEventBus = new RingBufferEventBus(createEventBus());
+    }
+
+    private static EventBus createEventBus() {
+        EventBus eventBus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+        eventBus.registerHandlerFor(Object.class, event -> Blackhole.consumeCPU(HANDLER_TOKENS));
+        return eventBus;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        ringBufferEventBus.close();
+    }
+
+    @Benchmark
+    public void synchronizedEventBus(Runner runner) {
+        runner.run(synchronizedEventBus);
+    }
+
+    @Benchmark
+    public void ringBufferEventBus(Runner runner) {
+        runner.run(ringBufferEventBus);
+    }
+
+    @State(Scope.Thread)
+    public static class Runner {
+
+        private final Object event = new Object();
+        private EventBus localEventBus;
+
+        void run(EventBus eventBus) {
+            if (localEventBus == null) {
+                localEventBus = new LocalEventBus(eventBus);
+            }
+            // Executes a step, then reports it
+            Blackhole.consumeCPU(RUNNER_TOKENS);
+            localEventBus.send(event);
+        }
+
+    }
+
+}
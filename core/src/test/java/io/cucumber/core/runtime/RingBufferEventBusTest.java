@@ -0,0 +1,135 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.eventbus.EventBus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RingBufferEventBusTest {
+
+    private final EventBus delegate = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+    private final RingBufferEventBus eventBus = new RingBufferEventBus(delegate);
+
+    @Test
+    void should_deliver_events_of_each_thread_in_order() throws InterruptedException {
+        int threads = 8;
+        int events = RingBufferEventBus.CAPACITY * 4;
+        List<Integer> firstEvents = new ArrayList<>();
+        List<Integer> lastEvents = new ArrayList<>(Arrays.asList(new Integer[threads]));
+        boolean[] outOfOrder = new boolean[1];
+        eventBus.registerHandlerFor(String.class, event -> firstEvents.add(-1));
+        eventBus.registerHandlerFor(Event.class, event -> {
+            Integer last = lastEvents.get(event.thread);
+            if (last == null ? event.index != 0 : event.index != last + 1) {
+                outOfOrder[0] = true;
+            }
+            lastEvents.set(event.thread, event.index);
+            if (firstEvents.size() < 2) {
+                firstEvents.add(event.index);
+            }
+        });
+
+        eventBus.send("started");
+        List<Thread> senders = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int thread = i;
+            senders.add(new Thread(() -> {
+                for (int index = 0; index < events; index++) {
+                    eventBus.send(new Event(thread, index));
+                }
+            }));
+        }
+        for (Thread sender : senders) {
+            sender.start();
+        }
+        for (Thread sender : senders) {
+            sender.join();
+        }
+        eventBus.flush();
+
+        Integer[] expectedLastEvents = new Integer[threads];
+        Arrays.fill(expectedLastEvents, events - 1);
+        assertAll(
+            () -> assertThat(firstEvents.get(0), is(-1)),
+            () -> assertThat(outOfOrder[0], is(false)),
+            () -> assertThat(lastEvents, equalTo(Arrays.asList(expectedLastEvents))));
+        eventBus.close();
+    }
+
+    @Test
+    void should_reuse_the_rings_of_terminated_threads() throws InterruptedException {
+        int threads = 100;
+        List<Integer> received = new ArrayList<>();
+        eventBus.registerHandlerFor(Event.class, event -> received.add(event.thread));
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            // Like a virtual thread for each pickle
+            int thread = i;
+            Thread sender = new Thread(() -> eventBus.send(new Event(thread, 0)));
+            sender.start();
+            sender.join();
+            eventBus.flush();
+            expected.add(thread);
+        }
+
+        assertAll(
+            () -> assertThat(received, equalTo(expected)),
+            () -> assertThat(eventBus.ringCount(), is(1)));
+        eventBus.close();
+    }
+
+    @Test
+    void should_throw_the_exception_of_a_handler_on_close() {
+        RuntimeException exception = new RuntimeException("Boom");
+        List<String> received = new ArrayList<>();
+        eventBus.registerHandlerFor(String.class, event -> {
+            received.add(event);
+            throw exception;
+        });
+
+        eventBus.send("first");
+        eventBus.send("second");
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, eventBus::close);
+        assertAll(
+            () -> assertThat(thrown, is(exception)),
+            () -> assertThat(received, equalTo(Arrays.asList("first", "second"))));
+    }
+
+    @Test
+    void should_deliver_events_sent_after_close() {
+        List<String> received = new ArrayList<>();
+        eventBus.registerHandlerFor(String.class, received::add);
+
+        eventBus.send("first");
+        eventBus.close();
+        eventBus.send("second");
+        eventBus.close();
+
+        assertThat(received, equalTo(Arrays.asList("first", "second")));
+    }
+
+    private static final class Event {
+
+        private final int thread;
+        private final int index;
+
+        Event(int thread, int index) {
+            this.thread = thread;
+            this.index = index;
+        }
+
+    }
+
+}
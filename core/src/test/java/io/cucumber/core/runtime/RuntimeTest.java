@@ -10,10 +10,12 @@ import io.cucumber.core.backend.StubStepDefinition;
 import io.cucumber.core.backend.TestCaseState;
 import io.cucumber.core.eventbus.EventBus;
 import io.cucumber.core.exception.CompositeCucumberException;
+import io.cucumber.core.exception.CucumberException;
 import io.cucumber.core.feature.TestFeatureParser;
 import io.cucumber.core.gherkin.Feature;
 import io.cucumber.core.options.RuntimeOptions;
 import io.cucumber.core.options.RuntimeOptionsBuilder;
+import io.cucumber.core.order.StandardPickleOrders;
 import io.cucumber.core.plugin.JUnitFormatter;
 import io.cucumber.core.runner.StepDurationTimeService;
 import io.cucumber.core.runner.TestBackendSupplier;
@@ -47,6 +49,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
 
 import static java.time.Clock.fixed;
 import static java.time.Duration.ZERO;
@@ -60,6 +63,7 @@ import static java.util.concurrent.TimeUnit.HOURS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -335,6 +339,149 @@ class RuntimeTest {
                     "TestRun finished\n")));
     }
 
+    @Test
+    void executes_pickles_before_all_features_are_parsed() {
+        Feature feature1 = TestFeatureParser.parse("path/test1.feature", "" +
+                "Feature: feature name 1\n" +
+                "  Scenario: scenario_1 name\n" +
+                "    Given first step\n");
+
+        Feature feature2 = TestFeatureParser.parse("path/test2.feature", "" +
+                "Feature: feature name 2\n" +
+                "  Scenario: scenario_2 name\n" +
+                "    Given first step\n");
+
+        List<String> events = new ArrayList<>();
+        FeatureSupplier featureSupplier = new StubFeatureSupplier(feature1, feature2) {
+            @Override
+            public Stream<Feature> stream() {
+                return Stream.of(feature1, feature2)
+                        .peek(feature -> events.add("parsed " + feature.getName().orElse(null)));
+            }
+        };
+        EventListener listener = publisher -> publisher.registerHandlerFor(TestCaseStarted.class,
+            event -> events.add("started " + event.getTestCase().getName()));
+
+        Runtime.builder()
+                .withFeatureSupplier(featureSupplier)
+                .withAdditionalPlugins(listener)
+                .withBackendSupplier(new StubBackendSupplier(
+                    new StubStepDefinition("first step")))
+                .build()
+                .run();
+
+        assertThat(events, contains(
+            "parsed feature name 1",
+            "started scenario_1 name",
+            "parsed feature name 2",
+            "started scenario_2 name"));
+    }
+
+    @Test
+    void finishes_the_test_run_when_a_later_feature_can_not_be_parsed() {
+        Feature feature1 = TestFeatureParser.parse("path/test1.feature", "" +
+                "Feature: feature name 1\n" +
+                "  Scenario: scenario_1 name\n" +
+                "    Given first step\n");
+
+        CucumberException parseError = new CucumberException("Failed to parse resource at: path/test2.feature");
+        FeatureSupplier featureSupplier = new StubFeatureSupplier(feature1) {
+            @Override
+            public Stream<Feature> stream() {
+                return Stream.of(feature1, null)
+                        .peek(feature -> {
+                            if (feature == null) {
+                                throw parseError;
+                            }
+                        });
+            }
+        };
+        List<String> events = new ArrayList<>();
+        EventListener listener = publisher -> {
+            publisher.registerHandlerFor(TestCaseFinished.class,
+                event -> events.add("finished " + event.getTestCase().getName()));
+            publisher.registerHandlerFor(TestRunFinished.class,
+                event -> events.add("test run " + event.getResult().getStatus()));
+        };
+
+        Runtime runtime = Runtime.builder()
+                .withFeatureSupplier(featureSupplier)
+                .withAdditionalPlugins(listener)
+                .withBackendSupplier(new StubBackendSupplier(
+                    new StubStepDefinition("first step")))
+                .build();
+
+        CucumberException exception = assertThrows(CucumberException.class, runtime::run);
+        assertThat(exception, is(parseError));
+        assertThat(events, contains(
+            "finished scenario_1 name",
+            "test run FAILED"));
+    }
+
+    @Test
+    void executes_pickles_after_all_features_are_parsed_when_order_is_not_streamable() {
+        Feature feature1 = TestFeatureParser.parse("path/test1.feature", "" +
+                "Feature: feature name 1\n" +
+                "  Scenario: scenario_1 name\n" +
+                "    Given first step\n");
+
+        Feature feature2 = TestFeatureParser.parse("path/test2.feature", "" +
+                "Feature: feature name 2\n" +
+                "  Scenario: scenario_2 name\n" +
+                "    Given first step\n");
+
+        List<String> events = new ArrayList<>();
+        EventListener listener = publisher -> publisher.registerHandlerFor(TestCaseStarted.class,
+            event -> events.add("started " + event.getTestCase().getName()));
+
+        Runtime.builder()
+                .withFeatureSupplier(new StubFeatureSupplier(feature1, feature2))
+                .withAdditionalPlugins(listener)
+                .withBackendSupplier(new StubBackendSupplier(
+                    new StubStepDefinition("first step")))
+                .withRuntimeOptions(new RuntimeOptionsBuilder()
+                        .setPickleOrder(StandardPickleOrders.reverseLexicalUriOrder())
+                        .build())
+                .build()
+                .run();
+
+        assertThat(events, contains(
+            "started scenario_2 name",
+            "started scenario_1 name"));
+    }
+
+    @Test
+    void skips_remaining_pickles_when_max_failures_is_reached() {
+        Feature feature = TestFeatureParser.parse("path/test.feature", "" +
+                "Feature: feature name\n" +
+                "  Scenario: scenario_1 name\n" +
+                "    Given passing step\n" +
+                "  Scenario: scenario_2 name\n" +
+                "    Given failing step\n" +
+                "  Scenario: scenario_3 name\n" +
+                "    Given passing step\n");
+
+        List<String> events = new ArrayList<>();
+        EventListener listener = publisher -> publisher.registerHandlerFor(TestCaseFinished.class,
+            event -> events.add(event.getTestCase().getName() + " " + event.getResult().getStatus()));
+
+        Runtime runtime = Runtime.builder()
+                .withFeatureSupplier(new StubFeatureSupplier(feature))
+                .withAdditionalPlugins(listener)
+                .withBackendSupplier(new StubBackendSupplier(
+                    new StubStepDefinition("passing step"),
+                    new StubStepDefinition("failing step", new RuntimeException())))
+                .withRuntimeOptions(new RuntimeOptionsBuilder().setFailFast(true).build())
+                .build();
+        runtime.run();
+
+        assertThat(events, contains(
+            "scenario_1 name PASSED",
+            "scenario_2 name FAILED",
+            "scenario_3 name SKIPPED"));
+        assertThat(runtime.exitStatus(), is(equalTo((byte) 0x1)));
+    }
+
     @Test
     void should_fail_on_event_listener_exception_when_running_in_parallel() {
         Feature feature1 = TestFeatureParser.parse("path/test.feature", "" +
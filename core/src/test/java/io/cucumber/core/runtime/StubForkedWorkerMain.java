@@ -0,0 +1,65 @@
+package io.cucumber.core.runtime;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * Worker processes that misbehave.
+ */
+public final class StubForkedWorkerMain {
+
+    static final int EXIT_CODE = 3;
+
+    private StubForkedWorkerMain() {
+
+    }
+
+    /**
+     * Starts like a worker, but exits while executing its first pickle.
+     */
+    public static final class Exiting {
+
+        private Exiting() {
+
+        }
+
+        public static void main(String... args) throws IOException, ClassNotFoundException {
+            int port = Integer.parseInt(args[0]);
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                out.writeUTF(args[1]);
+                out.flush();
+                ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(socket.getInputStream()));
+                in.readObject();
+                out.writeObject(new ForkedEvents.Ready());
+                out.flush();
+                if (in.readByte() == ForkedWorker.EXIT) {
+                    System.exit(0);
+                }
+            }
+            System.exit(EXIT_CODE);
+        }
+
+    }
+
+    /**
+     * Never connects to the process that forked it.
+     */
+    public static final class Hanging {
+
+        private Hanging() {
+
+        }
+
+        public static void main(String... args) throws InterruptedException {
+            Thread.sleep(Long.MAX_VALUE);
+        }
+
+    }
+
+}
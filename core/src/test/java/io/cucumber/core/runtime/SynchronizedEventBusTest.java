@@ -0,0 +1,36 @@
+package io.cucumber.core.runtime;
+
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.plugin.event.EventHandler;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+class SynchronizedEventBusTest {
+
+    @Test
+    void reports_handlers_registered_after_the_event_type_was_queried() {
+        EventHandler<TestStepFinished> handler = event -> {
+        };
+        EventBus bus = SynchronizedEventBus.synchronize(
+            new TimeServiceEventBus(Clock.fixed(Instant.EPOCH, ZoneId.of("UTC")), UUID::randomUUID));
+
+        assertThat(bus.hasHandlerFor(TestStepFinished.class), is(false));
+
+        bus.registerHandlerFor(TestStepFinished.class, handler);
+        assertThat(bus.hasHandlerFor(TestStepFinished.class), is(true));
+        assertThat(bus.hasHandlerFor(TestStepStarted.class), is(false));
+
+        bus.removeHandlerFor(TestStepFinished.class, handler);
+        assertThat(bus.hasHandlerFor(TestStepFinished.class), is(false));
+    }
+
+}
@@ -3,7 +3,9 @@ package io.cucumber.java8;
 import io.cucumber.core.backend.TestCaseState;
 import org.apiguardian.api.API;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.Collection;
 
 /**
@@ -88,6 +90,42 @@ public final class Scenario {
         delegate.attach(data, mediaType, name);
     }
 
+    /**
+     * Attaches the content of a file to the report.
+     * <p>
+     * The content is copied to disk rather than kept in memory, which makes
+     * this suitable for large attachments such as screenshots and videos.
+     * Changing or deleting the file afterwards does not change the report.
+     * Plugins that consume messages, such as the {@code html} formatter, still
+     * receive the content itself. When one is used the file is read and Base64
+     * encoded when attached.
+     *
+     * @param file      what to attach, for example a video.
+     * @param mediaType what is the data?
+     * @param name      attachment name
+     * @see             #attach(byte[], String, String)
+     */
+    @API(status = API.Status.EXPERIMENTAL)
+    public void attach(Path file, String mediaType, String name) {
+        delegate.attach(file, mediaType, name);
+    }
+
+    /**
+     * Attaches the content of a stream to the report.
+     * <p>
+     * The stream is read to its end and copied to disk rather than kept in
+     * memory. It is not closed.
+     *
+     * @param data      what to attach, for example a video.
+     * @param mediaType what is the data?
+     * @param name      attachment name
+     * @see             #attach(byte[], String, String)
+     */
+    @API(status = API.Status.EXPERIMENTAL)
+    public void attach(InputStream data, String mediaType, String name) {
+        delegate.attach(data, mediaType, name);
+    }
+
     /**
      * Outputs some text into the report.
      *
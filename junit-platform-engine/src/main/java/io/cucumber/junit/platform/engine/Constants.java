@@ -29,6 +29,30 @@ public final class Constants {
      */
     public static final String EXECUTION_DRY_RUN_PROPERTY_NAME = io.cucumber.core.options.Constants.EXECUTION_DRY_RUN_PROPERTY_NAME;
 
+    /**
+     * Property name used to enable fail fast execution: {@value}
+     * <p>
+     * When using fail fast execution Cucumber will skip the remaining
+     * scenarios after the first failed scenario. Equivalent to setting
+     * {@value #EXECUTION_MAX_FAILURES_PROPERTY_NAME} to {@code 1}, which takes
+     * precedence when both are set.
+     * <p>
+     * By default, fail fast execution is disabled.
+     */
+    public static final String EXECUTION_FAIL_FAST_PROPERTY_NAME = io.cucumber.core.options.Constants.EXECUTION_FAIL_FAST_PROPERTY_NAME;
+
+    /**
+     * Property name used to set the maximum number of failed scenarios:
+     * {@value}
+     * <p>
+     * Once the maximum number of scenarios has failed, scenarios that have
+     * not been started yet are skipped. Scenarios that are already running
+     * will finish.
+     * <p>
+     * By default, the number of failures is unlimited.
+     */
+    public static final String EXECUTION_MAX_FAILURES_PROPERTY_NAME = io.cucumber.core.options.Constants.EXECUTION_MAX_FAILURES_PROPERTY_NAME;
+
     /**
      * Tag replacement pattern for the exclusive resource templates: {@value}
      *
@@ -92,6 +116,44 @@ public final class Constants {
      */
     public static final String PLUGIN_PROPERTY_NAME = io.cucumber.core.options.Constants.PLUGIN_PROPERTY_NAME;
 
+    /**
+     * Property name used to set what happens to events for an asynchronous
+     * plugin that can not keep up: {@value}
+     * <p>
+     * Valid values are {@code block} or {@code drop}. When set to
+     * {@code block} publishing an event waits until the plugin has room for
+     * it. When set to {@code drop} the event is dropped and a warning is
+     * logged.
+     * <p>
+     * By default, publishing blocks.
+     *
+     * @see io.cucumber.plugin.AsyncPlugin
+     */
+    public static final String PLUGIN_ASYNC_OVERFLOW_POLICY_PROPERTY_NAME = io.cucumber.core.options.Constants.PLUGIN_ASYNC_OVERFLOW_POLICY_PROPERTY_NAME;
+
+    /**
+     * Property name used to set the memory budget in megabytes for plugins
+     * that receive events in canonical order: {@value}
+     * <p>
+     * Events are kept until the test run finished. When the estimated size of
+     * the events of finished scenarios exceeds the budget they are written to
+     * a temporary file and read back when published.
+     * <p>
+     * By default, the budget is 64 megabytes.
+     */
+    public static final String PLUGIN_CANONICAL_ORDER_MEMORY_BUDGET_PROPERTY_NAME = io.cucumber.core.options.Constants.PLUGIN_CANONICAL_ORDER_MEMORY_BUDGET_PROPERTY_NAME;
+
+    /**
+     * Property name used to enable pretty printing of the json formatter
+     * output: {@value}
+     * <p>
+     * Disabling it writes each feature on a single line, which makes the
+     * report considerably smaller.
+     * <p>
+     * By default, pretty printing is enabled.
+     */
+    public static final String PLUGIN_JSON_PRETTY_PRINT_PROPERTY_NAME = io.cucumber.core.options.Constants.PLUGIN_JSON_PRETTY_PRINT_PROPERTY_NAME;
+
     /**
      * Setting this to true will enable publishing.
      */
@@ -116,6 +178,57 @@ public final class Constants {
      */
     public static final String OBJECT_FACTORY_PROPERTY_NAME = io.cucumber.core.options.Constants.OBJECT_FACTORY_PROPERTY_NAME;
 
+    /**
+     * Property name to select the id generator: {@value}
+     * <p>
+     * Valid values are {@code random}, {@code incrementing}, {@code seeded}
+     * or the fully qualified class name of an
+     * {@link io.cucumber.core.eventbus.IdGenerator} registered with SPI.
+     * <p>
+     * By default, random ids are generated.
+     */
+    public static final String ID_GENERATOR_PROPERTY_NAME = io.cucumber.core.options.Constants.ID_GENERATOR_PROPERTY_NAME;
+
+    /**
+     * Property name used to execute a shard of the scenarios: {@value}
+     * <p>
+     * Of the form {@code INDEX/TOTAL}, e.g. {@code 2/12}. Divides the
+     * discovered scenarios into {@code TOTAL} shards and discovers only the
+     * shard with index {@code INDEX}, counting from 1. Each node that uses the
+     * same selectors gets the same shards. The scenarios are divided evenly by
+     * a stable hash of their uri and line, unless a shared history is
+     * configured.
+     * <p>
+     * By default, all scenarios are discovered.
+     */
+    public static final String EXECUTION_SHARD_PROPERTY_NAME = io.cucumber.core.options.Constants.EXECUTION_SHARD_PROPERTY_NAME;
+
+    /**
+     * Property name used to balance the shards by a history: {@value}
+     * <p>
+     * The directory of a history written by the {@code history} plugin, e.g.
+     * restored from a cache that is shared by all nodes. The shards are
+     * balanced by the expected duration of each scenario. The history must be
+     * the same on every node, otherwise the nodes divide the scenarios
+     * differently and scenarios are skipped or executed twice.
+     * <p>
+     * By default, no history is used.
+     *
+     * @see #EXECUTION_SHARD_PROPERTY_NAME
+     */
+    public static final String EXECUTION_SHARD_HISTORY_PROPERTY_NAME = io.cucumber.core.options.Constants.EXECUTION_SHARD_HISTORY_PROPERTY_NAME;
+
+    /**
+     * Property name used to set the size of the step match cache: {@value}
+     * <p>
+     * The step match cache remembers which step definition matched a step
+     * text. The cache is shared between all threads. A size of {@code 0}
+     * disables the cache.
+     * <p>
+     * By default up to 10000 step texts are cached.
+     */
+    public static final String EXECUTION_STEP_MATCH_CACHE_SIZE_PROPERTY_NAME = io.cucumber.core.options.Constants.EXECUTION_STEP_MATCH_CACHE_SIZE_PROPERTY_NAME;
+
     /**
      * Property name to control naming convention for generated snippets:
      * {@value}
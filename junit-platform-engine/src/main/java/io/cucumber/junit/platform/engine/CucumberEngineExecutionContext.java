@@ -1,6 +1,7 @@
 package io.cucumber.junit.platform.engine;
 
 import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.eventbus.IdGenerator;
 import io.cucumber.core.gherkin.Feature;
 import io.cucumber.core.gherkin.Pickle;
 import io.cucumber.core.plugin.PluginFactory;
@@ -9,14 +10,16 @@ import io.cucumber.core.runtime.BackendServiceLoader;
 import io.cucumber.core.runtime.BackendSupplier;
 import io.cucumber.core.runtime.CucumberExecutionContext;
 import io.cucumber.core.runtime.ExitStatus;
+import io.cucumber.core.runtime.IdGeneratorServiceLoader;
+import io.cucumber.core.runtime.MonotonicClock;
 import io.cucumber.core.runtime.ObjectFactoryServiceLoader;
 import io.cucumber.core.runtime.ObjectFactorySupplier;
+import io.cucumber.core.runtime.PooledRunnerSupplier;
 import io.cucumber.core.runtime.RunnerSupplier;
 import io.cucumber.core.runtime.ScanningTypeRegistryConfigurerSupplier;
 import io.cucumber.core.runtime.SingletonObjectFactorySupplier;
 import io.cucumber.core.runtime.SingletonRunnerSupplier;
 import io.cucumber.core.runtime.ThreadLocalObjectFactorySupplier;
-import io.cucumber.core.runtime.ThreadLocalRunnerSupplier;
 import io.cucumber.core.runtime.TimeServiceEventBus;
 import io.cucumber.core.runtime.TypeRegistryConfigurerSupplier;
 import org.apiguardian.api.API;
@@ -25,8 +28,6 @@ import org.junit.platform.commons.logging.LoggerFactory;
 import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.support.hierarchical.EngineExecutionContext;
 
-import java.time.Clock;
-import java.util.UUID;
 import java.util.function.Supplier;
 
 import static io.cucumber.core.runtime.SynchronizedEventBus.synchronize;
@@ -45,7 +46,8 @@ public final class CucumberEngineExecutionContext implements EngineExecutionCont
         log.debug(() -> "Parsing options");
         options = new CucumberEngineOptions(configurationParameters);
         ObjectFactoryServiceLoader objectFactoryServiceLoader = new ObjectFactoryServiceLoader(options);
-        EventBus bus = synchronize(new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID));
+        IdGenerator idGenerator = new IdGeneratorServiceLoader(options).loadIdGenerator();
+        EventBus bus = synchronize(new TimeServiceEventBus(new MonotonicClock(), idGenerator::generateId));
         TypeRegistryConfigurerSupplier typeRegistryConfigurerSupplier = new ScanningTypeRegistryConfigurerSupplier(
             classLoader, options);
         Plugins plugins = new Plugins(new PluginFactory(), options);
@@ -55,11 +57,13 @@ public final class CucumberEngineExecutionContext implements EngineExecutionCont
         RunnerSupplier runnerSupplier;
         if (options.isParallelExecutionEnabled()) {
             plugins.setSerialEventBusOnEventListenerPlugins(bus);
-            ObjectFactorySupplier objectFactorySupplier = new ThreadLocalObjectFactorySupplier(
+            ThreadLocalObjectFactorySupplier objectFactorySupplier = new ThreadLocalObjectFactorySupplier(
                 objectFactoryServiceLoader);
             BackendSupplier backendSupplier = new BackendServiceLoader(classLoader, objectFactorySupplier);
-            runnerSupplier = new ThreadLocalRunnerSupplier(options, bus, backendSupplier, objectFactorySupplier,
-                typeRegistryConfigurerSupplier);
+            // The fork join pool may add threads to compensate for blocked
+            // threads. These should not each load the glue again.
+            runnerSupplier = new PooledRunnerSupplier(options.getParallelism(), options, bus, backendSupplier,
+                objectFactorySupplier, typeRegistryConfigurerSupplier);
         } else {
             plugins.setEventBusOnEventListenerPlugins(bus);
             ObjectFactorySupplier objectFactorySupplier = new SingletonObjectFactorySupplier(
@@ -87,7 +91,7 @@ public final class CucumberEngineExecutionContext implements EngineExecutionCont
         context.runTestCase((runner) -> {
             try (TestCaseResultObserver observer = observe(runner.getBus())) {
                 log.debug(() -> "Executing test case " + pickle.getName());
-                runner.runPickle(pickle);
+                context.runPickle(runner, pickle);
                 log.debug(() -> "Finished test case " + pickle.getName());
                 observer.assertTestCasePassed();
             }
@@ -1,22 +1,33 @@
 package io.cucumber.junit.platform.engine;
 
 import io.cucumber.core.backend.ObjectFactory;
+import io.cucumber.core.eventbus.IdGenerator;
 import io.cucumber.core.feature.GluePath;
+import io.cucumber.core.filter.Shard;
+import io.cucumber.core.options.IdGeneratorParser;
 import io.cucumber.core.options.ObjectFactoryParser;
+import io.cucumber.core.options.OverflowPolicyParser;
 import io.cucumber.core.options.PluginOption;
 import io.cucumber.core.options.SnippetTypeParser;
 import io.cucumber.core.plugin.NoPublishFormatter;
+import io.cucumber.core.plugin.OverflowPolicy;
 import io.cucumber.core.plugin.PublishFormatter;
+import io.cucumber.core.runner.StepMatchCache;
 import io.cucumber.core.snippets.SnippetType;
 import io.cucumber.tagexpressions.Expression;
 import io.cucumber.tagexpressions.TagExpressionParser;
 import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.config.PrefixedConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.DefaultParallelExecutionConfigurationStrategy;
 
 import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -25,11 +36,22 @@ import java.util.stream.Stream;
 import static io.cucumber.core.resource.ClasspathSupport.CLASSPATH_SCHEME_PREFIX;
 import static io.cucumber.junit.platform.engine.Constants.ANSI_COLORS_DISABLED_PROPERTY_NAME;
 import static io.cucumber.junit.platform.engine.Constants.EXECUTION_DRY_RUN_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.EXECUTION_FAIL_FAST_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.EXECUTION_MAX_FAILURES_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.EXECUTION_SHARD_HISTORY_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.EXECUTION_SHARD_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.EXECUTION_STEP_MATCH_CACHE_SIZE_PROPERTY_NAME;
 import static io.cucumber.junit.platform.engine.Constants.FILTER_NAME_PROPERTY_NAME;
 import static io.cucumber.junit.platform.engine.Constants.FILTER_TAGS_PROPERTY_NAME;
 import static io.cucumber.junit.platform.engine.Constants.GLUE_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.ID_GENERATOR_PROPERTY_NAME;
 import static io.cucumber.junit.platform.engine.Constants.OBJECT_FACTORY_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PARALLEL_CONFIG_PREFIX;
+import static io.cucumber.junit.platform.engine.Constants.PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME;
 import static io.cucumber.junit.platform.engine.Constants.PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PLUGIN_ASYNC_OVERFLOW_POLICY_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PLUGIN_CANONICAL_ORDER_MEMORY_BUDGET_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PLUGIN_JSON_PRETTY_PRINT_PROPERTY_NAME;
 import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PROPERTY_NAME;
 import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PUBLISH_ENABLED_PROPERTY_NAME;
 import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PUBLISH_QUIET_PROPERTY_NAME;
@@ -39,7 +61,8 @@ import static io.cucumber.junit.platform.engine.Constants.SNIPPET_TYPE_PROPERTY_
 class CucumberEngineOptions implements
         io.cucumber.core.plugin.Options,
         io.cucumber.core.runner.Options,
-        io.cucumber.core.backend.Options {
+        io.cucumber.core.backend.Options,
+        io.cucumber.core.eventbus.Options {
 
     private final ConfigurationParameters configurationParameters;
 
@@ -112,6 +135,40 @@ class CucumberEngineOptions implements
         return false;
     }
 
+    @Override
+    public int getMaxFailures() {
+        Optional<Integer> maxFailures = configurationParameters
+                .get(EXECUTION_MAX_FAILURES_PROPERTY_NAME, Integer::parseInt);
+        if (maxFailures.isPresent()) {
+            return maxFailures.get();
+        }
+        return configurationParameters
+                .getBoolean(EXECUTION_FAIL_FAST_PROPERTY_NAME)
+                .map(failFast -> failFast ? 1 : 0)
+                .orElse(0);
+    }
+
+    @Override
+    public OverflowPolicy getAsyncPluginOverflowPolicy() {
+        return configurationParameters
+                .get(PLUGIN_ASYNC_OVERFLOW_POLICY_PROPERTY_NAME, OverflowPolicyParser::parse)
+                .orElse(OverflowPolicy.BLOCK);
+    }
+
+    @Override
+    public int getCanonicalOrderMemoryBudget() {
+        return configurationParameters
+                .get(PLUGIN_CANONICAL_ORDER_MEMORY_BUDGET_PROPERTY_NAME, Integer::parseInt)
+                .orElse(64);
+    }
+
+    @Override
+    public boolean isJsonPrettyPrint() {
+        return configurationParameters
+                .getBoolean(PLUGIN_JSON_PRETTY_PRINT_PROPERTY_NAME)
+                .orElse(true);
+    }
+
     Optional<Expression> tagFilter() {
         return configurationParameters.get(FILTER_TAGS_PROPERTY_NAME, TagExpressionParser::parse);
     }
@@ -152,10 +209,48 @@ class CucumberEngineOptions implements
                 .orElse(null);
     }
 
+    @Override
+    public Class<? extends IdGenerator> getIdGeneratorClass() {
+        return configurationParameters
+                .get(ID_GENERATOR_PROPERTY_NAME, IdGeneratorParser::parseIdGenerator)
+                .orElse(null);
+    }
+
+    @Override
+    public int getStepMatchCacheSize() {
+        return configurationParameters
+                .get(EXECUTION_STEP_MATCH_CACHE_SIZE_PROPERTY_NAME, Integer::parseInt)
+                .orElse(StepMatchCache.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    Shard getShard() {
+        return configurationParameters
+                .get(EXECUTION_SHARD_PROPERTY_NAME, Shard::parse)
+                .orElse(Shard.all());
+    }
+
+    Optional<Path> getShardHistory() {
+        return configurationParameters.get(EXECUTION_SHARD_HISTORY_PROPERTY_NAME, Paths::get);
+    }
+
     boolean isParallelExecutionEnabled() {
         return configurationParameters
                 .getBoolean(PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME)
                 .orElse(false);
     }
 
+    int getParallelism() {
+        ConfigurationParameters parallelConfig = new PrefixedConfigurationParameters(configurationParameters,
+            PARALLEL_CONFIG_PREFIX);
+        return configurationParameters
+                .get(PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME, CucumberEngineOptions::parseStrategy)
+                .orElse(DefaultParallelExecutionConfigurationStrategy.DYNAMIC)
+                .createConfiguration(parallelConfig)
+                .getParallelism();
+    }
+
+    private static DefaultParallelExecutionConfigurationStrategy parseStrategy(String strategy) {
+        return DefaultParallelExecutionConfigurationStrategy.valueOf(strategy.toUpperCase(Locale.ROOT));
+    }
+
 }
@@ -1,5 +1,7 @@
 package io.cucumber.junit.platform.engine;
 
+import io.cucumber.core.filter.Sharding;
+import io.cucumber.core.gherkin.Pickle;
 import org.junit.platform.engine.EngineDiscoveryRequest;
 import org.junit.platform.engine.Filter;
 import org.junit.platform.engine.TestDescriptor;
@@ -13,9 +15,15 @@ import org.junit.platform.engine.discovery.PackageSelector;
 import org.junit.platform.engine.discovery.UniqueIdSelector;
 import org.junit.platform.engine.discovery.UriSelector;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import static io.cucumber.junit.platform.engine.FeatureResolver.createFeatureResolver;
+import static java.util.Collections.newSetFromMap;
+import static java.util.stream.Collectors.toList;
 import static org.junit.platform.engine.Filter.composeFilters;
 
 class DiscoverySelectorResolver {
@@ -23,7 +31,7 @@ class DiscoverySelectorResolver {
     void resolveSelectors(EngineDiscoveryRequest request, CucumberEngineDescriptor engineDescriptor) {
         Predicate<String> packageFilter = buildPackageFilter(request);
         resolve(request, engineDescriptor, packageFilter);
-        filter(engineDescriptor, packageFilter);
+        filter(engineDescriptor, packageFilter, buildSharding(request));
         pruneTree(engineDescriptor);
     }
 
@@ -32,6 +40,13 @@ class DiscoverySelectorResolver {
         return packageFilter.toPredicate();
     }
 
+    private Sharding buildSharding(EngineDiscoveryRequest request) {
+        CucumberEngineOptions options = new CucumberEngineOptions(request.getConfigurationParameters());
+        return options.getShardHistory()
+                .map(history -> new Sharding(options.getShard(), history))
+                .orElseGet(() -> new Sharding(options.getShard()));
+    }
+
     private void resolve(
             EngineDiscoveryRequest request, CucumberEngineDescriptor engineDescriptor, Predicate<String> packageFilter
     ) {
@@ -48,8 +63,9 @@ class DiscoverySelectorResolver {
         request.getSelectorsByType(UriSelector.class).forEach(featureResolver::resolveUri);
     }
 
-    private void filter(TestDescriptor engineDescriptor, Predicate<String> packageFilter) {
+    private void filter(TestDescriptor engineDescriptor, Predicate<String> packageFilter, Sharding sharding) {
         applyPackagePredicate(packageFilter, engineDescriptor);
+        applySharding(sharding, engineDescriptor);
     }
 
     private void pruneTree(TestDescriptor rootDescriptor) {
@@ -67,6 +83,27 @@ class DiscoverySelectorResolver {
         });
     }
 
+    private void applySharding(Sharding sharding, TestDescriptor engineDescriptor) {
+        if (!sharding.isSharded()) {
+            return;
+        }
+        // The shard of a pickle depends on all other pickles
+        List<PickleDescriptor> pickleDescriptors = new ArrayList<>();
+        engineDescriptor.accept(descriptor -> {
+            if (descriptor instanceof PickleDescriptor) {
+                pickleDescriptors.add((PickleDescriptor) descriptor);
+            }
+        });
+        List<Pickle> pickles = pickleDescriptors.stream()
+                .map(PickleDescriptor::getPickle)
+                .collect(toList());
+        Set<Pickle> shard = newSetFromMap(new IdentityHashMap<>());
+        shard.addAll(sharding.select(pickles));
+        pickleDescriptors.stream()
+                .filter(pickleDescriptor -> !shard.contains(pickleDescriptor.getPickle()))
+                .forEach(TestDescriptor::removeFromHierarchy);
+    }
+
     private boolean includePickle(PickleDescriptor pickleDescriptor, Predicate<String> packageFilter) {
         return pickleDescriptor.getPackage()
                 .map(packageFilter::test)
@@ -58,6 +58,10 @@ class PickleDescriptor extends AbstractTestDescriptor implements Node<CucumberEn
                 .collect(collectingAndThen(toCollection(LinkedHashSet::new), Collections::unmodifiableSet));
     }
 
+    Pickle getPickle() {
+        return pickleEvent;
+    }
+
     @Override
     public Type getType() {
         return Type.TEST;
@@ -1,19 +1,27 @@
 package io.cucumber.junit.platform.engine;
 
+import io.cucumber.core.eventbus.SeededIdGenerator;
 import io.cucumber.core.plugin.Options;
+import io.cucumber.core.plugin.OverflowPolicy;
 import io.cucumber.core.snippets.SnippetType;
 import org.junit.jupiter.api.Test;
 import org.junit.platform.engine.ConfigurationParameters;
 
 import java.net.URI;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsEmptyCollection.empty;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.hamcrest.core.IsEqual.equalTo;
 import static org.hamcrest.core.IsIterableContaining.hasItem;
 import static org.hamcrest.core.IsIterableContaining.hasItems;
+import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -121,6 +129,78 @@ class CucumberEngineOptionsTest {
         assertFalse(new CucumberEngineOptions(noDryRun).isDryRun());
     }
 
+    @Test
+    void getMaxFailures() {
+        ConfigurationParameters failFast = new MapConfigurationParameters(
+            Constants.EXECUTION_FAIL_FAST_PROPERTY_NAME,
+            "true");
+        assertThat(new CucumberEngineOptions(failFast).getMaxFailures(), is(1));
+
+        Map<String, String> maxFailures = new HashMap<>();
+        maxFailures.put(Constants.EXECUTION_FAIL_FAST_PROPERTY_NAME, "true");
+        maxFailures.put(Constants.EXECUTION_MAX_FAILURES_PROPERTY_NAME, "3");
+        assertThat(new CucumberEngineOptions(new MapConfigurationParameters(maxFailures)).getMaxFailures(), is(3));
+
+        ConfigurationParameters absent = new EmptyConfigurationParameters();
+        assertThat(new CucumberEngineOptions(absent).getMaxFailures(), is(0));
+    }
+
+    @Test
+    void getAsyncPluginOverflowPolicy() {
+        ConfigurationParameters drop = new MapConfigurationParameters(
+            Constants.PLUGIN_ASYNC_OVERFLOW_POLICY_PROPERTY_NAME,
+            "drop");
+        assertThat(new CucumberEngineOptions(drop).getAsyncPluginOverflowPolicy(), is(OverflowPolicy.DROP));
+
+        ConfigurationParameters absent = new EmptyConfigurationParameters();
+        assertThat(new CucumberEngineOptions(absent).getAsyncPluginOverflowPolicy(), is(OverflowPolicy.BLOCK));
+    }
+
+    @Test
+    void getIdGeneratorClass() {
+        ConfigurationParameters seeded = new MapConfigurationParameters(
+            Constants.ID_GENERATOR_PROPERTY_NAME,
+            "seeded");
+        assertThat(new CucumberEngineOptions(seeded).getIdGeneratorClass(), is(equalTo(SeededIdGenerator.class)));
+
+        ConfigurationParameters absent = new EmptyConfigurationParameters();
+        assertThat(new CucumberEngineOptions(absent).getIdGeneratorClass(), is(nullValue()));
+    }
+
+    @Test
+    void getCanonicalOrderMemoryBudget() {
+        ConfigurationParameters budget = new MapConfigurationParameters(
+            Constants.PLUGIN_CANONICAL_ORDER_MEMORY_BUDGET_PROPERTY_NAME,
+            "16");
+        assertThat(new CucumberEngineOptions(budget).getCanonicalOrderMemoryBudget(), is(16));
+
+        ConfigurationParameters absent = new EmptyConfigurationParameters();
+        assertThat(new CucumberEngineOptions(absent).getCanonicalOrderMemoryBudget(), is(64));
+    }
+
+    @Test
+    void isJsonPrettyPrint() {
+        ConfigurationParameters compact = new MapConfigurationParameters(
+            Constants.PLUGIN_JSON_PRETTY_PRINT_PROPERTY_NAME,
+            "false");
+        assertThat(new CucumberEngineOptions(compact).isJsonPrettyPrint(), is(false));
+
+        ConfigurationParameters absent = new EmptyConfigurationParameters();
+        assertThat(new CucumberEngineOptions(absent).isJsonPrettyPrint(), is(true));
+    }
+
+    @Test
+    void getShardHistory() {
+        ConfigurationParameters history = new MapConfigurationParameters(
+            Constants.EXECUTION_SHARD_HISTORY_PROPERTY_NAME,
+            "build/cucumber-history");
+        assertThat(new CucumberEngineOptions(history).getShardHistory(),
+            is(Optional.of(Paths.get("build/cucumber-history"))));
+
+        ConfigurationParameters absent = new EmptyConfigurationParameters();
+        assertThat(new CucumberEngineOptions(absent).getShardHistory(), is(Optional.empty()));
+    }
+
     @Test
     void getSnippetType() {
         ConfigurationParameters underscore = new MapConfigurationParameters(
@@ -152,4 +232,22 @@ class CucumberEngineOptionsTest {
 
     }
 
+    @Test
+    void getParallelism() {
+        Map<String, String> fixed = new HashMap<>();
+        fixed.put(Constants.PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME, "fixed");
+        fixed.put(Constants.PARALLEL_CONFIG_FIXED_PARALLELISM_PROPERTY_NAME, "3");
+        assertThat(new CucumberEngineOptions(new MapConfigurationParameters(fixed)).getParallelism(), is(3));
+
+        Map<String, String> dynamic = new HashMap<>();
+        dynamic.put(Constants.PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME, "dynamic");
+        dynamic.put(Constants.PARALLEL_CONFIG_DYNAMIC_FACTOR_PROPERTY_NAME, "2");
+        int processors = Runtime.getRuntime().availableProcessors();
+        assertThat(new CucumberEngineOptions(new MapConfigurationParameters(dynamic)).getParallelism(),
+            is(2 * processors));
+
+        ConfigurationParameters absent = new EmptyConfigurationParameters();
+        assertThat(new CucumberEngineOptions(absent).getParallelism(), is(processors));
+    }
+
 }
@@ -0,0 +1,26 @@
+package io.cucumber.plugin;
+
+import org.apiguardian.api.API;
+
+import java.io.Flushable;
+
+/**
+ * Marks an {@link EventListener} or {@link ConcurrentEventListener} that
+ * receives its events asynchronously.
+ * <p>
+ * Events for the plugin are queued and delivered to its handlers by a
+ * dedicated thread, in the order they were published. Scenarios do not wait
+ * for the plugin to handle an event, e.g. to write it to a slow file system.
+ * When the queue is full, publishing either waits for room or drops the
+ * event, depending on the configured overflow policy. The start and end of
+ * the test run are never dropped. Once the end of the test run is published,
+ * publishing waits until the plugin has handled all events.
+ * <p>
+ * A plugin that also implements {@link Flushable} is flushed periodically
+ * while it receives events. So it does not have to flush its output after
+ * each event, only close it once the test run finished.
+ */
+@API(status = API.Status.EXPERIMENTAL)
+public interface AsyncPlugin extends Plugin {
+
+}
@@ -35,6 +35,7 @@ import java.net.URL;
  * <li>{@link EventListener}</li>
  * <li>{@link ConcurrentEventListener}</li>
  * <li>{@link SummaryPrinter}</li>
+ * <li>{@link AsyncPlugin}</li>
  * </ul>
  */
 @API(status = API.Status.STABLE)
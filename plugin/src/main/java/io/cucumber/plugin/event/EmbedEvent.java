@@ -2,7 +2,12 @@ package io.cucumber.plugin.event;
 
 import org.apiguardian.api.API;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.util.Optional;
 
 import static java.util.Objects.requireNonNull;
 
@@ -11,6 +16,7 @@ public final class EmbedEvent extends TestCaseEvent {
 
     public final String name;
     private final byte[] data;
+    private final Path path;
     private final String mediaType;
 
     public EmbedEvent(Instant timeInstant, TestCase testCase, byte[] data, String mediaType) {
@@ -20,12 +26,56 @@ public final class EmbedEvent extends TestCaseEvent {
     public EmbedEvent(Instant timeInstant, TestCase testCase, byte[] data, String mediaType, String name) {
         super(timeInstant, testCase);
         this.data = requireNonNull(data);
+        this.path = null;
         this.mediaType = requireNonNull(mediaType);
         this.name = name;
     }
 
+    /**
+     * Creates an event for data that was stored in a file. The data is read
+     * when {@link #getData()} is invoked, so the file should not be changed
+     * afterwards.
+     *
+     * @param timeInstant the instant at which the data was embedded
+     * @param testCase    the test case the data was embedded in
+     * @param path        the file containing the data
+     * @param mediaType   the media type of the data
+     * @param name        the name of the embedding, may be null
+     */
+    @API(status = API.Status.EXPERIMENTAL)
+    public EmbedEvent(Instant timeInstant, TestCase testCase, Path path, String mediaType, String name) {
+        super(timeInstant, testCase);
+        this.data = null;
+        this.path = requireNonNull(path);
+        this.mediaType = requireNonNull(mediaType);
+        this.name = name;
+    }
+
+    /**
+     * Returns the embedded data. When the data was stored in a file it is read
+     * from that file on each invocation.
+     *
+     * @return                      the embedded data
+     * @throws UncheckedIOException if the file could not be read
+     */
     public byte[] getData() {
-        return data;
+        if (data != null) {
+            return data;
+        }
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read embedded data from " + path, e);
+        }
+    }
+
+    /**
+     * @return the file containing the data, or empty when the data was
+     *         embedded directly
+     */
+    @API(status = API.Status.EXPERIMENTAL)
+    public Optional<Path> getPath() {
+        return Optional.ofNullable(path);
     }
 
     public String getMediaType() {
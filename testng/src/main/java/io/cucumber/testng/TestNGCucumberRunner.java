@@ -1,6 +1,7 @@
 package io.cucumber.testng;
 
 import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.eventbus.IdGenerator;
 import io.cucumber.core.exception.CucumberException;
 import io.cucumber.core.feature.FeatureParser;
 import io.cucumber.core.filter.Filters;
@@ -18,6 +19,8 @@ import io.cucumber.core.runtime.BackendServiceLoader;
 import io.cucumber.core.runtime.CucumberExecutionContext;
 import io.cucumber.core.runtime.ExitStatus;
 import io.cucumber.core.runtime.FeaturePathFeatureSupplier;
+import io.cucumber.core.runtime.IdGeneratorServiceLoader;
+import io.cucumber.core.runtime.MonotonicClock;
 import io.cucumber.core.runtime.ObjectFactoryServiceLoader;
 import io.cucumber.core.runtime.ObjectFactorySupplier;
 import io.cucumber.core.runtime.ScanningTypeRegistryConfigurerSupplier;
@@ -27,13 +30,13 @@ import io.cucumber.core.runtime.TimeServiceEventBus;
 import io.cucumber.core.runtime.TypeRegistryConfigurerSupplier;
 import org.apiguardian.api.API;
 
-import java.time.Clock;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.UUID;
-import java.util.function.Predicate;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import static io.cucumber.testng.TestCaseResultObserver.observe;
+import static java.util.Collections.newSetFromMap;
 import static java.util.stream.Collectors.toList;
 
 /**
@@ -51,7 +54,7 @@ import static java.util.stream.Collectors.toList;
 @API(status = API.Status.STABLE)
 public final class TestNGCucumberRunner {
 
-    private final Predicate<Pickle> filters;
+    private final Filters filters;
     private final List<Feature> features;
     private final CucumberExecutionContext context;
 
@@ -82,7 +85,8 @@ public final class TestNGCucumberRunner {
                 .enablePublishPlugin()
                 .build(environmentOptions);
 
-        EventBus bus = new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID);
+        IdGenerator idGenerator = new IdGeneratorServiceLoader(runtimeOptions).loadIdGenerator();
+        EventBus bus = new TimeServiceEventBus(new MonotonicClock(), idGenerator::generateId);
 
         Supplier<ClassLoader> classLoader = ClassLoaders::getDefaultClassLoader;
         FeatureParser parser = new FeatureParser(bus::generateId);
@@ -113,7 +117,7 @@ public final class TestNGCucumberRunner {
         context.runTestCase(runner -> {
             try (TestCaseResultObserver observer = observe(runner.getBus())) {
                 Pickle cucumberPickle = pickle.getPickle();
-                runner.runPickle(cucumberPickle);
+                context.runPickle(runner, cucumberPickle);
                 observer.assertTestCasePassed();
             }
         });
@@ -134,9 +138,15 @@ public final class TestNGCucumberRunner {
     public Object[][] provideScenarios() {
         // Possibly invoked in a multi-threaded context
         try {
+            List<Pickle> pickles = features.stream()
+                    .flatMap(feature -> feature.getPickles().stream())
+                    .filter(filters)
+                    .collect(toList());
+            Set<Pickle> shard = newSetFromMap(new IdentityHashMap<>());
+            shard.addAll(filters.shard(pickles));
             return features.stream()
                     .flatMap(feature -> feature.getPickles().stream()
-                            .filter(filters)
+                            .filter(shard::contains)
                             .map(cucumberPickle -> new Object[] {
                                     new PickleWrapperImpl(new io.cucumber.testng.Pickle(cucumberPickle)),
                                     new FeatureWrapperImpl(feature) }))